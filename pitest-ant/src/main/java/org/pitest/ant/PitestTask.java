@@ -239,6 +239,62 @@ public class PitestTask extends Task { // NO_UCD (test only)
   public void setJVM(String value) {
     this.setOption(ConfigOption.JVM_PATH, value);  
   }
+
+  public void setReuseMinions(final String value) {
+    this.setOption(ConfigOption.REUSE_MINIONS, value);
+  }
+
+  public void setWireFormat(final String value) {
+    this.setOption(ConfigOption.WIRE_FORMAT, value);
+  }
+
+  public void setWorkStealing(final String value) {
+    this.setOption(ConfigOption.WORK_STEALING, value);
+  }
+
+  public void setHistoryFormat(final String value) {
+    this.setOption(ConfigOption.HISTORY_FORMAT, value);
+  }
+
+  public void setMutantThreads(final String value) {
+    this.setOption(ConfigOption.MUTANT_THREADS, value);
+  }
+
+  public void setClassInfoCache(final String value) {
+    this.setOption(ConfigOption.CLASS_INFO_CACHE, value);
+  }
+
+  public void setMutantSchemata(final String value) {
+    this.setOption(ConfigOption.MUTANT_SCHEMATA, value);
+  }
+
+  public void setAdaptiveTimeouts(final String value) {
+    this.setOption(ConfigOption.ADAPTIVE_TIMEOUTS, value);
+  }
+
+  public void setLoopGuards(final String value) {
+    this.setOption(ConfigOption.LOOP_GUARDS, value);
+  }
+
+  public void setAgentPort(final String value) {
+    this.setOption(ConfigOption.AGENT_PORT, value);
+  }
+
+  public void setReuseCoverage(final String value) {
+    this.setOption(ConfigOption.REUSE_COVERAGE, value);
+  }
+
+  public void setAgentSecret(final String value) {
+    this.setOption(ConfigOption.AGENT_SECRET, value);
+  }
+
+  public void setAgentBindAddress(final String value) {
+    this.setOption(ConfigOption.AGENT_BIND_ADDRESS, value);
+  }
+
+  public void setMaxMutationsPerMinion(final String value) {
+    this.setOption(ConfigOption.MAX_MUTATIONS_PER_MINION, value);
+  }
   
   private void setOption(final ConfigOption option, final String value) {
     if (!"".equals(value)) {
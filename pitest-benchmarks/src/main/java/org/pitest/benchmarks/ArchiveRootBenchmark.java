@@ -0,0 +1,125 @@
+package org.pitest.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.classpath.ArchiveClassPathRoot;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassPathRoot;
+import org.pitest.classpath.IndexedArchiveClassPathRoot;
+
+/**
+ * Compares looking up class bytes through a classpath made of many jars
+ * using a root that opens the archive for each lookup against one that
+ * keeps archives open and indexed. The jars are generated on setup and the
+ * lookups are spread randomly across them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ArchiveRootBenchmark {
+
+  @Param({ "ARCHIVE", "INDEXED" })
+  private String       root;
+
+  @Param({ "300" })
+  private int          jars;
+
+  @Param({ "200" })
+  private int          classesPerJar;
+
+  @Param({ "1000" })
+  private int          lookups;
+
+  private File         dir;
+  private ClassPath    classPath;
+  private List<String> names;
+
+  @Setup
+  public void setUp() throws IOException {
+    this.dir = File.createTempFile("pit-archive-bench", "");
+    this.dir.delete();
+    this.dir.mkdirs();
+
+    final Random random = new Random(42);
+    final byte[] body = new byte[2048];
+    final List<ClassPathRoot> roots = new ArrayList<ClassPathRoot>();
+    for (int i = 0; i != this.jars; i++) {
+      final File jar = new File(this.dir, "lib" + i + ".jar");
+      final ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(jar));
+      try {
+        for (int j = 0; j != this.classesPerJar; j++) {
+          random.nextBytes(body);
+          zos.putNextEntry(new ZipEntry(entryName(i, j)));
+          zos.write(body);
+          zos.closeEntry();
+        }
+      } finally {
+        zos.close();
+      }
+      roots.add(makeRoot(jar));
+    }
+    this.classPath = new ClassPath(roots);
+
+    this.names = new ArrayList<String>(this.lookups);
+    for (int i = 0; i != this.lookups; i++) {
+      final String entry = entryName(random.nextInt(this.jars),
+          random.nextInt(this.classesPerJar));
+      this.names.add(entry.substring(0, entry.length() - ".class".length())
+          .replace('/', '.'));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    final File[] files = this.dir.listFiles();
+    if (files != null) {
+      for (final File each : files) {
+        each.delete();
+      }
+    }
+    this.dir.delete();
+  }
+
+  @Benchmark
+  public void lookupClasses(final Blackhole bh) throws IOException {
+    for (final String each : this.names) {
+      bh.consume(this.classPath.getClassData(each));
+    }
+  }
+
+  private ClassPathRoot makeRoot(final File jar) {
+    if ("INDEXED".equals(this.root)) {
+      return new IndexedArchiveClassPathRoot(jar);
+    }
+    return new ArchiveClassPathRoot(jar);
+  }
+
+  private static String entryName(final int jar, final int clazz) {
+    return "com/example/lib" + jar + "/Generated" + clazz + ".class";
+  }
+
+}
@@ -0,0 +1,125 @@
+package org.pitest.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Benchmark scores from a single run, keyed by benchmark and parameters.
+ * Stored as a sorted tab separated file so that a baseline can be kept under
+ * version control and diffed.
+ */
+public class Baseline {
+
+  private static final String      ENCODING = "UTF-8";
+
+  private final Map<String, Score> scores   = new TreeMap<String, Score>();
+
+  public void record(final String key, final double score, final String unit) {
+    this.scores.put(key, new Score(score, unit));
+  }
+
+  public boolean isEmpty() {
+    return this.scores.isEmpty();
+  }
+
+  public static Baseline read(final File file) throws IOException {
+    final Baseline baseline = new Baseline();
+    final BufferedReader reader = new BufferedReader(new InputStreamReader(
+        new FileInputStream(file), ENCODING));
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if ((line.length() == 0) || line.startsWith("#")) {
+          continue;
+        }
+        final String[] parts = line.split("\t");
+        if (parts.length != 3) {
+          throw new IOException("Malformed baseline entry in " + file + " : "
+              + line);
+        }
+        baseline.record(parts[0], Double.parseDouble(parts[1]), parts[2]);
+      }
+    } finally {
+      reader.close();
+    }
+    return baseline;
+  }
+
+  public void write(final File file) throws IOException {
+    final PrintWriter writer = new PrintWriter(new OutputStreamWriter(
+        new FileOutputStream(file), ENCODING));
+    try {
+      writer.println("# benchmark\tscore\tunit");
+      for (final Entry<String, Score> each : this.scores.entrySet()) {
+        writer.println(each.getKey() + "\t" + each.getValue().score + "\t"
+            + each.getValue().unit);
+      }
+    } finally {
+      writer.close();
+    }
+  }
+
+  /**
+   * Compares the scores of a later run against this baseline.
+   *
+   * @param current
+   *          scores from the later run
+   * @param threshold
+   *          fraction by which a score may worsen before it is treated as a
+   *          regression
+   * @return a line describing each benchmark that regressed
+   */
+  public List<String> findRegressions(final Baseline current,
+      final double threshold) {
+    final List<String> regressions = new ArrayList<String>();
+    for (final Entry<String, Score> each : current.scores.entrySet()) {
+      final Score before = this.scores.get(each.getKey());
+      if ((before == null) || !before.unit.equals(each.getValue().unit)) {
+        continue;
+      }
+      final double worsening = each.getValue().worseningFrom(before);
+      if (worsening > threshold) {
+        regressions.add(String.format("%s : %.3f %s -> %.3f %s (%.1f%% worse)",
+            each.getKey(), before.score, before.unit, each.getValue().score,
+            each.getValue().unit, worsening * 100));
+      }
+    }
+    return regressions;
+  }
+
+  private static class Score {
+    private final double score;
+    private final String unit;
+
+    Score(final double score, final String unit) {
+      this.score = score;
+      this.unit = unit;
+    }
+
+    // throughput is reported as ops per unit of time, everything else as
+    // time per op
+    private boolean higherIsBetter() {
+      return this.unit.startsWith("ops/");
+    }
+
+    double worseningFrom(final Score before) {
+      if (before.score == 0) {
+        return 0;
+      }
+      final double change = (this.score - before.score) / before.score;
+      return higherIsBetter() ? -change : change;
+    }
+  }
+
+}
@@ -0,0 +1,91 @@
+package org.pitest.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+/**
+ * Runs the benchmarks and compares the results with a stored baseline,
+ * exiting with a non zero status if any benchmark has worsened by more than
+ * the threshold. If the baseline does not yet exist, or --update is given,
+ * the results are written as the new baseline instead.
+ *
+ * Usage : BaselineRunner baseline-file [--threshold fraction] [--update]
+ * [jmh options]
+ */
+public class BaselineRunner {
+
+  private static final double DEFAULT_THRESHOLD = 0.1;
+
+  public static void main(final String[] args) throws Exception {
+    if (args.length == 0) {
+      System.err.println("Usage : BaselineRunner baseline-file"
+          + " [--threshold fraction] [--update] [jmh options]");
+      System.exit(2);
+    }
+
+    final File file = new File(args[0]);
+    double threshold = DEFAULT_THRESHOLD;
+    boolean update = false;
+    final List<String> jmhArgs = new ArrayList<String>();
+    for (int i = 1; i < args.length; i++) {
+      if ("--threshold".equals(args[i]) && (i + 1 < args.length)) {
+        i++;
+        threshold = Double.parseDouble(args[i]);
+      } else if ("--update".equals(args[i])) {
+        update = true;
+      } else {
+        jmhArgs.add(args[i]);
+      }
+    }
+
+    final Collection<RunResult> results = new Runner(new CommandLineOptions(
+        jmhArgs.toArray(new String[jmhArgs.size()]))).run();
+    final Baseline current = new Baseline();
+    for (final RunResult each : results) {
+      current.record(keyFor(each.getParams()), each.getPrimaryResult()
+          .getScore(), each.getPrimaryResult().getScoreUnit());
+    }
+
+    if (update || !file.exists()) {
+      current.write(file);
+      System.out.println("Wrote baseline to " + file);
+      return;
+    }
+
+    final List<String> regressions = Baseline.read(file).findRegressions(
+        current, threshold);
+    if (regressions.isEmpty()) {
+      System.out.println("No benchmark worsened by more than "
+          + (threshold * 100) + "% against " + file);
+      return;
+    }
+    System.out.println("Benchmarks worsened by more than " + (threshold * 100)
+        + "% against " + file + " :");
+    for (final String each : regressions) {
+      System.out.println("  " + each);
+    }
+    System.exit(1);
+  }
+
+  private static String keyFor(final BenchmarkParams params) {
+    final StringBuilder key = new StringBuilder(params.getBenchmark());
+    String separator = "[";
+    for (final String each : params.getParamsKeys()) {
+      key.append(separator).append(each).append('=')
+          .append(params.getParam(each));
+      separator = ",";
+    }
+    if (!params.getParamsKeys().isEmpty()) {
+      key.append(']');
+    }
+    return key.toString();
+  }
+
+}
@@ -0,0 +1,107 @@
+package org.pitest.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import sun.pitest.CodeCoverageStore;
+import sun.pitest.InvokeReceiver;
+
+/**
+ * Measures the calls instrumented code makes into the coverage store as
+ * each method exits, and the collection and reset performed by a minion
+ * after each test. Every class is hit on each invocation so the collection
+ * benchmark reflects a test that touches the whole of a large code base.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CodeCoverageStoreBenchmark {
+
+  @Param({ "100", "1000" })
+  private int       classes;
+
+  @Param({ "64" })
+  private int       probesPerClass;
+
+  private boolean[] probes;
+  private int       next;
+
+  @Setup
+  public void setUp() {
+    CodeCoverageStore.init(new InvokeReceiver() {
+      @Override
+      public void registerClass(final int id, final String className) {
+      }
+
+      @Override
+      public void registerProbes(final int classId, final String methodName,
+          final String methodDesc, final int firstProbe, final int lastProbe) {
+      }
+    });
+    CodeCoverageStore.resetAllStaticState();
+    for (int i = 0; i != this.classes; i++) {
+      CodeCoverageStore.registerClassProbes(i, this.probesPerClass);
+    }
+    this.probes = new boolean[this.probesPerClass];
+    for (int i = 0; i < this.probes.length; i = i + 2) {
+      this.probes[i] = true;
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    CodeCoverageStore.resetAllStaticState();
+  }
+
+  @Benchmark
+  public void visitOneProbe() {
+    CodeCoverageStore.visitProbes(nextClass(), 0, true);
+  }
+
+  @Benchmark
+  public void visitFourProbes() {
+    CodeCoverageStore.visitProbes(nextClass(), 4, true, false, true, true);
+  }
+
+  @Benchmark
+  public void visitFifteenProbes() {
+    CodeCoverageStore.visitProbes(nextClass(), 16, true, false, true, false,
+        true, false, true, false, true, false, true, false, true, false, true);
+  }
+
+  @Benchmark
+  public void visitProbeArray() {
+    CodeCoverageStore.visitProbes(nextClass(), 0, this.probes);
+  }
+
+  @Benchmark
+  public void getHitsAndReset(final Blackhole bh) {
+    for (int i = 0; i != this.classes; i++) {
+      CodeCoverageStore.visitProbes(i, 0, this.probes);
+    }
+    bh.consume(CodeCoverageStore.getHits());
+    CodeCoverageStore.reset();
+  }
+
+  private int nextClass() {
+    this.next = (this.next + 1) % this.classes;
+    return this.next;
+  }
+
+}
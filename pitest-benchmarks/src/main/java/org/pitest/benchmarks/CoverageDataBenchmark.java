@@ -0,0 +1,172 @@
+package org.pitest.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassFilter;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassPathRoot;
+import org.pitest.classpath.CodeSource;
+import org.pitest.classpath.PathFilter;
+import org.pitest.classpath.ProjectClassPaths;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.ClassLine;
+import org.pitest.coverage.CoverageData;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.coverage.LineMap;
+import org.pitest.functional.predicate.True;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.TestClassIdentifier;
+
+/**
+ * Measures recording coverage as results arrive from the coverage minion,
+ * and the queries made against it when assigning tests to mutants. Each
+ * test covers a random selection of blocks across the code base.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CoverageDataBenchmark {
+
+  @Param({ "2000" })
+  private int                  tests;
+
+  @Param({ "500" })
+  private int                  classes;
+
+  @Param({ "20" })
+  private int                  blocksPerClass;
+
+  @Param({ "200" })
+  private int                  blocksPerTest;
+
+  private List<ClassName>      names;
+  private List<CoverageResult> results;
+  private CoverageData         populated;
+
+  @Setup
+  public void setUp() {
+    this.names = new ArrayList<ClassName>(this.classes);
+    for (int i = 0; i != this.classes; i++) {
+      this.names.add(ClassName.fromString("com.example.Class" + i));
+    }
+
+    final Random random = new Random(42);
+    this.results = new ArrayList<CoverageResult>(this.tests);
+    for (int i = 0; i != this.tests; i++) {
+      final List<BlockLocation> blocks = new ArrayList<BlockLocation>(
+          this.blocksPerTest);
+      for (int j = 0; j != this.blocksPerTest; j++) {
+        blocks.add(block(this.names.get(random.nextInt(this.classes)),
+            random.nextInt(this.blocksPerClass)));
+      }
+      this.results.add(new CoverageResult(new Description("test" + i,
+          "com.example.Class" + (i % this.classes) + "Test"), 10, true,
+          blocks));
+    }
+
+    this.populated = record();
+    // line coverage is derived on first query, so do so before measuring
+    // the queries
+    for (final ClassName each : this.names) {
+      this.populated.getCoverageIdForClass(each);
+    }
+  }
+
+  @Benchmark
+  public CoverageData recordCoverage() {
+    return record();
+  }
+
+  @Benchmark
+  public void testsForClassLine(final Blackhole bh) {
+    for (final ClassName each : this.names) {
+      for (int line = 1; line <= this.blocksPerClass; line++) {
+        bh.consume(this.populated.getTestsForClassLine(new ClassLine(each,
+            line)));
+      }
+    }
+  }
+
+  @Benchmark
+  public void testsForClass(final Blackhole bh) {
+    for (final ClassName each : this.names) {
+      bh.consume(this.populated.getTestsForClass(each));
+    }
+  }
+
+  @Benchmark
+  public void coverageIdForClass(final Blackhole bh) {
+    for (final ClassName each : this.names) {
+      bh.consume(this.populated.getCoverageIdForClass(each));
+    }
+  }
+
+  private CoverageData record() {
+    final CoverageData data = new CoverageData(emptyCodeSource(),
+        new LineMap() {
+          @Override
+          public Map<BlockLocation, Set<Integer>> mapLines(
+              final ClassName clazz) {
+            final Map<BlockLocation, Set<Integer>> map = new HashMap<BlockLocation, Set<Integer>>();
+            for (int i = 0; i != CoverageDataBenchmark.this.blocksPerClass; i++) {
+              map.put(block(clazz, i), Collections.singleton(i + 1));
+            }
+            return map;
+          }
+        });
+    for (final CoverageResult each : this.results) {
+      data.calculateClassCoverage(each);
+    }
+    return data;
+  }
+
+  private static BlockLocation block(final ClassName clazz, final int block) {
+    return new BlockLocation(Location.location(clazz,
+        MethodName.fromString("method"), "()V"), block);
+  }
+
+  static CodeSource emptyCodeSource() {
+    final ProjectClassPaths paths = new ProjectClassPaths(new ClassPath(
+        Collections.<ClassPathRoot> emptyList()), new ClassFilter(
+        True.<String> all(), True.<String> all()), new PathFilter(
+        True.<ClassPathRoot> all(), True.<ClassPathRoot> all()));
+    return new CodeSource(paths, new TestClassIdentifier() {
+      @Override
+      public boolean isATestClass(final ClassInfo a) {
+        return false;
+      }
+
+      @Override
+      public boolean isIncluded(final ClassInfo a) {
+        return true;
+      }
+    });
+  }
+
+}
@@ -0,0 +1,80 @@
+package org.pitest.benchmarks;
+
+import java.lang.instrument.IllegalClassFormatException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.coverage.CoverageTransformer;
+import org.pitest.functional.predicate.True;
+import org.pitest.util.IsolationUtils;
+
+import sun.pitest.CodeCoverageStore;
+import sun.pitest.InvokeReceiver;
+
+/**
+ * Measures instrumenting a class for coverage, as the coverage minion's
+ * agent does for each class loaded while the tests run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CoverageTransformerBenchmark {
+
+  @Param({ "org.pitest.mutationtest.engine.gregor.config.Mutator",
+      "org.pitest.util.SafeDataInputStream" })
+  private String              target;
+
+  private CoverageTransformer transformer;
+  private ClassLoader         loader;
+  private String              internalName;
+  private byte[]              bytes;
+
+  @Setup
+  public void setUp() {
+    CodeCoverageStore.init(new InvokeReceiver() {
+      @Override
+      public void registerClass(final int id, final String className) {
+      }
+
+      @Override
+      public void registerProbes(final int classId, final String methodName,
+          final String methodDesc, final int firstProbe, final int lastProbe) {
+      }
+    });
+    this.transformer = new CoverageTransformer(True.<String> all());
+    this.loader = IsolationUtils.getContextClassLoader();
+    this.internalName = ClassName.fromString(this.target).asInternalName();
+    this.bytes = ClassloaderByteArraySource.fromContext()
+        .getBytes(this.target).value();
+  }
+
+  // each transformation registers a new class with the store
+  @TearDown(Level.Iteration)
+  public void resetStore() {
+    CodeCoverageStore.resetAllStaticState();
+  }
+
+  @Benchmark
+  public byte[] transform() throws IllegalClassFormatException {
+    return this.transformer.transform(this.loader, this.internalName, null,
+        null, this.bytes);
+  }
+
+}
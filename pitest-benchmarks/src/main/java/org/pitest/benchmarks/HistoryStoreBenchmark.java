@@ -0,0 +1,177 @@
+package org.pitest.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageData;
+import org.pitest.coverage.LineMap;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.HistoryStore;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.incremental.BinaryHistoryStore;
+import org.pitest.mutationtest.incremental.HistoryFormat;
+import org.pitest.mutationtest.incremental.WriterFactory;
+import org.pitest.mutationtest.incremental.XStreamHistoryStore;
+
+/**
+ * Measures reading the history of a previous run at the start of an
+ * incremental analysis, then looking up the previous result of every
+ * mutant as the analysis does when deciding what to rerun.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class HistoryStoreBenchmark {
+
+  @Param({ "XML", "BINARY" })
+  private HistoryFormat            format;
+
+  @Param({ "500" })
+  private int                      classes;
+
+  @Param({ "20000" })
+  private int                      mutants;
+
+  private List<MutationIdentifier> ids;
+  private String                   xml;
+  private File                     binary;
+
+  @Setup
+  public void setUp() throws IOException {
+    final List<HierarchicalClassId> classIds = new ArrayList<HierarchicalClassId>(
+        this.classes);
+    for (int i = 0; i != this.classes; i++) {
+      classIds.add(new HierarchicalClassId(i, className(i), Integer
+          .toHexString(i)));
+    }
+    final List<MutationResult> results = new ArrayList<MutationResult>(
+        this.mutants);
+    this.ids = new ArrayList<MutationIdentifier>(this.mutants);
+    for (int i = 0; i != this.mutants; i++) {
+      final MutationIdentifier id = new MutationIdentifier(Location.location(
+          className(i % this.classes), MethodName.fromString("method"
+              + (i % 7)), "(ILjava/lang/String;)Z"), i,
+          "org.pitest.mutationtest.engine.gregor.mutators.MathMutator");
+      this.ids.add(id);
+      results.add(new MutationResult(new MutationDetails(id, "Foo.java",
+          "replaced + with -", i % 100, 0), new MutationStatusTestPair(1,
+          DetectionStatus.KILLED, "com.example.FooTest")));
+    }
+
+    final CoverageData coverage = new CoverageData(
+        CoverageDataBenchmark.emptyCodeSource(), new EmptyLineMap());
+    if (this.format == HistoryFormat.BINARY) {
+      this.binary = File.createTempFile("pit-history-bench", ".bin");
+      final BinaryHistoryStore store = new BinaryHistoryStore(
+          Option.<File> none(), Option.some(this.binary));
+      record(store, classIds, coverage, results);
+      store.close();
+    } else {
+      final StringWriter written = new StringWriter();
+      record(new XStreamHistoryStore(new StringWriterFactory(written),
+          Option.<Reader> none()), classIds, coverage, results);
+      this.xml = written.toString();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (this.binary != null) {
+      this.binary.delete();
+    }
+  }
+
+  @Benchmark
+  public void loadAndQuery(final Blackhole bh) {
+    final HistoryStore store = open();
+    store.initialize();
+    bh.consume(store.getHistoricClassPath());
+    for (final MutationIdentifier each : this.ids) {
+      bh.consume(store.getHistoricResults().get(each));
+    }
+  }
+
+  private HistoryStore open() {
+    if (this.format == HistoryFormat.BINARY) {
+      return new BinaryHistoryStore(Option.some(this.binary),
+          Option.<File> none());
+    }
+    return new XStreamHistoryStore(new StringWriterFactory(new StringWriter()),
+        Option.<Reader> some(new StringReader(this.xml)));
+  }
+
+  private static void record(final HistoryStore store,
+      final List<HierarchicalClassId> classIds, final CoverageData coverage,
+      final List<MutationResult> results) {
+    store.initialize();
+    store.recordClassPath(classIds, coverage);
+    for (final MutationResult each : results) {
+      store.recordResult(each);
+    }
+  }
+
+  private static ClassName className(final int i) {
+    return ClassName.fromString("com.example.package.SomeClass" + i);
+  }
+
+  private static class StringWriterFactory implements WriterFactory {
+    private final PrintWriter writer;
+
+    StringWriterFactory(final StringWriter writer) {
+      this.writer = new PrintWriter(writer);
+    }
+
+    @Override
+    public PrintWriter create() {
+      return this.writer;
+    }
+
+    @Override
+    public void close() {
+      this.writer.close();
+    }
+  }
+
+  private static class EmptyLineMap implements LineMap {
+    @Override
+    public Map<BlockLocation, Set<Integer>> mapLines(final ClassName clazz) {
+      return Collections.emptyMap();
+    }
+  }
+
+}
@@ -0,0 +1,68 @@
+package org.pitest.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.functional.predicate.True;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.MethodInfo;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+
+/**
+ * Measures the cost of creating every mutant of a class, as a minion does
+ * when working through a unit. Compares rebuilding the whole class for each
+ * mutant against copying the methods that do not contain the mutation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MutaterBenchmark {
+
+  @Param({ "true", "false" })
+  private boolean               copyUnmutatedMethods;
+
+  @Param({ "DEFAULTS", "ALL" })
+  private String                mutators;
+
+  @Param({ "org.pitest.mutationtest.engine.gregor.config.Mutator",
+      "org.pitest.util.SafeDataInputStream" })
+  private String                target;
+
+  private GregorMutater         mutater;
+  private List<MutationDetails> mutations;
+
+  @Setup
+  public void setUp() {
+    this.mutater = new GregorMutater(ClassloaderByteArraySource.fromContext(),
+        True.<MethodInfo> all(), Mutator.byName(this.mutators),
+        this.copyUnmutatedMethods);
+    this.mutations = this.mutater.findMutations(ClassName
+        .fromString(this.target));
+  }
+
+  @Benchmark
+  public void createAllMutants(final Blackhole bh) {
+    for (final MutationDetails each : this.mutations) {
+      bh.consume(this.mutater.getMutation(each.getId()).getBytes());
+    }
+  }
+
+}
@@ -0,0 +1,71 @@
+package org.pitest.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.functional.predicate.True;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.MethodInfo;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+
+/**
+ * Measures finding and then creating the mutants of a class for each group
+ * of mutation operators, including the augmented operator sets that
+ * generate many mutants per instruction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MutatorGroupBenchmark {
+
+  @Param({ "DEFAULTS", "STRONGER", "ALL", "AUGMENTED", "AOR", "ROR", "CRCR",
+      "UOI", "AOD", "ABS", "OBBN" })
+  private String                mutators;
+
+  @Param({ "org.pitest.mutationtest.engine.gregor.config.Mutator",
+      "org.pitest.util.SafeDataInputStream" })
+  private String                target;
+
+  private ClassName             targetName;
+  private GregorMutater         mutater;
+  private List<MutationDetails> mutations;
+
+  @Setup
+  public void setUp() {
+    this.targetName = ClassName.fromString(this.target);
+    this.mutater = new GregorMutater(ClassloaderByteArraySource.fromContext(),
+        True.<MethodInfo> all(), Mutator.byName(this.mutators));
+    this.mutations = this.mutater.findMutations(this.targetName);
+  }
+
+  @Benchmark
+  public List<MutationDetails> findMutations() {
+    return this.mutater.findMutations(this.targetName);
+  }
+
+  @Benchmark
+  public void createAllMutants(final Blackhole bh) {
+    for (final MutationDetails each : this.mutations) {
+      bh.consume(this.mutater.getMutation(each.getId()).getBytes());
+    }
+  }
+
+}
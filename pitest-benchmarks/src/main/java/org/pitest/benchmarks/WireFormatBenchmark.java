@@ -0,0 +1,113 @@
+package org.pitest.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.execute.DescriptionCodec;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.execute.MutationResultCodec;
+import org.pitest.testapi.Description;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
+
+/**
+ * Compares the cost of sending the per mutation and per test messages
+ * exchanged with minions in each wire format. Each invocation encodes and
+ * decodes a batch of messages on a single stream, as a minion would when
+ * reporting on a unit of work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class WireFormatBenchmark {
+
+  @Param({ "XML", "BINARY" })
+  private WireFormat                   format;
+
+  @Param({ "1000" })
+  private int                          batchSize;
+
+  private List<MutationIdentifier>     identifiers;
+  private List<MutationStatusTestPair> statuses;
+  private List<Description>            descriptions;
+
+  @Setup
+  public void setUp() {
+    this.identifiers = new ArrayList<MutationIdentifier>(this.batchSize);
+    this.statuses = new ArrayList<MutationStatusTestPair>(this.batchSize);
+    this.descriptions = new ArrayList<Description>(this.batchSize);
+    for (int i = 0; i != this.batchSize; i++) {
+      final Location location = Location.location(
+          ClassName.fromString("com.example.package.SomeClass" + (i % 20)),
+          MethodName.fromString("method" + (i % 7)), "(ILjava/lang/String;)Z");
+      this.identifiers.add(new MutationIdentifier(location, i,
+          "org.pitest.mutationtest.engine.gregor.mutators.MathMutator"));
+      this.statuses.add(new MutationStatusTestPair(i % 5,
+          DetectionStatus.KILLED, "com.example.package.SomeClassTest"
+              + (i % 20)));
+      this.descriptions.add(new Description("shouldDoSomething" + i,
+          "com.example.package.SomeClassTest" + (i % 20)));
+    }
+  }
+
+  @Benchmark
+  public void mutationResults(final Blackhole bh) {
+    final MutationResultCodec codec = new MutationResultCodec(this.format);
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    for (int i = 0; i != this.batchSize; i++) {
+      codec.writeIdentifier(dos, this.identifiers.get(i));
+      codec.writeStatus(dos, this.statuses.get(i));
+    }
+    dos.flush();
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(bos.toByteArray()));
+    for (int i = 0; i != this.batchSize; i++) {
+      bh.consume(codec.readIdentifier(dis));
+      bh.consume(codec.readStatus(dis));
+    }
+  }
+
+  @Benchmark
+  public void testDescriptions(final Blackhole bh) {
+    final DescriptionCodec codec = new DescriptionCodec(this.format);
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    for (final Description each : this.descriptions) {
+      codec.write(dos, each);
+    }
+    dos.flush();
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(bos.toByteArray()));
+    for (int i = 0; i != this.batchSize; i++) {
+      bh.consume(codec.read(dis));
+    }
+  }
+
+}
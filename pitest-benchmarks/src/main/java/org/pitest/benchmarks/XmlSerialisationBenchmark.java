@@ -0,0 +1,76 @@
+package org.pitest.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * Measures sending objects as XML over a minion's stream, as is done for
+ * the list of mutations passed to each mutation testing minion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class XmlSerialisationBenchmark {
+
+  @Param({ "10", "500" })
+  private int                        mutations;
+
+  private ArrayList<MutationDetails> details;
+  private byte[]                     written;
+
+  @Setup
+  public void setUp() {
+    this.details = new ArrayList<MutationDetails>(this.mutations);
+    for (int i = 0; i != this.mutations; i++) {
+      final Location location = Location.location(
+          ClassName.fromString("com.example.package.SomeClass"),
+          MethodName.fromString("method" + (i % 7)), "(ILjava/lang/String;)Z");
+      this.details.add(new MutationDetails(new MutationIdentifier(location, i,
+          "org.pitest.mutationtest.engine.gregor.mutators.MathMutator"),
+          "SomeClass.java", "Replaced integer addition with subtraction",
+          i % 100, i % 10));
+    }
+    this.written = write();
+  }
+
+  @Benchmark
+  public byte[] write() {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    dos.write(this.details);
+    dos.flush();
+    return bos.toByteArray();
+  }
+
+  @Benchmark
+  public Object read() {
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(this.written));
+    return dis.read(ArrayList.class);
+  }
+
+}
@@ -0,0 +1,63 @@
+package org.pitest.mutationtest.commandline;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Requests a run from a {@link MutationCoverageDaemon} and prints its reply.
+ * Exits with a non zero status if the run failed. The token of the daemon is
+ * read from the file the daemon wrote it to, so the client must be run by
+ * the same user as the daemon.
+ *
+ * Usage: DaemonClient port [arguments of the run]
+ */
+public class DaemonClient {
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length == 0) {
+      System.out.println("Usage: DaemonClient port [arguments of the run]");
+      System.exit(1);
+    }
+
+    final int port = Integer.parseInt(args[0]);
+    final String reply = send(port,
+        MutationCoverageDaemon.readToken(MutationCoverageDaemon
+            .tokenFile(port)), Arrays.asList(args).subList(1, args.length));
+    System.out.println(reply);
+    if (!reply.startsWith(MutationCoverageDaemon.OK)) {
+      System.exit(1);
+    }
+  }
+
+  static String send(final int port, final String token,
+      final List<String> args) throws IOException {
+    final Socket socket = new Socket(InetAddress.getByName(null), port);
+    try {
+      final PrintWriter out = new PrintWriter(new OutputStreamWriter(
+          socket.getOutputStream(), MutationCoverageDaemon.UTF8));
+      out.println(token);
+      for (final String each : args) {
+        out.println(each);
+      }
+      out.println();
+      out.flush();
+
+      final String reply = new BufferedReader(new InputStreamReader(
+          socket.getInputStream(), MutationCoverageDaemon.UTF8)).readLine();
+      if (reply == null) {
+        return MutationCoverageDaemon.ERROR + " No reply from daemon";
+      }
+      return reply;
+    } finally {
+      socket.close();
+    }
+  }
+
+}
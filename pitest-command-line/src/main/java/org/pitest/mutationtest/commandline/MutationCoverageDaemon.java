@@ -0,0 +1,223 @@
+package org.pitest.mutationtest.commandline;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.mutationtest.config.PluginServices;
+import org.pitest.mutationtest.statistics.MutationStatistics;
+import org.pitest.mutationtest.tooling.CombinedStatistics;
+import org.pitest.mutationtest.tooling.WarmEntryPoint;
+import org.pitest.util.Log;
+
+/**
+ * Long lived entry point for command line interface. Accepts runs over a
+ * local socket and keeps plugins, parsed classes, coverage and results in
+ * memory between them, so a run against an unchanged project only pays for
+ * what changed since the run before.
+ *
+ * A run is requested by connecting to the port on the loopback address and
+ * sending the token of the daemon, then the command line arguments of the
+ * run, one per line, followed by an empty line. The daemon replies with a
+ * single line starting with OK or ERROR and closes the connection. A request
+ * holding only the argument "stop" stops the daemon. Relative paths are
+ * resolved against the directory the daemon was started in.
+ *
+ * The token is made up when the daemon starts and written to a file in the
+ * .pitest directory of the user's home, readable only by its owner, so that
+ * other users of the machine cannot start runs. Requests without it are
+ * refused.
+ *
+ * Runs are handled one at a time. Runs that do not name history files reuse
+ * coverage whether or not they set reuseCoverage, see {@link WarmEntryPoint}.
+ */
+public class MutationCoverageDaemon {
+
+  static final String            STOP            = "stop";
+  static final String            OK              = "OK";
+  static final String            ERROR           = "ERROR";
+
+  static final Charset           UTF8            = Charset.forName("UTF-8");
+
+  private static final Logger    LOG             = Log.getLogger();
+
+  // a request is sent in one go, so a client silent for longer than this
+  // has gone away and must not hold up the requests queued behind it
+  private static final int       REQUEST_TIMEOUT = 10000;
+
+  private final PluginServices   plugins;
+  private final WarmEntryPoint   entryPoint;
+  private final String           token;
+
+  MutationCoverageDaemon(final PluginServices plugins,
+      final WarmEntryPoint entryPoint, final String token) {
+    this.plugins = plugins;
+    this.entryPoint = entryPoint;
+    this.token = token;
+  }
+
+  public static void main(final String[] args) throws IOException {
+    final int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+    final ServerSocket server = new ServerSocket(port, 0,
+        InetAddress.getByName(null));
+    final File tokenFile = tokenFile(server.getLocalPort());
+    try {
+      final String token = writeToken(tokenFile);
+      LOG.info("Accepting runs on port " + server.getLocalPort()
+          + " with the token in " + tokenFile);
+      new MutationCoverageDaemon(PluginServices.makeForContextLoader(),
+          new WarmEntryPoint(), token).serve(server);
+    } finally {
+      server.close();
+      tokenFile.delete();
+    }
+  }
+
+  void serve(final ServerSocket server) throws IOException {
+    boolean running = true;
+    while (running) {
+      final Socket socket = server.accept();
+      try {
+        running = serve(socket);
+      } catch (final IOException e) {
+        LOG.log(Level.WARNING, "Could not serve request", e);
+      } finally {
+        socket.close();
+      }
+    }
+  }
+
+  private boolean serve(final Socket socket) throws IOException {
+    socket.setSoTimeout(REQUEST_TIMEOUT);
+    final BufferedReader in = new BufferedReader(new InputStreamReader(
+        socket.getInputStream(), UTF8));
+    final boolean authorised = isToken(in.readLine());
+    final List<String> args = readRequest(in);
+    boolean running = true;
+    final String reply;
+    if (!authorised) {
+      LOG.warning("Refused request without the daemon token");
+      reply = error("Request did not give the daemon token");
+    } else if (args.equals(Collections.singletonList(STOP))) {
+      running = false;
+      reply = OK + " Stopping";
+    } else {
+      reply = handle(args);
+    }
+    final PrintWriter out = new PrintWriter(new OutputStreamWriter(
+        socket.getOutputStream(), UTF8));
+    out.println(reply);
+    out.flush();
+    return running;
+  }
+
+  // compared in constant time so the token cannot be guessed a character at
+  // a time
+  private boolean isToken(final String given) {
+    return (given != null)
+        && MessageDigest.isEqual(this.token.getBytes(UTF8),
+            given.getBytes(UTF8));
+  }
+
+  static File tokenFile(final int port) {
+    return new File(new File(System.getProperty("user.home"), ".pitest"),
+        "daemon-" + port + ".token");
+  }
+
+  static String writeToken(final File file) throws IOException {
+    final File dir = file.getParentFile();
+    dir.mkdirs();
+    // others are shut out of the directory before the file is created, so
+    // they cannot open it before its own permissions are narrowed
+    restrictToOwner(dir);
+    file.delete();
+    if (!file.createNewFile()) {
+      throw new IOException("Could not create " + file);
+    }
+    restrictToOwner(file);
+
+    final String token = new BigInteger(130, new SecureRandom()).toString(32);
+    final Writer out = new OutputStreamWriter(new FileOutputStream(file), UTF8);
+    try {
+      out.write(token);
+    } finally {
+      out.close();
+    }
+    return token;
+  }
+
+  static String readToken(final File file) throws IOException {
+    final BufferedReader in = new BufferedReader(new InputStreamReader(
+        new FileInputStream(file), UTF8));
+    try {
+      return in.readLine();
+    } finally {
+      in.close();
+    }
+  }
+
+  private static void restrictToOwner(final File file) {
+    final boolean restricted = file.setReadable(false, false)
+        & file.setWritable(false, false) & file.setExecutable(false, false)
+        & file.setReadable(true, true) & file.setWritable(true, true)
+        & (file.isFile() || file.setExecutable(true, true));
+    if (!restricted) {
+      LOG.warning("Could not restrict access to " + file + " to its owner");
+    }
+  }
+
+  static List<String> readRequest(final BufferedReader in) throws IOException {
+    final List<String> args = new ArrayList<String>();
+    String line = in.readLine();
+    while ((line != null) && (line.length() != 0)) {
+      args.add(line);
+      line = in.readLine();
+    }
+    return args;
+  }
+
+  String handle(final List<String> args) {
+    final OptionsParser parser = new OptionsParser(new PluginFilter(
+        this.plugins));
+    final ParseResult pr = parser.parse(args.toArray(new String[args.size()]));
+    if (!pr.isOk()) {
+      return error(pr.getErrorMessage().value());
+    }
+
+    try {
+      final CombinedStatistics stats = MutationCoverageReport.runReport(
+          this.entryPoint, pr.getOptions(), this.plugins);
+      MutationCoverageReport.checkThresholds(pr.getOptions(), stats);
+      final MutationStatistics mutations = stats.getMutationStatistics();
+      return OK + " Generated " + mutations.getTotalMutations()
+          + " mutations Killed " + mutations.getTotalDetectedMutations() + " ("
+          + mutations.getPercentageDetected() + "%)";
+    } catch (final RuntimeException e) {
+      LOG.log(Level.WARNING, "Run failed", e);
+      return error(e.getMessage());
+    }
+  }
+
+  private static String error(final String message) {
+    return ERROR + " " + String.valueOf(message).replace('\n', ' ');
+  }
+
+}
@@ -42,17 +42,23 @@ public class MutationCoverageReport {
     } else {
       final ReportOptions data = pr.getOptions();
 
-      final CombinedStatistics stats = runReport(data, plugins);
+      final CombinedStatistics stats = runReport(new EntryPoint(), data,
+          plugins);
 
-      throwErrorIfScoreBelowCoverageThreshold(stats.getCoverageSummary(),
-          data.getCoverageThreshold());
-      throwErrorIfScoreBelowMutationThreshold(stats.getMutationStatistics(),
-          data.getMutationThreshold());
-      throwErrorIfMoreThanMaxSuvivingMutants(stats.getMutationStatistics(), data.getMaximumAllowedSurvivors());
+      checkThresholds(data, stats);
     }
 
   }
 
+  static void checkThresholds(final ReportOptions data,
+      final CombinedStatistics stats) {
+    throwErrorIfScoreBelowCoverageThreshold(stats.getCoverageSummary(),
+        data.getCoverageThreshold());
+    throwErrorIfScoreBelowMutationThreshold(stats.getMutationStatistics(),
+        data.getMutationThreshold());
+    throwErrorIfMoreThanMaxSuvivingMutants(stats.getMutationStatistics(), data.getMaximumAllowedSurvivors());
+  }
+
   private static void throwErrorIfScoreBelowCoverageThreshold(
       CoverageSummary stats, int threshold) {
     if ((threshold != 0) && (stats.getCoverage() < threshold)) {
@@ -80,10 +86,9 @@ public class MutationCoverageReport {
     }
   }
   
-  private static CombinedStatistics runReport(ReportOptions data,
+  static CombinedStatistics runReport(EntryPoint e, ReportOptions data,
       PluginServices plugins) {
 
-    EntryPoint e = new EntryPoint();
     AnalysisResult result = e.execute(null, data, plugins,
         new HashMap<String, String>());
     if (result.getError().hasSome()) {
@@ -27,6 +27,7 @@ import static org.pitest.mutationtest.config.ConfigOption.EXCLUDED_METHOD;
 import static org.pitest.mutationtest.config.ConfigOption.EXPORT_LINE_COVERAGE;
 import static org.pitest.mutationtest.config.ConfigOption.FAIL_WHEN_NOT_MUTATIONS;
 import static org.pitest.mutationtest.config.ConfigOption.FEATURES;
+import static org.pitest.mutationtest.config.ConfigOption.HISTORY_FORMAT;
 import static org.pitest.mutationtest.config.ConfigOption.HISTORY_INPUT_LOCATION;
 import static org.pitest.mutationtest.config.ConfigOption.HISTORY_OUTPUT_LOCATION;
 import static org.pitest.mutationtest.config.ConfigOption.INCLUDED_GROUPS;
@@ -39,6 +40,19 @@ import static org.pitest.mutationtest.config.ConfigOption.MUTATIONS;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_ENGINE;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_THRESHOLD;
 import static org.pitest.mutationtest.config.ConfigOption.MUTATION_UNIT_SIZE;
+import static org.pitest.mutationtest.config.ConfigOption.MAX_MUTATIONS_PER_MINION;
+import static org.pitest.mutationtest.config.ConfigOption.MUTANT_THREADS;
+import static org.pitest.mutationtest.config.ConfigOption.CLASS_INFO_CACHE;
+import static org.pitest.mutationtest.config.ConfigOption.MUTANT_SCHEMATA;
+import static org.pitest.mutationtest.config.ConfigOption.ADAPTIVE_TIMEOUTS;
+import static org.pitest.mutationtest.config.ConfigOption.LOOP_GUARDS;
+import static org.pitest.mutationtest.config.ConfigOption.AGENT_PORT;
+import static org.pitest.mutationtest.config.ConfigOption.REUSE_COVERAGE;
+import static org.pitest.mutationtest.config.ConfigOption.AGENT_SECRET;
+import static org.pitest.mutationtest.config.ConfigOption.AGENT_BIND_ADDRESS;
+import static org.pitest.mutationtest.config.ConfigOption.REUSE_MINIONS;
+import static org.pitest.mutationtest.config.ConfigOption.WIRE_FORMAT;
+import static org.pitest.mutationtest.config.ConfigOption.WORK_STEALING;
 import static org.pitest.mutationtest.config.ConfigOption.OUTPUT_FORMATS;
 import static org.pitest.mutationtest.config.ConfigOption.PLUGIN_CONFIGURATION;
 import static org.pitest.mutationtest.config.ConfigOption.REPORT_DIR;
@@ -59,6 +73,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
 import java.util.logging.Logger;
 
@@ -67,10 +82,12 @@ import org.pitest.functional.FCollection;
 import org.pitest.functional.predicate.Predicate;
 import org.pitest.mutationtest.config.ConfigOption;
 import org.pitest.mutationtest.config.ReportOptions;
+import org.pitest.mutationtest.incremental.HistoryFormat;
 import org.pitest.testapi.TestGroupConfig;
 import org.pitest.util.Glob;
 import org.pitest.util.Log;
 import org.pitest.util.Unchecked;
+import org.pitest.util.WireFormat;
 
 import joptsimple.ArgumentAcceptingOptionSpec;
 import joptsimple.OptionException;
@@ -124,6 +141,20 @@ public class OptionsParser {
   private final OptionSpec<KeyValuePair>             pluginPropertiesSpec;
 
   private final ArgumentAcceptingOptionSpec<Boolean> includeLaunchClasspathSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> reuseMinionsSpec;
+  private final ArgumentAcceptingOptionSpec<Integer> maxMutationsPerMinionSpec;
+  private final OptionSpec<String>                   wireFormatSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> workStealingSpec;
+  private final OptionSpec<String>                   historyFormatSpec;
+  private final OptionSpec<Integer>                  mutantThreadsSpec;
+  private final OptionSpec<File>                     classInfoCacheSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> mutantSchemataSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> adaptiveTimeoutsSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> loopGuardsSpec;
+  private final OptionSpec<Integer>                  agentPortSpec;
+  private final ArgumentAcceptingOptionSpec<Boolean> reuseCoverageSpec;
+  private final OptionSpec<String>                   agentSecretSpec;
+  private final OptionSpec<String>                   agentBindAddressSpec;
 
   public OptionsParser(Predicate<String> dependencyFilter) {
 
@@ -319,6 +350,67 @@ public class OptionsParser {
         .withRequiredArg().ofType(KeyValuePair.class)
         .describedAs("custom plugin properties");
 
+    this.reuseMinionsSpec = parserAccepts(REUSE_MINIONS).withOptionalArg()
+        .ofType(Boolean.class).defaultsTo(true)
+        .describedAs("whether or not to keep minions alive between analysis units");
+
+    this.maxMutationsPerMinionSpec = parserAccepts(MAX_MUTATIONS_PER_MINION)
+        .withRequiredArg().ofType(Integer.class)
+        .describedAs("Number of mutations a reused minion may analyse before being replaced")
+        .defaultsTo(MAX_MUTATIONS_PER_MINION.getDefault(Integer.class));
+
+    this.wireFormatSpec = parserAccepts(WIRE_FORMAT).withRequiredArg()
+        .ofType(String.class)
+        .describedAs("encoding used to talk to minions (XML or BINARY)")
+        .defaultsTo(WIRE_FORMAT.getDefault(String.class));
+
+    this.workStealingSpec = parserAccepts(WORK_STEALING).withOptionalArg()
+        .ofType(Boolean.class).defaultsTo(true)
+        .describedAs("whether or not idle threads may take work from busy ones");
+
+    this.historyFormatSpec = parserAccepts(HISTORY_FORMAT).withRequiredArg()
+        .ofType(String.class)
+        .describedAs("format used to store history between runs (XML or BINARY)")
+        .defaultsTo(HISTORY_FORMAT.getDefault(String.class));
+
+    this.mutantThreadsSpec = parserAccepts(MUTANT_THREADS).withRequiredArg()
+        .ofType(Integer.class)
+        .describedAs("number of mutants each minion tests concurrently")
+        .defaultsTo(MUTANT_THREADS.getDefault(Integer.class));
+
+    this.classInfoCacheSpec = parserAccepts(CLASS_INFO_CACHE)
+        .withRequiredArg().ofType(File.class)
+        .describedAs("File to keep parsed class information in between runs");
+
+    this.mutantSchemataSpec = parserAccepts(MUTANT_SCHEMATA).withOptionalArg()
+        .ofType(Boolean.class).defaultsTo(true)
+        .describedAs("whether or not to switch between mutants loaded together rather than hotswap each");
+
+    this.adaptiveTimeoutsSpec = parserAccepts(ADAPTIVE_TIMEOUTS)
+        .withOptionalArg().ofType(Boolean.class).defaultsTo(true)
+        .describedAs("whether or not to time tests against durations measured during the mutation run");
+
+    this.loopGuardsSpec = parserAccepts(LOOP_GUARDS).withOptionalArg()
+        .ofType(Boolean.class).defaultsTo(true)
+        .describedAs("whether or not to stop mutants that loop past the allowed time without ending the minion");
+
+    this.agentPortSpec = parserAccepts(AGENT_PORT).withRequiredArg()
+        .ofType(Integer.class)
+        .describedAs("port on which to accept remote agents that run minions, or 0 to run them locally")
+        .defaultsTo(AGENT_PORT.getDefault(Integer.class));
+
+    this.reuseCoverageSpec = parserAccepts(REUSE_COVERAGE).withOptionalArg()
+        .ofType(Boolean.class).defaultsTo(true)
+        .describedAs("whether or not to reuse coverage of tests unaffected by changes from history");
+
+    this.agentSecretSpec = parserAccepts(AGENT_SECRET).withRequiredArg()
+        .ofType(String.class)
+        .describedAs("secret that the run and remote agents prove they share");
+
+    this.agentBindAddressSpec = parserAccepts(AGENT_BIND_ADDRESS)
+        .withRequiredArg().ofType(String.class)
+        .describedAs("address of the interface on which to accept remote agents");
+
   }
 
   private OptionSpecBuilder parserAccepts(final ConfigOption option) {
@@ -398,6 +490,30 @@ public class OptionsParser {
     data.setExportLineCoverage(userArgs.has(this.exportLineCoverageSpec)
         && userArgs.valueOf(this.exportLineCoverageSpec));
 
+    data.setReuseMinions(userArgs.has(this.reuseMinionsSpec)
+        && userArgs.valueOf(this.reuseMinionsSpec));
+    data.setMaxMutationsPerMinion(this.maxMutationsPerMinionSpec
+        .value(userArgs));
+    data.setWireFormat(WireFormat.valueOf(this.wireFormatSpec.value(userArgs)
+        .toUpperCase(Locale.ENGLISH)));
+    data.setWorkStealing(userArgs.has(this.workStealingSpec)
+        && userArgs.valueOf(this.workStealingSpec));
+    data.setHistoryFormat(HistoryFormat.valueOf(this.historyFormatSpec
+        .value(userArgs).toUpperCase(Locale.ENGLISH)));
+    data.setMutantThreads(this.mutantThreadsSpec.value(userArgs));
+    data.setClassInfoCacheLocation(this.classInfoCacheSpec.value(userArgs));
+    data.setMutantSchemata(userArgs.has(this.mutantSchemataSpec)
+        && userArgs.valueOf(this.mutantSchemataSpec));
+    data.setAdaptiveTimeouts(userArgs.has(this.adaptiveTimeoutsSpec)
+        && userArgs.valueOf(this.adaptiveTimeoutsSpec));
+    data.setLoopGuards(userArgs.has(this.loopGuardsSpec)
+        && userArgs.valueOf(this.loopGuardsSpec));
+    data.setAgentPort(this.agentPortSpec.value(userArgs));
+    data.setReuseCoverage(userArgs.has(this.reuseCoverageSpec)
+        && userArgs.valueOf(this.reuseCoverageSpec));
+    data.setAgentSecret(this.agentSecretSpec.value(userArgs));
+    data.setAgentBindAddress(this.agentBindAddressSpec.value(userArgs));
+
     setClassPath(userArgs, data);
 
     setTestGroups(userArgs, data);
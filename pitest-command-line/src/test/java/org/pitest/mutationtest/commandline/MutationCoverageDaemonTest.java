@@ -0,0 +1,137 @@
+package org.pitest.mutationtest.commandline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.mutationtest.config.PluginServices;
+import org.pitest.mutationtest.tooling.WarmEntryPoint;
+import org.pitest.util.IsolationUtils;
+
+public class MutationCoverageDaemonTest {
+
+  private static final String          TOKEN      = "token";
+
+  @Rule
+  public TemporaryFolder               testFolder = new TemporaryFolder();
+
+  private final MutationCoverageDaemon testee = new MutationCoverageDaemon(
+                                                  new PluginServices(
+                                                      IsolationUtils
+                                                          .getContextClassLoader()),
+                                                  new WarmEntryPoint(), TOKEN);
+
+  @Test
+  public void shouldReadArgumentsUntilEmptyLine() throws Exception {
+    assertEquals(Arrays.asList("--reportDir", "foo"),
+        MutationCoverageDaemon.readRequest(new BufferedReader(
+            new StringReader("--reportDir\nfoo\n\nignored\n"))));
+  }
+
+  @Test
+  public void shouldReadArgumentsUntilEndOfStream() throws Exception {
+    assertEquals(Arrays.asList("--reportDir", "foo"),
+        MutationCoverageDaemon.readRequest(new BufferedReader(
+            new StringReader("--reportDir\nfoo"))));
+  }
+
+  @Test
+  public void shouldReplyWithErrorWhenArgumentsInvalid() {
+    assertTrue(this.testee.handle(Arrays.asList("--notAnOption")).startsWith(
+        MutationCoverageDaemon.ERROR));
+  }
+
+  @Test
+  public void shouldServeRequestsUntilStopped() throws Exception {
+    final ServerSocket server = new ServerSocket(0, 0,
+        InetAddress.getByName(null));
+    final Thread daemon = startDaemon(server);
+    try {
+      assertTrue(DaemonClient.send(server.getLocalPort(), TOKEN,
+          Arrays.asList("--notAnOption")).startsWith(
+          MutationCoverageDaemon.ERROR));
+      stop(server);
+      daemon.join(10000);
+      assertFalse(daemon.isAlive());
+    } finally {
+      server.close();
+    }
+  }
+
+  @Test
+  public void shouldRefuseRequestsWithoutToken() throws Exception {
+    final ServerSocket server = new ServerSocket(0, 0,
+        InetAddress.getByName(null));
+    final Thread daemon = startDaemon(server);
+    try {
+      assertEquals(MutationCoverageDaemon.ERROR
+          + " Request did not give the daemon token", DaemonClient.send(
+          server.getLocalPort(), "guess",
+          Collections.singletonList(MutationCoverageDaemon.STOP)));
+      assertTrue(daemon.isAlive());
+      stop(server);
+      daemon.join(10000);
+    } finally {
+      server.close();
+    }
+  }
+
+  @Test
+  public void shouldKeepServingWhenClientGoesAway() throws Exception {
+    final ServerSocket server = new ServerSocket(0, 0,
+        InetAddress.getByName(null));
+    final Thread daemon = startDaemon(server);
+    try {
+      final Socket abandoned = new Socket(InetAddress.getByName(null),
+          server.getLocalPort());
+      abandoned.setSoLinger(true, 0);
+      abandoned.close();
+      stop(server);
+      daemon.join(10000);
+      assertFalse(daemon.isAlive());
+    } finally {
+      server.close();
+    }
+  }
+
+  @Test
+  public void shouldReadBackWrittenToken() throws Exception {
+    final File file = new File(this.testFolder.getRoot(), "daemon.token");
+    final String token = MutationCoverageDaemon.writeToken(file);
+    assertEquals(token, MutationCoverageDaemon.readToken(file));
+  }
+
+  private Thread startDaemon(final ServerSocket server) {
+    final Thread daemon = new Thread() {
+      @Override
+      public void run() {
+        try {
+          MutationCoverageDaemonTest.this.testee.serve(server);
+        } catch (final Exception e) {
+          throw new RuntimeException(e);
+        }
+      }
+    };
+    daemon.start();
+    return daemon;
+  }
+
+  private static void stop(final ServerSocket server) throws Exception {
+    assertTrue(DaemonClient.send(server.getLocalPort(), TOKEN,
+        Collections.singletonList(MutationCoverageDaemon.STOP)).startsWith(
+        MutationCoverageDaemon.OK));
+  }
+
+}
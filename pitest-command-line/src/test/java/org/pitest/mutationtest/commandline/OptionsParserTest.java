@@ -42,6 +42,8 @@ import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.engine.gregor.GregorMutationEngine;
 import org.pitest.mutationtest.engine.gregor.mutators.ConditionalsBoundaryMutator;
 import org.pitest.mutationtest.engine.gregor.mutators.MathMutator;
+import org.pitest.mutationtest.incremental.HistoryFormat;
+import org.pitest.util.WireFormat;
 
 public class OptionsParserTest {
 
@@ -501,6 +503,170 @@ public class OptionsParserTest {
     assertEquals("2", actual.getFreeFormProperties().getProperty("bar"));
   }
 
+  @Test
+  public void shouldNotReuseMinionsByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isReuseMinions());
+  }
+
+  @Test
+  public void shouldParseReuseMinionsFlag() {
+    final ReportOptions actual = parseAddingRequiredArgs("--reuseMinions");
+    assertTrue(actual.isReuseMinions());
+  }
+
+  @Test
+  public void shouldParseMaxMutationsPerMinion() {
+    final ReportOptions actual = parseAddingRequiredArgs("--maxMutationsPerMinion",
+        "42");
+    assertEquals(42, actual.getMaxMutationsPerMinion());
+  }
+
+  @Test
+  public void shouldUseXmlWireFormatByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertEquals(WireFormat.XML, actual.getWireFormat());
+  }
+
+  @Test
+  public void shouldParseWireFormat() {
+    final ReportOptions actual = parseAddingRequiredArgs("--wireFormat",
+        "binary");
+    assertEquals(WireFormat.BINARY, actual.getWireFormat());
+  }
+
+  @Test
+  public void shouldNotStealWorkByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isWorkStealing());
+  }
+
+  @Test
+  public void shouldParseWorkStealingFlag() {
+    final ReportOptions actual = parseAddingRequiredArgs("--workStealing");
+    assertTrue(actual.isWorkStealing());
+  }
+
+  @Test
+  public void shouldUseXmlHistoryFormatByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertEquals(HistoryFormat.XML, actual.getHistoryFormat());
+  }
+
+  @Test
+  public void shouldParseHistoryFormat() {
+    final ReportOptions actual = parseAddingRequiredArgs("--historyFormat",
+        "binary");
+    assertEquals(HistoryFormat.BINARY, actual.getHistoryFormat());
+  }
+
+  @Test
+  public void shouldTestOneMutantAtATimeByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertEquals(1, actual.getMutantThreads());
+  }
+
+  @Test
+  public void shouldParseMutantThreads() {
+    final ReportOptions actual = parseAddingRequiredArgs("--mutantThreads",
+        "4");
+    assertEquals(4, actual.getMutantThreads());
+  }
+
+  @Test
+  public void shouldNotCacheClassInfoByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertNull(actual.getClassInfoCacheLocation());
+  }
+
+  @Test
+  public void shouldParseClassInfoCacheLocation() {
+    final ReportOptions actual = parseAddingRequiredArgs("--classInfoCache",
+        "foo");
+    assertEquals(new File("foo"), actual.getClassInfoCacheLocation());
+  }
+
+  @Test
+  public void shouldHotSwapMutantsByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isMutantSchemata());
+  }
+
+  @Test
+  public void shouldParseMutantSchemataFlag() {
+    final ReportOptions actual = parseAddingRequiredArgs("--mutantSchemata");
+    assertTrue(actual.isMutantSchemata());
+  }
+
+  @Test
+  public void shouldNotUseAdaptiveTimeoutsByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isAdaptiveTimeouts());
+  }
+
+  @Test
+  public void shouldParseAdaptiveTimeoutsFlag() {
+    final ReportOptions actual = parseAddingRequiredArgs("--adaptiveTimeouts");
+    assertTrue(actual.isAdaptiveTimeouts());
+  }
+
+  @Test
+  public void shouldNotGuardLoopsByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isLoopGuards());
+  }
+
+  @Test
+  public void shouldParseLoopGuardsFlag() {
+    final ReportOptions actual = parseAddingRequiredArgs("--loopGuards");
+    assertTrue(actual.isLoopGuards());
+  }
+
+  @Test
+  public void shouldRunMinionsLocallyByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertEquals(0, actual.getAgentPort());
+  }
+
+  @Test
+  public void shouldParseAgentPort() {
+    final ReportOptions actual = parseAddingRequiredArgs("--agentPort",
+        "8120");
+    assertEquals(8120, actual.getAgentPort());
+  }
+
+  @Test
+  public void shouldNotReuseCoverageByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertFalse(actual.isReuseCoverage());
+  }
+
+  @Test
+  public void shouldParseReuseCoverageFlag() {
+    final ReportOptions actual = parseAddingRequiredArgs("--reuseCoverage");
+    assertTrue(actual.isReuseCoverage());
+  }
+
+  @Test
+  public void shouldParseAgentSecret() {
+    final ReportOptions actual = parseAddingRequiredArgs("--agentSecret",
+        "s3cret");
+    assertEquals("s3cret", actual.getAgentSecret());
+  }
+
+  @Test
+  public void shouldAcceptAgentsOnAllInterfacesByDefault() {
+    final ReportOptions actual = parseAddingRequiredArgs("");
+    assertNull(actual.getAgentBindAddress());
+  }
+
+  @Test
+  public void shouldParseAgentBindAddress() {
+    final ReportOptions actual = parseAddingRequiredArgs("--agentBindAddress",
+        "10.0.0.1");
+    assertEquals("10.0.0.1", actual.getAgentBindAddress());
+  }
+
   private String getNonCanonicalGregorEngineClassPath() {
     final String gregorEngineClassPath = GregorMutationEngine.class
         .getProtectionDomain().getCodeSource().getLocation().getFile();
@@ -16,15 +16,15 @@
 package org.pitest.coverage;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassInfo;
@@ -34,28 +34,34 @@ import org.pitest.functional.F;
 import org.pitest.functional.F2;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.Option;
-import org.pitest.functional.predicate.Predicate;
 import org.pitest.testapi.Description;
 import org.pitest.util.Log;
 
 public class CoverageData implements CoverageDatabase {
 
-  private static final Logger                                 LOG           = Log
+  private static final Logger                                LOG           = Log
       .getLogger();
 
+  // Tests and blocks are interned to int ids, and coverage is held as sorted
+  // arrays of test ids so that a large suite does not require a boxed set
+  // entry for every test and block pair.
   // We calculate block coverage, but everything currently runs on line
-  // coverage. Ugly mess of maps below should go when
-  // api changed to work via blocks
-  private final Map<BlockLocation, Set<TestInfo>>             blockCoverage = new LinkedHashMap<BlockLocation, Set<TestInfo>>();
-  private final Map<BlockLocation, Set<Integer>>              blocksToLines = new LinkedHashMap<BlockLocation, Set<Integer>>();
-  private final Map<ClassName, Map<ClassLine, Set<TestInfo>>> lineCoverage  = new LinkedHashMap<ClassName, Map<ClassLine, Set<TestInfo>>>();
-  private final Map<String, Collection<ClassInfo>>            classesForFile;
+  // coverage, so line coverage is derived per class on first request.
+  private final List<TestInfo>                               tests         = new ArrayList<TestInfo>();
+  private final List<Description>                            descriptions  = new ArrayList<Description>();
+  private final Map<String, Integer>                         testIds       = new HashMap<String, Integer>();
+  private final List<BlockLocation>                          blocks        = new ArrayList<BlockLocation>();
+  private final List<SortedIntSet>                           blockTests    = new ArrayList<SortedIntSet>();
+  private final Map<BlockLocation, Integer>                  blockIds      = new HashMap<BlockLocation, Integer>();
+  private final Map<ClassName, SortedIntSet>                 classBlocks   = new HashMap<ClassName, SortedIntSet>();
+  private final Map<ClassName, Map<ClassLine, SortedIntSet>> lineCoverage  = new HashMap<ClassName, Map<ClassLine, SortedIntSet>>();
+  private final Map<String, Collection<ClassInfo>>           classesForFile;
 
-  private final CodeSource                                    code;
+  private final CodeSource                                   code;
 
-  private final LineMap                                       lm;
+  private final LineMap                                      lm;
 
-  private boolean                                             hasFailedTest = false;
+  private boolean                                            hasFailedTest = false;
 
   public CoverageData(final CodeSource code, final LineMap lm) {
     this.code = code;
@@ -66,15 +72,24 @@ public class CoverageData implements CoverageDatabase {
 
   @Override
   public Collection<TestInfo> getTestsForClassLine(final ClassLine classLine) {
-    final Collection<TestInfo> result = getTestsForClassName(
-        classLine.getClassName()).get(classLine);
+    final SortedIntSet result = getTestsForClassName(classLine.getClassName())
+        .get(classLine);
     if (result == null) {
       return Collections.emptyList();
     } else {
-      return result;
+      return toTestInfos(result);
     }
   }
 
+  @Override
+  public Collection<TestInfo> getTestsForBlockLocation(final BlockLocation block) {
+    final Integer id = this.blockIds.get(block);
+    if (id == null) {
+      return Collections.emptyList();
+    }
+    return toTestInfos(this.blockTests.get(id));
+  }
+
   public boolean allTestsGreen() {
     return !this.hasFailedTest;
   }
@@ -91,35 +106,65 @@ public class CoverageData implements CoverageDatabase {
 
   @Override
   public Collection<TestInfo> getTestsForClass(final ClassName clazz) {
-    final Set<TestInfo> tis = new TreeSet<TestInfo>(
-        new TestInfoNameComparator());
-    tis.addAll(FCollection.filter(this.blockCoverage.entrySet(), isFor(clazz))
-        .flatMap(toTests()));
-    return tis;
+    final SortedIntSet blocksForClass = this.classBlocks.get(clazz);
+    if (blocksForClass == null) {
+      return Collections.emptyList();
+    }
+    final SortedIntSet ids = new SortedIntSet();
+    for (int i = 0; i != blocksForClass.size(); i++) {
+      ids.addAll(this.blockTests.get(blocksForClass.get(i)));
+    }
+    return toTestInfos(ids);
   }
 
   public void calculateClassCoverage(final CoverageResult cr) {
 
     checkForFailedTest(cr);
-    final TestInfo ti = this.createTestInfo(cr.getTestUnitDescription(),
+    final int testId = this.internTest(cr.getTestUnitDescription(),
         cr.getExecutionTime(), cr.getNumberOfCoveredBlocks());
     for (BlockLocation each : cr.getCoverage()) {
-      addTestsToBlockMap(ti, each);
+      this.blockTests.get(internBlock(each)).add(testId);
     }
   }
 
-  private void addTestsToBlockMap(final TestInfo ti, BlockLocation each) {
-    Set<TestInfo> tests = this.blockCoverage.get(each);
-    if (tests == null) {
-      tests = new TreeSet<TestInfo>(new TestInfoNameComparator());
-      this.blockCoverage.put(each, tests);
+  private int internTest(final Description description,
+      final int executionTime, final int linesCovered) {
+    // as before, the first test seen with a given name represents all tests
+    // of that name
+    final Integer existing = this.testIds.get(description.getQualifiedName());
+    if (existing != null) {
+      return existing;
+    }
+    final int id = this.tests.size();
+    this.tests.add(createTestInfo(description, executionTime, linesCovered));
+    this.descriptions.add(description);
+    this.testIds.put(description.getQualifiedName(), id);
+    return id;
+  }
+
+  private int internBlock(final BlockLocation block) {
+    final Integer existing = this.blockIds.get(block);
+    if (existing != null) {
+      return existing;
+    }
+    final int id = this.blocks.size();
+    this.blocks.add(block);
+    this.blockTests.add(new SortedIntSet());
+    this.blockIds.put(block, id);
+
+    final ClassName clazz = block.getLocation().getClassName();
+    SortedIntSet blocksForClass = this.classBlocks.get(clazz);
+    if (blocksForClass == null) {
+      blocksForClass = new SortedIntSet();
+      this.classBlocks.put(clazz, blocksForClass);
     }
-    tests.add(ti);
+    blocksForClass.add(id);
+    return id;
   }
 
   @Override
   public BigInteger getCoverageIdForClass(final ClassName clazz) {
-    final Map<ClassLine, Set<TestInfo>> coverage = getTestsForClassName(clazz);
+    final Map<ClassLine, SortedIntSet> coverage = getTestsForClassName(clazz);
     if (coverage.isEmpty()) {
       return BigInteger.ZERO;
     }
@@ -128,17 +173,37 @@ public class CoverageData implements CoverageDatabase {
   }
 
   public List<BlockCoverage> createCoverage() {
-    return FCollection.map(this.blockCoverage.entrySet(), toBlockCoverage());
+    final List<BlockCoverage> coverage = new ArrayList<BlockCoverage>(
+        this.blocks.size());
+    for (int i = 0; i != this.blocks.size(); i++) {
+      coverage.add(new BlockCoverage(this.blocks.get(i), FCollection.map(
+          toTestInfos(this.blockTests.get(i)), TestInfo.toName())));
+    }
+    return coverage;
   }
 
-  private static F<Entry<BlockLocation, Set<TestInfo>>, BlockCoverage> toBlockCoverage() {
-    return new F<Entry<BlockLocation, Set<TestInfo>>, BlockCoverage>() {
-      @Override
-      public BlockCoverage apply(Entry<BlockLocation, Set<TestInfo>> a) {
-        return new BlockCoverage(a.getKey(), FCollection.map(a.getValue(),
-            TestInfo.toName()));
+  @Override
+  public Collection<CoverageResult> getTestCoverage() {
+    final List<List<BlockLocation>> covered = new ArrayList<List<BlockLocation>>(
+        this.tests.size());
+    for (int i = 0; i != this.tests.size(); i++) {
+      covered.add(new ArrayList<BlockLocation>());
+    }
+    for (int i = 0; i != this.blocks.size(); i++) {
+      final SortedIntSet ids = this.blockTests.get(i);
+      for (int j = 0; j != ids.size(); j++) {
+        covered.get(ids.get(j)).add(this.blocks.get(i));
       }
-    };
+    }
+
+    // a database is only used once all tests have passed
+    final List<CoverageResult> results = new ArrayList<CoverageResult>(
+        this.tests.size());
+    for (int i = 0; i != this.tests.size(); i++) {
+      results.add(new CoverageResult(this.descriptions.get(i), this.tests
+          .get(i).getTime(), true, covered.get(i)));
+    }
+    return results;
   }
 
   @Override
@@ -163,10 +228,15 @@ public class CoverageData implements CoverageDatabase {
   }
 
   private BigInteger generateCoverageNumber(
-      final Map<ClassLine, Set<TestInfo>> coverage) {
+      final Map<ClassLine, SortedIntSet> coverage) {
     BigInteger coverageNumber = BigInteger.ZERO;
+    final SortedIntSet ids = new SortedIntSet();
+    for (final SortedIntSet each : coverage.values()) {
+      ids.addAll(each);
+    }
     final Set<ClassName> testClasses = new HashSet<ClassName>();
-    FCollection.flatMapTo(coverage.values(), testsToClassName(), testClasses);
+    FCollection.mapTo(toTestInfos(ids), TestInfo.toDefiningClassName(),
+        testClasses);
 
     for (final ClassInfo each : this.code.getClassInfo(testClasses)) {
       coverageNumber = coverageNumber.add(each.getDeepHash());
@@ -175,13 +245,13 @@ public class CoverageData implements CoverageDatabase {
     return coverageNumber;
   }
 
-  private F<Set<TestInfo>, Iterable<ClassName>> testsToClassName() {
-    return new F<Set<TestInfo>, Iterable<ClassName>>() {
-      @Override
-      public Iterable<ClassName> apply(final Set<TestInfo> a) {
-        return FCollection.map(a, TestInfo.toDefiningClassName());
-      }
-    };
+  private List<TestInfo> toTestInfos(final SortedIntSet ids) {
+    final List<TestInfo> tis = new ArrayList<TestInfo>(ids.size());
+    for (int i = 0; i != ids.size(); i++) {
+      tis.add(this.tests.get(ids.get(i)));
+    }
+    Collections.sort(tis, new TestInfoNameComparator());
+    return tis;
   }
 
   private static F<ClassInfo, String> keyFromClassInfo() {
@@ -253,21 +323,15 @@ public class CoverageData implements CoverageDatabase {
   }
 
   private int getNumberOfCoveredLines(final ClassName clazz) {
-    final Map<ClassLine, Set<TestInfo>> map = getTestsForClassName(clazz);
-    if (map != null) {
-      return map.size();
-    } else {
-      return 0;
-    }
-
+    return getTestsForClassName(clazz).size();
   }
 
-  private Map<ClassLine, Set<TestInfo>> getTestsForClassName(
+  private synchronized Map<ClassLine, SortedIntSet> getTestsForClassName(
       final ClassName clazz) {
     // Use any test that provided some coverage of the class
     // This fails to consider tests that only accessed a static variable
     // of the class in question as this does not register as coverage.
-    Map<ClassLine, Set<TestInfo>> map = this.lineCoverage.get(clazz);
+    Map<ClassLine, SortedIntSet> map = this.lineCoverage.get(clazz);
     if (map != null) {
       return map;
     }
@@ -276,18 +340,27 @@ public class CoverageData implements CoverageDatabase {
 
   }
 
-  private Map<ClassLine, Set<TestInfo>> convertBlockCoverageToLineCoverageForClass(
+  private Map<ClassLine, SortedIntSet> convertBlockCoverageToLineCoverageForClass(
       ClassName clazz) {
-    List<Entry<BlockLocation, Set<TestInfo>>> tests = FCollection.filter(
-        this.blockCoverage.entrySet(), isFor(clazz));
+    final SortedIntSet blocksForClass = this.classBlocks.get(clazz);
+    if (blocksForClass == null) {
+      return Collections.emptyMap();
+    }
 
-    Map<ClassLine, Set<TestInfo>> linesToTests = new LinkedHashMap<ClassLine, Set<TestInfo>>(
+    final Map<BlockLocation, Set<Integer>> blocksToLines = this.lm
+        .mapLines(clazz);
+    Map<ClassLine, SortedIntSet> linesToTests = new LinkedHashMap<ClassLine, SortedIntSet>(
         0);
 
-    for (Entry<BlockLocation, Set<TestInfo>> each : tests) {
-      for (int line : getLinesForBlock(each.getKey())) {
-        Set<TestInfo> tis = getLineTestSet(clazz, linesToTests, each, line);
-        tis.addAll(each.getValue());
+    for (int i = 0; i != blocksForClass.size(); i++) {
+      final int block = blocksForClass.get(i);
+      final Set<Integer> lines = blocksToLines.get(this.blocks.get(block));
+      if (lines == null) {
+        continue;
+      }
+      for (int line : lines) {
+        getLineTestSet(clazz, linesToTests, line).addAll(
+            this.blockTests.get(block));
       }
     }
 
@@ -295,58 +368,19 @@ public class CoverageData implements CoverageDatabase {
     return linesToTests;
   }
 
-  private static Set<TestInfo> getLineTestSet(ClassName clazz,
-      Map<ClassLine, Set<TestInfo>> linesToTests,
-      Entry<BlockLocation, Set<TestInfo>> each, int line) {
+  private static SortedIntSet getLineTestSet(ClassName clazz,
+      Map<ClassLine, SortedIntSet> linesToTests, int line) {
     ClassLine cl = new ClassLine(clazz, line);
-    Set<TestInfo> tis = linesToTests.get(cl);
+    SortedIntSet tis = linesToTests.get(cl);
     if (tis == null) {
-      tis = new TreeSet<TestInfo>(new TestInfoNameComparator());
-      tis.addAll(each.getValue());
-      linesToTests.put(new ClassLine(clazz, line), tis);
+      tis = new SortedIntSet();
+      linesToTests.put(cl, tis);
     }
     return tis;
   }
 
-  private Set<Integer> getLinesForBlock(BlockLocation bl) {
-    Set<Integer> lines = this.blocksToLines.get(bl);
-    if (lines == null) {
-      calculateLinesForBlocks(bl.getLocation().getClassName());
-      lines = this.blocksToLines.get(bl);
-      if (lines == null) {
-        lines = Collections.emptySet();
-      }
-    }
-
-    return lines;
-  }
-
-  private void calculateLinesForBlocks(ClassName className) {
-    Map<BlockLocation, Set<Integer>> lines = this.lm.mapLines(className);
-    this.blocksToLines.putAll(lines);
-  }
-
   private void recordTestFailure() {
     this.hasFailedTest = true;
   }
 
-  private F<Entry<BlockLocation, Set<TestInfo>>, Iterable<TestInfo>> toTests() {
-    return new F<Entry<BlockLocation, Set<TestInfo>>, Iterable<TestInfo>>() {
-      @Override
-      public Iterable<TestInfo> apply(Entry<BlockLocation, Set<TestInfo>> a) {
-        return a.getValue();
-      }
-    };
-  }
-
-  private Predicate<Entry<BlockLocation, Set<TestInfo>>> isFor(
-      final ClassName clazz) {
-    return new Predicate<Entry<BlockLocation, Set<TestInfo>>>() {
-      @Override
-      public Boolean apply(Entry<BlockLocation, Set<TestInfo>> a) {
-        return a.getKey().isFor(clazz);
-      }
-    };
-  }
-
 }
@@ -16,10 +16,18 @@ public interface CoverageDatabase {
 
   Collection<TestInfo> getTestsForClassLine(ClassLine classLine);
 
+  Collection<TestInfo> getTestsForBlockLocation(BlockLocation block);
+
   BigInteger getCoverageIdForClass(ClassName clazz);
 
   Collection<ClassInfo> getClassesForFile(String sourceFile, String packageName);
 
   CoverageSummary createSummary();
 
+  /**
+   * @return blocks covered by each test, from which the database can be
+   *         rebuilt
+   */
+  Collection<CoverageResult> getTestCoverage();
+
 }
@@ -0,0 +1,61 @@
+package org.pitest.coverage;
+
+import java.util.Arrays;
+
+/**
+ * Set of ints backed by a sorted array. Uses a small fraction of the memory
+ * of a boxed set, and appending values in ascending order (the common case
+ * when ids are handed out sequentially) does not require a search.
+ */
+final class SortedIntSet {
+
+  private static final int[] EMPTY  = new int[0];
+
+  private int[]              values = EMPTY;
+  private int                size;
+
+  void add(final int value) {
+    if ((this.size == 0) || (this.values[this.size - 1] < value)) {
+      insertAt(this.size, value);
+      return;
+    }
+    final int pos = Arrays.binarySearch(this.values, 0, this.size, value);
+    if (pos < 0) {
+      insertAt(-(pos + 1), value);
+    }
+  }
+
+  void addAll(final SortedIntSet other) {
+    for (int i = 0; i != other.size; i++) {
+      add(other.values[i]);
+    }
+  }
+
+  boolean contains(final int value) {
+    return Arrays.binarySearch(this.values, 0, this.size, value) >= 0;
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  int get(final int index) {
+    return this.values[index];
+  }
+
+  private void insertAt(final int index, final int value) {
+    if (this.size == this.values.length) {
+      this.values = Arrays.copyOf(this.values,
+          Math.max(4, this.size + (this.size >> 1)));
+    }
+    System.arraycopy(this.values, index, this.values, index + 1, this.size
+        - index);
+    this.values[index] = value;
+    this.size++;
+  }
+
+}
@@ -12,7 +12,8 @@ public class CoverageCommunicationThread extends CommunicationThread {
   public CoverageCommunicationThread(final ServerSocket socket,
       final CoverageOptions arguments, final List<String> tus,
       final SideEffect1<CoverageResult> handler) {
-    super(socket, new SendData(arguments, tus), new Receive(handler));
+    super(socket, new SendData(arguments, tus), new Receive(handler,
+        arguments.getWireFormat()));
 
   }
 
@@ -18,8 +18,10 @@ package org.pitest.coverage.execute;
 import java.io.File;
 import java.io.IOException;
 import java.net.ServerSocket;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.logging.Logger;
 
@@ -30,12 +32,13 @@ import org.pitest.coverage.CoverageExporter;
 import org.pitest.coverage.CoverageGenerator;
 import org.pitest.coverage.CoverageResult;
 import org.pitest.coverage.analysis.LineMapper;
-import org.pitest.functional.F;
-import org.pitest.functional.FCollection;
+import org.pitest.functional.Option;
 import org.pitest.functional.SideEffect1;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.help.Help;
 import org.pitest.help.PitHelpError;
+import org.pitest.mutationtest.DetailedHistoryStore;
+import org.pitest.mutationtest.incremental.DefaultCodeHistory;
 import org.pitest.process.LaunchOptions;
 import org.pitest.process.ProcessArgs;
 import org.pitest.testapi.Configuration;
@@ -57,18 +60,46 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
   private final File             workingDir;
   private final CoverageExporter exporter;
   private final boolean          showProgress;
+  private final int              numberOfMinions;
+  private final Option<DetailedHistoryStore> history;
 
   public DefaultCoverageGenerator(final File workingDir,
       final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
       final CodeSource code, final CoverageExporter exporter,
       final Timings timings, final boolean showProgress) {
+    this(workingDir, coverageOptions, launchOptions, code, exporter, timings,
+        showProgress, 1);
+  }
+
+  public DefaultCoverageGenerator(final File workingDir,
+      final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
+      final CodeSource code, final CoverageExporter exporter,
+      final Timings timings, final boolean showProgress,
+      final int numberOfMinions) {
+    this(workingDir, coverageOptions, launchOptions, code, exporter, timings,
+        showProgress, numberOfMinions, Option.<DetailedHistoryStore> none());
+  }
+
+  /**
+   * @param history
+   *          initialised history from which coverage of tests unaffected by
+   *          changes is reused, rather than gathered again
+   */
+  public DefaultCoverageGenerator(final File workingDir,
+      final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
+      final CodeSource code, final CoverageExporter exporter,
+      final Timings timings, final boolean showProgress,
+      final int numberOfMinions,
+      final Option<DetailedHistoryStore> history) {
     this.coverageOptions = coverageOptions;
+    this.numberOfMinions = numberOfMinions;
     this.code = code;
     this.launchOptions = launchOptions;
     this.timings = timings;
     this.workingDir = workingDir;
     this.exporter = exporter;
     this.showProgress = showProgress;
+    this.history = history;
   }
 
   @Override
@@ -84,7 +115,11 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
           this.code));
 
       this.timings.registerStart(Timings.Stage.COVERAGE);
-      gatherCoverageData(tests, coverage);
+      final Collection<ClassInfo> testsToRun = reuseHistoricCoverage(tests,
+          coverage);
+      if (!testsToRun.isEmpty()) {
+        gatherCoverageData(testsToRun, coverage);
+      }
       this.timings.registerEnd(Timings.Stage.COVERAGE);
 
       final long time = (System.currentTimeMillis() - t0) / 1000;
@@ -104,6 +139,38 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     }
   }
 
+  // splices in the previous coverage of each test class it still holds for,
+  // returning the test classes that must be run
+  private Collection<ClassInfo> reuseHistoricCoverage(
+      final Collection<ClassInfo> tests, final CoverageData coverage) {
+    if (this.history.hasNone()
+        || this.history.value().getHistoricCoverage().isEmpty()) {
+      return tests;
+    }
+
+    final Map<String, List<CoverageResult>> reusable = ReusableCoverage
+        .byTestClass(new DefaultCodeHistory(this.code, this.history.value()),
+            this.history.value().getHistoricCoverage(),
+            this.code.getTestTreeNames());
+    final List<ClassInfo> testsToRun = new ArrayList<ClassInfo>();
+    for (final ClassInfo each : tests) {
+      final List<CoverageResult> previous = reusable.get(each.getName()
+          .asJavaName());
+      if (previous == null) {
+        testsToRun.add(each);
+      } else {
+        for (final CoverageResult result : previous) {
+          coverage.calculateClassCoverage(result);
+        }
+      }
+    }
+
+    LOG.info("Reused coverage of " + (tests.size() - testsToRun.size())
+        + " test classes from history, " + testsToRun.size()
+        + " affected by changes will be run");
+    return testsToRun;
+  }
+
   private static void verifyBuildSuitableForMutationTesting(final CoverageData coverage) {
     if (!coverage.allTestsGreen()) {
       throw new PitHelpError(Help.FAILING_TESTS);
@@ -114,24 +181,48 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
       final CoverageData coverage) throws IOException, InterruptedException,
       ExecutionException {
 
-    final List<String> filteredTests = FCollection
-        .map(tests, classInfoToName());
-
     final SideEffect1<CoverageResult> handler = resultProcessor(coverage);
 
+    // each minion assigns its own class ids, which are resolved to class
+    // names by the Receive for its connection, so the results can be merged
+    // into one CoverageData without further translation
+    final List<List<String>> shards = TestShards.split(tests,
+        this.numberOfMinions);
+    if (shards.size() > 1) {
+      LOG.info("Gathering coverage using " + shards.size() + " minions");
+    }
+
+    final List<CoverageProcess> processes = new ArrayList<CoverageProcess>(
+        shards.size());
+    for (final List<String> each : shards) {
+      final CoverageProcess process = createProcess(each, handler);
+      process.start();
+      processes.add(process);
+    }
+
+    final List<ExitCode> exitCodes = new ArrayList<ExitCode>(processes.size());
+    for (final CoverageProcess each : processes) {
+      exitCodes.add(each.waitToDie());
+    }
+
+    for (final ExitCode each : exitCodes) {
+      checkExitCode(each);
+    }
+  }
+
+  private CoverageProcess createProcess(final List<String> tests,
+      final SideEffect1<CoverageResult> handler) throws IOException {
     final SocketFinder sf = new SocketFinder();
     final ServerSocket socket = sf.getNextAvailableServerSocket();
 
-    final CoverageProcess process = new CoverageProcess(ProcessArgs
+    return new CoverageProcess(ProcessArgs
         .withClassPath(this.code.getClassPath()).andBaseDir(this.workingDir)
         .andLaunchOptions(this.launchOptions).andStderr(logInfo())
         .andStdout(captureStandardOutIfVerbose()), this.coverageOptions,
-        socket, filteredTests, handler);
-
-    process.start();
-
-    ExitCode exitCode = process.waitToDie();
+        socket, tests, handler);
+  }
 
+  private static void checkExitCode(final ExitCode exitCode) {
     if (exitCode == ExitCode.JUNIT_ISSUE) {
       LOG.severe("Error generating coverage. Please check that your classpath contains JUnit 4.6 or above.");
       throw new PitError(
@@ -145,16 +236,6 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     }
   }
 
-  private static F<ClassInfo, String> classInfoToName() {
-    return new F<ClassInfo, String>() {
-      @Override
-      public String apply(final ClassInfo a) {
-        return a.getName().asInternalName();
-      }
-
-    };
-  }
-
   private SideEffect1<String> captureStandardOutIfVerbose() {
     if (this.coverageOptions.isVerbose()) {
       return log();
@@ -188,8 +269,9 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
           "\u0008\\", "\u0008|" };
       int i = 0;
 
+      // called concurrently by the communication thread of each minion
       @Override
-      public void apply(final CoverageResult cr) {
+      public synchronized void apply(final CoverageResult cr) {
         coverage.calculateClassCoverage(cr);
         if (DefaultCoverageGenerator.this.showProgress) {
           System.out.printf("%s", this.spinner[this.i % this.spinner.length]);
@@ -16,6 +16,7 @@ import org.pitest.testapi.Description;
 import org.pitest.util.Id;
 import org.pitest.util.ReceiveStrategy;
 import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.WireFormat;
 
 import sun.pitest.CodeCoverageStore;
 
@@ -25,9 +26,11 @@ final class Receive implements ReceiveStrategy {
   private final Map<Long, BlockLocation>    probeToBlock  = new ConcurrentHashMap<Long, BlockLocation>();
 
   private final SideEffect1<CoverageResult> handler;
+  private final DescriptionCodec            descriptions;
 
-  Receive(final SideEffect1<CoverageResult> handler) {
+  Receive(final SideEffect1<CoverageResult> handler, final WireFormat format) {
     this.handler = handler;
+    this.descriptions = new DescriptionCodec(format);
   }
 
   @Override
@@ -66,23 +69,30 @@ final class Receive implements ReceiveStrategy {
   }
 
   private void handleTestEnd(final SafeDataInputStream is) {
-    final Description d = is.read(Description.class);
-    final int numberOfResults = is.readInt();
+    final Description d = this.descriptions.read(is);
+    final int numberOfClasses = is.readVarInt();
 
-    final Set<BlockLocation> hits = new HashSet<BlockLocation>(numberOfResults);
+    final Set<BlockLocation> hits = new HashSet<BlockLocation>();
 
-    for (int i = 0; i != numberOfResults; i++) {
-      readProbeHit(is, hits);
+    for (int i = 0; i != numberOfClasses; i++) {
+      readClassHits(is, hits);
     }
 
     this.handler.apply(createCoverageResult(is, d, hits));
   }
 
-  private void readProbeHit(final SafeDataInputStream is,
+  private void readClassHits(final SafeDataInputStream is,
       final Set<BlockLocation> hits) {
-    final long encoded = is.readLong();
-    BlockLocation location = probeToBlock(encoded);
-    hits.add(location);
+    final int classId = is.readVarInt();
+    final int numberOfWords = is.readVarInt();
+    for (int word = 0; word != numberOfWords; word++) {
+      long bits = is.readLong();
+      while (bits != 0) {
+        final int probe = (word << 6) + Long.numberOfTrailingZeros(bits);
+        hits.add(probeToBlock(CodeCoverageStore.encode(classId, probe)));
+        bits = bits & (bits - 1);
+      }
+    }
   }
 
   private BlockLocation probeToBlock(long encoded) {
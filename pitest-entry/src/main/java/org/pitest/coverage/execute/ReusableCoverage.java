@@ -0,0 +1,97 @@
+package org.pitest.coverage.execute;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.mutationtest.incremental.CodeHistory;
+
+/**
+ * Selects the coverage recorded by a previous run that still holds.
+ *
+ * The results of a test class are reused only if neither the test class nor
+ * any class covered by its tests has changed since they were recorded. The
+ * tests of every other class must be run again.
+ *
+ * Classes in the test tree are not instrumented, so a test's use of helpers,
+ * fixtures and base classes is not recorded. If any class in the test tree
+ * has changed, nothing is reused. Changes to code classes that a test uses
+ * without covering, such as interfaces with no code, are not detected.
+ */
+final class ReusableCoverage {
+
+  private ReusableCoverage() {
+  }
+
+  /**
+   * @param testTree
+   *          every class in the test roots
+   * @return previous results that still hold, by the java name of the test
+   *         class that defined them
+   */
+  static Map<String, List<CoverageResult>> byTestClass(
+      final CodeHistory history, final Collection<CoverageResult> previous,
+      final Collection<ClassName> testTree) {
+    final Map<ClassName, Boolean> changed = new HashMap<ClassName, Boolean>();
+    for (final ClassName each : testTree) {
+      if (hasChanged(history, changed, each)) {
+        return Collections.emptyMap();
+      }
+    }
+
+    final Set<String> affected = new HashSet<String>();
+    final Map<String, List<CoverageResult>> reusable = new HashMap<String, List<CoverageResult>>();
+
+    for (final CoverageResult each : previous) {
+      final String testClass = each.getTestUnitDescription()
+          .getFirstTestClass();
+      if ((testClass == null) || affected.contains(testClass)) {
+        continue;
+      }
+      if (!each.isGreenTest()
+          || hasChanged(history, changed, ClassName.fromString(testClass))
+          || coversChangedClass(history, changed, each)) {
+        affected.add(testClass);
+        reusable.remove(testClass);
+        continue;
+      }
+      List<CoverageResult> results = reusable.get(testClass);
+      if (results == null) {
+        results = new ArrayList<CoverageResult>();
+        reusable.put(testClass, results);
+      }
+      results.add(each);
+    }
+
+    return reusable;
+  }
+
+  private static boolean coversChangedClass(final CodeHistory history,
+      final Map<ClassName, Boolean> changed, final CoverageResult result) {
+    for (final BlockLocation each : result.getCoverage()) {
+      if (hasChanged(history, changed, each.getLocation().getClassName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean hasChanged(final CodeHistory history,
+      final Map<ClassName, Boolean> changed, final ClassName clazz) {
+    Boolean result = changed.get(clazz);
+    if (result == null) {
+      result = history.hasClassChanged(clazz);
+      changed.put(clazz, result);
+    }
+    return result;
+  }
+
+}
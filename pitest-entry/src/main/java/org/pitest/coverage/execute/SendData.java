@@ -24,6 +24,7 @@ final class SendData implements SideEffect1<SafeDataOutputStream> {
   }
 
   private void sendArguments(final SafeDataOutputStream dos) {
+    this.arguments.getWireFormat().writeHandshake(dos);
     dos.write(this.arguments);
     dos.flush();
   }
@@ -0,0 +1,75 @@
+package org.pitest.coverage.execute;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.pitest.classinfo.ClassInfo;
+
+/**
+ * Splits test classes between coverage minions so that each receives a
+ * similar amount of work.
+ *
+ * The number of code lines in a test class is used as a stand in for its
+ * execution time. Classes are handed out largest first, each to the shard
+ * with the least work so far.
+ */
+final class TestShards {
+
+  private TestShards() {
+  }
+
+  static List<List<String>> split(final Collection<ClassInfo> tests,
+      final int maxShards) {
+    final int numberOfShards = Math.max(1, Math.min(maxShards, tests.size()));
+
+    final List<ClassInfo> largestFirst = new ArrayList<ClassInfo>(tests);
+    Collections.sort(largestFirst, largestFirst());
+
+    final List<List<String>> shards = new ArrayList<List<String>>(
+        numberOfShards);
+    final long[] weights = new long[numberOfShards];
+    for (int i = 0; i != numberOfShards; i++) {
+      shards.add(new ArrayList<String>());
+    }
+
+    for (final ClassInfo each : largestFirst) {
+      final int lightest = lightest(weights);
+      shards.get(lightest).add(each.getName().asInternalName());
+      weights[lightest] += weightOf(each);
+    }
+
+    return shards;
+  }
+
+  private static int lightest(final long[] weights) {
+    int lightest = 0;
+    for (int i = 1; i != weights.length; i++) {
+      if (weights[i] < weights[lightest]) {
+        lightest = i;
+      }
+    }
+    return lightest;
+  }
+
+  private static int weightOf(final ClassInfo test) {
+    // every class carries some fixed cost, even if it has few lines
+    return test.getNumberOfCodeLines() + 1;
+  }
+
+  private static Comparator<ClassInfo> largestFirst() {
+    return new Comparator<ClassInfo>() {
+      @Override
+      public int compare(final ClassInfo a, final ClassInfo b) {
+        final int bySize = weightOf(b) - weightOf(a);
+        if (bySize != 0) {
+          return bySize;
+        }
+        return a.getName().compareTo(b.getName());
+      }
+    };
+  }
+
+}
@@ -1,5 +1,8 @@
 package org.pitest.mutationtest;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
 
@@ -7,10 +10,17 @@ public class ClassHistory {
 
   private final HierarchicalClassId id;
   private final String              coverageId;
+  private final Map<String, Long>   methodHashes;
 
   public ClassHistory(final HierarchicalClassId id, final String coverageId) {
+    this(id, coverageId, Collections.<String, Long> emptyMap());
+  }
+
+  public ClassHistory(final HierarchicalClassId id, final String coverageId,
+      final Map<String, Long> methodHashes) {
     this.id = id;
     this.coverageId = coverageId;
+    this.methodHashes = methodHashes;
   }
 
   public HierarchicalClassId getId() {
@@ -21,6 +31,17 @@ public class ClassHistory {
     return this.coverageId;
   }
 
+  /**
+   * @return hash of the bytecode of each method, keyed by name and descriptor
+   */
+  public Map<String, Long> getMethodHashes() {
+    // histories written before methods were hashed have none
+    if (this.methodHashes == null) {
+      return Collections.emptyMap();
+    }
+    return this.methodHashes;
+  }
+
   public ClassName getName() {
     return this.id.getName();
   }
@@ -32,6 +53,7 @@ public class ClassHistory {
     result = (prime * result)
         + ((this.coverageId == null) ? 0 : this.coverageId.hashCode());
     result = (prime * result) + ((this.id == null) ? 0 : this.id.hashCode());
+    result = (prime * result) + getMethodHashes().hashCode();
     return result;
   }
 
@@ -61,7 +83,7 @@ public class ClassHistory {
     } else if (!this.id.equals(other.id)) {
       return false;
     }
-    return true;
+    return getMethodHashes().equals(other.getMethodHashes());
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package org.pitest.mutationtest;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * History that also holds enough to reuse the results of unchanged methods
+ * within changed classes, and the coverage of tests unaffected by changes.
+ *
+ * Stores implementing only {@link HistoryStore} are still used, but results
+ * are then reused only for unchanged classes and coverage is always gathered.
+ */
+public interface DetailedHistoryStore extends HistoryStore {
+
+  /**
+   * @param methodHashes
+   *          hash of each method of each class, keyed by class and then by
+   *          method name and descriptor. Classes without an entry are
+   *          recorded without method hashes.
+   */
+  void recordClassPath(Collection<HierarchicalClassId> ids,
+      CoverageDatabase coverageInfo,
+      Map<ClassName, Map<String, Long>> methodHashes);
+
+  /**
+   * @return identifier of the tests that covered each mutant, as given by
+   *         {@link org.pitest.mutationtest.incremental.CoveringTests}
+   */
+  Map<MutationIdentifier, String> getHistoricCoveringTests();
+
+  Collection<CoverageResult> getHistoricCoverage();
+
+}
@@ -21,13 +21,14 @@ import java.util.Comparator;
 import java.util.List;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.MutationDetails;
 
 public final class MutationMetaData {
 
   private final List<MutationResult> mutations;
 
   public MutationMetaData(final List<MutationResult> mutations) {
-    this.mutations = mutations;
+    this.mutations = withDuplicates(mutations);
   }
 
   public Collection<MutationResult> getMutations() {
@@ -54,6 +55,28 @@ public final class MutationMetaData {
 
   }
 
+  // duplicate mutants were not run, so take the status of the mutant they
+  // duplicate but report no tests run against them
+  private static List<MutationResult> withDuplicates(
+      final List<MutationResult> mutations) {
+    List<MutationResult> expanded = null;
+    for (final MutationResult each : mutations) {
+      final List<MutationDetails> duplicates = each.getDetails()
+          .getDuplicates();
+      if (duplicates.isEmpty()) {
+        continue;
+      }
+      if (expanded == null) {
+        expanded = new ArrayList<MutationResult>(mutations);
+      }
+      for (final MutationDetails duplicate : duplicates) {
+        expanded.add(new MutationResult(duplicate, new MutationStatusTestPair(
+            0, each.getStatus(), each.getKillingTest().getOrElse(null))));
+      }
+    }
+    return expanded == null ? mutations : expanded;
+  }
+
   private static Comparator<MutationResult> comparator() {
     return new Comparator<MutationResult>() {
 
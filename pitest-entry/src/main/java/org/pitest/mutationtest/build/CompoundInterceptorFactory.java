@@ -27,6 +27,21 @@ public class CompoundInterceptorFactory {
     return new CompoundMutationInterceptor(interceptors);
   }
 
+  /**
+   * Creates an interceptor that may be used by several threads at once. Each
+   * thread is given its own set of interceptors so the begin, intercept and
+   * end calls for one class are never interleaved with those for another.
+   */
+  public MutationInterceptor createPerThreadInterceptor(
+      final ReportOptions data, final ClassByteArraySource source) {
+    return new PerThreadInterceptor(new ThreadLocal<MutationInterceptor>() {
+      @Override
+      protected MutationInterceptor initialValue() {
+        return createInterceptor(data, source);
+      }
+    });
+  }
+
   
   private static F<MutationInterceptorFactory, MutationInterceptor> toInterceptor(
       final FeatureSelector<MutationInterceptorFactory> features, final ReportOptions data, final ClassByteArraySource source) {  
@@ -2,14 +2,20 @@ package org.pitest.mutationtest.build;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.BlockMap;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.coverage.TestInfo;
 import org.pitest.functional.FCollection;
+import org.pitest.functional.Option;
 import org.pitest.functional.prelude.Prelude;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.util.Log;
 
@@ -29,9 +35,25 @@ public class DefaultTestPrioritiser implements TestPrioritiser {
   private static final int       TIME_WEIGHTING_FOR_DIRECT_UNIT_TESTS = 1000;
 
   private final CoverageDatabase coverage;
+  private final Option<BlockMap> blocks;
 
   public DefaultTestPrioritiser(CoverageDatabase coverage) {
+    this(coverage, Option.<BlockMap> none());
+  }
+
+  /**
+   * @param blocks
+   *          used to target the tests covering the mutated block rather than
+   *          any block on the mutated line
+   */
+  public DefaultTestPrioritiser(CoverageDatabase coverage, BlockMap blocks) {
+    this(coverage, Option.some(blocks));
+  }
+
+  private DefaultTestPrioritiser(CoverageDatabase coverage,
+      Option<BlockMap> blocks) {
     this.coverage = coverage;
+    this.blocks = blocks;
   }
 
   @Override
@@ -41,6 +63,10 @@ public class DefaultTestPrioritiser implements TestPrioritiser {
 
   private Collection<TestInfo> pickTests(MutationDetails mutation) {
     if (!mutation.isInStaticInitializer()) {
+      final Option<Collection<TestInfo>> byBlock = pickTestsByBlock(mutation);
+      if (byBlock.hasSome()) {
+        return byBlock.value();
+      }
       return this.coverage.getTestsForClassLine(mutation.getClassLine());
     } else {
       LOG.warning("Using untargetted tests");
@@ -48,6 +74,26 @@ public class DefaultTestPrioritiser implements TestPrioritiser {
     }
   }
 
+  // other blocks on the same line (lambdas, ternaries etc) may be executed
+  // by tests that never reach the mutated instruction
+  private Option<Collection<TestInfo>> pickTestsByBlock(
+      MutationDetails mutation) {
+    if (this.blocks.hasNone()) {
+      return Option.none();
+    }
+    final Location location = mutation.getId().getLocation();
+    final Set<TestInfo> tests = new LinkedHashSet<TestInfo>();
+    for (final int index : mutation.getId().getIndexes()) {
+      final Option<BlockLocation> block = this.blocks.value().blockFor(
+          location, index - 1);
+      if (block.hasNone()) {
+        return Option.none();
+      }
+      tests.addAll(this.coverage.getTestsForBlockLocation(block.value()));
+    }
+    return Option.<Collection<TestInfo>> some(tests);
+  }
+
   private List<TestInfo> prioritizeTests(ClassName clazz,
       Collection<TestInfo> testsForMutant) {
     final List<TestInfo> sortedTis = FCollection.map(testsForMutant,
@@ -4,6 +4,7 @@ import java.util.Properties;
 
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.analysis.BlockMapper;
 
 public class DefaultTestPrioritiserFactory implements TestPrioritiserFactory {
 
@@ -15,7 +16,7 @@ public class DefaultTestPrioritiserFactory implements TestPrioritiserFactory {
   @Override
   public TestPrioritiser makeTestPrioritiser(final Properties props,
       final CodeSource code, final CoverageDatabase coverage) {
-    return new DefaultTestPrioritiser(coverage);
+    return new DefaultTestPrioritiser(coverage, new BlockMapper(code));
   }
 
 }
@@ -10,9 +10,10 @@ package org.pitest.mutationtest.build;
  * MODIFY - Modify mutants in a way that is functionally significant (e.g mark as poisoning JVM)
  * FILTER - Remove mutants from processing
  * MODIFY_COSMETIC - Modify mutants in way that will not affect processing (e.g update descriptions)
+ * DEDUPLICATE - Remove mutants whose result can be taken from another mutant
  * REPORT - Output mutant in their final state
  * 
  */
 public enum InterceptorType {
-  OTHER, MODIFY, FILTER, MODIFY_COSMETIC, REPORT
+  OTHER, MODIFY, FILTER, MODIFY_COSMETIC, DEDUPLICATE, REPORT
 }
@@ -0,0 +1,126 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * Estimates how likely each test is to kill a mutant from the tests that
+ * killed mutants of the same method, class and mutator in earlier runs.
+ *
+ * The estimate at each level is the number of mutants the test killed over
+ * the number of mutants tested (plus one, so that a single observation does
+ * not count as certainty). The levels are combined with more weight given to
+ * the more specific ones.
+ */
+final class KillHistory {
+
+  private static final int                        METHOD_WEIGHT  = 4;
+  private static final int                        CLASS_WEIGHT   = 2;
+  private static final int                        MUTATOR_WEIGHT = 1;
+
+  private final Map<String, Integer>              tested         = new HashMap<String, Integer>();
+  private final Map<String, Map<String, Integer>> kills          = new HashMap<String, Map<String, Integer>>();
+
+  KillHistory(final Map<MutationIdentifier, MutationStatusTestPair> results) {
+    for (final Entry<MutationIdentifier, MutationStatusTestPair> each : results
+        .entrySet()) {
+      record(each.getKey(), each.getValue());
+    }
+  }
+
+  boolean isEmpty() {
+    return this.kills.isEmpty();
+  }
+
+  /**
+   * @return estimated probability, between 0 and 1, that each of the named
+   *         tests kills the mutant
+   */
+  Map<String, Double> killProbabilities(final Collection<String> tests,
+      final MutationIdentifier mutant) {
+    final Map<String, Double> probabilities = new HashMap<String, Double>();
+    final String method = methodKey(mutant);
+    final String clazz = classKey(mutant);
+    final String mutator = mutatorKey(mutant);
+    for (final String each : tests) {
+      final double weighted = (METHOD_WEIGHT * rate(each, method))
+          + (CLASS_WEIGHT * rate(each, clazz))
+          + (MUTATOR_WEIGHT * rate(each, mutator));
+      probabilities.put(each, weighted
+          / (METHOD_WEIGHT + CLASS_WEIGHT + MUTATOR_WEIGHT));
+    }
+    return probabilities;
+  }
+
+  private void record(final MutationIdentifier mutant,
+      final MutationStatusTestPair result) {
+    if (!wasTested(result.getStatus())) {
+      return;
+    }
+    final String[] keys = { methodKey(mutant), classKey(mutant),
+        mutatorKey(mutant) };
+    for (final String key : keys) {
+      increment(this.tested, key);
+    }
+
+    if ((result.getStatus() == DetectionStatus.KILLED)
+        && result.getKillingTest().hasSome()) {
+      final String test = result.getKillingTest().value();
+      Map<String, Integer> byTest = this.kills.get(test);
+      if (byTest == null) {
+        byTest = new HashMap<String, Integer>();
+        this.kills.put(test, byTest);
+      }
+      for (final String key : keys) {
+        increment(byTest, key);
+      }
+    }
+  }
+
+  private double rate(final String test, final String key) {
+    final Map<String, Integer> byTest = this.kills.get(test);
+    if (byTest == null) {
+      return 0;
+    }
+    final Integer killed = byTest.get(key);
+    if (killed == null) {
+      return 0;
+    }
+    return killed / (this.tested.get(key) + 1d);
+  }
+
+  private static boolean wasTested(final DetectionStatus status) {
+    return (status == DetectionStatus.KILLED)
+        || (status == DetectionStatus.SURVIVED)
+        || (status == DetectionStatus.TIMED_OUT)
+        || (status == DetectionStatus.MEMORY_ERROR);
+  }
+
+  private static void increment(final Map<String, Integer> counts,
+      final String key) {
+    final Integer current = counts.get(key);
+    counts.put(key, current == null ? 1 : current + 1);
+  }
+
+  private static String methodKey(final MutationIdentifier mutant) {
+    final Location location = mutant.getLocation();
+    return "m:" + location.getClassName().asJavaName() + "."
+        + location.getMethodName().name() + location.getMethodDesc();
+  }
+
+  private static String classKey(final MutationIdentifier mutant) {
+    return "c:" + mutant.getClassName().asJavaName();
+  }
+
+  private static String mutatorKey(final MutationIdentifier mutant) {
+    return "u:" + mutant.getMutator();
+  }
+
+}
@@ -0,0 +1,55 @@
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Orders the tests chosen by another prioritiser so that those most likely
+ * to kill the mutant, judged by earlier runs, come first. Tests that are
+ * equally likely to kill keep the order of the underlying prioritiser, so
+ * cheaper tests are still preferred.
+ */
+public class KillHistoryTestPrioritiser implements TestPrioritiser {
+
+  private final TestPrioritiser child;
+  private final KillHistory     history;
+
+  KillHistoryTestPrioritiser(final TestPrioritiser child,
+      final KillHistory history) {
+    this.child = child;
+    this.history = history;
+  }
+
+  @Override
+  public List<TestInfo> assignTests(final MutationDetails mutation) {
+    final List<TestInfo> tests = this.child.assignTests(mutation);
+    if (this.history.isEmpty() || (tests.size() < 2)) {
+      return tests;
+    }
+
+    final List<TestInfo> sorted = new ArrayList<TestInfo>(tests);
+    // sort is stable so ties keep the cost based order of the child
+    Collections.sort(sorted, byKillProbability(this.history.killProbabilities(
+        FCollection.map(tests, TestInfo.toName()), mutation.getId())));
+    return sorted;
+  }
+
+  private static Comparator<TestInfo> byKillProbability(
+      final Map<String, Double> probabilities) {
+    return new Comparator<TestInfo>() {
+      @Override
+      public int compare(final TestInfo a, final TestInfo b) {
+        return probabilities.get(b.getName()).compareTo(
+            probabilities.get(a.getName()));
+      }
+    };
+  }
+
+}
@@ -0,0 +1,36 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Properties;
+
+import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.analysis.BlockMapper;
+import org.pitest.mutationtest.HistoryStore;
+
+/**
+ * Orders tests by how often they killed similar mutants in earlier runs,
+ * falling back to the default ordering where there is no history.
+ */
+public class KillHistoryTestPrioritiserFactory implements
+    TestPrioritiserFactory {
+
+  private final HistoryStore history;
+
+  public KillHistoryTestPrioritiserFactory(final HistoryStore history) {
+    this.history = history;
+  }
+
+  @Override
+  public String description() {
+    return "Kill history test prioritiser";
+  }
+
+  @Override
+  public TestPrioritiser makeTestPrioritiser(final Properties props,
+      final CodeSource code, final CoverageDatabase coverage) {
+    return new KillHistoryTestPrioritiser(new DefaultTestPrioritiser(coverage,
+        new BlockMapper(code)),
+        new KillHistory(this.history.getHistoricResults()));
+  }
+
+}
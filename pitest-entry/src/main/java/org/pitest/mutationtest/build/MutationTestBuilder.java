@@ -21,6 +21,11 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.coverage.TestInfo;
@@ -31,30 +36,46 @@ import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Unchecked;
 
 public class MutationTestBuilder {
 
+  // when work stealing, the number of chunks the total estimated work is
+  // divided into for each thread. More chunks give a shorter tail at the
+  // cost of more minion round trips.
+  private static final int       CHUNKS_PER_THREAD = 8;
+
   private final MutationSource   mutationSource;
   private final MutationAnalyser analyser;
   private final WorkerFactory    workerFactory;
   private final MutationGrouper  grouper;
+  private final boolean          workStealing;
+  private final int              numberOfThreads;
 
   public MutationTestBuilder(final WorkerFactory workerFactory,
       final MutationAnalyser analyser, final MutationSource mutationSource,
       final MutationGrouper grouper) {
+    this(workerFactory, analyser, mutationSource, grouper, false, 1);
+  }
+
+  public MutationTestBuilder(final WorkerFactory workerFactory,
+      final MutationAnalyser analyser, final MutationSource mutationSource,
+      final MutationGrouper grouper, final boolean workStealing,
+      final int numberOfThreads) {
 
     this.mutationSource = mutationSource;
     this.analyser = analyser;
     this.workerFactory = workerFactory;
     this.grouper = grouper;
+    this.workStealing = workStealing;
+    this.numberOfThreads = numberOfThreads;
   }
 
   public List<MutationAnalysisUnit> createMutationTestUnits(
       final Collection<ClassName> codeClasses) {
     final List<MutationAnalysisUnit> tus = new ArrayList<MutationAnalysisUnit>();
 
-    final List<MutationDetails> mutations = FCollection.flatMap(codeClasses,
-        classToMutations());
+    final List<MutationDetails> mutations = findMutations(codeClasses);
 
     Collections.sort(mutations, comparator());
 
@@ -72,9 +93,14 @@ public class MutationTestBuilder {
     }
 
     if (!needAnalysis.isEmpty()) {
-      for (final Collection<MutationDetails> ms : this.grouper.groupMutations(
-          codeClasses, needAnalysis)) {
-        tus.add(makeUnanalysedUnit(ms));
+      final List<List<MutationDetails>> groups = this.grouper.groupMutations(
+          codeClasses, needAnalysis);
+      if (this.workStealing) {
+        tus.addAll(makeWorkStealingUnits(groups));
+      } else {
+        for (final Collection<MutationDetails> ms : groups) {
+          tus.add(makeUnanalysedUnit(ms));
+        }
       }
     }
 
@@ -82,6 +108,46 @@ public class MutationTestBuilder {
     return tus;
   }
 
+  private List<MutationDetails> findMutations(
+      final Collection<ClassName> codeClasses) {
+    if ((this.numberOfThreads <= 1) || (codeClasses.size() <= 1)) {
+      return FCollection.flatMap(codeClasses, classToMutations());
+    }
+
+    // each class is examined independently, results are gathered in the
+    // order the classes were supplied so output does not depend on timing
+    final ExecutorService executor = Executors
+        .newFixedThreadPool(this.numberOfThreads);
+    try {
+      final List<Future<Collection<MutationDetails>>> perClass = new ArrayList<Future<Collection<MutationDetails>>>(
+          codeClasses.size());
+      for (final ClassName each : codeClasses) {
+        perClass.add(executor.submit(mutationsFor(each)));
+      }
+      final List<MutationDetails> mutations = new ArrayList<MutationDetails>();
+      for (final Future<Collection<MutationDetails>> each : perClass) {
+        mutations.addAll(each.get());
+      }
+      return mutations;
+    } catch (final InterruptedException e) {
+      throw Unchecked.translateCheckedException(e);
+    } catch (final ExecutionException e) {
+      throw Unchecked.translateCheckedException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Callable<Collection<MutationDetails>> mutationsFor(
+      final ClassName clazz) {
+    return new Callable<Collection<MutationDetails>>() {
+      @Override
+      public Collection<MutationDetails> call() {
+        return MutationTestBuilder.this.mutationSource.createMutations(clazz);
+      }
+    };
+  }
+
   private Comparator<MutationDetails> comparator() {
     return new Comparator<MutationDetails>() {
 
@@ -110,12 +176,28 @@ public class MutationTestBuilder {
 
   private MutationAnalysisUnit makeUnanalysedUnit(
       final Collection<MutationDetails> needAnalysis) {
+    return new MutationTestUnit(needAnalysis, testClassesFor(needAnalysis),
+        this.workerFactory);
+  }
+
+  private List<MutationAnalysisUnit> makeWorkStealingUnits(
+      final List<List<MutationDetails>> groups) {
+    final MutationWorkPool pool = new MutationWorkPool(groups,
+        this.numberOfThreads, CHUNKS_PER_THREAD);
+    final List<MutationAnalysisUnit> units = new ArrayList<MutationAnalysisUnit>(
+        groups.size());
+    for (int i = 0; i != pool.numberOfUnits(); i++) {
+      units.add(new WorkStealingMutationTestUnit(pool, i, this.workerFactory));
+    }
+    return units;
+  }
+
+  static Set<ClassName> testClassesFor(
+      final Collection<MutationDetails> mutations) {
     final Set<ClassName> uniqueTestClasses = new HashSet<ClassName>();
-    FCollection.flatMapTo(needAnalysis, mutationDetailsToTestClass(),
+    FCollection.flatMapTo(mutations, mutationDetailsToTestClass(),
         uniqueTestClasses);
-
-    return new MutationTestUnit(needAnalysis, uniqueTestClasses,
-        this.workerFactory);
+    return uniqueTestClasses;
   }
 
   private static F<MutationResult, MutationDetails> resultToDetails() {
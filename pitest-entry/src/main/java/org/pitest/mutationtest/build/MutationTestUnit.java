@@ -23,7 +23,7 @@ import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationMetaData;
 import org.pitest.mutationtest.MutationStatusMap;
 import org.pitest.mutationtest.engine.MutationDetails;
-import org.pitest.mutationtest.execute.MutationTestProcess;
+import org.pitest.mutationtest.execute.MinionProcess;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Log;
 
@@ -75,7 +75,7 @@ public class MutationTestUnit implements MutationAnalysisUnit {
 
     final Collection<MutationDetails> remainingMutations = mutations
         .getUnrunMutations();
-    final MutationTestProcess worker = this.workerFactory.createWorker(
+    final MinionProcess worker = this.workerFactory.createWorker(
         remainingMutations, this.testClasses);
     worker.start();
 
@@ -88,7 +88,7 @@ public class MutationTestUnit implements MutationAnalysisUnit {
     correctResultForProcessExitCode(mutations, exitCode);
   }
 
-  private static ExitCode waitForMinionToDie(final MutationTestProcess worker) {
+  private static ExitCode waitForMinionToDie(final MinionProcess worker) {
     final ExitCode exitCode = worker.waitToDie();
     LOG.fine("Exit code was - " + exitCode);
     return exitCode;
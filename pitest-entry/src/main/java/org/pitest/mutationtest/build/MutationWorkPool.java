@@ -0,0 +1,131 @@
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Holds the mutations still to be analysed by a set of units, and hands them
+ * out in chunks of roughly equal estimated cost.
+ *
+ * Each unit takes work from the front of its own queue. Once that is empty
+ * it steals from the back of the queue with the most estimated work left, so
+ * that a unit containing a few expensive mutations is shared between threads
+ * rather than running on alone after all other work has finished.
+ */
+class MutationWorkPool {
+
+  // allowance for launching tests against a mutant, so mutants without
+  // recorded test times still carry some cost
+  private static final long                       FIXED_COST_PER_MUTANT = 10;
+
+  private final List<LinkedList<MutationDetails>> queues;
+  private final long[]                            remainingCost;
+  private final long                              chunkCost;
+
+  MutationWorkPool(final List<? extends Collection<MutationDetails>> units,
+      final int numberOfThreads, final int chunksPerThread) {
+    this.queues = new ArrayList<LinkedList<MutationDetails>>(units.size());
+    this.remainingCost = new long[units.size()];
+    long total = 0;
+    for (int i = 0; i != units.size(); i++) {
+      final LinkedList<MutationDetails> queue = new LinkedList<MutationDetails>(
+          units.get(i));
+      this.queues.add(queue);
+      this.remainingCost[i] = estimateCost(queue);
+      total = total + this.remainingCost[i];
+    }
+    this.chunkCost = Math.max(FIXED_COST_PER_MUTANT, total
+        / Math.max(1, numberOfThreads * chunksPerThread));
+  }
+
+  /**
+   * Estimated cost of analysing a mutant, based on the execution times of the
+   * tests that cover it. Each test may need to run, so the time for all of
+   * them is an upper bound.
+   */
+  static long estimateCost(final MutationDetails mutation) {
+    long cost = FIXED_COST_PER_MUTANT;
+    for (final TestInfo each : mutation.getTestsInOrder()) {
+      cost = cost + each.getTime();
+    }
+    return cost;
+  }
+
+  static long estimateCost(final Collection<MutationDetails> mutations) {
+    long cost = 0;
+    for (final MutationDetails each : mutations) {
+      cost = cost + estimateCost(each);
+    }
+    return cost;
+  }
+
+  int numberOfUnits() {
+    return this.queues.size();
+  }
+
+  synchronized long remainingCost(final int unit) {
+    return this.remainingCost[unit];
+  }
+
+  /**
+   * Returns the next chunk of work for the given unit, or an empty list when
+   * no work remains anywhere in the pool.
+   */
+  synchronized List<MutationDetails> next(final int unit) {
+    if (!this.queues.get(unit).isEmpty()) {
+      return takeFromFront(unit);
+    }
+    final int victim = unitWithMostRemainingWork();
+    if (victim == -1) {
+      return Collections.emptyList();
+    }
+    return stealFromBack(victim);
+  }
+
+  private List<MutationDetails> takeFromFront(final int unit) {
+    final LinkedList<MutationDetails> queue = this.queues.get(unit);
+    final List<MutationDetails> chunk = new ArrayList<MutationDetails>();
+    long cost = 0;
+    while (!queue.isEmpty() && (chunk.isEmpty() || (cost < this.chunkCost))) {
+      final MutationDetails each = queue.removeFirst();
+      cost = cost + estimateCost(each);
+      chunk.add(each);
+    }
+    this.remainingCost[unit] = this.remainingCost[unit] - cost;
+    return chunk;
+  }
+
+  private List<MutationDetails> stealFromBack(final int victim) {
+    final LinkedList<MutationDetails> queue = this.queues.get(victim);
+    // take no more than half the remaining work so the owner keeps some
+    final long limit = Math.min(this.chunkCost,
+        this.remainingCost[victim] / 2);
+    final List<MutationDetails> chunk = new ArrayList<MutationDetails>();
+    long cost = 0;
+    while (!queue.isEmpty() && (chunk.isEmpty() || (cost < limit))) {
+      final MutationDetails each = queue.removeLast();
+      cost = cost + estimateCost(each);
+      chunk.add(0, each);
+    }
+    this.remainingCost[victim] = this.remainingCost[victim] - cost;
+    return chunk;
+  }
+
+  private int unitWithMostRemainingWork() {
+    int victim = -1;
+    for (int i = 0; i != this.queues.size(); i++) {
+      if (!this.queues.get(i).isEmpty()
+          && ((victim == -1) || (this.remainingCost[i] > this.remainingCost[victim]))) {
+        victim = i;
+      }
+    }
+    return victim;
+  }
+
+}
@@ -0,0 +1,43 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Collection;
+
+import org.pitest.bytecode.analysis.ClassTree;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Delegates to an interceptor held for the calling thread, allowing classes
+ * to be examined concurrently by interceptors that keep state between begin
+ * and end.
+ */
+class PerThreadInterceptor implements MutationInterceptor {
+
+  private final ThreadLocal<MutationInterceptor> interceptors;
+
+  PerThreadInterceptor(final ThreadLocal<MutationInterceptor> interceptors) {
+    this.interceptors = interceptors;
+  }
+
+  @Override
+  public InterceptorType type() {
+    return this.interceptors.get().type();
+  }
+
+  @Override
+  public void begin(final ClassTree clazz) {
+    this.interceptors.get().begin(clazz);
+  }
+
+  @Override
+  public Collection<MutationDetails> intercept(
+      final Collection<MutationDetails> mutations, final Mutater m) {
+    return this.interceptors.get().intercept(mutations, m);
+  }
+
+  @Override
+  public void end() {
+    this.interceptors.get().end();
+  }
+
+}
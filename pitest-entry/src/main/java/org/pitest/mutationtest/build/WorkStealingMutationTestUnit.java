@@ -0,0 +1,52 @@
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Analyses mutations taken a chunk at a time from a shared
+ * {@link MutationWorkPool}. When its own mutations are exhausted the unit
+ * carries on with work stolen from other units.
+ */
+public class WorkStealingMutationTestUnit implements MutationAnalysisUnit {
+
+  private final MutationWorkPool pool;
+  private final int              unit;
+  private final WorkerFactory    workerFactory;
+  private final int              priority;
+
+  WorkStealingMutationTestUnit(final MutationWorkPool pool, final int unit,
+      final WorkerFactory workerFactory) {
+    this.pool = pool;
+    this.unit = unit;
+    this.workerFactory = workerFactory;
+    this.priority = (int) Math.min(Integer.MAX_VALUE / 2,
+        pool.remainingCost(unit));
+  }
+
+  @Override
+  public MutationMetaData call() throws Exception {
+    final List<MutationResult> results = new ArrayList<MutationResult>();
+    List<MutationDetails> chunk = this.pool.next(this.unit);
+    while (!chunk.isEmpty()) {
+      final MutationTestUnit mtu = new MutationTestUnit(chunk,
+          MutationTestBuilder.testClassesFor(chunk), this.workerFactory);
+      results.addAll(mtu.call().getMutations());
+      chunk = this.pool.next(this.unit);
+    }
+    return new MutationMetaData(results);
+  }
+
+  /**
+   * Units with the most estimated work are started first
+   */
+  @Override
+  public int priority() {
+    return this.priority;
+  }
+
+}
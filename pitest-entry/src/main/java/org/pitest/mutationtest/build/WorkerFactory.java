@@ -6,26 +6,42 @@ import java.io.File;
 import java.util.Collection;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.functional.Option;
 import org.pitest.functional.SideEffect1;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.mutationtest.MutationConfig;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.execute.AgentCoordinator;
+import org.pitest.mutationtest.execute.MeasuredTimeouts;
+import org.pitest.mutationtest.execute.MinionPool;
+import org.pitest.mutationtest.execute.MinionProcess;
 import org.pitest.mutationtest.execute.MutationTestProcess;
 import org.pitest.mutationtest.execute.MinionArguments;
+import org.pitest.mutationtest.execute.PooledMutationTestProcess;
+import org.pitest.mutationtest.execute.RemoteMutationTestProcess;
+import org.pitest.mutationtest.execute.TestDurations;
 import org.pitest.process.ProcessArgs;
 import org.pitest.testapi.Configuration;
 import org.pitest.util.Log;
 import org.pitest.util.SocketFinder;
+import org.pitest.util.WireFormat;
 
 public class WorkerFactory {
 
-  private final String                classPath;
-  private final File                  baseDir;
-  private final Configuration         pitConfig;
-  private final TimeoutLengthStrategy timeoutStrategy;
-  private final boolean               verbose;
-  private final MutationConfig        config;
+  private final String                   classPath;
+  private final File                     baseDir;
+  private final Configuration            pitConfig;
+  private final TimeoutLengthStrategy    timeoutStrategy;
+  private final boolean                  verbose;
+  private final MutationConfig           config;
+  private Option<MinionPool>             pool           = Option.none();
+  private WireFormat                     wireFormat     = WireFormat.XML;
+  private int                            mutantThreads  = 1;
+  private boolean                        mutantSchemata = false;
+  private Option<TestDurations>          measured       = Option.none();
+  private boolean                        loopGuards     = false;
+  private Option<AgentCoordinator>       agents         = Option.none();
 
   public WorkerFactory(final File baseDir, final Configuration pitConfig,
       final MutationConfig mutationConfig,
@@ -39,24 +55,118 @@ public class WorkerFactory {
     this.config = mutationConfig;
   }
 
-  public MutationTestProcess createWorker(
+  /**
+   * @param pool
+   *          if supplied, minions are borrowed from it and reused rather than
+   *          launched for each unit
+   */
+  public WorkerFactory andPool(final Option<MinionPool> pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  public WorkerFactory andWireFormat(final WireFormat wireFormat) {
+    this.wireFormat = wireFormat;
+    return this;
+  }
+
+  public WorkerFactory andMutantThreads(final int mutantThreads) {
+    this.mutantThreads = mutantThreads;
+    return this;
+  }
+
+  public WorkerFactory andMutantSchemata(final boolean mutantSchemata) {
+    this.mutantSchemata = mutantSchemata;
+    return this;
+  }
+
+  /**
+   * @param measured
+   *          if supplied, collects the test durations reported by minions
+   *          and gives each new minion timeouts based on those measured so
+   *          far
+   */
+  public WorkerFactory andMeasuredDurations(
+      final Option<TestDurations> measured) {
+    this.measured = measured;
+    return this;
+  }
+
+  /**
+   * @param loopGuards
+   *          if true minions guard the loops of each mutated method against
+   *          running past the allowed time
+   */
+  public WorkerFactory andLoopGuards(final boolean loopGuards) {
+    this.loopGuards = loopGuards;
+    return this;
+  }
+
+  /**
+   * @param agents
+   *          if supplied, minions are run by the remote agents registered with
+   *          it rather than on this machine
+   */
+  public WorkerFactory andAgents(final Option<AgentCoordinator> agents) {
+    this.agents = agents;
+    return this;
+  }
+
+  public MinionProcess createWorker(
       final Collection<MutationDetails> remainingMutations,
       final Collection<ClassName> testClasses) {
     final MinionArguments fileArgs = new MinionArguments(remainingMutations,
         testClasses, this.config.getEngine(), this.timeoutStrategy,
-        Log.isVerbose(), this.pitConfig);
+        Log.isVerbose(), this.pitConfig).andReusable(this.pool.hasSome())
+        .andMutantThreads(this.mutantThreads)
+        .andMutantSchemata(this.mutantSchemata)
+        .andMeasuredTimeouts(measuredTimeouts()).andLoopGuards(this.loopGuards);
 
     final ProcessArgs args = ProcessArgs.withClassPath(this.classPath)
         .andLaunchOptions(this.config.getLaunchOptions())
         .andBaseDir(this.baseDir).andStdout(captureStdOutIfVerbose())
         .andStderr(printWith("stderr "));
 
+    if (this.agents.hasSome()) {
+      return new RemoteMutationTestProcess(this.agents.value(),
+          this.classPath, this.config.getLaunchOptions(), fileArgs,
+          remainingMutations.size(), maxMutationsPerMinion(), this.wireFormat,
+          durationsStore());
+    }
+
+    if (this.pool.hasSome()) {
+      return new PooledMutationTestProcess(this.pool.value(), args, fileArgs,
+          remainingMutations.size(), this.wireFormat, durationsStore());
+    }
+
     final SocketFinder sf = new SocketFinder();
     final MutationTestProcess worker = new MutationTestProcess(
-        sf.getNextAvailableServerSocket(), args, fileArgs);
+        sf.getNextAvailableServerSocket(), args, fileArgs, this.wireFormat,
+        durationsStore());
     return worker;
   }
 
+  private int maxMutationsPerMinion() {
+    if (this.pool.hasSome()) {
+      return this.pool.value().getMaxMutationsPerMinion();
+    }
+    return 0;
+  }
+
+  private MeasuredTimeouts measuredTimeouts() {
+    if (this.measured.hasSome()) {
+      return MeasuredTimeouts.from(this.measured.value());
+    }
+    return MeasuredTimeouts.disabled();
+  }
+
+  private TestDurations durationsStore() {
+    if (this.measured.hasSome()) {
+      return this.measured.value();
+    }
+    return new TestDurations();
+  }
+
   private SideEffect1<String> captureStdOutIfVerbose() {
     if (this.verbose) {
       return Prelude.printWith("stdout ");
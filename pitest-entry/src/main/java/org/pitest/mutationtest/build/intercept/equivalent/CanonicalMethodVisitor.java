@@ -0,0 +1,213 @@
+package org.pitest.mutationtest.build.intercept.equivalent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.pitest.util.Unchecked;
+
+/**
+ * Records the instructions of a method in a form that does not depend on how
+ * the method was written to or read from a class file. Line numbers, frames,
+ * local variable names and maximums are left out, and labels are replaced by
+ * the position of the instruction they mark, so methods that behave the same
+ * whatever way their bytecode was produced give equal canonical forms.
+ */
+public class CanonicalMethodVisitor extends MethodVisitor {
+
+  private static final int            LABEL_TABLE = -1;
+  private static final int            TRY_CATCH   = -2;
+
+  private final ByteArrayOutputStream bytes       = new ByteArrayOutputStream();
+  private final DataOutputStream      out         = new DataOutputStream(
+                                                      this.bytes);
+
+  private final Map<Label, Integer>   positions   = new HashMap<Label, Integer>();
+  private final Map<Label, Integer>   ids         = new HashMap<Label, Integer>();
+  private final List<Label>           referenced  = new ArrayList<Label>();
+  private int                         instructions;
+
+  public CanonicalMethodVisitor() {
+    super(Opcodes.ASM6);
+  }
+
+  /**
+   * @return canonical form of the visited instructions, comparable by equals
+   */
+  public ByteBuffer canonicalForm() {
+    writeInt(LABEL_TABLE);
+    for (final Label each : this.referenced) {
+      final Integer position = this.positions.get(each);
+      writeInt(position == null ? -1 : position);
+    }
+    return ByteBuffer.wrap(this.bytes.toByteArray());
+  }
+
+  @Override
+  public void visitLabel(final Label label) {
+    this.positions.put(label, this.instructions);
+  }
+
+  @Override
+  public void visitTryCatchBlock(final Label start, final Label end,
+      final Label handler, final String type) {
+    writeInt(TRY_CATCH);
+    writeLabel(start);
+    writeLabel(end);
+    writeLabel(handler);
+    writeString(String.valueOf(type));
+  }
+
+  @Override
+  public void visitInsn(final int opcode) {
+    instruction(opcode);
+  }
+
+  @Override
+  public void visitIntInsn(final int opcode, final int operand) {
+    instruction(opcode);
+    writeInt(operand);
+  }
+
+  @Override
+  public void visitVarInsn(final int opcode, final int var) {
+    instruction(opcode);
+    writeInt(var);
+  }
+
+  @Override
+  public void visitTypeInsn(final int opcode, final String type) {
+    instruction(opcode);
+    writeString(type);
+  }
+
+  @Override
+  public void visitFieldInsn(final int opcode, final String owner,
+      final String name, final String desc) {
+    instruction(opcode);
+    writeString(owner);
+    writeString(name);
+    writeString(desc);
+  }
+
+  @Override
+  public void visitMethodInsn(final int opcode, final String owner,
+      final String name, final String desc, final boolean itf) {
+    instruction(opcode);
+    writeString(owner);
+    writeString(name);
+    writeString(desc);
+    writeInt(itf ? 1 : 0);
+  }
+
+  @Override
+  public void visitInvokeDynamicInsn(final String name, final String desc,
+      final Handle bsm, final Object... bsmArgs) {
+    instruction(Opcodes.INVOKEDYNAMIC);
+    writeString(name);
+    writeString(desc);
+    writeConstant(bsm);
+    writeInt(bsmArgs.length);
+    for (final Object each : bsmArgs) {
+      writeConstant(each);
+    }
+  }
+
+  @Override
+  public void visitJumpInsn(final int opcode, final Label label) {
+    instruction(opcode);
+    writeLabel(label);
+  }
+
+  @Override
+  public void visitLdcInsn(final Object cst) {
+    instruction(Opcodes.LDC);
+    writeConstant(cst);
+  }
+
+  @Override
+  public void visitIincInsn(final int var, final int increment) {
+    instruction(Opcodes.IINC);
+    writeInt(var);
+    writeInt(increment);
+  }
+
+  @Override
+  public void visitTableSwitchInsn(final int min, final int max,
+      final Label dflt, final Label... labels) {
+    instruction(Opcodes.TABLESWITCH);
+    writeInt(min);
+    writeInt(max);
+    writeLabel(dflt);
+    for (final Label each : labels) {
+      writeLabel(each);
+    }
+  }
+
+  @Override
+  public void visitLookupSwitchInsn(final Label dflt, final int[] keys,
+      final Label[] labels) {
+    instruction(Opcodes.LOOKUPSWITCH);
+    writeLabel(dflt);
+    writeInt(keys.length);
+    for (int i = 0; i != keys.length; i++) {
+      writeInt(keys[i]);
+      writeLabel(labels[i]);
+    }
+  }
+
+  @Override
+  public void visitMultiANewArrayInsn(final String desc, final int dims) {
+    instruction(Opcodes.MULTIANEWARRAY);
+    writeString(desc);
+    writeInt(dims);
+  }
+
+  private void instruction(final int opcode) {
+    this.instructions++;
+    writeInt(opcode);
+  }
+
+  // labels are numbered in the order they are first referenced, their
+  // positions are written once all instructions have been seen
+  private void writeLabel(final Label label) {
+    Integer id = this.ids.get(label);
+    if (id == null) {
+      id = this.referenced.size();
+      this.ids.put(label, id);
+      this.referenced.add(label);
+    }
+    writeInt(id);
+  }
+
+  private void writeConstant(final Object cst) {
+    writeString(cst.getClass().getName());
+    writeString(String.valueOf(cst));
+  }
+
+  private void writeInt(final int value) {
+    try {
+      this.out.writeInt(value);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private void writeString(final String value) {
+    try {
+      this.out.writeUTF(value);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+}
@@ -0,0 +1,168 @@
+package org.pitest.mutationtest.build.intercept.equivalent;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.pitest.bytecode.analysis.ClassTree;
+import org.pitest.bytecode.analysis.MethodMatchers;
+import org.pitest.bytecode.analysis.MethodTree;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.build.InterceptorType;
+import org.pitest.mutationtest.build.MutationInterceptor;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Log;
+
+/**
+ * Compares the canonical bytecode of each mutated method with the original
+ * and with the other mutants of the class.
+ *
+ * Mutants identical to the original method are equivalent and are removed.
+ * Mutants on the same line that are identical to each other are collapsed
+ * into the first of them, which is run with the others attached as
+ * duplicates that take its result. Only mutants on the same line are
+ * collapsed so the tests targeted at the representative are exactly those
+ * that would have been targeted at each duplicate.
+ */
+public class IdenticalBytecodeInterceptor implements MutationInterceptor {
+
+  private static final Logger          LOG       = Log.getLogger();
+
+  private final Map<Location, ByteBuffer> originals = new HashMap<Location, ByteBuffer>();
+  private ClassTree                    currentClass;
+
+  @Override
+  public InterceptorType type() {
+    return InterceptorType.DEDUPLICATE;
+  }
+
+  @Override
+  public void begin(final ClassTree clazz) {
+    this.currentClass = clazz;
+    this.originals.clear();
+  }
+
+  @Override
+  public Collection<MutationDetails> intercept(
+      final Collection<MutationDetails> mutations, final Mutater m) {
+    final List<MutationDetails> unmatched = new ArrayList<MutationDetails>();
+    final Map<Key, List<MutationDetails>> identical = new LinkedHashMap<Key, List<MutationDetails>>();
+
+    for (final MutationDetails each : mutations) {
+      final Location location = each.getId().getLocation();
+      final Option<ByteBuffer> original = original(location);
+      if (original.hasNone()) {
+        unmatched.add(each);
+        continue;
+      }
+      final Option<ByteBuffer> mutant = canonicalForm(
+          ClassTree.fromBytes(m.getMutation(each.getId()).getBytes()),
+          location);
+      if (mutant.hasNone()) {
+        unmatched.add(each);
+      } else if (mutant.value().equals(original.value())) {
+        LOG.fine("Mutant does not change bytecode " + each);
+      } else {
+        final Key key = new Key(location, each.getLineNumber(), mutant.value());
+        List<MutationDetails> group = identical.get(key);
+        if (group == null) {
+          group = new ArrayList<MutationDetails>();
+          identical.put(key, group);
+        }
+        group.add(each);
+      }
+    }
+
+    final List<MutationDetails> result = new ArrayList<MutationDetails>(
+        unmatched);
+    for (final List<MutationDetails> group : identical.values()) {
+      result.add(representativeOf(group));
+    }
+    return result;
+  }
+
+  @Override
+  public void end() {
+    this.currentClass = null;
+    this.originals.clear();
+  }
+
+  private static MutationDetails representativeOf(
+      final List<MutationDetails> group) {
+    final MutationDetails first = group.get(0);
+    if (group.size() == 1) {
+      return first;
+    }
+    final List<MutationDetails> duplicates = new ArrayList<MutationDetails>(
+        first.getDuplicates());
+    for (final MutationDetails each : group.subList(1, group.size())) {
+      duplicates.add(each);
+      duplicates.addAll(each.getDuplicates());
+    }
+    return first.withDuplicates(duplicates);
+  }
+
+  private Option<ByteBuffer> original(final Location location) {
+    if (!this.originals.containsKey(location)) {
+      this.originals.put(location, canonicalForm(this.currentClass, location)
+          .getOrElse(null));
+    }
+    return Option.some(this.originals.get(location));
+  }
+
+  private static Option<ByteBuffer> canonicalForm(final ClassTree clazz,
+      final Location location) {
+    final Option<MethodTree> method = clazz.methods().findFirst(
+        MethodMatchers.forLocation(location));
+    if (method.hasNone()) {
+      return Option.none();
+    }
+    final CanonicalMethodVisitor canonical = new CanonicalMethodVisitor();
+    method.value().rawNode().accept(canonical);
+    return Option.some(canonical.canonicalForm());
+  }
+
+  private static final class Key {
+    private final Location   location;
+    private final int        line;
+    private final ByteBuffer bytecode;
+
+    Key(final Location location, final int line, final ByteBuffer bytecode) {
+      this.location = location;
+      this.line = line;
+      this.bytecode = bytecode;
+    }
+
+    @Override
+    public int hashCode() {
+      final int prime = 31;
+      int result = 1;
+      result = (prime * result) + this.location.hashCode();
+      result = (prime * result) + this.line;
+      result = (prime * result) + this.bytecode.hashCode();
+      return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if ((obj == null) || (getClass() != obj.getClass())) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return (this.line == other.line)
+          && this.location.equals(other.location)
+          && this.bytecode.equals(other.bytecode);
+    }
+  }
+
+}
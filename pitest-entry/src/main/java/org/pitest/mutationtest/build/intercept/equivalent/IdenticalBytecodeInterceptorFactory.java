@@ -0,0 +1,27 @@
+package org.pitest.mutationtest.build.intercept.equivalent;
+
+import org.pitest.mutationtest.build.InterceptorParameters;
+import org.pitest.mutationtest.build.MutationInterceptor;
+import org.pitest.mutationtest.build.MutationInterceptorFactory;
+import org.pitest.plugin.Feature;
+
+public class IdenticalBytecodeInterceptorFactory implements MutationInterceptorFactory {
+
+  @Override
+  public String description() {
+    return "Identical bytecode mutant filter";
+  }
+
+  @Override
+  public Feature provides() {
+    return Feature.named("FIDENTICAL")
+        .withOnByDefault(false)
+        .withDescription("Filters mutants that leave the bytecode unchanged and runs mutants with identical bytecode once");
+  }
+
+  @Override
+  public MutationInterceptor createInterceptor(InterceptorParameters params) {
+    return new IdenticalBytecodeInterceptor();
+  }
+
+}
@@ -192,7 +192,87 @@ public enum ConfigOption {
   /**
    * Custom properties for plugins
    */
-  PLUGIN_CONFIGURATION("pluginConfiguration");
+  PLUGIN_CONFIGURATION("pluginConfiguration"),
+
+  /**
+   * Do/don't keep minion processes alive between mutation analysis units
+   */
+  REUSE_MINIONS("reuseMinions", false),
+
+  /**
+   * Number of mutations a reused minion may analyse before it is replaced
+   */
+  MAX_MUTATIONS_PER_MINION("maxMutationsPerMinion", 1000),
+
+  /**
+   * Encoding used for messages exchanged with minion processes
+   */
+  WIRE_FORMAT("wireFormat", "XML"),
+
+  /**
+   * Do/don't let idle threads steal mutations from slower analysis units
+   */
+  WORK_STEALING("workStealing", false),
+
+  /**
+   * Format used to store results between runs, XML or BINARY
+   */
+  HISTORY_FORMAT("historyFormat", "XML"),
+
+  /**
+   * Number of mutants each minion tests concurrently in isolated classloaders.
+   * Ignored when javassist is on the classpath, as PowerMock and other
+   * frameworks using it can only be shown one mutant at a time.
+   */
+  MUTANT_THREADS("mutantThreads", 1),
+
+  /**
+   * File in which parsed class information is kept between runs
+   */
+  CLASS_INFO_CACHE("classInfoCache"),
+
+  /**
+   * Do/don't test mutants by switching between them within a single class
+   * rather than hotswapping each one
+   */
+  MUTANT_SCHEMATA("mutantSchemata", false),
+
+  /**
+   * Do/don't time tests against durations measured during the mutation run
+   * once enough have been recorded
+   */
+  ADAPTIVE_TIMEOUTS("adaptiveTimeouts", false),
+
+  /**
+   * Do/don't stop mutants that loop past the allowed time from within the
+   * test rather than by ending the minion
+   */
+  LOOP_GUARDS("loopGuards", false),
+
+  /**
+   * Port on which to accept remote agents that run minions on behalf of this
+   * run. If 0 minions are run on this machine. The number of threads should
+   * match the total number of agent slots.
+   */
+  AGENT_PORT("agentPort", 0),
+
+  /**
+   * Do/don't reuse the coverage of test classes unaffected by changes from
+   * history rather than gathering it again
+   */
+  REUSE_COVERAGE("reuseCoverage", false),
+
+  /**
+   * Secret that remote agents must give to register with the run. Required
+   * when accepting agents.
+   */
+  AGENT_SECRET("agentSecret"),
+
+  /**
+   * Address of the interface on which to accept remote agents. If not set
+   * agents are accepted on all interfaces.
+   */
+  AGENT_BIND_ADDRESS("agentBindAddress");
 
   private final String       text;
   private final Serializable defaultValue;
@@ -44,6 +44,7 @@ import org.pitest.help.Help;
 import org.pitest.help.PitHelpError;
 import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
 import org.pitest.mutationtest.incremental.FileWriterFactory;
+import org.pitest.mutationtest.incremental.HistoryFormat;
 import org.pitest.mutationtest.incremental.NullWriterFactory;
 import org.pitest.mutationtest.incremental.WriterFactory;
 import org.pitest.testapi.TestGroupConfig;
@@ -51,6 +52,7 @@ import org.pitest.testapi.execute.Pitest;
 import org.pitest.util.Glob;
 import org.pitest.util.ResultOutputStrategy;
 import org.pitest.util.Unchecked;
+import org.pitest.util.WireFormat;
 
 // FIXME move all logic to SettingsFactory and turn into simple bean
 
@@ -128,6 +130,21 @@ public class ReportOptions {
   
   private Collection<String>             excludedRunners                = new ArrayList<String>();
 
+  private boolean                        reuseMinions                   = false;
+  private int                            maxMutationsPerMinion          = 1000;
+  private WireFormat                     wireFormat                     = WireFormat.XML;
+  private boolean                        workStealing                   = false;
+  private HistoryFormat                  historyFormat                  = HistoryFormat.XML;
+  private int                            mutantThreads                  = 1;
+  private File                           classInfoCacheLocation;
+  private boolean                        mutantSchemata                 = false;
+  private boolean                        adaptiveTimeouts               = false;
+  private boolean                        loopGuards                     = false;
+  private int                            agentPort                      = 0;
+  private boolean                        reuseCoverage                  = false;
+  private String                         agentSecret;
+  private String                         agentBindAddress;
+
   public boolean isVerbose() {
     return this.verbose;
   }
@@ -564,6 +581,118 @@ public class ReportOptions {
     this.excludedRunners = excludedRunners;
   }
 
+  public boolean isReuseMinions() {
+    return this.reuseMinions;
+  }
+
+  public void setReuseMinions(final boolean reuseMinions) {
+    this.reuseMinions = reuseMinions;
+  }
+
+  public int getMaxMutationsPerMinion() {
+    return this.maxMutationsPerMinion;
+  }
+
+  public void setMaxMutationsPerMinion(final int maxMutationsPerMinion) {
+    this.maxMutationsPerMinion = maxMutationsPerMinion;
+  }
+
+  public WireFormat getWireFormat() {
+    return this.wireFormat;
+  }
+
+  public void setWireFormat(final WireFormat wireFormat) {
+    this.wireFormat = wireFormat;
+  }
+
+  public boolean isWorkStealing() {
+    return this.workStealing;
+  }
+
+  public void setWorkStealing(final boolean workStealing) {
+    this.workStealing = workStealing;
+  }
+
+  public HistoryFormat getHistoryFormat() {
+    return this.historyFormat;
+  }
+
+  public void setHistoryFormat(final HistoryFormat historyFormat) {
+    this.historyFormat = historyFormat;
+  }
+
+  public int getMutantThreads() {
+    return this.mutantThreads;
+  }
+
+  public void setMutantThreads(final int mutantThreads) {
+    this.mutantThreads = mutantThreads;
+  }
+
+  public File getClassInfoCacheLocation() {
+    return this.classInfoCacheLocation;
+  }
+
+  public void setClassInfoCacheLocation(final File classInfoCacheLocation) {
+    this.classInfoCacheLocation = classInfoCacheLocation;
+  }
+
+  public boolean isMutantSchemata() {
+    return this.mutantSchemata;
+  }
+
+  public void setMutantSchemata(final boolean mutantSchemata) {
+    this.mutantSchemata = mutantSchemata;
+  }
+
+  public boolean isAdaptiveTimeouts() {
+    return this.adaptiveTimeouts;
+  }
+
+  public void setAdaptiveTimeouts(final boolean adaptiveTimeouts) {
+    this.adaptiveTimeouts = adaptiveTimeouts;
+  }
+
+  public boolean isLoopGuards() {
+    return this.loopGuards;
+  }
+
+  public void setLoopGuards(final boolean loopGuards) {
+    this.loopGuards = loopGuards;
+  }
+
+  public int getAgentPort() {
+    return this.agentPort;
+  }
+
+  public void setAgentPort(final int agentPort) {
+    this.agentPort = agentPort;
+  }
+
+  public boolean isReuseCoverage() {
+    return this.reuseCoverage;
+  }
+
+  public void setReuseCoverage(final boolean reuseCoverage) {
+    this.reuseCoverage = reuseCoverage;
+  }
+
+  public String getAgentSecret() {
+    return this.agentSecret;
+  }
+
+  public void setAgentSecret(final String agentSecret) {
+    this.agentSecret = agentSecret;
+  }
+
+  public String getAgentBindAddress() {
+    return this.agentBindAddress;
+  }
+
+  public void setAgentBindAddress(final String agentBindAddress) {
+    this.agentBindAddress = agentBindAddress;
+  }
+
   @Override
   public String toString() {
     return "ReportOptions [targetClasses=" + targetClasses
@@ -589,7 +718,15 @@ public class ReportOptions {
         + mutationEngine + ", javaExecutable=" + javaExecutable
         + ", includeLaunchClasspath=" + includeLaunchClasspath
         + ", properties=" + properties + ", maxSurvivors=" + maxSurvivors + ", excludedRunners=" + excludedRunners 
-        + ", features=" + features + "]";
+        + ", features=" + features + ", reuseMinions=" + reuseMinions
+        + ", maxMutationsPerMinion=" + maxMutationsPerMinion
+        + ", wireFormat=" + wireFormat + ", workStealing=" + workStealing
+        + ", historyFormat=" + historyFormat + ", mutantThreads="
+        + mutantThreads + ", classInfoCacheLocation=" + classInfoCacheLocation
+        + ", mutantSchemata=" + mutantSchemata + ", adaptiveTimeouts="
+        + adaptiveTimeouts + ", loopGuards=" + loopGuards + ", agentPort="
+        + agentPort + ", reuseCoverage=" + reuseCoverage
+        + ", agentBindAddress=" + agentBindAddress + "]";
   }
   
 }
@@ -17,11 +17,13 @@ import org.pitest.functional.FCollection;
 import org.pitest.functional.SideEffect1;
 import org.pitest.functional.predicate.Predicate;
 import org.pitest.functional.prelude.Prelude;
+import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationEngineFactory;
 import org.pitest.mutationtest.MutationResultListenerFactory;
 import org.pitest.mutationtest.build.CompoundInterceptorFactory;
 import org.pitest.mutationtest.build.DefaultMutationGrouperFactory;
 import org.pitest.mutationtest.build.DefaultTestPrioritiserFactory;
+import org.pitest.mutationtest.build.KillHistoryTestPrioritiserFactory;
 import org.pitest.mutationtest.build.MutationGrouperFactory;
 import org.pitest.mutationtest.build.MutationInterceptorFactory;
 import org.pitest.mutationtest.build.TestPrioritiserFactory;
@@ -116,6 +118,17 @@ public class SettingsFactory {
     return firstOrDefault(testPickers, new DefaultTestPrioritiserFactory());
   }
 
+  /**
+   * As {@link #getTestPrioritiser()}, but by default orders tests using the
+   * kills recorded in the supplied history
+   */
+  public TestPrioritiserFactory getTestPrioritiser(final HistoryStore history) {
+    final Collection<? extends TestPrioritiserFactory> testPickers = this.plugins
+        .findTestPrioritisers();
+    return firstOrDefault(testPickers, new KillHistoryTestPrioritiserFactory(
+        history));
+  }
+
   public Configuration getTestFrameworkPlugin() {
 
     final Collection<? extends TestPluginFactory> testPlugins = this.plugins
@@ -131,7 +144,8 @@ public class SettingsFactory {
     return new CoverageOptions(Prelude.and(
         this.options.getTargetClassesFilter(), not(commonClasses())),
         this.getTestFrameworkPlugin(), this.options.isVerbose(),
-        this.options.getDependencyAnalysisMaxDistance());
+        this.options.getDependencyAnalysisMaxDistance(),
+        this.options.getWireFormat());
   }
   
   public CompoundInterceptorFactory getInterceptor() {
@@ -0,0 +1,61 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.List;
+import java.util.Map;
+
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
+
+/**
+ * A range of mutations to be analysed by a minion of a {@link MinionAgent},
+ * along with what the agent needs to launch that minion.
+ */
+final class AgentBatch {
+
+  private final ContentAddressedClassPath classPath;
+  private final List<String>              jvmArgs;
+  private final Map<String, String>       environment;
+  private final boolean                   reusable;
+  private final int                       maxMutationsPerMinion;
+  private final WireFormat                format;
+  private final String                    arguments;
+  private final int                       numberOfMutations;
+
+  AgentBatch(final ContentAddressedClassPath classPath,
+      final List<String> jvmArgs, final Map<String, String> environment,
+      final boolean reusable, final int maxMutationsPerMinion,
+      final WireFormat format, final String arguments,
+      final int numberOfMutations) {
+    this.classPath = classPath;
+    this.jvmArgs = jvmArgs;
+    this.environment = environment;
+    this.reusable = reusable;
+    this.maxMutationsPerMinion = maxMutationsPerMinion;
+    this.format = format;
+    this.arguments = arguments;
+    this.numberOfMutations = numberOfMutations;
+  }
+
+  WireFormat format() {
+    return this.format;
+  }
+
+  byte[] content(final String hash) {
+    return this.classPath.content(hash);
+  }
+
+  void writeHeader(final SafeDataOutputStream os) {
+    os.writeBoolean(this.reusable);
+    os.writeVarInt(this.maxMutationsPerMinion);
+    AgentProtocol.writeStrings(os, this.jvmArgs);
+    AgentProtocol.writeMap(os, this.environment);
+    AgentProtocol.writeStrings(os, this.classPath.hashes());
+  }
+
+  void writeMutations(final SafeDataOutputStream os) {
+    this.format.writeHandshake(os);
+    os.writeString(this.arguments);
+    os.writeVarInt(this.numberOfMutations);
+  }
+
+}
@@ -0,0 +1,75 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.pitest.util.PitError;
+import org.pitest.util.Unchecked;
+
+/**
+ * Archives received by a {@link MinionAgent}, stored under the hash of their
+ * contents so they are kept between runs and shared by every slot of the
+ * agent.
+ */
+final class AgentCache {
+
+  private static final Pattern HASH = Pattern.compile("[0-9a-f]{40}");
+
+  private final File           dir;
+
+  AgentCache(final File dir) {
+    this.dir = dir;
+  }
+
+  boolean contains(final String hash) {
+    return fileFor(hash).isFile();
+  }
+
+  void store(final String hash, final byte[] content) {
+    if (!hash.equals(ContentAddressedClassPath.hash(content))) {
+      throw new PitError("Received archive does not match its hash " + hash);
+    }
+    final File target = fileFor(hash);
+    try {
+      this.dir.mkdirs();
+      // written aside and renamed so other slots never see part of an archive
+      final File temp = File.createTempFile(hash, ".tmp", this.dir);
+      final OutputStream os = new FileOutputStream(temp);
+      try {
+        os.write(content);
+      } finally {
+        os.close();
+      }
+      if (!temp.renameTo(target) && !target.isFile()) {
+        temp.delete();
+        throw new PitError("Could not store archive " + target);
+      }
+      temp.delete();
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  String classPathFor(final List<String> hashes) {
+    final StringBuilder sb = new StringBuilder();
+    for (final String each : hashes) {
+      if (sb.length() != 0) {
+        sb.append(File.pathSeparator);
+      }
+      sb.append(fileFor(each).getAbsolutePath());
+    }
+    return sb.toString();
+  }
+
+  private File fileFor(final String hash) {
+    if (!HASH.matcher(hash).matches()) {
+      throw new PitError("Not an archive hash " + hash);
+    }
+    return new File(this.dir, hash + ".jar");
+  }
+
+}
@@ -0,0 +1,221 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.util.Log;
+import org.pitest.util.PitError;
+import org.pitest.util.Unchecked;
+
+/**
+ * Accepts the {@link MinionAgent}s that run minions on behalf of a run and
+ * lends them to analysis units, in the same way that {@link MinionPool} lends
+ * local minions.
+ *
+ * Each connection from an agent is one slot able to analyse one batch at a
+ * time, so the number of threads of the run should match the total number of
+ * slots. Agents may register at any point during the run, but only if they
+ * prove that they hold the secret shared with the run. An agent that fails
+ * while analysing a batch is discarded, and is expected to connect again.
+ */
+public class AgentCoordinator {
+
+  private static final Logger                          LOG            = Log
+                                                                          .getLogger();
+
+  private static final long                            WAIT_FOR_AGENT = 120000;
+
+  private final ServerSocket                           socket;
+  private final long                                   waitForAgent;
+  private final String                                 secret;
+  private final LinkedList<RemoteAgent>                idle           = new LinkedList<RemoteAgent>();
+  private final List<RemoteAgent>                      busy           = new ArrayList<RemoteAgent>();
+  private final Map<String, ContentAddressedClassPath> classPaths     = new HashMap<String, ContentAddressedClassPath>();
+
+  private boolean                                      shutdown;
+
+  /**
+   * @param bindAddress
+   *          address of the interface on which to accept agents, or null for
+   *          all interfaces
+   * @param secret
+   *          secret that agents must give to register
+   */
+  public AgentCoordinator(final int port, final String bindAddress,
+      final String secret) {
+    this(openSocket(port, bindAddress), WAIT_FOR_AGENT, secret);
+  }
+
+  AgentCoordinator(final ServerSocket socket, final long waitForAgent,
+      final String secret) {
+    this.socket = socket;
+    this.waitForAgent = waitForAgent;
+    this.secret = secret;
+  }
+
+  public int getPort() {
+    return this.socket.getLocalPort();
+  }
+
+  public void start() {
+    final Thread acceptor = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        acceptAgents();
+      }
+    }, "pit agent coordinator");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  synchronized ContentAddressedClassPath classPathFor(final String classPath) {
+    ContentAddressedClassPath cp = this.classPaths.get(classPath);
+    if (cp == null) {
+      cp = ContentAddressedClassPath.fromClassPath(classPath);
+      this.classPaths.put(classPath, cp);
+    }
+    return cp;
+  }
+
+  /**
+   * Waits for an idle agent. Fails if no agent has registered within the
+   * allowed time, but waits for as long as it takes while any agent is busy.
+   */
+  synchronized RemoteAgent acquire() {
+    final long deadline = System.currentTimeMillis() + this.waitForAgent;
+    boolean warned = false;
+    while (this.idle.isEmpty()) {
+      if (this.shutdown) {
+        throw new PitError("Agent coordinator has shut down");
+      }
+      final long remaining = deadline - System.currentTimeMillis();
+      if (this.busy.isEmpty() && (remaining <= 0)) {
+        throw new PitError("No agent registered on port " + getPort()
+            + " within " + (this.waitForAgent / 1000) + " seconds");
+      }
+      if (this.busy.isEmpty() && !warned) {
+        LOG.info("Waiting for an agent to register on port " + getPort());
+        warned = true;
+      }
+      waitFor(this.busy.isEmpty() ? remaining : 0);
+    }
+    final RemoteAgent agent = this.idle.removeFirst();
+    this.busy.add(agent);
+    return agent;
+  }
+
+  synchronized void release(final RemoteAgent agent) {
+    this.busy.remove(agent);
+    if (this.shutdown) {
+      agent.shutdown();
+    } else {
+      this.idle.add(agent);
+    }
+    notifyAll();
+  }
+
+  synchronized void discard(final RemoteAgent agent) {
+    this.busy.remove(agent);
+    agent.close();
+    notifyAll();
+  }
+
+  public synchronized void shutdown() {
+    this.shutdown = true;
+    for (final RemoteAgent each : this.idle) {
+      each.shutdown();
+    }
+    for (final RemoteAgent each : this.busy) {
+      each.close();
+    }
+    this.idle.clear();
+    this.busy.clear();
+    try {
+      this.socket.close();
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Couldn't close agent socket", e);
+    }
+    notifyAll();
+  }
+
+  synchronized int numberOfIdleAgents() {
+    return this.idle.size();
+  }
+
+  private synchronized void register(final RemoteAgent agent) {
+    if (this.shutdown) {
+      agent.shutdown();
+      return;
+    }
+    LOG.fine("Agent " + agent + " registered");
+    this.idle.add(agent);
+    notifyAll();
+  }
+
+  private void acceptAgents() {
+    while (!this.socket.isClosed()) {
+      try {
+        startRegistration(this.socket.accept());
+      } catch (final IOException e) {
+        LOG.log(Level.FINE, "Stopped accepting agents", e);
+      }
+    }
+  }
+
+  // each handshake runs on its own thread so that a connection that stays
+  // silent cannot hold up the agents connecting after it
+  private void startRegistration(final Socket connection) {
+    final Thread registration = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          register(RemoteAgent.register(connection,
+              AgentCoordinator.this.secret));
+        } catch (final IOException e) {
+          reject(connection, e);
+        } catch (final RuntimeException e) {
+          reject(connection, e);
+        }
+      }
+    }, "pit agent registration");
+    registration.setDaemon(true);
+    registration.start();
+  }
+
+  private static void reject(final Socket connection, final Exception e) {
+    LOG.log(Level.WARNING, "Rejected agent", e);
+    try {
+      connection.close();
+    } catch (final IOException ex) {
+      LOG.log(Level.FINE, "Couldn't close rejected connection", ex);
+    }
+  }
+
+  private void waitFor(final long millis) {
+    try {
+      wait(millis);
+    } catch (final InterruptedException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private static ServerSocket openSocket(final int port,
+      final String bindAddress) {
+    try {
+      return new ServerSocket(port, 0, bindAddress == null ? null
+          : InetAddress.getByName(bindAddress));
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+}
@@ -0,0 +1,148 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.UnsupportedEncodingException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.Unchecked;
+
+/**
+ * Constants and helpers shared by the two ends of a connection between a run
+ * and a {@link MinionAgent}.
+ *
+ * An agent registers by sending MAGIC, VERSION and a random challenge. The
+ * run answers with a challenge of its own and its proof, an HMAC of both
+ * challenges keyed by the secret shared with the run. The agent checks the
+ * proof before answering with its own proof and its name, so neither end
+ * registers with, or reveals anything about the secret to, a peer that does
+ * not hold it. The secret itself is never sent. The run then sends either
+ * Id.BATCH followed by an {@link AgentBatch}, or Id.DONE to end the session.
+ * The agent answers a batch with NEED and the hashes of the archives it does
+ * not hold, receives those archives, and then relays the results of its
+ * minion up to Id.DONE and an exit code. Agents send HEARTBEAT at any point,
+ * which the run ignores other than as proof of life.
+ */
+final class AgentProtocol {
+
+  static final int                  MAGIC              = 0x50495441;
+  static final int                  VERSION            = 3;
+
+  // values chosen not to clash with those relayed from minions
+  static final byte                 NEED               = 100;
+  static final byte                 HEARTBEAT          = 101;
+
+  static final long                 HEARTBEAT_INTERVAL = 5000;
+  static final int                  HEARTBEAT_TIMEOUT  = 30000;
+  static final int                  HANDSHAKE_TIMEOUT  = 5000;
+
+  static final String               RUN                = "run";
+  static final String               AGENT              = "agent";
+
+  private static final String       PROOF_ALGORITHM    = "HmacSHA256";
+  // length of both challenges and proofs, which are sent without a length
+  // so that a peer cannot make the other end allocate before it has proved
+  // itself
+  private static final int          HANDSHAKE_LENGTH   = 32;
+  private static final SecureRandom RANDOM             = new SecureRandom();
+
+  private AgentProtocol() {
+  }
+
+  static byte[] challenge() {
+    final byte[] challenge = new byte[HANDSHAKE_LENGTH];
+    RANDOM.nextBytes(challenge);
+    return challenge;
+  }
+
+  /**
+   * @param role
+   *          RUN or AGENT, so that a proof given by one end cannot be passed
+   *          off as a proof from the other
+   * @param verifierChallenge
+   *          challenge sent by the end checking the proof
+   * @param proverChallenge
+   *          challenge sent by the end giving the proof
+   */
+  static byte[] proof(final String secret, final String role,
+      final byte[] verifierChallenge, final byte[] proverChallenge) {
+    try {
+      final Mac mac = Mac.getInstance(PROOF_ALGORITHM);
+      mac.init(new SecretKeySpec(secret.getBytes("UTF-8"), PROOF_ALGORITHM));
+      mac.update(role.getBytes("UTF-8"));
+      mac.update(verifierChallenge);
+      mac.update(proverChallenge);
+      return mac.doFinal();
+    } catch (final GeneralSecurityException e) {
+      throw Unchecked.translateCheckedException(e);
+    } catch (final UnsupportedEncodingException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  // compared in constant time so a proof cannot be guessed a byte at a time
+  static boolean isProof(final byte[] expected, final byte[] given) {
+    return MessageDigest.isEqual(expected, given);
+  }
+
+  static void writeHandshake(final SafeDataOutputStream os,
+      final byte[] bytes) {
+    for (final byte each : bytes) {
+      os.writeByte(each);
+    }
+  }
+
+  static byte[] readHandshake(final SafeDataInputStream is) {
+    final byte[] bytes = new byte[HANDSHAKE_LENGTH];
+    for (int i = 0; i != bytes.length; i++) {
+      bytes[i] = is.readByte();
+    }
+    return bytes;
+  }
+
+  static void writeStrings(final SafeDataOutputStream os,
+      final List<String> strings) {
+    os.writeVarInt(strings.size());
+    for (final String each : strings) {
+      os.writeString(each);
+    }
+  }
+
+  static List<String> readStrings(final SafeDataInputStream is) {
+    final int size = is.readVarInt();
+    final List<String> strings = new ArrayList<String>(size);
+    for (int i = 0; i != size; i++) {
+      strings.add(is.readString());
+    }
+    return strings;
+  }
+
+  static void writeMap(final SafeDataOutputStream os,
+      final Map<String, String> map) {
+    os.writeVarInt(map.size());
+    for (final Entry<String, String> each : map.entrySet()) {
+      os.writeString(each.getKey());
+      os.writeString(each.getValue());
+    }
+  }
+
+  static Map<String, String> readMap(final SafeDataInputStream is) {
+    final int size = is.readVarInt();
+    final Map<String, String> map = new LinkedHashMap<String, String>();
+    for (int i = 0; i != size; i++) {
+      map.put(is.readString(), is.readString());
+    }
+    return map;
+  }
+
+}
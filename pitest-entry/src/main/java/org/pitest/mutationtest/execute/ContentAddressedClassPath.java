@@ -0,0 +1,132 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.pitest.util.PitError;
+import org.pitest.util.StreamUtil;
+import org.pitest.util.Unchecked;
+
+/**
+ * The class path of a run as a list of archives named by the hash of their
+ * contents, so that agents can keep archives between runs and are only sent
+ * those they do not already hold.
+ *
+ * Directories are sent as archives built with their entries in name order and
+ * without timestamps, so that an unchanged directory has the same hash in
+ * every run. Contents are read again when an agent asks for them rather than
+ * held in memory.
+ */
+final class ContentAddressedClassPath {
+
+  private static final char[]     HEX      = "0123456789abcdef".toCharArray();
+
+  private final Map<String, File> elements = new LinkedHashMap<String, File>();
+
+  private ContentAddressedClassPath() {
+  }
+
+  static ContentAddressedClassPath fromClassPath(final String classPath) {
+    final ContentAddressedClassPath cp = new ContentAddressedClassPath();
+    for (final String each : classPath.split(File.pathSeparator)) {
+      final File element = new File(each);
+      if ((each.length() != 0) && element.exists()) {
+        cp.elements.put(hash(contentOf(element)), element);
+      }
+    }
+    return cp;
+  }
+
+  List<String> hashes() {
+    return new ArrayList<String>(this.elements.keySet());
+  }
+
+  byte[] content(final String hash) {
+    final File element = this.elements.get(hash);
+    if (element == null) {
+      throw new PitError("No class path element with hash " + hash);
+    }
+    return contentOf(element);
+  }
+
+  static String hash(final byte[] bytes) {
+    try {
+      final byte[] digest = MessageDigest.getInstance("SHA-1").digest(bytes);
+      final StringBuilder sb = new StringBuilder(digest.length * 2);
+      for (final byte each : digest) {
+        sb.append(HEX[(each >> 4) & 0xf]).append(HEX[each & 0xf]);
+      }
+      return sb.toString();
+    } catch (final NoSuchAlgorithmException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private static byte[] contentOf(final File element) {
+    try {
+      if (element.isDirectory()) {
+        return archive(element);
+      }
+      final InputStream is = new FileInputStream(element);
+      try {
+        return StreamUtil.streamToByteArray(is);
+      } finally {
+        is.close();
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private static byte[] archive(final File dir) throws IOException {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final ZipOutputStream zos = new ZipOutputStream(bos);
+    try {
+      addEntries(zos, dir, "");
+    } finally {
+      zos.close();
+    }
+    return bos.toByteArray();
+  }
+
+  private static void addEntries(final ZipOutputStream zos, final File dir,
+      final String prefix) throws IOException {
+    final File[] files = dir.listFiles();
+    if (files == null) {
+      return;
+    }
+    final List<File> sorted = Arrays.asList(files);
+    Collections.sort(sorted);
+    for (final File each : sorted) {
+      final String name = prefix + each.getName();
+      if (each.isDirectory()) {
+        addEntries(zos, each, name + "/");
+      } else {
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setTime(0);
+        zos.putNextEntry(entry);
+        final InputStream is = new FileInputStream(each);
+        try {
+          zos.write(StreamUtil.streamToByteArray(is));
+        } finally {
+          is.close();
+        }
+        zos.closeEntry();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,362 @@
+package org.pitest.mutationtest.execute;
+
+import static org.pitest.functional.prelude.Prelude.printWith;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.tooling.JarCreatingJarFinder;
+import org.pitest.mutationtest.tooling.KnownLocationJavaAgentFinder;
+import org.pitest.process.DefaultJavaExecutableLocator;
+import org.pitest.process.JavaAgent;
+import org.pitest.process.LaunchOptions;
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.Log;
+import org.pitest.util.PitError;
+import org.pitest.util.ReceiveStrategy;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.SocketFinder;
+import org.pitest.util.WireFormat;
+
+/**
+ * Runs minions on behalf of a run on another machine.
+ *
+ * The agent connects to the port given to the run by the agentPort option,
+ * registers and waits for batches of mutations. The class path of a batch is
+ * sent as archives named by their hash, which are kept in the cache directory
+ * so that later runs only send the archives that changed. Results are relayed
+ * to the run as the minion reports them, along with heartbeats that let the
+ * run tell a busy agent from a lost one.
+ *
+ * The agent and the run each prove that they hold the secret given to the
+ * run by the agentSecret option, so the agent does not serve a process that
+ * has taken over the port between runs. The agent reads the secret from the
+ * PIT_AGENT_SECRET environment variable rather than its arguments so that it
+ * is not shown in process listings.
+ *
+ * Each slot is a separate connection analysing one batch at a time. When a
+ * run ends or its connection fails, the slot connects again and waits for the
+ * next run, so agents can be left running between runs. Several agents can
+ * run on the same machine.
+ *
+ * Usage: MinionAgent host:port [slots] [cache directory]
+ */
+public class MinionAgent implements Runnable {
+
+  private static final Logger      LOG             = Log.getLogger();
+
+  private static final long        RECONNECT_DELAY = 5000;
+
+  private static final String      SECRET_VARIABLE = "PIT_AGENT_SECRET";
+
+  private final String             host;
+  private final int                port;
+  private final String             name;
+  private final String             secret;
+  private final AgentCache         cache;
+  private final JavaAgent          javaAgent;
+  private final SocketFinder       socketFinder    = new SocketFinder();
+
+  private PooledMinion             minion;
+  private String                   minionKey;
+
+  MinionAgent(final String host, final int port, final String name,
+      final String secret, final AgentCache cache, final JavaAgent javaAgent) {
+    this.host = host;
+    this.port = port;
+    this.name = name;
+    this.secret = secret;
+    this.cache = cache;
+    this.javaAgent = javaAgent;
+  }
+
+  public static void main(final String[] args) throws Exception {
+    if ((args.length == 0) || (args[0].indexOf(':') == -1)) {
+      System.out
+          .println("Usage: MinionAgent host:port [slots] [cache directory]");
+      System.exit(1);
+    }
+    final String secret = System.getenv(SECRET_VARIABLE);
+    if ((secret == null) || (secret.length() == 0)) {
+      System.out.println("The " + SECRET_VARIABLE
+          + " environment variable must hold the agent secret of the run");
+      System.exit(1);
+    }
+
+    final String host = args[0].substring(0, args[0].lastIndexOf(':'));
+    final int port = Integer.parseInt(args[0].substring(args[0]
+        .lastIndexOf(':') + 1));
+    final int slots = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+    final AgentCache cache = new AgentCache(args.length > 2 ? new File(args[2])
+        : new File(System.getProperty("java.io.tmpdir"), "pitest-agent"));
+    final JavaAgent javaAgent = new KnownLocationJavaAgentFinder(
+        new JarCreatingJarFinder().getJarLocation().value());
+    final String hostName = InetAddress.getLocalHost().getHostName();
+
+    final List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i != slots; i++) {
+      final Thread t = new Thread(new MinionAgent(host, port, hostName + "#"
+          + i, secret, cache, javaAgent), "pit agent slot " + i);
+      t.start();
+      threads.add(t);
+    }
+    LOG.info("Started " + slots + " agent slots for " + args[0]);
+    for (final Thread each : threads) {
+      each.join();
+    }
+  }
+
+  @Override
+  public void run() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        serve(new Socket(this.host, this.port));
+      } catch (final IOException e) {
+        LOG.log(Level.FINE, "Could not connect to run", e);
+      } catch (final RuntimeException e) {
+        LOG.log(Level.WARNING, "Lost connection to run", e);
+      }
+      try {
+        Thread.sleep(RECONNECT_DELAY);
+      } catch (final InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  void serve(final Socket socket) throws IOException {
+    final SafeDataInputStream is = new SafeDataInputStream(
+        new BufferedInputStream(socket.getInputStream()));
+    final SafeDataOutputStream os = new SafeDataOutputStream(
+        new BufferedOutputStream(socket.getOutputStream()));
+    final Heartbeat heartbeat = new Heartbeat(socket, os);
+    try {
+      register(socket, is, os);
+      LOG.fine("Registered with run at " + socket.getRemoteSocketAddress());
+      heartbeat.start();
+      while (is.readByte() == Id.BATCH) {
+        analyse(is, os);
+      }
+    } finally {
+      heartbeat.interrupt();
+      socket.close();
+      retireMinion();
+    }
+  }
+
+  private void register(final Socket socket, final SafeDataInputStream is,
+      final SafeDataOutputStream os) throws IOException {
+    socket.setSoTimeout(AgentProtocol.HANDSHAKE_TIMEOUT);
+    final byte[] agentChallenge = AgentProtocol.challenge();
+    os.writeInt(AgentProtocol.MAGIC);
+    os.writeVarInt(AgentProtocol.VERSION);
+    AgentProtocol.writeHandshake(os, agentChallenge);
+    os.flush();
+    final byte[] runChallenge = AgentProtocol.readHandshake(is);
+    if (!AgentProtocol.isProof(AgentProtocol.proof(this.secret,
+        AgentProtocol.RUN, agentChallenge, runChallenge),
+        AgentProtocol.readHandshake(is))) {
+      throw new PitError("Process at " + socket.getRemoteSocketAddress()
+          + " could not prove it knows the agent secret");
+    }
+    AgentProtocol.writeHandshake(os, AgentProtocol.proof(this.secret,
+        AgentProtocol.AGENT, runChallenge, agentChallenge));
+    os.writeString(this.name);
+    os.flush();
+    // the run may leave an agent waiting for a batch for as long as it likes
+    socket.setSoTimeout(0);
+  }
+
+  private void analyse(final SafeDataInputStream is,
+      final SafeDataOutputStream os) {
+    final boolean reusable = is.readBoolean();
+    final int maxMutationsPerMinion = is.readVarInt();
+    final List<String> jvmArgs = AgentProtocol.readStrings(is);
+    final Map<String, String> environment = AgentProtocol.readMap(is);
+    final List<String> classPath = AgentProtocol.readStrings(is);
+
+    final List<String> missing = new ArrayList<String>();
+    for (final String each : classPath) {
+      if (!this.cache.contains(each)) {
+        missing.add(each);
+      }
+    }
+    synchronized (os) {
+      os.writeByte(AgentProtocol.NEED);
+      AgentProtocol.writeStrings(os, missing);
+      os.flush();
+    }
+    for (final String each : missing) {
+      this.cache.store(each, is.readBytes());
+    }
+
+    final WireFormat format = WireFormat.readHandshake(is);
+    final String arguments = is.readString();
+    final int numberOfMutations = is.readVarInt();
+
+    final PooledMinion current = minionFor(
+        this.cache.classPathFor(classPath), jvmArgs, environment, format);
+    final ExitCode exitCode = current.analyse(arguments, numberOfMutations,
+        new Relay(os, format));
+    if (!exitCode.isOk() || !reusable
+        || hasReachedLimit(current, maxMutationsPerMinion)) {
+      retireMinion();
+    }
+
+    synchronized (os) {
+      os.writeByte(Id.DONE);
+      os.writeInt(exitCode.getCode());
+      os.flush();
+    }
+  }
+
+  private PooledMinion minionFor(final String classPath,
+      final List<String> jvmArgs, final Map<String, String> environment,
+      final WireFormat format) {
+    final String key = classPath + jvmArgs + environment + format;
+    if ((this.minion != null) && key.equals(this.minionKey)) {
+      return this.minion;
+    }
+    retireMinion();
+    final ProcessArgs args = ProcessArgs
+        .withClassPath(classPath)
+        .andLaunchOptions(
+            new LaunchOptions(this.javaAgent,
+                new DefaultJavaExecutableLocator(), jvmArgs, environment))
+        .andStdout(printWith("stdout ")).andStderr(printWith("stderr "));
+    this.minion = new PooledMinion(
+        this.socketFinder.getNextAvailableServerSocket(), args, format);
+    this.minionKey = key;
+    return this.minion;
+  }
+
+  private static boolean hasReachedLimit(final PooledMinion minion,
+      final int maxMutationsPerMinion) {
+    return (maxMutationsPerMinion > 0)
+        && (minion.mutationsAnalysed() >= maxMutationsPerMinion);
+  }
+
+  private void retireMinion() {
+    if (this.minion != null) {
+      this.minion.shutdown();
+      this.minion = null;
+      this.minionKey = null;
+    }
+  }
+
+  /**
+   * Passes on what the minion reports, re-encoded for the connection to the
+   * run as interned strings are numbered per connection.
+   */
+  private static class Relay implements ReceiveStrategy {
+
+    private final SafeDataOutputStream os;
+    private final MutationResultCodec  codec;
+
+    Relay(final SafeDataOutputStream os, final WireFormat format) {
+      this.os = os;
+      this.codec = new MutationResultCodec(format);
+    }
+
+    @Override
+    public void apply(final byte control, final SafeDataInputStream is) {
+      switch (control) {
+      case Id.DESCRIBE:
+        relayDescribe(is);
+        break;
+      case Id.REPORT:
+        relayReport(is);
+        break;
+      case Id.DURATIONS:
+        relayDurations(is);
+        break;
+      }
+    }
+
+    private void relayDescribe(final SafeDataInputStream is) {
+      final MutationIdentifier mutation = this.codec.readIdentifier(is);
+      synchronized (this.os) {
+        this.os.writeByte(Id.DESCRIBE);
+        this.codec.writeIdentifier(this.os, mutation);
+        this.os.flush();
+      }
+    }
+
+    private void relayReport(final SafeDataInputStream is) {
+      final MutationIdentifier mutation = this.codec.readIdentifier(is);
+      final MutationStatusTestPair value = this.codec.readStatus(is);
+      synchronized (this.os) {
+        this.os.writeByte(Id.REPORT);
+        this.codec.writeIdentifier(this.os, mutation);
+        this.codec.writeStatus(this.os, value);
+        this.os.flush();
+      }
+    }
+
+    private void relayDurations(final SafeDataInputStream is) {
+      final Map<String, List<Long>> durations = this.codec.readDurations(is);
+      synchronized (this.os) {
+        this.os.writeByte(Id.DURATIONS);
+        this.codec.writeDurations(this.os, durations);
+        this.os.flush();
+      }
+    }
+
+  }
+
+  /**
+   * Tells the run the agent is alive while its minion is busy. Closes the
+   * connection if a heartbeat cannot be sent, so a slot waiting for a run
+   * that has gone away connects again.
+   */
+  private static class Heartbeat extends Thread {
+
+    private final Socket               socket;
+    private final SafeDataOutputStream os;
+
+    Heartbeat(final Socket socket, final SafeDataOutputStream os) {
+      super("pit agent heartbeat");
+      setDaemon(true);
+      this.socket = socket;
+      this.os = os;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!isInterrupted()) {
+          Thread.sleep(AgentProtocol.HEARTBEAT_INTERVAL);
+          synchronized (this.os) {
+            this.os.writeByte(AgentProtocol.HEARTBEAT);
+            this.os.flush();
+          }
+        }
+      } catch (final InterruptedException e) {
+        return;
+      } catch (final RuntimeException e) {
+        LOG.log(Level.FINE, "Could not send heartbeat", e);
+        try {
+          this.socket.close();
+        } catch (final IOException ex) {
+          LOG.log(Level.FINE, "Couldn't close connection to run", ex);
+        }
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,90 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Log;
+import org.pitest.util.SocketFinder;
+import org.pitest.util.WireFormat;
+
+/**
+ * Keeps mutation test minions alive between analysis units so that the cost
+ * of launching a JVM and discovering tests is not paid for every unit.
+ *
+ * A minion is only returned to the pool if it completed its last batch
+ * cleanly and has not yet analysed the configured maximum number of
+ * mutations. Minions that crash, time out or run low on memory are discarded
+ * and replaced on demand. The number of live minions is therefore bounded by
+ * the number of threads requesting them.
+ */
+public class MinionPool {
+
+  private static final Logger            LOG     = Log.getLogger();
+
+  private final int                      maxMutationsPerMinion;
+  private final SocketFinder             socketFinder;
+  private final LinkedList<PooledMinion> idle    = new LinkedList<PooledMinion>();
+  private final List<PooledMinion>       running = new ArrayList<PooledMinion>();
+
+  public MinionPool(final int maxMutationsPerMinion) {
+    this(maxMutationsPerMinion, new SocketFinder());
+  }
+
+  MinionPool(final int maxMutationsPerMinion, final SocketFinder socketFinder) {
+    this.maxMutationsPerMinion = maxMutationsPerMinion;
+    this.socketFinder = socketFinder;
+  }
+
+  public int getMaxMutationsPerMinion() {
+    return this.maxMutationsPerMinion;
+  }
+
+  synchronized PooledMinion acquire(final ProcessArgs processArgs,
+      final WireFormat format) {
+    PooledMinion minion = this.idle.poll();
+    if (minion == null) {
+      LOG.fine("Launching new pooled minion");
+      minion = new PooledMinion(
+          this.socketFinder.getNextAvailableServerSocket(), processArgs,
+          format);
+    }
+    this.running.add(minion);
+    return minion;
+  }
+
+  synchronized void release(final PooledMinion minion, final ExitCode exitCode) {
+    this.running.remove(minion);
+    if (exitCode.isOk() && !hasReachedLimit(minion)) {
+      this.idle.add(minion);
+    } else {
+      LOG.fine("Retiring pooled minion after " + minion.mutationsAnalysed()
+          + " mutations with exit code " + exitCode);
+      minion.destroy();
+    }
+  }
+
+  public synchronized void shutdown() {
+    for (final PooledMinion each : this.idle) {
+      each.shutdown();
+    }
+    for (final PooledMinion each : this.running) {
+      each.destroy();
+    }
+    this.idle.clear();
+    this.running.clear();
+  }
+
+  synchronized int numberOfIdleMinions() {
+    return this.idle.size();
+  }
+
+  private boolean hasReachedLimit(final PooledMinion minion) {
+    return (this.maxMutationsPerMinion > 0)
+        && (minion.mutationsAnalysed() >= this.maxMutationsPerMinion);
+  }
+
+}
@@ -0,0 +1,20 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.util.ExitCode;
+
+/**
+ * A minion analysing a single range of mutations on behalf of a
+ * MutationTestUnit.
+ */
+public interface MinionProcess {
+
+  void start() throws IOException, InterruptedException;
+
+  ExitCode waitToDie();
+
+  void results(MutationStatusMap allmutations) throws IOException;
+
+}
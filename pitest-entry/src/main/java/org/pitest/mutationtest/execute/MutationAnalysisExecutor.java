@@ -1,13 +1,14 @@
 package org.pitest.mutationtest.execute;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.pitest.functional.FCollection;
@@ -21,7 +22,13 @@ import org.pitest.util.Unchecked;
 
 public class MutationAnalysisExecutor {
 
-  private static final Logger                LOG = Log.getLogger();
+  private static final Logger                LOG                 = Log.getLogger();
+
+  // number of class results that may wait for slow listeners before the
+  // thread collecting results is made to wait. Analysis threads carry on,
+  // with the results of units they complete held by the completion service
+  // until collected
+  private static final int                   LISTENER_QUEUE_SIZE = 100;
 
   private final List<MutationResultListener> listeners;
   private final ThreadPoolExecutor           executor;
@@ -41,39 +48,60 @@ public class MutationAnalysisExecutor {
 
     signalRunStartToAllListeners();
 
-    List<Future<MutationMetaData>> results = new ArrayList<Future<MutationMetaData>>(
-        testUnits.size());
-
+    final CompletionService<MutationMetaData> results = new ExecutorCompletionService<MutationMetaData>(
+        this.executor);
     for (final MutationAnalysisUnit unit : testUnits) {
-      results.add(this.executor.submit(unit));
+      results.submit(unit);
     }
 
     this.executor.shutdown();
 
+    final ResultDispatcher dispatcher = new ResultDispatcher(this.listeners,
+        LISTENER_QUEUE_SIZE);
+    dispatcher.start();
+    boolean processed = false;
     try {
-      processResult(results);
+      processResults(results, testUnits.size(), dispatcher);
+      processed = true;
     } catch (InterruptedException e) {
       throw Unchecked.translateCheckedException(e);
     } catch (ExecutionException e) {
       throw Unchecked.translateCheckedException(e);
+    } finally {
+      if (processed) {
+        dispatcher.finish();
+      } else {
+        finishAfterFailure(dispatcher);
+      }
     }
 
     signalRunEndToAllListeners();
 
   }
 
-  private void processResult(List<Future<MutationMetaData>> results)
+  // results are handed on in the order units complete, so nothing is held
+  // back waiting for a slow unit that happened to be submitted earlier
+  private void processResults(final CompletionService<MutationMetaData> results,
+      final int numberOfUnits, final ResultDispatcher dispatcher)
       throws InterruptedException, ExecutionException {
-    for (Future<MutationMetaData> f : results) {
-      MutationMetaData r = f.get();
-      for (MutationResultListener l : this.listeners) {
-        for (final ClassMutationResults cr : r.toClassResults()) {
-          l.handleMutationResult(cr);
-        }
+    for (int i = 0; i != numberOfUnits; i++) {
+      final MutationMetaData r = results.take().get();
+      for (final ClassMutationResults cr : r.toClassResults()) {
+        dispatcher.dispatch(cr);
       }
     }
   }
 
+  // a listener failure is logged rather than thrown so that it does not
+  // hide the failure already on its way out
+  private static void finishAfterFailure(final ResultDispatcher dispatcher) {
+    try {
+      dispatcher.finish();
+    } catch (final RuntimeException e) {
+      LOG.log(Level.WARNING, "Could not report all results", e);
+    }
+  }
+
   private void signalRunStartToAllListeners() {
     FCollection.forEach(this.listeners,
         new SideEffect1<MutationResultListener>() {
@@ -28,6 +28,7 @@ import org.pitest.util.Log;
 import org.pitest.util.ReceiveStrategy;
 import org.pitest.util.SafeDataInputStream;
 import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
 
 public class MutationTestCommunicationThread extends CommunicationThread {
 
@@ -35,24 +36,41 @@ public class MutationTestCommunicationThread extends CommunicationThread {
 
   private static class SendData implements SideEffect1<SafeDataOutputStream> {
     private final MinionArguments arguments;
+    private final WireFormat      format;
 
-    SendData(final MinionArguments arguments) {
+    SendData(final MinionArguments arguments, final WireFormat format) {
       this.arguments = arguments;
+      this.format = format;
     }
 
     @Override
     public void apply(final SafeDataOutputStream dos) {
+      this.format.writeHandshake(dos);
       dos.write(this.arguments);
       dos.flush();
     }
   }
 
-  private static class Receive implements ReceiveStrategy {
+  static class Receive implements ReceiveStrategy {
 
     private final Map<MutationIdentifier, MutationStatusTestPair> idMap;
+    private final MutationResultCodec                             codec;
+    private final TestDurations                                   measured;
 
-    Receive(final Map<MutationIdentifier, MutationStatusTestPair> idMap) {
+    Receive(final Map<MutationIdentifier, MutationStatusTestPair> idMap,
+        final WireFormat format) {
+      this(idMap, format, new TestDurations());
+    }
+
+    /**
+     * @param measured
+     *          receives any test durations reported by the minion
+     */
+    Receive(final Map<MutationIdentifier, MutationStatusTestPair> idMap,
+        final WireFormat format, final TestDurations measured) {
       this.idMap = idMap;
+      this.codec = new MutationResultCodec(format);
+      this.measured = measured;
     }
 
     @Override
@@ -64,19 +82,21 @@ public class MutationTestCommunicationThread extends CommunicationThread {
       case Id.REPORT:
         handleReport(is);
         break;
+      case Id.DURATIONS:
+        this.measured.recordAll(this.codec.readDurations(is));
+        break;
       }
     }
 
     private void handleReport(final SafeDataInputStream is) {
-      final MutationIdentifier mutation = is.read(MutationIdentifier.class);
-      final MutationStatusTestPair value = is
-          .read(MutationStatusTestPair.class);
+      final MutationIdentifier mutation = this.codec.readIdentifier(is);
+      final MutationStatusTestPair value = this.codec.readStatus(is);
       this.idMap.put(mutation, value);
       LOG.fine(mutation + " " + value);
     }
 
     private void handleDescribe(final SafeDataInputStream is) {
-      final MutationIdentifier mutation = is.read(MutationIdentifier.class);
+      final MutationIdentifier mutation = this.codec.readIdentifier(is);
       this.idMap.put(mutation, new MutationStatusTestPair(1,
           DetectionStatus.STARTED));
     }
@@ -88,7 +108,22 @@ public class MutationTestCommunicationThread extends CommunicationThread {
   public MutationTestCommunicationThread(final ServerSocket socket,
       final MinionArguments arguments,
       final Map<MutationIdentifier, MutationStatusTestPair> idMap) {
-    super(socket, new SendData(arguments), new Receive(idMap));
+    this(socket, arguments, idMap, WireFormat.XML);
+  }
+
+  public MutationTestCommunicationThread(final ServerSocket socket,
+      final MinionArguments arguments,
+      final Map<MutationIdentifier, MutationStatusTestPair> idMap,
+      final WireFormat format) {
+    this(socket, arguments, idMap, format, new TestDurations());
+  }
+
+  public MutationTestCommunicationThread(final ServerSocket socket,
+      final MinionArguments arguments,
+      final Map<MutationIdentifier, MutationStatusTestPair> idMap,
+      final WireFormat format, final TestDurations measured) {
+    super(socket, new SendData(arguments, format), new Receive(idMap, format,
+        measured));
     this.idMap = idMap;
   }
 
@@ -11,26 +11,46 @@ import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.process.ProcessArgs;
 import org.pitest.process.WrappingProcess;
 import org.pitest.util.ExitCode;
+import org.pitest.util.WireFormat;
 
-public class MutationTestProcess {
+public class MutationTestProcess implements MinionProcess {
 
   private final WrappingProcess                 process;
   private final MutationTestCommunicationThread thread;
 
   public MutationTestProcess(final ServerSocket socket,
       final ProcessArgs processArgs, final MinionArguments arguments) {
+    this(socket, processArgs, arguments, WireFormat.XML);
+  }
+
+  public MutationTestProcess(final ServerSocket socket,
+      final ProcessArgs processArgs, final MinionArguments arguments,
+      final WireFormat format) {
+    this(socket, processArgs, arguments, format, new TestDurations());
+  }
+
+  /**
+   * @param measured
+   *          receives the test durations reported by the minion
+   */
+  public MutationTestProcess(final ServerSocket socket,
+      final ProcessArgs processArgs, final MinionArguments arguments,
+      final WireFormat format, final TestDurations measured) {
     this.process = new WrappingProcess(socket.getLocalPort(), processArgs,
         MutationTestMinion.class);
     this.thread = new MutationTestCommunicationThread(socket, arguments,
-        new HashMap<MutationIdentifier, MutationStatusTestPair>());
+        new HashMap<MutationIdentifier, MutationStatusTestPair>(), format,
+        measured);
 
   }
 
+  @Override
   public void start() throws IOException, InterruptedException {
     this.thread.start();
     this.process.start();
   }
 
+  @Override
   public void results(final MutationStatusMap allmutations) throws IOException {
 
     for (final MutationDetails each : allmutations.allMutations()) {
@@ -42,6 +62,7 @@ public class MutationTestProcess {
 
   }
 
+  @Override
   public ExitCode waitToDie() {
     try {
       return this.thread.waitToFinish();
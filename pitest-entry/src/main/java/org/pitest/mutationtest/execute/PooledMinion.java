@@ -0,0 +1,131 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.process.ProcessArgs;
+import org.pitest.process.WrappingProcess;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.IsolationUtils;
+import org.pitest.util.Log;
+import org.pitest.util.ReceiveStrategy;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
+
+/**
+ * A long lived mutation test minion that is sent successive batches of
+ * mutations over a single connection.
+ */
+class PooledMinion {
+
+  private static final Logger   LOG = Log.getLogger();
+
+  private final ServerSocket    socket;
+  private final WrappingProcess process;
+  private final WireFormat      format;
+
+  private Socket                connection;
+  private SafeDataOutputStream  os;
+  private SafeDataInputStream   is;
+  private int                   mutationsAnalysed;
+
+  PooledMinion(final ServerSocket socket, final ProcessArgs processArgs,
+      final WireFormat format) {
+    this.socket = socket;
+    this.format = format;
+    this.process = new WrappingProcess(socket.getLocalPort(), processArgs,
+        MutationTestMinion.class);
+  }
+
+  WireFormat format() {
+    return this.format;
+  }
+
+  ExitCode analyse(final MinionArguments arguments, final int numberOfMutations,
+      final ReceiveStrategy receive) {
+    return analyse(IsolationUtils.toXml(arguments), numberOfMutations, receive);
+  }
+
+  /**
+   * @param arguments
+   *          minion arguments already serialised to xml, as relayed by a
+   *          {@link MinionAgent}
+   */
+  ExitCode analyse(final String arguments, final int numberOfMutations,
+      final ReceiveStrategy receive) {
+    try {
+      if (this.connection == null) {
+        connect();
+      } else {
+        this.os.writeByte(Id.BATCH);
+      }
+      this.os.writeString(arguments);
+      this.os.flush();
+
+      this.mutationsAnalysed = this.mutationsAnalysed + numberOfMutations;
+      return receiveResults(receive);
+    } catch (final IOException e) {
+      LOG.log(Level.WARNING, "Error while communicating with minion", e);
+      return ExitCode.UNKNOWN_ERROR;
+    } catch (final RuntimeException e) {
+      LOG.log(Level.WARNING, "Error while communicating with minion", e);
+      return ExitCode.UNKNOWN_ERROR;
+    }
+  }
+
+  int mutationsAnalysed() {
+    return this.mutationsAnalysed;
+  }
+
+  void shutdown() {
+    try {
+      if (this.connection != null) {
+        this.os.writeByte(Id.DONE);
+        this.os.flush();
+      }
+    } catch (final RuntimeException e) {
+      LOG.log(Level.FINE, "Could not send shutdown to minion", e);
+    } finally {
+      destroy();
+    }
+  }
+
+  void destroy() {
+    try {
+      if (this.connection != null) {
+        this.connection.close();
+      }
+      this.socket.close();
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Couldn't close minion socket", e);
+    }
+    if (this.process.getProcess() != null) {
+      this.process.destroy();
+    }
+  }
+
+  private void connect() throws IOException {
+    this.process.start();
+    this.connection = this.socket.accept();
+    this.os = new SafeDataOutputStream(this.connection.getOutputStream());
+    this.is = new SafeDataInputStream(new BufferedInputStream(
+        this.connection.getInputStream()));
+    this.format.writeHandshake(this.os);
+  }
+
+  private ExitCode receiveResults(final ReceiveStrategy receive) {
+    byte control = this.is.readByte();
+    while (control != Id.DONE) {
+      receive.apply(control, this.is);
+      control = this.is.readByte();
+    }
+    return ExitCode.fromCode(this.is.readInt());
+  }
+
+}
@@ -0,0 +1,78 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
+import org.pitest.util.WireFormat;
+
+/**
+ * Analyses a range of mutations using a minion borrowed from a
+ * {@link MinionPool}.
+ */
+public class PooledMutationTestProcess implements MinionProcess {
+
+  private final MinionPool                                      pool;
+  private final ProcessArgs                                     processArgs;
+  private final MinionArguments                                 arguments;
+  private final int                                             numberOfMutations;
+  private final WireFormat                                      format;
+  private final TestDurations                                   measured;
+  private final Map<MutationIdentifier, MutationStatusTestPair> idMap = new HashMap<MutationIdentifier, MutationStatusTestPair>();
+
+  private PooledMinion                                          minion;
+
+  public PooledMutationTestProcess(final MinionPool pool,
+      final ProcessArgs processArgs, final MinionArguments arguments,
+      final int numberOfMutations, final WireFormat format) {
+    this(pool, processArgs, arguments, numberOfMutations, format,
+        new TestDurations());
+  }
+
+  /**
+   * @param measured
+   *          receives the test durations reported by the minion
+   */
+  public PooledMutationTestProcess(final MinionPool pool,
+      final ProcessArgs processArgs, final MinionArguments arguments,
+      final int numberOfMutations, final WireFormat format,
+      final TestDurations measured) {
+    this.pool = pool;
+    this.format = format;
+    this.processArgs = processArgs;
+    this.arguments = arguments;
+    this.numberOfMutations = numberOfMutations;
+    this.measured = measured;
+  }
+
+  @Override
+  public void start() {
+    this.minion = this.pool.acquire(this.processArgs, this.format);
+  }
+
+  @Override
+  public ExitCode waitToDie() {
+    final ExitCode exitCode = this.minion.analyse(this.arguments,
+        this.numberOfMutations,
+        new MutationTestCommunicationThread.Receive(this.idMap,
+            this.minion.format(), this.measured));
+    this.pool.release(this.minion, exitCode);
+    return exitCode;
+  }
+
+  @Override
+  public void results(final MutationStatusMap allmutations) {
+    for (final MutationDetails each : allmutations.allMutations()) {
+      final MutationStatusTestPair status = this.idMap.get(each.getId());
+      if (status != null) {
+        allmutations.setStatusForMutation(each, status);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,138 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.Log;
+import org.pitest.util.PitError;
+import org.pitest.util.ReceiveStrategy;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+/**
+ * The connection to a {@link MinionAgent} that has registered with a run.
+ *
+ * Registration fails if the agent does not complete the handshake within
+ * the handshake timeout. After that, reads time out if the agent sends
+ * nothing, not even a heartbeat, for longer than the heartbeat timeout, so a
+ * lost agent is seen as a failed read.
+ */
+final class RemoteAgent {
+
+  private static final Logger        LOG = Log.getLogger();
+
+  private final Socket               socket;
+  private final SafeDataInputStream  is;
+  private final SafeDataOutputStream os;
+  private final String               name;
+
+  private RemoteAgent(final Socket socket, final SafeDataInputStream is,
+      final SafeDataOutputStream os, final String name) {
+    this.socket = socket;
+    this.is = is;
+    this.os = os;
+    this.name = name;
+  }
+
+  static RemoteAgent register(final Socket socket, final String secret)
+      throws IOException {
+    socket.setSoTimeout(AgentProtocol.HANDSHAKE_TIMEOUT);
+    final SafeDataInputStream is = new SafeDataInputStream(
+        new BufferedInputStream(socket.getInputStream()));
+    final SafeDataOutputStream os = new SafeDataOutputStream(
+        new BufferedOutputStream(socket.getOutputStream()));
+    if (is.readInt() != AgentProtocol.MAGIC) {
+      throw new PitError("Connection from " + socket.getRemoteSocketAddress()
+          + " is not from an agent");
+    }
+    final int version = is.readVarInt();
+    if (version != AgentProtocol.VERSION) {
+      throw new PitError("Agent at " + socket.getRemoteSocketAddress()
+          + " speaks protocol version " + version + " but version "
+          + AgentProtocol.VERSION + " is required");
+    }
+    final byte[] agentChallenge = AgentProtocol.readHandshake(is);
+    final byte[] runChallenge = AgentProtocol.challenge();
+    AgentProtocol.writeHandshake(os, runChallenge);
+    AgentProtocol.writeHandshake(os, AgentProtocol.proof(secret,
+        AgentProtocol.RUN, agentChallenge, runChallenge));
+    os.flush();
+    if (!AgentProtocol.isProof(AgentProtocol.proof(secret,
+        AgentProtocol.AGENT, runChallenge, agentChallenge),
+        AgentProtocol.readHandshake(is))) {
+      throw new PitError("Agent at " + socket.getRemoteSocketAddress()
+          + " could not prove it knows the agent secret");
+    }
+    final String name = is.readString();
+    socket.setSoTimeout(AgentProtocol.HEARTBEAT_TIMEOUT);
+    return new RemoteAgent(socket, is, os, name);
+  }
+
+  ExitCode analyse(final AgentBatch batch, final ReceiveStrategy receive) {
+    this.os.writeByte(Id.BATCH);
+    batch.writeHeader(this.os);
+    this.os.flush();
+
+    expect(AgentProtocol.NEED);
+    final int needed = this.is.readVarInt();
+    for (int i = 0; i != needed; i++) {
+      this.os.writeBytes(batch.content(this.is.readString()));
+    }
+    batch.writeMutations(this.os);
+    this.os.flush();
+
+    byte control = readControl();
+    while (control != Id.DONE) {
+      receive.apply(control, this.is);
+      control = readControl();
+    }
+    return ExitCode.fromCode(this.is.readInt());
+  }
+
+  void shutdown() {
+    try {
+      this.os.writeByte(Id.DONE);
+      this.os.flush();
+    } catch (final RuntimeException e) {
+      LOG.log(Level.FINE, "Could not send shutdown to agent " + this.name, e);
+    } finally {
+      close();
+    }
+  }
+
+  void close() {
+    try {
+      this.socket.close();
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Couldn't close connection to agent " + this.name, e);
+    }
+  }
+
+  private void expect(final byte expected) {
+    final byte control = readControl();
+    if (control != expected) {
+      throw new PitError("Unexpected message " + control + " from agent "
+          + this.name);
+    }
+  }
+
+  private byte readControl() {
+    byte control = this.is.readByte();
+    while (control == AgentProtocol.HEARTBEAT) {
+      control = this.is.readByte();
+    }
+    return control;
+  }
+
+  @Override
+  public String toString() {
+    return this.name;
+  }
+
+}
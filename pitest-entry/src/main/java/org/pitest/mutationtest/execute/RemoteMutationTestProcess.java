@@ -0,0 +1,98 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.process.LaunchOptions;
+import org.pitest.util.ExitCode;
+import org.pitest.util.IsolationUtils;
+import org.pitest.util.Log;
+import org.pitest.util.WireFormat;
+
+/**
+ * Analyses a range of mutations using a minion run by a {@link MinionAgent}
+ * borrowed from an {@link AgentCoordinator}.
+ *
+ * If the agent is lost before its minion finishes, the whole range is sent to
+ * another agent. Results received from the lost agent are kept, and replaced
+ * by those of the later attempt.
+ */
+public class RemoteMutationTestProcess implements MinionProcess {
+
+  private static final Logger                                   LOG          = Log
+                                                                                 .getLogger();
+
+  private static final int                                      MAX_ATTEMPTS = 3;
+
+  private final AgentCoordinator                                coordinator;
+  private final AgentBatch                                      batch;
+  private final TestDurations                                   measured;
+  private final Map<MutationIdentifier, MutationStatusTestPair> idMap        = new HashMap<MutationIdentifier, MutationStatusTestPair>();
+
+  /**
+   * @param maxMutationsPerMinion
+   *          if the arguments are reusable, the number of mutations after
+   *          which the agent launches a new minion, or 0 for no limit
+   * @param measured
+   *          receives the test durations reported by the minion
+   */
+  public RemoteMutationTestProcess(final AgentCoordinator coordinator,
+      final String classPath, final LaunchOptions launchOptions,
+      final MinionArguments arguments, final int numberOfMutations,
+      final int maxMutationsPerMinion, final WireFormat format,
+      final TestDurations measured) {
+    this(coordinator, new AgentBatch(coordinator.classPathFor(classPath),
+        launchOptions.getChildJVMArgs(),
+        launchOptions.getEnvironmentVariables(), arguments.isReusable(),
+        maxMutationsPerMinion, format, IsolationUtils.toXml(arguments),
+        numberOfMutations), measured);
+  }
+
+  RemoteMutationTestProcess(final AgentCoordinator coordinator,
+      final AgentBatch batch, final TestDurations measured) {
+    this.coordinator = coordinator;
+    this.batch = batch;
+    this.measured = measured;
+  }
+
+  @Override
+  public void start() {
+    // agents are borrowed in waitToDie so a lost one can be replaced
+  }
+
+  @Override
+  public ExitCode waitToDie() {
+    for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+      final RemoteAgent agent = this.coordinator.acquire();
+      try {
+        final ExitCode exitCode = agent.analyse(this.batch,
+            new MutationTestCommunicationThread.Receive(this.idMap,
+                this.batch.format(), this.measured));
+        this.coordinator.release(agent);
+        return exitCode;
+      } catch (final RuntimeException e) {
+        LOG.log(Level.WARNING, "Lost agent " + agent + " on attempt "
+            + attempt + " of " + MAX_ATTEMPTS, e);
+        this.coordinator.discard(agent);
+      }
+    }
+    return ExitCode.UNKNOWN_ERROR;
+  }
+
+  @Override
+  public void results(final MutationStatusMap allmutations) {
+    for (final MutationDetails each : allmutations.allMutations()) {
+      final MutationStatusTestPair status = this.idMap.get(each.getId());
+      if (status != null) {
+        allmutations.setStatusForMutation(each, status);
+      }
+    }
+  }
+
+}
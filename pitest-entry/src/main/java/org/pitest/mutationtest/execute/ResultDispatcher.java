@@ -0,0 +1,99 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.util.PitError;
+import org.pitest.util.Unchecked;
+
+/**
+ * Passes results to listeners on a dedicated thread, so that report writing
+ * overlaps with mutation analysis. Listeners are only ever called from that
+ * one thread, in the order results were offered.
+ *
+ * The queue in front of the listeners is bounded. If the listeners fall
+ * behind, offering a result blocks the thread offering it until there is
+ * room. Only that thread waits, so results the analysis threads complete in
+ * the meantime are held wherever that thread collects them from.
+ */
+class ResultDispatcher implements Runnable {
+
+  // compared by identity to signal that no more results will follow
+  private static final ClassMutationResults         END_OF_RESULTS = new ClassMutationResults(
+                                                                       Collections
+                                                                           .<MutationResult> emptyList());
+
+  private final List<MutationResultListener>        listeners;
+  private final BlockingQueue<ClassMutationResults> queue;
+  private final Thread                              thread;
+
+  private volatile RuntimeException                 failure;
+
+  ResultDispatcher(final List<MutationResultListener> listeners,
+      final int queueSize) {
+    this.listeners = listeners;
+    this.queue = new ArrayBlockingQueue<ClassMutationResults>(queueSize);
+    this.thread = new Thread(this, "pit result dispatcher");
+    this.thread.setDaemon(true);
+  }
+
+  void start() {
+    this.thread.start();
+  }
+
+  void dispatch(final ClassMutationResults results) {
+    try {
+      this.queue.put(results);
+    } catch (final InterruptedException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  /**
+   * Waits until all offered results have been passed to the listeners. Any
+   * exception thrown by a listener is rethrown here.
+   */
+  void finish() {
+    dispatch(END_OF_RESULTS);
+    try {
+      this.thread.join();
+    } catch (final InterruptedException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+    if (this.failure != null) {
+      throw this.failure;
+    }
+  }
+
+  @Override
+  public void run() {
+    try {
+      ClassMutationResults next = this.queue.take();
+      while (next != END_OF_RESULTS) {
+        // once a listener has failed keep draining so producers never block
+        if (this.failure == null) {
+          notifyListeners(next);
+        }
+        next = this.queue.take();
+      }
+    } catch (final InterruptedException e) {
+      this.failure = new PitError("Interrupted while reporting results", e);
+    }
+  }
+
+  private void notifyListeners(final ClassMutationResults results) {
+    try {
+      for (final MutationResultListener each : this.listeners) {
+        each.handleMutationResult(results);
+      }
+    } catch (final RuntimeException e) {
+      this.failure = e;
+    }
+  }
+
+}
@@ -0,0 +1,705 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetailedHistoryStore;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.testapi.Description;
+import org.pitest.util.Log;
+import org.pitest.util.PitError;
+import org.pitest.util.Unchecked;
+
+/**
+ * History store using a compact, append only binary format.
+ *
+ * Records are appended to a buffered stream as results arrive. Strings are
+ * written once and afterwards referred to by number. When the store is closed
+ * an index is appended giving the position of the class history records, of
+ * the coverage records and of the results for each class, followed by a fixed
+ * length trailer that points to the index.
+ *
+ * Previous history is read into memory as a single buffer, so that the file
+ * is not held open while the run writes its replacement. Class histories are
+ * decoded when the store is initialised, coverage when it is first asked for,
+ * and results are only decoded for a class the first time a result for that
+ * class is asked for.
+ *
+ * Output goes to a temporary file that replaces the output location when the
+ * store is closed, so the same file may be used for input and output. If a
+ * run was killed before closing the store, its temporary file is left without
+ * an index. The next run reads that file in preference to the older complete
+ * history, and scans its records to rebuild the index. Files are limited to
+ * 2GB.
+ */
+public class BinaryHistoryStore implements DetailedHistoryStore, Closeable {
+
+  private static final Logger                                   LOG                 = Log
+                                                                                        .getLogger();
+
+  static final int                                              MAGIC               = 0x50495448;
+  static final int                                              VERSION             = 3;
+
+  private static final byte                                     STRING              = 1;
+  private static final byte                                     CLASS_HISTORY       = 2;
+  private static final byte                                     RESULT              = 3;
+  private static final byte                                     INDEX               = 4;
+  private static final byte                                     COVERAGE            = 5;
+
+  private static final int                                      HEADER_LENGTH       = 8;
+  // long offset of the index followed by the magic number
+  private static final int                                      TRAILER_LENGTH      = 12;
+
+  private static final Charset                                  UTF8                = Charset
+                                                                                        .forName("UTF-8");
+
+  private final Option<File>                                    input;
+  private final Option<File>                                    output;
+
+  private DataOutputStream                                      out;
+  private boolean                                               recorded;
+  private File                                                  tempOutput;
+  private final Map<String, Integer>                            outputStrings       = new HashMap<String, Integer>();
+  private final List<Integer>                                   outputClassPath     = new ArrayList<Integer>();
+  private final List<Integer>                                   outputCoverage      = new ArrayList<Integer>();
+  private final Map<Integer, List<Integer>>                     outputResults       = new LinkedHashMap<Integer, List<Integer>>();
+
+  private ByteBuffer                                            previous;
+  private final List<String>                                    previousStrings     = new ArrayList<String>();
+  private final List<Integer>                                   previousClassPathAt = new ArrayList<Integer>();
+  private final List<Integer>                                   previousCoverageAt  = new ArrayList<Integer>();
+  private final Map<ClassName, List<Integer>>                   previousResultsAt   = new HashMap<ClassName, List<Integer>>();
+
+  private final Map<ClassName, ClassHistory>                    previousClassPath   = new HashMap<ClassName, ClassHistory>();
+  private List<CoverageResult>                                  previousCoverage;
+  private final Set<ClassName>                                  loadedClasses       = new HashSet<ClassName>();
+  private final Map<MutationIdentifier, MutationStatusTestPair> loadedResults       = new HashMap<MutationIdentifier, MutationStatusTestPair>();
+  private final Map<MutationIdentifier, String>                 loadedTests         = new HashMap<MutationIdentifier, String>();
+  private final Map<MutationIdentifier, MutationStatusTestPair> previousResults     = new Historic<MutationStatusTestPair>(
+                                                                                        this.loadedResults);
+  private final Map<MutationIdentifier, String>                 previousTests       = new Historic<String>(
+                                                                                        this.loadedTests);
+
+  public BinaryHistoryStore(final Option<File> input, final Option<File> output) {
+    this.input = input;
+    this.output = output;
+  }
+
+  @Override
+  public void initialize() {
+    if (this.input.hasNone()) {
+      return;
+    }
+    final File source = latest(this.input.value());
+    if (!source.exists() || (source.length() == 0)) {
+      return;
+    }
+    try {
+      this.previous = read(source);
+      if (this.previous != null) {
+        readIndex();
+        for (final Integer each : this.previousClassPathAt) {
+          final ClassHistory history = readClassHistory(each);
+          this.previousClassPath.put(history.getName(), history);
+        }
+      }
+    } catch (final IOException e) {
+      LOG.warning("Could not read previous history");
+      clearPrevious();
+    } catch (final RuntimeException e) {
+      LOG.warning("Could not read previous history");
+      clearPrevious();
+    }
+  }
+
+  @Override
+  public void recordClassPath(final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo) {
+    recordClassPath(ids, coverageInfo,
+        Collections.<ClassName, Map<String, Long>> emptyMap());
+  }
+
+  @Override
+  public void recordClassPath(final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo,
+      final Map<ClassName, Map<String, Long>> methods) {
+    if (this.output.hasNone()) {
+      return;
+    }
+    this.recorded = true;
+    try {
+      for (final HierarchicalClassId each : ids) {
+        final int name = stringId(each.getName().asJavaName());
+        final Map<String, Long> hashes = methods.get(each.getName());
+        final Map<Integer, Long> methodHashes = new LinkedHashMap<Integer, Long>();
+        if (hashes != null) {
+          for (final Entry<String, Long> method : hashes.entrySet()) {
+            methodHashes.put(stringId(method.getKey()), method.getValue());
+          }
+        }
+        this.outputClassPath.add(this.out.size());
+        this.out.writeByte(CLASS_HISTORY);
+        writeVarInt(name);
+        this.out.writeLong(each.getId().getHash());
+        writeString(each.getHierarchicalHash());
+        writeString(coverageInfo.getCoverageIdForClass(each.getName())
+            .toString(16));
+        writeVarInt(methodHashes.size());
+        for (final Entry<Integer, Long> method : methodHashes.entrySet()) {
+          writeVarInt(method.getKey());
+          this.out.writeLong(method.getValue());
+        }
+      }
+      for (final CoverageResult each : coverageInfo.getTestCoverage()) {
+        writeCoverage(each);
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  @Override
+  public void recordResult(final MutationResult result) {
+    if (this.output.hasNone()) {
+      return;
+    }
+    this.recorded = true;
+    final MutationIdentifier id = result.getDetails().getId();
+    final Location location = id.getLocation();
+    final MutationStatusTestPair status = result.getStatusTestPair();
+    try {
+      final int clazz = stringId(location.getClassName().asJavaName());
+      final int method = stringId(location.getMethodName().name());
+      final int desc = stringId(location.getMethodDesc());
+      final int mutator = stringId(id.getMutator());
+      final int killingTest = status.getKillingTest().hasSome() ? stringId(status
+          .getKillingTest().value()) + 1 : 0;
+      final int tests = stringId(CoveringTests.idFor(result.getDetails()
+          .getTestsInOrder()));
+
+      resultsFor(clazz).add(this.out.size());
+      this.out.writeByte(RESULT);
+      writeVarInt(clazz);
+      writeVarInt(method);
+      writeVarInt(desc);
+      writeVarInt(mutator);
+      writeVarInt(id.getIndexes().size());
+      for (final Integer each : id.getIndexes()) {
+        writeVarInt(each);
+      }
+      writeVarInt(status.getNumberOfTestsRun());
+      this.out.writeByte(status.getStatus().ordinal());
+      writeVarInt(killingTest);
+      writeVarInt(tests);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private void writeCoverage(final CoverageResult coverage) throws IOException {
+    final Description description = coverage.getTestUnitDescription();
+    final String testClassName = description.getFirstTestClass();
+    final int testClass = testClassName != null ? stringId(testClassName) + 1
+        : 0;
+    final int name = stringId(description.getName());
+    final List<BlockLocation> blocks = new ArrayList<BlockLocation>(
+        coverage.getCoverage());
+    final int[] locations = new int[blocks.size() * 3];
+    for (int i = 0; i != blocks.size(); i++) {
+      final Location location = blocks.get(i).getLocation();
+      locations[i * 3] = stringId(location.getClassName().asJavaName());
+      locations[(i * 3) + 1] = stringId(location.getMethodName().name());
+      locations[(i * 3) + 2] = stringId(location.getMethodDesc());
+    }
+
+    this.outputCoverage.add(this.out.size());
+    this.out.writeByte(COVERAGE);
+    writeVarInt(testClass);
+    writeVarInt(name);
+    writeVarInt(coverage.getExecutionTime());
+    writeVarInt(blocks.size());
+    for (int i = 0; i != blocks.size(); i++) {
+      writeVarInt(locations[i * 3]);
+      writeVarInt(locations[(i * 3) + 1]);
+      writeVarInt(locations[(i * 3) + 2]);
+      writeVarInt(blocks.get(i).getBlock());
+    }
+  }
+
+  @Override
+  public Map<MutationIdentifier, MutationStatusTestPair> getHistoricResults() {
+    return this.previousResults;
+  }
+
+  @Override
+  public Map<MutationIdentifier, String> getHistoricCoveringTests() {
+    return this.previousTests;
+  }
+
+  @Override
+  public Map<ClassName, ClassHistory> getHistoricClassPath() {
+    return this.previousClassPath;
+  }
+
+  @Override
+  public synchronized Collection<CoverageResult> getHistoricCoverage() {
+    if (this.previousCoverage == null) {
+      this.previousCoverage = new ArrayList<CoverageResult>();
+      try {
+        for (final Integer each : this.previousCoverageAt) {
+          this.previousCoverage.add(readCoverage(each));
+        }
+      } catch (final RuntimeException e) {
+        // partial coverage could be mistaken for all the coverage of a test
+        LOG.warning("Could not read previous coverage");
+        this.previousCoverage.clear();
+      }
+    }
+    return this.previousCoverage;
+  }
+
+  /**
+   * Writes the index and moves the new history into place. A run that
+   * recorded nothing leaves the previous history alone, as it most likely
+   * failed before analysis began, but a run that recorded an empty class path
+   * writes an empty history.
+   */
+  @Override
+  public void close() {
+    if (!this.recorded) {
+      return;
+    }
+    try {
+      openOutput();
+      final int indexOffset = this.out.size();
+      writeIndex();
+      this.out.writeLong(indexOffset);
+      this.out.writeInt(MAGIC);
+      this.out.close();
+      this.out = null;
+      this.recorded = false;
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+
+    clearPrevious();
+    final File destination = this.output.value();
+    if (destination.exists() && !destination.delete()) {
+      throw new PitError("Could not replace history file " + destination);
+    }
+    if (!this.tempOutput.renameTo(destination)) {
+      throw new PitError("Could not write history file " + destination);
+    }
+  }
+
+  private void writeIndex() throws IOException {
+    this.out.writeByte(INDEX);
+    writeVarInt(this.outputStrings.size());
+    final String[] strings = new String[this.outputStrings.size()];
+    for (final Entry<String, Integer> each : this.outputStrings.entrySet()) {
+      strings[each.getValue()] = each.getKey();
+    }
+    for (final String each : strings) {
+      writeString(each);
+    }
+    writeOffsets(this.outputClassPath);
+    writeOffsets(this.outputCoverage);
+    writeVarInt(this.outputResults.size());
+    for (final Entry<Integer, List<Integer>> each : this.outputResults
+        .entrySet()) {
+      writeVarInt(each.getKey());
+      writeOffsets(each.getValue());
+    }
+  }
+
+  private void writeOffsets(final List<Integer> offsets) throws IOException {
+    writeVarInt(offsets.size());
+    int last = 0;
+    for (final Integer each : offsets) {
+      writeVarInt(each - last);
+      last = each;
+    }
+  }
+
+  private List<Integer> resultsFor(final int clazz) {
+    List<Integer> offsets = this.outputResults.get(clazz);
+    if (offsets == null) {
+      offsets = new ArrayList<Integer>();
+      this.outputResults.put(clazz, offsets);
+    }
+    return offsets;
+  }
+
+  // strings are defined by a record preceding their first use, so a scan of
+  // the unindexed file of an unfinished run always knows them before they are
+  // referred to
+  private int stringId(final String value) throws IOException {
+    final Integer existing = this.outputStrings.get(value);
+    if (existing != null) {
+      return existing;
+    }
+    openOutput();
+    final int id = this.outputStrings.size();
+    this.outputStrings.put(value, id);
+    this.out.writeByte(STRING);
+    writeString(value);
+    return id;
+  }
+
+  private void openOutput() throws IOException {
+    if (this.out != null) {
+      return;
+    }
+    final File destination = this.output.value();
+    if (destination.getParentFile() != null) {
+      destination.getParentFile().mkdirs();
+    }
+    this.tempOutput = unfinished(destination);
+    this.out = new DataOutputStream(new BufferedOutputStream(
+        new FileOutputStream(this.tempOutput)));
+    this.out.writeInt(MAGIC);
+    this.out.writeInt(VERSION);
+  }
+
+  private void writeString(final String value) throws IOException {
+    final byte[] bytes = value.getBytes(UTF8);
+    writeVarInt(bytes.length);
+    this.out.write(bytes);
+  }
+
+  private void writeVarInt(final int value) throws IOException {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      this.out.writeByte((remaining & 0x7F) | 0x80);
+      remaining = remaining >>> 7;
+    }
+    this.out.writeByte(remaining);
+  }
+
+  private static File unfinished(final File history) {
+    return new File(history.getPath() + ".tmp");
+  }
+
+  private static File latest(final File history) {
+    final File unfinished = unfinished(history);
+    if (unfinished.exists()
+        && (!history.exists() || (unfinished.lastModified() >= history
+            .lastModified()))) {
+      LOG.info("Reading history left by an unfinished run from " + unfinished);
+      return unfinished;
+    }
+    return history;
+  }
+
+  private static ByteBuffer read(final File file) throws IOException {
+    if (file.length() > Integer.MAX_VALUE) {
+      LOG.warning("History file " + file + " is too large to read");
+      return null;
+    }
+    final byte[] bytes = new byte[(int) file.length()];
+    final DataInputStream in = new DataInputStream(new FileInputStream(file));
+    try {
+      in.readFully(bytes);
+    } finally {
+      in.close();
+    }
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    if ((buffer.limit() < HEADER_LENGTH) || (buffer.getInt(0) != MAGIC)
+        || (buffer.getInt(4) != VERSION)) {
+      LOG.warning("History file " + file
+          + " is not in a supported binary format");
+      return null;
+    }
+    return buffer;
+  }
+
+  private void readIndex() {
+    final int size = this.previous.limit();
+    if ((size >= (HEADER_LENGTH + TRAILER_LENGTH))
+        && (this.previous.getInt(size - 4) == MAGIC)) {
+      final ByteBuffer in = at((int) this.previous.getLong(size
+          - TRAILER_LENGTH));
+      if (in.get() == INDEX) {
+        readIndex(in);
+        return;
+      }
+    }
+    LOG.info("History file has no index, scanning for results");
+    scan();
+  }
+
+  private void readIndex(final ByteBuffer in) {
+    final int numberOfStrings = readVarInt(in);
+    for (int i = 0; i != numberOfStrings; i++) {
+      this.previousStrings.add(readString(in));
+    }
+    this.previousClassPathAt.addAll(readOffsets(in));
+    this.previousCoverageAt.addAll(readOffsets(in));
+    final int numberOfClasses = readVarInt(in);
+    for (int i = 0; i != numberOfClasses; i++) {
+      final ClassName clazz = ClassName.fromString(string(readVarInt(in)));
+      this.previousResultsAt.put(clazz, readOffsets(in));
+    }
+  }
+
+  private static List<Integer> readOffsets(final ByteBuffer in) {
+    final int count = readVarInt(in);
+    final List<Integer> offsets = new ArrayList<Integer>(count);
+    int last = 0;
+    for (int i = 0; i != count; i++) {
+      last = last + readVarInt(in);
+      offsets.add(last);
+    }
+    return offsets;
+  }
+
+  private void scan() {
+    final ByteBuffer in = at(HEADER_LENGTH);
+    try {
+      while (in.hasRemaining()) {
+        final int offset = in.position();
+        final byte type = in.get();
+        if (type == STRING) {
+          this.previousStrings.add(readString(in));
+        } else if (type == CLASS_HISTORY) {
+          readClassHistory(in);
+          this.previousClassPathAt.add(offset);
+        } else if (type == COVERAGE) {
+          readCoverage(in);
+          this.previousCoverageAt.add(offset);
+        } else if (type == RESULT) {
+          final ClassName clazz = readResult(in).getClassName();
+          readStatus(in);
+          readVarInt(in);
+          List<Integer> offsets = this.previousResultsAt.get(clazz);
+          if (offsets == null) {
+            offsets = new ArrayList<Integer>();
+            this.previousResultsAt.put(clazz, offsets);
+          }
+          offsets.add(offset);
+        } else {
+          return;
+        }
+      }
+    } catch (final BufferUnderflowException e) {
+      LOG.warning("History file was truncated, reading results up to "
+          + "the last complete record");
+    }
+  }
+
+  private ClassHistory readClassHistory(final int offset) {
+    final ByteBuffer in = at(offset);
+    if (in.get() != CLASS_HISTORY) {
+      throw new PitError("Corrupt history index");
+    }
+    return readClassHistory(in);
+  }
+
+  private ClassHistory readClassHistory(final ByteBuffer in) {
+    final ClassName name = ClassName.fromString(string(readVarInt(in)));
+    final long hash = in.getLong();
+    final String hierarchicalHash = readString(in);
+    final String coverageId = readString(in);
+    final int numberOfMethods = readVarInt(in);
+    final Map<String, Long> methodHashes = new HashMap<String, Long>();
+    for (int i = 0; i != numberOfMethods; i++) {
+      methodHashes.put(string(readVarInt(in)), in.getLong());
+    }
+    return new ClassHistory(new HierarchicalClassId(hash, name,
+        hierarchicalHash), coverageId, methodHashes);
+  }
+
+  private CoverageResult readCoverage(final int offset) {
+    final ByteBuffer in = at(offset);
+    if (in.get() != COVERAGE) {
+      throw new PitError("Corrupt history index");
+    }
+    return readCoverage(in);
+  }
+
+  private CoverageResult readCoverage(final ByteBuffer in) {
+    final int testClass = readVarInt(in);
+    final String name = string(readVarInt(in));
+    final int executionTime = readVarInt(in);
+    final int numberOfBlocks = readVarInt(in);
+    final List<BlockLocation> blocks = new ArrayList<BlockLocation>(
+        numberOfBlocks);
+    for (int i = 0; i != numberOfBlocks; i++) {
+      final ClassName clazz = ClassName.fromString(string(readVarInt(in)));
+      final MethodName method = MethodName.fromString(string(readVarInt(in)));
+      final String desc = string(readVarInt(in));
+      blocks.add(new BlockLocation(Location.location(clazz, method, desc),
+          readVarInt(in)));
+    }
+    final Description description = new Description(name,
+        testClass == 0 ? null : string(testClass - 1));
+    return new CoverageResult(description, executionTime, true, blocks);
+  }
+
+  private void readResult(final int offset) {
+    final ByteBuffer in = at(offset);
+    if (in.get() != RESULT) {
+      throw new PitError("Corrupt history index");
+    }
+    final MutationIdentifier id = readResult(in);
+    this.loadedResults.put(id, readStatus(in));
+    this.loadedTests.put(id, string(readVarInt(in)));
+  }
+
+  // reads the identifier, leaving the buffer positioned at the status
+  private MutationIdentifier readResult(final ByteBuffer in) {
+    final ClassName clazz = ClassName.fromString(string(readVarInt(in)));
+    final MethodName method = MethodName.fromString(string(readVarInt(in)));
+    final String desc = string(readVarInt(in));
+    final String mutator = string(readVarInt(in));
+    final int numberOfIndexes = readVarInt(in);
+    final List<Integer> indexes = new ArrayList<Integer>(numberOfIndexes);
+    for (int i = 0; i != numberOfIndexes; i++) {
+      indexes.add(readVarInt(in));
+    }
+    return new MutationIdentifier(Location.location(clazz, method, desc),
+        indexes, mutator);
+  }
+
+  private MutationStatusTestPair readStatus(final ByteBuffer in) {
+    final int numberOfTestsRun = readVarInt(in);
+    final DetectionStatus status = DetectionStatus.values()[in.get()];
+    final int killingTest = readVarInt(in);
+    return new MutationStatusTestPair(numberOfTestsRun, status,
+        killingTest == 0 ? null : string(killingTest - 1));
+  }
+
+  private synchronized void load(final ClassName clazz) {
+    if (this.loadedClasses.contains(clazz)) {
+      return;
+    }
+    this.loadedClasses.add(clazz);
+    final List<Integer> offsets = this.previousResultsAt.get(clazz);
+    if (offsets == null) {
+      return;
+    }
+    try {
+      for (final Integer each : offsets) {
+        readResult(each);
+      }
+    } catch (final RuntimeException e) {
+      LOG.warning("Could not read previous results for " + clazz);
+    }
+  }
+
+  private synchronized void loadAll() {
+    for (final ClassName each : new ArrayList<ClassName>(
+        this.previousResultsAt.keySet())) {
+      load(each);
+    }
+  }
+
+  private ByteBuffer at(final int offset) {
+    final ByteBuffer in = this.previous.duplicate();
+    in.position(offset);
+    return in;
+  }
+
+  private String string(final int id) {
+    return this.previousStrings.get(id);
+  }
+
+  private static String readString(final ByteBuffer in) {
+    final byte[] bytes = new byte[readVarInt(in)];
+    in.get(bytes);
+    return new String(bytes, UTF8);
+  }
+
+  private static int readVarInt(final ByteBuffer in) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = in.get();
+      value = value | ((b & 0x7F) << shift);
+      shift = shift + 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  private void clearPrevious() {
+    this.previous = null;
+    this.previousStrings.clear();
+    this.previousClassPathAt.clear();
+    this.previousCoverageAt.clear();
+    this.previousResultsAt.clear();
+  }
+
+  /**
+   * Values from the results of the previous run, decoded a class at a time on
+   * first use.
+   */
+  private class Historic<V> extends AbstractMap<MutationIdentifier, V> {
+
+    private final Map<MutationIdentifier, V> loaded;
+
+    Historic(final Map<MutationIdentifier, V> loaded) {
+      this.loaded = loaded;
+    }
+
+    @Override
+    public V get(final Object key) {
+      if (!(key instanceof MutationIdentifier)) {
+        return null;
+      }
+      final MutationIdentifier id = (MutationIdentifier) key;
+      synchronized (BinaryHistoryStore.this) {
+        load(id.getClassName());
+        return this.loaded.get(id);
+      }
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<MutationIdentifier, V>> entrySet() {
+      synchronized (BinaryHistoryStore.this) {
+        loadAll();
+        return this.loaded.entrySet();
+      }
+    }
+
+  }
+
+}
@@ -5,6 +5,7 @@ import java.math.BigInteger;
 import org.pitest.classinfo.ClassName;
 import org.pitest.functional.Option;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public interface CodeHistory {
@@ -13,6 +14,10 @@ public interface CodeHistory {
 
   boolean hasClassChanged(ClassName className);
 
+  boolean hasMethodChanged(Location location);
+
+  Option<String> getPreviousCoveringTests(MutationIdentifier id);
+
   boolean hasCoverageChanged(ClassName className, BigInteger currentCoverage);
 
 }
@@ -0,0 +1,38 @@
+package org.pitest.mutationtest.incremental;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.FCollection;
+
+/**
+ * Identifies the set of tests that cover a mutant, so that a later run can
+ * tell whether the mutant is still covered by the same tests.
+ */
+public final class CoveringTests {
+
+  private CoveringTests() {
+  }
+
+  /**
+   * @return identifier that is the same for the same tests in any order
+   */
+  public static String idFor(final Collection<TestInfo> tests) {
+    final List<String> names = new ArrayList<String>(FCollection.map(tests,
+        TestInfo.toName()));
+    Collections.sort(names);
+    // hashes the sorted names, each followed by a separator
+    long hash = MethodHashes.FNV_OFFSET;
+    for (final String each : names) {
+      for (int i = 0; i != each.length(); i++) {
+        hash = MethodHashes.fnv(hash, each.charAt(i));
+      }
+      hash = MethodHashes.fnv(hash, '\n');
+    }
+    return names.size() + ":" + Long.toHexString(hash);
+  }
+
+}
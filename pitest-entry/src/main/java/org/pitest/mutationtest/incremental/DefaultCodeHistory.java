@@ -1,16 +1,21 @@
 package org.pitest.mutationtest.incremental;
 
 import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassInfoSource;
 import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.classpath.CodeSource;
 import org.pitest.functional.Option;
 import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetailedHistoryStore;
 import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public class DefaultCodeHistory implements CodeHistory {
@@ -18,19 +23,36 @@ public class DefaultCodeHistory implements CodeHistory {
   private final ClassInfoSource                                 code;
   private final Map<MutationIdentifier, MutationStatusTestPair> previousResults;
   private final Map<ClassName, ClassHistory>                    previousClassPath;
+  private final Map<MutationIdentifier, String>                 previousCoveringTests;
+  private final MethodHashes                                    methods;
+  private final Map<ClassName, Map<String, Long>>               currentMethods = new HashMap<ClassName, Map<String, Long>>();
 
   public DefaultCodeHistory(final CodeSource code,
       final HistoryStore historyStore) {
     this(code, historyStore.getHistoricResults(), historyStore
-        .getHistoricClassPath());
+        .getHistoricClassPath(), coveringTestsOf(historyStore),
+        new MethodHashes(new ClassPathByteArraySource(code.getClassPath())));
   }
 
   public DefaultCodeHistory(final ClassInfoSource code,
       final Map<MutationIdentifier, MutationStatusTestPair> previousResults,
-      final Map<ClassName, ClassHistory> previousClassPath) {
+      final Map<ClassName, ClassHistory> previousClassPath,
+      final Map<MutationIdentifier, String> previousCoveringTests,
+      final MethodHashes methods) {
     this.code = code;
     this.previousResults = previousResults;
     this.previousClassPath = previousClassPath;
+    this.previousCoveringTests = previousCoveringTests;
+    this.methods = methods;
+  }
+
+  // without the covering tests no result within a changed class is reused
+  private static Map<MutationIdentifier, String> coveringTestsOf(
+      final HistoryStore historyStore) {
+    if (historyStore instanceof DetailedHistoryStore) {
+      return ((DetailedHistoryStore) historyStore).getHistoricCoveringTests();
+    }
+    return Collections.emptyMap();
   }
 
   @Override
@@ -47,10 +69,32 @@ public class DefaultCodeHistory implements CodeHistory {
     }
 
     final Option<ClassInfo> current = this.code.fetchClass(className);
+    if (current.hasNone()) {
+      return true;
+    }
     return !current.value().getHierarchicalId().equals(historic.getId());
 
   }
 
+  @Override
+  public boolean hasMethodChanged(final Location location) {
+    final ClassHistory historic = this.previousClassPath.get(location
+        .getClassName());
+    if (historic == null) {
+      return true;
+    }
+
+    final String method = MethodHashes.keyFor(location);
+    final Long previous = historic.getMethodHashes().get(method);
+    return (previous == null)
+        || !previous.equals(currentMethods(location.getClassName()).get(method));
+  }
+
+  @Override
+  public Option<String> getPreviousCoveringTests(final MutationIdentifier id) {
+    return Option.some(this.previousCoveringTests.get(id));
+  }
+
   @Override
   public boolean hasCoverageChanged(final ClassName className,
       final BigInteger currentCoverage) {
@@ -58,4 +102,13 @@ public class DefaultCodeHistory implements CodeHistory {
         .equals(currentCoverage.toString(16));
   }
 
+  private synchronized Map<String, Long> currentMethods(final ClassName clazz) {
+    Map<String, Long> hashes = this.currentMethods.get(clazz);
+    if (hashes == null) {
+      hashes = this.methods.forClass(clazz);
+      this.currentMethods.put(clazz, hashes);
+    }
+    return hashes;
+  }
+
 }
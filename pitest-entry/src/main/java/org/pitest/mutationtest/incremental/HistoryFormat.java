@@ -0,0 +1,18 @@
+package org.pitest.mutationtest.incremental;
+
+/**
+ * Format in which results are stored between runs for incremental analysis.
+ */
+public enum HistoryFormat {
+
+  /**
+   * One XStream xml document per line, read in full at start up
+   */
+  XML,
+
+  /**
+   * Indexed binary records, read a class at a time as needed
+   */
+  BINARY
+
+}
@@ -81,7 +81,7 @@ public class IncrementalAnalyser implements MutationAnalyser {
     final ClassName clazz = each.getClassName();
 
     if (this.history.hasClassChanged(clazz)) {
-      return analyseFromScratch(each);
+      return analyseFromChangedClass(each, mutationStatusTestPair);
     }
 
     if (mutationStatusTestPair.getStatus() == DetectionStatus.TIMED_OUT) {
@@ -103,6 +103,42 @@ public class IncrementalAnalyser implements MutationAnalyser {
     return analyseFromScratch(each);
   }
 
+  // a killed mutant in an unchanged method of a changed class stays killed
+  // while it is covered by the same tests, none of which have changed, and
+  // its killing test still exists. Other methods of the class that the
+  // mutated method calls may have changed, so a mutant that survived or timed
+  // out might not now, and is run again.
+  private MutationResult analyseFromChangedClass(final MutationDetails each,
+      final MutationStatusTestPair mutationStatusTestPair) {
+    if ((mutationStatusTestPair.getStatus() == DetectionStatus.KILLED)
+        && mutationStatusTestPair.getKillingTest().hasSome()
+        && !this.history.hasMethodChanged(each.getId().getLocation())
+        && coveringTestsHaveNotChanged(each)
+        && killingTestHasNotChanged(each, mutationStatusTestPair)) {
+      return makeResult(each, DetectionStatus.KILLED, mutationStatusTestPair
+          .getKillingTest().value());
+    }
+    return analyseFromScratch(each);
+  }
+
+  private boolean coveringTestsHaveNotChanged(final MutationDetails each) {
+    final Option<String> previous = this.history.getPreviousCoveringTests(each
+        .getId());
+    final List<TestInfo> tests = each.getTestsInOrder();
+    if (previous.hasNone()
+        || !previous.value().equals(CoveringTests.idFor(tests))) {
+      return false;
+    }
+
+    for (final ClassName testClass : FCollection.map(tests,
+        TestInfo.toDefiningClassName())) {
+      if (this.history.hasClassChanged(testClass)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private boolean killingTestHasNotChanged(final MutationDetails each,
       final MutationStatusTestPair mutationStatusTestPair) {
     final Collection<TestInfo> allTests = this.coverage.getTestsForClass(each
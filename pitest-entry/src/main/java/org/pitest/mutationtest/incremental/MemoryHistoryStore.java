@@ -0,0 +1,124 @@
+package org.pitest.mutationtest.incremental;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetailedHistoryStore;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * History held in memory by tools that run analysis repeatedly within one
+ * process. Each run reads the history recorded by the run before it.
+ */
+public class MemoryHistoryStore implements DetailedHistoryStore {
+
+  private final Map<ClassName, ClassHistory>                    previousClassPath;
+  private final Collection<CoverageResult>                      previousCoverage;
+  private final Map<MutationIdentifier, MutationStatusTestPair> previousResults;
+  private final Map<MutationIdentifier, String>                 previousTests;
+
+  private final Map<ClassName, ClassHistory>                    classPath = new HashMap<ClassName, ClassHistory>();
+  private final List<CoverageResult>                            coverage  = new ArrayList<CoverageResult>();
+  private final Map<MutationIdentifier, MutationStatusTestPair> results   = new ConcurrentHashMap<MutationIdentifier, MutationStatusTestPair>();
+  private final Map<MutationIdentifier, String>                 tests     = new ConcurrentHashMap<MutationIdentifier, String>();
+
+  // guarded by this
+  private boolean                                               recorded;
+
+  public MemoryHistoryStore() {
+    this(Collections.<ClassName, ClassHistory> emptyMap(), Collections
+        .<CoverageResult> emptyList(), Collections
+        .<MutationIdentifier, MutationStatusTestPair> emptyMap(), Collections
+        .<MutationIdentifier, String> emptyMap());
+  }
+
+  private MemoryHistoryStore(final Map<ClassName, ClassHistory> classPath,
+      final Collection<CoverageResult> coverage,
+      final Map<MutationIdentifier, MutationStatusTestPair> results,
+      final Map<MutationIdentifier, String> tests) {
+    this.previousClassPath = classPath;
+    this.previousCoverage = coverage;
+    this.previousResults = results;
+    this.previousTests = tests;
+  }
+
+  /**
+   * @return store for the next run, holding the history recorded by this run
+   *         or, if this run recorded nothing, the history it was given
+   */
+  public synchronized MemoryHistoryStore nextRun() {
+    if (!this.recorded) {
+      return new MemoryHistoryStore(this.previousClassPath,
+          this.previousCoverage, this.previousResults, this.previousTests);
+    }
+    return new MemoryHistoryStore(this.classPath, this.coverage,
+        new HashMap<MutationIdentifier, MutationStatusTestPair>(this.results),
+        new HashMap<MutationIdentifier, String>(this.tests));
+  }
+
+  @Override
+  public void initialize() {
+
+  }
+
+  @Override
+  public void recordClassPath(final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo) {
+    recordClassPath(ids, coverageInfo,
+        Collections.<ClassName, Map<String, Long>> emptyMap());
+  }
+
+  @Override
+  public synchronized void recordClassPath(
+      final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo,
+      final Map<ClassName, Map<String, Long>> methods) {
+    this.recorded = true;
+    for (final HierarchicalClassId each : ids) {
+      this.classPath.put(each.getName(), new ClassHistory(each, coverageInfo
+          .getCoverageIdForClass(each.getName()).toString(16),
+          methods.get(each.getName())));
+    }
+    this.coverage.addAll(coverageInfo.getTestCoverage());
+  }
+
+  @Override
+  public void recordResult(final MutationResult result) {
+    this.results.put(result.getDetails().getId(), result.getStatusTestPair());
+    this.tests.put(result.getDetails().getId(),
+        CoveringTests.idFor(result.getDetails().getTestsInOrder()));
+  }
+
+  @Override
+  public Map<MutationIdentifier, MutationStatusTestPair> getHistoricResults() {
+    return this.previousResults;
+  }
+
+  @Override
+  public Map<MutationIdentifier, String> getHistoricCoveringTests() {
+    return this.previousTests;
+  }
+
+  @Override
+  public Map<ClassName, ClassHistory> getHistoricClassPath() {
+    return this.previousClassPath;
+  }
+
+  @Override
+  public Collection<CoverageResult> getHistoricCoverage() {
+    return this.previousCoverage;
+  }
+
+}
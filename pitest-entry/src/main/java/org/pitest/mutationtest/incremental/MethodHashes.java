@@ -0,0 +1,72 @@
+package org.pitest.mutationtest.incremental;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.build.intercept.equivalent.CanonicalMethodVisitor;
+import org.pitest.mutationtest.engine.Location;
+
+/**
+ * Hashes the bytecode of each method of a class, so that a change to one
+ * method can be told apart from a change elsewhere in the class.
+ *
+ * Methods are hashed in their canonical form, so moving a method within its
+ * source file, which changes only its line numbers, does not change its hash.
+ */
+public class MethodHashes {
+
+  // 64 bit FNV-1a, also used to identify covering tests
+  static final long                  FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long          FNV_PRIME  = 0x100000001b3L;
+
+  private final ClassByteArraySource source;
+
+  public MethodHashes(final ClassByteArraySource source) {
+    this.source = source;
+  }
+
+  /**
+   * @return hash of each method of the class, keyed by its name and
+   *         descriptor, or nothing if the class cannot be found
+   */
+  public Map<String, Long> forClass(final ClassName clazz) {
+    final Map<String, Long> hashes = new HashMap<String, Long>();
+    final Option<byte[]> bytes = this.source.getBytes(clazz.asJavaName());
+    if (bytes.hasNone()) {
+      return hashes;
+    }
+
+    final ClassNode node = new ClassNode();
+    new ClassReader(bytes.value()).accept(node, ClassReader.EXPAND_FRAMES);
+    for (final MethodNode method : node.methods) {
+      final CanonicalMethodVisitor canonical = new CanonicalMethodVisitor();
+      method.accept(canonical);
+      hashes.put(method.name + method.desc, hash(canonical.canonicalForm()));
+    }
+    return hashes;
+  }
+
+  public static String keyFor(final Location location) {
+    return location.getMethodName().name() + location.getMethodDesc();
+  }
+
+  private static long hash(final ByteBuffer bytes) {
+    long hash = FNV_OFFSET;
+    while (bytes.hasRemaining()) {
+      hash = fnv(hash, bytes.get() & 0xff);
+    }
+    return hash;
+  }
+
+  static long fnv(final long hash, final int value) {
+    return (hash ^ value) * FNV_PRIME;
+  }
+
+}
@@ -6,22 +6,28 @@ import java.io.PrintWriter;
 import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassIdentifier;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.CoverageResult;
 import org.pitest.functional.Option;
 import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetailedHistoryStore;
 import org.pitest.mutationtest.DetectionStatus;
-import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.testapi.Description;
 import org.pitest.util.Log;
 import org.pitest.util.Unchecked;
 
@@ -29,7 +35,7 @@ import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.io.StreamException;
 import com.thoughtworks.xstream.io.xml.CompactWriter;
 
-public class XStreamHistoryStore implements HistoryStore {
+public class XStreamHistoryStore implements DetailedHistoryStore {
 
   private static final Logger                                   LOG               = Log
       .getLogger();
@@ -40,6 +46,8 @@ public class XStreamHistoryStore implements HistoryStore {
   private final BufferedReader                                  input;
   private final Map<MutationIdentifier, MutationStatusTestPair> previousResults   = new HashMap<MutationIdentifier, MutationStatusTestPair>();
   private final Map<ClassName, ClassHistory>                    previousClassPath = new HashMap<ClassName, ClassHistory>();
+  private final List<CoverageResult>                            previousCoverage  = new ArrayList<CoverageResult>();
+  private final Map<MutationIdentifier, String>                 previousTests     = new HashMap<MutationIdentifier, String>();
 
   public XStreamHistoryStore(final WriterFactory output,
       final Option<Reader> input) {
@@ -56,13 +64,22 @@ public class XStreamHistoryStore implements HistoryStore {
     xstream.alias("result", IdResult.class);
     xstream.alias("statusTestPair", MutationStatusTestPair.class);
     xstream.alias("status", DetectionStatus.class);
+    xstream.alias("coverage", CoverageResult.class);
+    xstream.alias("description", Description.class);
+    xstream.alias("block", BlockLocation.class);
     xstream.useAttributeFor(MutationStatusTestPair.class, "numberOfTestsRun");
     xstream.useAttributeFor(MutationStatusTestPair.class, "status");
     xstream.useAttributeFor(MutationStatusTestPair.class, "killingTest");
+    xstream.useAttributeFor(IdResult.class, "tests");
     xstream.useAttributeFor(ClassIdentifier.class, "name");
     xstream.useAttributeFor(ClassIdentifier.class, "hash");
     xstream.useAttributeFor(HierarchicalClassId.class, "hierarchicalHash");
     xstream.useAttributeFor(HierarchicalClassId.class, "classId");
+    xstream.useAttributeFor(CoverageResult.class, "executionTime");
+    xstream.useAttributeFor(CoverageResult.class, "greenSuite");
+    xstream.useAttributeFor(Description.class, "name");
+    xstream.useAttributeFor(Description.class, "testClass");
+    xstream.useAttributeFor(BlockLocation.class, "block");
     return xstream;
   }
 
@@ -76,13 +93,27 @@ public class XStreamHistoryStore implements HistoryStore {
   @Override
   public void recordClassPath(final Collection<HierarchicalClassId> ids,
       final CoverageDatabase coverageInfo) {
+    recordClassPath(ids, coverageInfo,
+        Collections.<ClassName, Map<String, Long>> emptyMap());
+  }
+
+  @Override
+  public void recordClassPath(final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo,
+      final Map<ClassName, Map<String, Long>> methods) {
     final PrintWriter output = this.outputFactory.create();
     output.println(ids.size());
     for (final HierarchicalClassId each : ids) {
       final ClassHistory coverage = new ClassHistory(each, coverageInfo
-          .getCoverageIdForClass(each.getName()).toString(16));
+          .getCoverageIdForClass(each.getName()).toString(16),
+          methods.get(each.getName()));
       output.println(toXml(coverage));
     }
+    final Collection<CoverageResult> tests = coverageInfo.getTestCoverage();
+    output.println(tests.size());
+    for (final CoverageResult each : tests) {
+      output.println(toXml(each));
+    }
     output.flush();
   }
 
@@ -90,7 +121,8 @@ public class XStreamHistoryStore implements HistoryStore {
   public void recordResult(final MutationResult result) {
     final PrintWriter output = this.outputFactory.create();
     output.println(toXml(new IdResult(result.getDetails().getId(), result
-        .getStatusTestPair())));
+        .getStatusTestPair(), CoveringTests.idFor(result.getDetails()
+        .getTestsInOrder()))));
     output.flush();
   }
 
@@ -99,16 +131,26 @@ public class XStreamHistoryStore implements HistoryStore {
     return this.previousResults;
   }
 
+  @Override
+  public Map<MutationIdentifier, String> getHistoricCoveringTests() {
+    return this.previousTests;
+  }
+
   @Override
   public Map<ClassName, ClassHistory> getHistoricClassPath() {
     return this.previousClassPath;
   }
 
+  @Override
+  public Collection<CoverageResult> getHistoricCoverage() {
+    return this.previousCoverage;
+  }
+
   @Override
   public void initialize() {
     if (this.input != null) {
       restoreClassPath();
-      restoreResults();
+      restoreResults(restoreCoverage());
       try {
         this.input.close();
       } catch (final IOException e) {
@@ -117,13 +159,16 @@ public class XStreamHistoryStore implements HistoryStore {
     }
   }
 
-  private void restoreResults() {
-    String line;
+  private void restoreResults(final String firstLine) {
+    String line = firstLine;
     try {
-      line = this.input.readLine();
       while (line != null) {
         final IdResult result = (IdResult) fromXml(line);
         this.previousResults.put(result.id, result.status);
+        // results written before covering tests were recorded have none
+        if (result.tests != null) {
+          this.previousTests.put(result.id, result.tests);
+        }
         line = this.input.readLine();
       }
     } catch (final IOException e) {
@@ -134,6 +179,31 @@ public class XStreamHistoryStore implements HistoryStore {
 
   }
 
+  // returns the line following the coverage
+  private String restoreCoverage() {
+    try {
+      final String line = this.input.readLine();
+      // histories written before coverage was recorded continue directly
+      // with the results
+      if ((line == null) || !line.matches("\\d+")) {
+        return line;
+      }
+      final long coverageSize = Long.valueOf(line);
+      for (int i = 0; i != coverageSize; i++) {
+        this.previousCoverage.add((CoverageResult) fromXml(this.input
+            .readLine()));
+      }
+      return this.input.readLine();
+    } catch (final IOException e) {
+      LOG.warning("Could not read previous coverage");
+    } catch (final StreamException e) {
+      LOG.warning("Could not read previous coverage");
+    }
+    // partial coverage could be mistaken for all the coverage of a test
+    this.previousCoverage.clear();
+    return null;
+  }
+
   private void restoreClassPath() {
     try {
       final long classPathSize = Long.valueOf(this.input.readLine());
@@ -162,10 +232,13 @@ public class XStreamHistoryStore implements HistoryStore {
   private static class IdResult {
     final MutationIdentifier     id;
     final MutationStatusTestPair status;
+    final String                 tests;
 
-    IdResult(final MutationIdentifier id, final MutationStatusTestPair status) {
+    IdResult(final MutationIdentifier id, final MutationStatusTestPair status,
+        final String tests) {
       this.id = id;
       this.status = status;
+      this.tests = tests;
     }
 
   }
@@ -24,13 +24,42 @@ public final class MutationStatistics {
   private final long totalMutations;
   private final long numberOfTestsRun;
   private final long totalDetected;
+  private final long numberOfTestsRunForKills;
+  private final long totalKilledByRunningTests;
+  private final long numberOfTestsSaved;
 
   public MutationStatistics(Iterable<Score> scores, long totalMutations, 
       long totalDetected, long numberOfTestsRun) {
+    this(scores, totalMutations, totalDetected, numberOfTestsRun, 0, 0);
+  }
+
+  public MutationStatistics(Iterable<Score> scores, long totalMutations,
+      long totalDetected, long numberOfTestsRun, long numberOfTestsRunForKills,
+      long totalKilledByRunningTests) {
+    this(scores, totalMutations, totalDetected, numberOfTestsRun,
+        numberOfTestsRunForKills, totalKilledByRunningTests, 0);
+  }
+
+  /**
+   * @param numberOfTestsRunForKills
+   *          tests run against mutations that were killed in this run
+   * @param totalKilledByRunningTests
+   *          mutations killed by running tests in this run, rather than
+   *          taken from history
+   * @param numberOfTestsSaved
+   *          tests that would have been run against mutants with the same
+   *          bytecode as a mutant that was run
+   */
+  public MutationStatistics(Iterable<Score> scores, long totalMutations,
+      long totalDetected, long numberOfTestsRun, long numberOfTestsRunForKills,
+      long totalKilledByRunningTests, long numberOfTestsSaved) {
     this.scores = scores;
     this.totalMutations = totalMutations;
     this.totalDetected = totalDetected;
     this.numberOfTestsRun = numberOfTestsRun;
+    this.numberOfTestsRunForKills = numberOfTestsRunForKills;
+    this.totalKilledByRunningTests = totalKilledByRunningTests;
+    this.numberOfTestsSaved = numberOfTestsSaved;
   }
 
   public Iterable<Score> getScores() {
@@ -49,6 +78,10 @@ public final class MutationStatistics {
     return getTotalMutations() - getTotalDetectedMutations();
   }
 
+  public long getNumberOfTestsSaved() {
+    return this.numberOfTestsSaved;
+  }
+
   public long getPercentageDetected() {
     if (getTotalMutations() == 0) {
       return 100;
@@ -68,16 +101,31 @@ public final class MutationStatistics {
         + this.getPercentageDetected() + "%)");
     out.println(">> Ran " + this.numberOfTestsRun + " tests ("
         + getTestsPerMutation() + " tests per mutation)");
+    out.println(">> Ran " + this.numberOfTestsRunForKills
+        + " tests against killed mutations (" + getTestsPerKilledMutation()
+        + " tests per killed mutation)");
+    if (this.numberOfTestsSaved > 0) {
+      out.println(">> Saved " + this.numberOfTestsSaved
+          + " test executions by not running mutants with identical bytecode");
+    }
 
   }
 
   private String getTestsPerMutation() {
-    if (this.getTotalMutations() == 0) {
+    return formatRatio(this.numberOfTestsRun, this.getTotalMutations());
+  }
+
+  private String getTestsPerKilledMutation() {
+    return formatRatio(this.numberOfTestsRunForKills,
+        this.totalKilledByRunningTests);
+  }
+
+  private static String formatRatio(final long tests, final long mutations) {
+    if (mutations == 0) {
       return "0";
     }
 
-    final float testsPerMutation = this.numberOfTestsRun
-        / (float) this.getTotalMutations();
+    final float testsPerMutation = tests / (float) mutations;
     return new DecimalFormat("#.##", new DecimalFormatSymbols(Locale.ENGLISH))
         .format(testsPerMutation);
   }
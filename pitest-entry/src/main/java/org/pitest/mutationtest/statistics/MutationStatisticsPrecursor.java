@@ -8,11 +8,15 @@ import org.pitest.functional.F;
 import org.pitest.functional.F2;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.SideEffect1;
+import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationResult;
 
 class MutationStatisticsPrecursor {
-  private final Map<String, ScorePrecursor> mutatorTotalMap  = new HashMap<String, ScorePrecursor>();
-  private long                              numberOfTestsRun = 0;
+  private final Map<String, ScorePrecursor> mutatorTotalMap           = new HashMap<String, ScorePrecursor>();
+  private long                              numberOfTestsRun          = 0;
+  private long                              numberOfTestsRunForKills  = 0;
+  private long                              totalKilledByRunningTests = 0;
+  private long                              numberOfTestsSaved        = 0;
 
   public void registerResults(final Collection<MutationResult> results) {
     FCollection.forEach(results, register());
@@ -25,6 +29,8 @@ class MutationStatisticsPrecursor {
       public void apply(final MutationResult mr) {
         MutationStatisticsPrecursor.this.numberOfTestsRun = MutationStatisticsPrecursor.this.numberOfTestsRun
             + mr.getNumberOfTestsRun();
+        registerKill(mr);
+        registerDuplicates(mr);
         final String key = mr.getDetails().getId().getMutator();
         ScorePrecursor total = MutationStatisticsPrecursor.this.mutatorTotalMap
             .get(key);
@@ -38,13 +44,32 @@ class MutationStatisticsPrecursor {
     };
   }
 
+  private void registerKill(final MutationResult mr) {
+    // results carried over from history report no tests run
+    if ((mr.getStatus() == DetectionStatus.KILLED)
+        && (mr.getNumberOfTestsRun() > 0)) {
+      this.numberOfTestsRunForKills = this.numberOfTestsRunForKills
+          + mr.getNumberOfTestsRun();
+      this.totalKilledByRunningTests++;
+    }
+  }
+
+  // each duplicate would have needed the tests run against the mutant it
+  // duplicates
+  private void registerDuplicates(final MutationResult mr) {
+    this.numberOfTestsSaved = this.numberOfTestsSaved
+        + ((long) mr.getNumberOfTestsRun() * mr.getDetails().getDuplicates()
+            .size());
+  }
+
   public MutationStatistics toStatistics() {
     final Iterable<Score> scores = getScores();
     final long totalMutations = FCollection.fold(addTotals(), 0L, scores);
     final long totalDetected = FCollection
         .fold(addDetectedTotals(), 0L, scores);
     return new MutationStatistics(scores, totalMutations, totalDetected,
-        this.numberOfTestsRun);
+        this.numberOfTestsRun, this.numberOfTestsRunForKills,
+        this.totalKilledByRunningTests, this.numberOfTestsSaved);
   }
 
   Iterable<Score> getScores() {
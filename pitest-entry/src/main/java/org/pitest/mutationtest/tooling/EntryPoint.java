@@ -1,33 +1,41 @@
 package org.pitest.mutationtest.tooling;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.io.Reader;
 import java.util.Map;
 
+import org.pitest.classinfo.ClassInfoCache;
+import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.ClassPath;
 import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.classpath.CodeSource;
+import org.pitest.classpath.IndexedArchiveClassPathRoot;
 import org.pitest.classpath.ProjectClassPaths;
 import org.pitest.coverage.CoverageGenerator;
 import org.pitest.coverage.execute.CoverageOptions;
 import org.pitest.coverage.execute.DefaultCoverageGenerator;
 import org.pitest.functional.Option;
 import org.pitest.functional.SideEffect1;
+import org.pitest.mutationtest.DetailedHistoryStore;
 import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationResultListenerFactory;
 import org.pitest.mutationtest.config.PluginServices;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
+import org.pitest.mutationtest.incremental.BinaryHistoryStore;
+import org.pitest.mutationtest.incremental.HistoryFormat;
 import org.pitest.mutationtest.incremental.WriterFactory;
 import org.pitest.mutationtest.incremental.XStreamHistoryStore;
 import org.pitest.plugin.Feature;
 import org.pitest.plugin.FeatureParameter;
 import org.pitest.process.JavaAgent;
 import org.pitest.process.LaunchOptions;
+import org.pitest.testapi.TestClassIdentifier;
 import org.pitest.util.Log;
 import org.pitest.util.ResultOutputStrategy;
 import org.pitest.util.Timings;
+import org.pitest.util.Unchecked;
 
 public class EntryPoint {
   
@@ -73,7 +81,6 @@ public class EntryPoint {
     
     final ClassPath cp = data.getClassPath();
 
-    final Option<Reader> reader = data.createHistoryReader();
     final WriterFactory historyWriter = data.createHistoryWriter();
 
     // workaround for apparent java 1.5 JVM bug . . . might not play nicely
@@ -94,15 +101,19 @@ public class EntryPoint {
         settings.getJavaExecutable(), data.getJvmArgs(), environmentVariables);
     final ProjectClassPaths cps = data.getMutationClassPaths();
 
-    final CodeSource code = new CodeSource(cps, coverageOptions.getPitConfig()
-        .testClassIdentifier());
-
     final Timings timings = new Timings();
+    final Option<ClassInfoCache> classInfoCache = createClassInfoCache(data,
+        cps, timings);
+
+    final CodeSource code = createCodeSource(cps, coverageOptions
+        .getPitConfig().testClassIdentifier(), classInfoCache);
+
+    final HistoryStore history = createHistoryStore(data, historyWriter);
+
     final CoverageGenerator coverageDatabase = new DefaultCoverageGenerator(
         baseDir, coverageOptions, launchOptions, code,
-        settings.createCoverageExporter(), timings, !data.isVerbose());
-
-    final HistoryStore history = new XStreamHistoryStore(historyWriter, reader);
+        settings.createCoverageExporter(), timings, !data.isVerbose(),
+        data.getNumberOfThreads(), reusableCoverage(data, history));
 
     final MutationStrategies strategies = new MutationStrategies(
         settings.createEngine(), history, coverageDatabase, reportFactory,
@@ -119,8 +130,83 @@ public class EntryPoint {
       jac.close();
       ja.close();
       historyWriter.close();
+      if (history instanceof Closeable) {
+        close((Closeable) history);
+      }
+      if (classInfoCache.hasSome()) {
+        close(classInfoCache.value());
+      }
+      // so a long lived process holds nothing open in the build directory
+      // between runs, and sees archives rebuilt since
+      IndexedArchiveClassPathRoot.closeSharedArchives();
+    }
+
+  }
+
+  protected Option<ClassInfoCache> createClassInfoCache(
+      final ReportOptions data, final ProjectClassPaths cps,
+      final Timings timings) {
+    if (data.getClassInfoCacheLocation() == null) {
+      return Option.none();
+    }
+    final ClassInfoCache cache = new ClassInfoCache(
+        data.getClassInfoCacheLocation(), cps.getClassPath(),
+        recordingIn(timings));
+    timings.registerStart(Timings.Stage.CLASS_INFO_CACHE);
+    cache.load();
+    timings.registerEnd(Timings.Stage.CLASS_INFO_CACHE);
+    return Option.some(cache);
+  }
+
+  static ClassInfoCache.Listener recordingIn(final Timings timings) {
+    return new ClassInfoCache.Listener() {
+      @Override
+      public void hit(final ClassName name) {
+        timings.registerHit(Timings.Stage.CLASS_INFO_CACHE);
+      }
+
+      @Override
+      public void miss(final ClassName name) {
+        timings.registerMiss(Timings.Stage.CLASS_INFO_CACHE);
+      }
+    };
+  }
+
+  private CodeSource createCodeSource(final ProjectClassPaths cps,
+      final TestClassIdentifier testIdentifier,
+      final Option<ClassInfoCache> classInfoCache) {
+    if (classInfoCache.hasSome()) {
+      return new CodeSource(cps, testIdentifier, classInfoCache.value());
+    }
+    return new CodeSource(cps, testIdentifier);
+  }
+
+  protected HistoryStore createHistoryStore(final ReportOptions data,
+      final WriterFactory historyWriter) {
+    if (data.getHistoryFormat() == HistoryFormat.BINARY) {
+      return new BinaryHistoryStore(
+          Option.some(data.getHistoryInputLocation()),
+          Option.some(data.getHistoryOutputLocation()));
+    }
+    // only the xml store reads through a stream, which it closes once read
+    return new XStreamHistoryStore(historyWriter, data.createHistoryReader());
+  }
+
+  // only stores holding the coverage of each test can supply it for reuse
+  private static Option<DetailedHistoryStore> reusableCoverage(
+      final ReportOptions data, final HistoryStore history) {
+    if (data.isReuseCoverage() && (history instanceof DetailedHistoryStore)) {
+      return Option.some((DetailedHistoryStore) history);
     }
+    return Option.none();
+  }
 
+  private void close(final Closeable closeable) {
+    try {
+      closeable.close();
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
   }
 
   private SideEffect1<Feature> asInfo(final String leader) {
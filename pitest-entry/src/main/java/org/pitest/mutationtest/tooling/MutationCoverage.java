@@ -17,10 +17,14 @@ package org.pitest.mutationtest.tooling;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -32,14 +36,19 @@ import org.pitest.classinfo.HierarchicalClassId;
 import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.ClassLine;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.coverage.CoverageGenerator;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.coverage.CoverageSummary;
 import org.pitest.coverage.TestInfo;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.Option;
 import org.pitest.functional.prelude.Prelude;
 import org.pitest.help.Help;
 import org.pitest.help.PitHelpError;
+import org.pitest.mutationtest.DetailedHistoryStore;
 import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.ListenerArguments;
 import org.pitest.mutationtest.MutationAnalyser;
@@ -56,10 +65,14 @@ import org.pitest.mutationtest.build.WorkerFactory;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
 import org.pitest.mutationtest.engine.MutationEngine;
+import org.pitest.mutationtest.execute.AgentCoordinator;
+import org.pitest.mutationtest.execute.MinionPool;
 import org.pitest.mutationtest.execute.MutationAnalysisExecutor;  
+import org.pitest.mutationtest.execute.TestDurations;
 import org.pitest.mutationtest.incremental.DefaultCodeHistory;
 import org.pitest.mutationtest.incremental.HistoryListener;
 import org.pitest.mutationtest.incremental.IncrementalAnalyser;
+import org.pitest.mutationtest.incremental.MethodHashes;
 import org.pitest.mutationtest.statistics.MutationStatisticsListener;
 import org.pitest.mutationtest.statistics.Score;
 import org.pitest.util.Log;
@@ -111,7 +124,10 @@ public class MutationCoverage {
     verifyBuildSuitableForMutationTesting();
 
     checkExcludedRunners();
-    
+
+    // coverage of tests unaffected by changes is taken from history
+    history().initialize();
+
     final CoverageDatabase coverageData = coverage().calculateCoverage();
 
     LOG.fine("Used memory after coverage calculation "
@@ -128,11 +144,12 @@ public class MutationCoverage {
     final List<MutationResultListener> config = createConfig(t0, coverageData,
         stats, engine);
 
-    history().initialize();
+    final Option<MinionPool> pool = createMinionPool();
+    final Option<AgentCoordinator> agents = createAgentCoordinator();
 
     this.timings.registerStart(Timings.Stage.BUILD_MUTATION_TESTS);
     final List<MutationAnalysisUnit> tus = buildMutationTests(coverageData,
-        engine);
+        engine, pool, agents);
     this.timings.registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
 
     LOG.info("Created  " + tus.size() + " mutation test units");
@@ -148,7 +165,12 @@ public class MutationCoverage {
     final MutationAnalysisExecutor mae = new MutationAnalysisExecutor(
         numberOfThreads(), config);
     this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
-    mae.run(tus);
+    try {
+      mae.run(tus);
+    } finally {
+      shutdown(pool);
+      shutdownAgents(agents);
+    }
     this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
 
     LOG.info("Completed in " + timeSpan(t0));
@@ -173,7 +195,49 @@ public class MutationCoverage {
     }
   }
 
-private int numberOfThreads() {
+  private Option<MinionPool> createMinionPool() {
+    if (this.data.isReuseMinions()) {
+      return Option.some(new MinionPool(this.data.getMaxMutationsPerMinion()));
+    }
+    return Option.none();
+  }
+
+  private Option<AgentCoordinator> createAgentCoordinator() {
+    if (this.data.getAgentPort() > 0) {
+      if ((this.data.getAgentSecret() == null)
+          || (this.data.getAgentSecret().length() == 0)) {
+        throw new PitHelpError(Help.NO_AGENT_SECRET);
+      }
+      final AgentCoordinator agents = new AgentCoordinator(
+          this.data.getAgentPort(), this.data.getAgentBindAddress(),
+          this.data.getAgentSecret());
+      agents.start();
+      LOG.info("Accepting agents on port " + agents.getPort());
+      return Option.some(agents);
+    }
+    return Option.none();
+  }
+
+  private Option<TestDurations> measuredDurations() {
+    if (this.data.isAdaptiveTimeouts()) {
+      return Option.some(new TestDurations());
+    }
+    return Option.none();
+  }
+
+  private static void shutdown(final Option<MinionPool> pool) {
+    for (final MinionPool each : pool) {
+      each.shutdown();
+    }
+  }
+
+  private static void shutdownAgents(final Option<AgentCoordinator> agents) {
+    for (final AgentCoordinator each : agents) {
+      each.shutdown();
+    }
+  }
+
+  private int numberOfThreads() {
     return Math.max(1, this.data.getNumberOfThreads());
   }
 
@@ -204,12 +268,43 @@ private int numberOfThreads() {
     final Set<ClassName> allClassNames = getAllClassesAndTests(coverageData);
     final Collection<HierarchicalClassId> ids = FCollection.map(
         this.code.getClassInfo(allClassNames), ClassInfo.toFullClassId());
-    history().recordClassPath(ids, coverageData);
+    if (history() instanceof DetailedHistoryStore) {
+      ((DetailedHistoryStore) history()).recordClassPath(ids,
+          recordedCoverage(coverageData), methodHashes(ids));
+    } else {
+      history().recordClassPath(ids, recordedCoverage(coverageData));
+    }
+  }
+
+  private Map<ClassName, Map<String, Long>> methodHashes(
+      final Collection<HierarchicalClassId> ids) {
+    final MethodHashes methods = new MethodHashes(new ClassPathByteArraySource(
+        this.data.getClassPath()));
+    final Map<ClassName, Map<String, Long>> hashes = new HashMap<ClassName, Map<String, Long>>();
+    for (final HierarchicalClassId each : ids) {
+      hashes.put(each.getName(), methods.forClass(each.getName()));
+    }
+    return hashes;
+  }
+
+  // the coverage of each test is only read back when coverage is reused, so
+  // is not written to the history otherwise
+  private CoverageDatabase recordedCoverage(final CoverageDatabase coverageData) {
+    if (this.data.isReuseCoverage()) {
+      return coverageData;
+    }
+    return new WithoutTestCoverage(coverageData);
   }
 
   private Set<ClassName> getAllClassesAndTests(
       final CoverageDatabase coverageData) {
     final Set<ClassName> names = new HashSet<ClassName>();
+    // every test is recorded so that coverage of tests covering nothing can
+    // also be reused
+    FCollection.mapTo(this.code.getTests(), ClassInfo.toClassName(), names);
+    // as is the rest of the test tree, so that reused coverage can be
+    // invalidated when a helper or fixture changes
+    names.addAll(this.code.getTestTreeNames());
     for (final ClassName each : this.code.getCodeUnderTestNames()) {
       names.add(each);
       FCollection.mapTo(coverageData.getTestsForClass(each),
@@ -244,7 +339,8 @@ private int numberOfThreads() {
   }
 
   private List<MutationAnalysisUnit> buildMutationTests(
-      final CoverageDatabase coverageData, final MutationEngine engine) {
+      final CoverageDatabase coverageData, final MutationEngine engine,
+      final Option<MinionPool> pool, final Option<AgentCoordinator> agents) {
 
     final MutationConfig mutationConfig = new MutationConfig(engine, coverage()
         .getLaunchOptions());
@@ -252,12 +348,12 @@ private int numberOfThreads() {
     ClassByteArraySource bas = fallbackToClassLoader(new ClassPathByteArraySource(
         this.data.getClassPath()));
 
-    TestPrioritiser testPrioritiser = this.settings.getTestPrioritiser()
-        .makeTestPrioritiser(this.data.getFreeFormProperties(), this.code,
-            coverageData);
+    TestPrioritiser testPrioritiser = this.settings
+        .getTestPrioritiser(history()).makeTestPrioritiser(
+            this.data.getFreeFormProperties(), this.code, coverageData);
 
     MutationInterceptor interceptor = this.settings.getInterceptor()
-        .createInterceptor(this.data, bas);
+        .createPerThreadInterceptor(this.data, bas);
     
     final MutationSource source = new MutationSource(mutationConfig, testPrioritiser, bas, interceptor);
 
@@ -268,13 +364,19 @@ private int numberOfThreads() {
         .getConfiguration(), mutationConfig,
         new PercentAndConstantTimeoutStrategy(this.data.getTimeoutFactor(),
             this.data.getTimeoutConstant()), this.data.isVerbose(), this.data
-            .getClassPath().getLocalClassPath());
+            .getClassPath().getLocalClassPath()).andPool(pool)
+        .andWireFormat(this.data.getWireFormat())
+        .andMutantThreads(this.data.getMutantThreads())
+        .andMutantSchemata(this.data.isMutantSchemata())
+        .andMeasuredDurations(measuredDurations())
+        .andLoopGuards(this.data.isLoopGuards()).andAgents(agents);
 
     MutationGrouper grouper = this.settings.getMutationGrouper().makeFactory(
         this.data.getFreeFormProperties(), this.code,
         this.data.getNumberOfThreads(), this.data.getMutationUnitSize());
     final MutationTestBuilder builder = new MutationTestBuilder(wf, analyser,
-        source, grouper);
+        source, grouper, this.data.isWorkStealing(),
+        this.data.getNumberOfThreads());
 
     return builder.createMutationTestUnits(this.code.getCodeUnderTestNames());
   }
@@ -320,5 +422,62 @@ private int numberOfThreads() {
     };
   }
 
-  
+  private static class WithoutTestCoverage implements CoverageDatabase {
+
+    private final CoverageDatabase child;
+
+    WithoutTestCoverage(final CoverageDatabase child) {
+      this.child = child;
+    }
+
+    @Override
+    public Collection<ClassInfo> getClassInfo(
+        final Collection<ClassName> classes) {
+      return this.child.getClassInfo(classes);
+    }
+
+    @Override
+    public int getNumberOfCoveredLines(final Collection<ClassName> clazz) {
+      return this.child.getNumberOfCoveredLines(clazz);
+    }
+
+    @Override
+    public Collection<TestInfo> getTestsForClass(final ClassName clazz) {
+      return this.child.getTestsForClass(clazz);
+    }
+
+    @Override
+    public Collection<TestInfo> getTestsForClassLine(final ClassLine classLine) {
+      return this.child.getTestsForClassLine(classLine);
+    }
+
+    @Override
+    public Collection<TestInfo> getTestsForBlockLocation(
+        final BlockLocation block) {
+      return this.child.getTestsForBlockLocation(block);
+    }
+
+    @Override
+    public BigInteger getCoverageIdForClass(final ClassName clazz) {
+      return this.child.getCoverageIdForClass(clazz);
+    }
+
+    @Override
+    public Collection<ClassInfo> getClassesForFile(final String sourceFile,
+        final String packageName) {
+      return this.child.getClassesForFile(sourceFile, packageName);
+    }
+
+    @Override
+    public CoverageSummary createSummary() {
+      return this.child.createSummary();
+    }
+
+    @Override
+    public Collection<CoverageResult> getTestCoverage() {
+      return Collections.emptyList();
+    }
+
+  }
+
 }
@@ -0,0 +1,121 @@
+package org.pitest.mutationtest.tooling;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassInfoCache;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassPathWatcher;
+import org.pitest.classpath.ProjectClassPaths;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.HistoryStore;
+import org.pitest.mutationtest.config.ReportOptions;
+import org.pitest.mutationtest.config.SettingsFactory;
+import org.pitest.mutationtest.incremental.MemoryHistoryStore;
+import org.pitest.mutationtest.incremental.WriterFactory;
+import org.pitest.util.Log;
+import org.pitest.util.Timings;
+
+/**
+ * Entry point for tools that run analysis repeatedly against the same class
+ * path within one process.
+ *
+ * Parsed class info, coverage and results are kept in memory between runs so
+ * that a run only reads classes, runs tests and analyses mutants affected by
+ * what changed since the run before. Coverage is reused for these runs even
+ * if the reuseCoverage option is not set, as the history it is taken from
+ * never leaves the process. Runs against a different class path start again
+ * without history. Runs that name history files read and write those files
+ * rather than the history held in memory, and reuse coverage only if asked.
+ *
+ * Runs must not overlap.
+ */
+public class WarmEntryPoint extends EntryPoint {
+
+  private static final Logger     LOG     = Log.getLogger();
+
+  private final ClassPathWatcher  watcher = new ClassPathWatcher();
+
+  private List<File>              classPath;
+  private ClassInfoCache          classInfo;
+  private MemoryHistoryStore      history;
+
+  @Override
+  public AnalysisResult execute(final File baseDir, final ReportOptions data,
+      final SettingsFactory settings,
+      final Map<String, String> environmentVariables) {
+    final List<File> elements = classPathElements(data);
+    if (!elements.equals(this.classPath)) {
+      if (this.classPath != null) {
+        LOG.info("Class path differs from previous run. Discarding cached state.");
+      }
+      this.classPath = elements;
+      this.classInfo = null;
+      this.history = new MemoryHistoryStore();
+    }
+
+    final Collection<File> changed = this.watcher.checkForChanges(elements);
+    if (!changed.isEmpty()) {
+      LOG.info(changed.size()
+          + " class path archives have changed since the previous run");
+    }
+
+    if (!namesHistoryFiles(data)) {
+      data.setReuseCoverage(true);
+    }
+
+    return super.execute(baseDir, data, settings, environmentVariables);
+  }
+
+  @Override
+  protected Option<ClassInfoCache> createClassInfoCache(
+      final ReportOptions data, final ProjectClassPaths cps,
+      final Timings timings) {
+    if (this.classInfo != null) {
+      this.classInfo = this.classInfo.nextRun(cps.getClassPath(),
+          recordingIn(timings));
+    } else {
+      final Option<ClassInfoCache> fromFile = super.createClassInfoCache(
+          data, cps, timings);
+      if (fromFile.hasSome()) {
+        this.classInfo = fromFile.value();
+      } else {
+        this.classInfo = new ClassInfoCache(cps.getClassPath(),
+            recordingIn(timings));
+      }
+    }
+    return Option.some(this.classInfo);
+  }
+
+  @Override
+  protected HistoryStore createHistoryStore(final ReportOptions data,
+      final WriterFactory historyWriter) {
+    if (namesHistoryFiles(data)) {
+      return super.createHistoryStore(data, historyWriter);
+    }
+    this.history = this.history.nextRun();
+    return this.history;
+  }
+
+  private static boolean namesHistoryFiles(final ReportOptions data) {
+    return (data.getHistoryInputLocation() != null)
+        || (data.getHistoryOutputLocation() != null);
+  }
+
+  private static List<File> classPathElements(final ReportOptions data) {
+    final List<File> elements = new ArrayList<File>();
+    if (data.getClassPathElements() == null) {
+      elements.addAll(ClassPath.getClassPathElementsAsFiles());
+    } else {
+      for (final String each : data.getClassPathElements()) {
+        elements.add(new File(each));
+      }
+    }
+    return elements;
+  }
+
+}
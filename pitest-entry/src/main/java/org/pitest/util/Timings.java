@@ -15,6 +15,7 @@
 package org.pitest.util;
 
 import java.io.PrintStream;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -24,7 +25,8 @@ public class Timings {
   public enum Stage {
     BUILD_MUTATION_TESTS("build mutation tests"), RUN_MUTATION_TESTS(
         "run mutation analysis"), SCAN_CLASS_PATH("scan classpath"), COVERAGE(
-            "coverage and dependency analysis");
+            "coverage and dependency analysis"), CLASS_INFO_CACHE(
+                "load class info cache");
 
     private final String description;
 
@@ -39,6 +41,7 @@ public class Timings {
   }
 
   private final Map<Stage, TimeSpan> timings = new LinkedHashMap<Stage, TimeSpan>();
+  private final Map<Stage, long[]>   counts  = new HashMap<Stage, long[]>();
 
   public void registerStart(final Stage stage) {
     this.timings.put(stage, new TimeSpan(System.currentTimeMillis(), 0));
@@ -49,15 +52,50 @@ public class Timings {
     this.timings.get(stage).setEnd(end);
   }
 
+  /**
+   * Records that a lookup made during the given stage was answered from a
+   * cache. May be called from any thread.
+   */
+  public void registerHit(final Stage stage) {
+    count(stage, 0);
+  }
+
+  /**
+   * Records that a lookup made during the given stage missed a cache. May be
+   * called from any thread.
+   */
+  public void registerMiss(final Stage stage) {
+    count(stage, 1);
+  }
+
+  private synchronized void count(final Stage stage, final int index) {
+    long[] hitsAndMisses = this.counts.get(stage);
+    if (hitsAndMisses == null) {
+      hitsAndMisses = new long[2];
+      this.counts.put(stage, hitsAndMisses);
+    }
+    hitsAndMisses[index]++;
+  }
+
   public void report(final PrintStream ps) {
     long total = 0;
     for (final Entry<Stage, TimeSpan> each : this.timings.entrySet()) {
       total = total + each.getValue().duration();
-      ps.println("> " + each.getKey() + " : " + each.getValue());
+      ps.println("> " + each.getKey() + " : " + each.getValue()
+          + describeCounts(each.getKey()));
     }
     ps.println(StringUtil.separatorLine());
     ps.println("> Total " + " : " + new TimeSpan(0, total));
     ps.println(StringUtil.separatorLine());
   }
 
+  private synchronized String describeCounts(final Stage stage) {
+    final long[] hitsAndMisses = this.counts.get(stage);
+    if (hitsAndMisses == null) {
+      return "";
+    }
+    return " (" + hitsAndMisses[0] + " hits, " + hitsAndMisses[1]
+        + " misses)";
+  }
+
 }
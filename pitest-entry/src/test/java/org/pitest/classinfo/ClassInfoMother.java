@@ -38,4 +38,14 @@ public class ClassInfoMother {
   public static ClassInfo make(final String name) {
     return make(new ClassIdentifier(1, ClassName.fromString(name)));
   }
+
+  public static ClassInfo make(final String name, final int numberOfCodeLines) {
+    final ClassInfoBuilder data = new ClassInfoBuilder();
+    data.id = new ClassIdentifier(1, ClassName.fromString(name));
+    for (int i = 0; i != numberOfCodeLines; i++) {
+      data.registerCodeLine(i);
+    }
+    return new ClassInfo(new DefaultClassPointer(null),
+        new DefaultClassPointer(null), data);
+  }
 }
@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.Before;
@@ -140,6 +141,55 @@ public class CoverageDataTest {
         this.testee.getTestsForClass(this.foo), testInfoToString()));
   }
 
+  @Test
+  public void shouldNotReturnTestsThatOnlyCoverOtherClasses() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    this.testee.calculateClassCoverage(makeCoverageResult("bar", "barTest", 0,
+        1));
+    assertEquals(Arrays.asList("barTest"), FCollection.map(
+        this.testee.getTestsForClass(this.bar), testInfoToString()));
+  }
+
+  @Test
+  public void shouldReturnOnlyTestsCoveringRequestedBlock() {
+    BlockLocationBuilder block = aBlockLocation().withLocation(
+        aLocation().withClass(this.foo));
+
+    this.testee.calculateClassCoverage(makeCoverageResult(block
+        .withBlock(1).build(), "fooTest"));
+    this.testee.calculateClassCoverage(makeCoverageResult(block
+        .withBlock(2).build(), "barTest"));
+
+    assertEquals(Arrays.asList("fooTest"), FCollection.map(
+        this.testee.getTestsForBlockLocation(block.withBlock(1).build()),
+        testInfoToString()));
+  }
+
+  @Test
+  public void shouldReturnNoTestsWhenNoTestsCoverABlock() {
+    assertTrue(this.testee.getTestsForBlockLocation(
+        aBlockLocation().withLocation(aLocation().withClass(this.foo)).build())
+        .isEmpty());
+  }
+
+  @Test
+  public void shouldReturnTestsForLineOrderedByName() {
+    BlockLocationBuilder block = aBlockLocation().withLocation(
+        aLocation().withClass(this.foo));
+    when(this.lm.mapLines(any(ClassName.class))).thenReturn(
+        makeCoverageMapForBlock(block, 1));
+
+    this.testee.calculateClassCoverage(makeCoverageResult(block.build(),
+        "zTest"));
+    this.testee.calculateClassCoverage(makeCoverageResult(block.build(),
+        "aTest"));
+
+    assertEquals(Arrays.asList("aTest", "zTest"), FCollection.map(
+        this.testee.getTestsForClassLine(new ClassLine(this.foo, 1)),
+        testInfoToString()));
+  }
+
   @Test
   public void shouldReportAGreenSuiteWhenNoTestHasFailed() {
     this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 42,
@@ -214,6 +264,30 @@ public class CoverageDataTest {
     assertThat(actual.getTests()).contains("FooTest.fooTest");
   }
 
+  @Test
+  public void shouldProvideBlocksCoveredByEachTest() {
+    final BlockLocationBuilder block = aBlockLocation().withLocation(
+        aLocation().withClass(this.foo));
+    final Description fooTest = new Description("fooTest", "FooTest");
+    final Description barTest = new Description("barTest", "BarTest");
+    this.testee.calculateClassCoverage(new CoverageResult(fooTest, 42, true,
+        Arrays.asList(block.withBlock(1).build(), block.withBlock(2)
+            .build())));
+    this.testee.calculateClassCoverage(new CoverageResult(barTest, 7, true,
+        Collections.<BlockLocation> emptyList()));
+
+    final Map<Description, CoverageResult> actual = new HashMap<Description, CoverageResult>();
+    for (final CoverageResult each : this.testee.getTestCoverage()) {
+      actual.put(each.getTestUnitDescription(), each);
+    }
+
+    assertThat(actual.get(fooTest).getCoverage()).containsOnly(
+        block.withBlock(1).build(), block.withBlock(2).build());
+    assertEquals(42, actual.get(fooTest).getExecutionTime());
+    assertThat(actual.get(barTest).getCoverage()).isEmpty();
+    assertEquals(7, actual.get(barTest).getExecutionTime());
+  }
+
   @Test
   public void shouldProvideListOfClassesForSourceFile() {
 
@@ -292,6 +366,12 @@ public class CoverageDataTest {
         makeCoverage(clazz, block));
   }
 
+  private CoverageResult makeCoverageResult(final BlockLocation block,
+      final String testName) {
+    return new CoverageResult(new Description(testName), 0, true,
+        Collections.singleton(block));
+  }
+
   private Collection<BlockLocation> makeCoverage(final String clazz,
       final int block) {
     final BlockLocation cs = new BlockLocation(Location.location(
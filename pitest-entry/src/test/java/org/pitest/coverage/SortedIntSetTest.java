@@ -0,0 +1,72 @@
+package org.pitest.coverage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SortedIntSetTest {
+
+  private final SortedIntSet testee = new SortedIntSet();
+
+  @Test
+  public void shouldBeEmptyWhenCreated() {
+    assertTrue(this.testee.isEmpty());
+    assertEquals(0, this.testee.size());
+  }
+
+  @Test
+  public void shouldKeepValuesInAscendingOrder() {
+    this.testee.add(5);
+    this.testee.add(1);
+    this.testee.add(9);
+    this.testee.add(3);
+    assertContents(1, 3, 5, 9);
+  }
+
+  @Test
+  public void shouldIgnoreDuplicates() {
+    this.testee.add(2);
+    this.testee.add(2);
+    this.testee.add(1);
+    this.testee.add(2);
+    this.testee.add(1);
+    assertContents(1, 2);
+  }
+
+  @Test
+  public void shouldGrowBeyondInitialCapacity() {
+    for (int i = 0; i != 1000; i++) {
+      this.testee.add(i);
+    }
+    assertEquals(1000, this.testee.size());
+    assertEquals(999, this.testee.get(999));
+  }
+
+  @Test
+  public void shouldReportMembership() {
+    this.testee.add(42);
+    assertTrue(this.testee.contains(42));
+    assertFalse(this.testee.contains(41));
+  }
+
+  @Test
+  public void shouldAddAllValuesFromAnotherSet() {
+    final SortedIntSet other = new SortedIntSet();
+    other.add(4);
+    other.add(2);
+    this.testee.add(3);
+    this.testee.add(2);
+    this.testee.addAll(other);
+    assertContents(2, 3, 4);
+  }
+
+  private void assertContents(final int... expected) {
+    assertEquals(expected.length, this.testee.size());
+    for (int i = 0; i != expected.length; i++) {
+      assertEquals(expected[i], this.testee.get(i));
+    }
+  }
+
+}
@@ -1,20 +1,28 @@
 package org.pitest.coverage.execute;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.CoverageResult;
 import org.pitest.functional.SideEffect1;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
 import org.pitest.testapi.Description;
 import org.pitest.util.Id;
 import org.pitest.util.SafeDataInputStream;
-
-import sun.pitest.CodeCoverageStore;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
 
 // does this test add any value?
 public class ReceiveTest {
@@ -34,7 +42,7 @@ public class ReceiveTest {
   public void setUp() {
     MockitoAnnotations.initMocks(this);
     this.handler = stubHandler();
-    this.testee = new Receive(this.handler);
+    this.testee = new Receive(this.handler, WireFormat.XML);
     this.description = new Description("foo", "bar");
   }
 
@@ -72,11 +80,44 @@ public class ReceiveTest {
     this.testee.apply(Id.CLAZZ, this.is);
 
     when(this.is.read(Description.class)).thenReturn(this.description);
-    when(this.is.readInt()).thenReturn(1);
-    when(this.is.readLong()).thenReturn(1l,
-        CodeCoverageStore.encode(classId, probeNumber));
+    when(this.is.readVarInt()).thenReturn(1, classId, 1);
+    when(this.is.readLong()).thenReturn(1L << probeNumber);
+    when(this.is.readInt()).thenReturn(executionTime);
     when(this.is.readBoolean()).thenReturn(testPassed);
     this.testee.apply(Id.OUTCOME, this.is);
   }
 
+  @Test
+  public void shouldDecodeHitBitmapsIntoBlocks() {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(bos);
+    dos.writeInt(7);
+    dos.writeString("foo");
+    dos.writeInt(7);
+    dos.writeString("bar");
+    dos.writeString("()V");
+    dos.writeInt(0);
+    dos.writeInt(69);
+    dos.write(this.description);
+    dos.writeVarInt(1);
+    dos.writeVarInt(7);
+    dos.writeVarInt(2);
+    dos.writeLong(1L << 3);
+    dos.writeLong(1L << 5);
+    dos.writeBoolean(true);
+    dos.writeInt(0);
+    dos.flush();
+
+    final SafeDataInputStream in = new SafeDataInputStream(
+        new ByteArrayInputStream(bos.toByteArray()));
+    this.testee.apply(Id.CLAZZ, in);
+    this.testee.apply(Id.PROBES, in);
+    this.testee.apply(Id.OUTCOME, in);
+
+    final Location location = Location.location(ClassName.fromString("foo"),
+        MethodName.fromString("bar"), "()V");
+    assertThat(this.result.getCoverage()).containsOnly(
+        new BlockLocation(location, 3), new BlockLocation(location, 69));
+  }
+
 }
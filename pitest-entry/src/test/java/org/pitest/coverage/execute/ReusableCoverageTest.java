@@ -0,0 +1,136 @@
+package org.pitest.coverage.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.mutationtest.incremental.CodeHistory;
+import org.pitest.testapi.Description;
+
+public class ReusableCoverageTest {
+
+  @Mock
+  private CodeHistory history;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+  }
+
+  @Test
+  public void shouldReuseCoverageWhenNothingChanged() {
+    final CoverageResult foo = result("FooTest", "a", "foo");
+    final CoverageResult bar = result("FooTest", "b", "bar");
+
+    final Map<String, List<CoverageResult>> actual = ReusableCoverage
+        .byTestClass(this.history, Arrays.asList(foo, bar), noTestTree());
+
+    assertThat(actual.keySet()).containsOnly("FooTest");
+    assertThat(actual.get("FooTest")).containsExactly(foo, bar);
+  }
+
+  @Test
+  public void shouldNotReuseCoverageWhenTestClassChanged() {
+    changed("FooTest");
+
+    final Map<String, List<CoverageResult>> actual = ReusableCoverage
+        .byTestClass(this.history,
+            Arrays.asList(result("FooTest", "a", "foo"),
+                result("BarTest", "a", "foo")), noTestTree());
+
+    assertThat(actual.keySet()).containsOnly("BarTest");
+  }
+
+  @Test
+  public void shouldNotReuseAnyCoverageOfTestClassWhenOneTestCoversChangedClass() {
+    changed("bar");
+
+    final Map<String, List<CoverageResult>> actual = ReusableCoverage
+        .byTestClass(this.history,
+            Arrays.asList(result("FooTest", "a", "foo"),
+                result("FooTest", "b", "bar"), result("FooTest", "c", "foo")),
+            noTestTree());
+
+    assertThat(actual).isEmpty();
+  }
+
+  @Test
+  public void shouldReuseCoverageOfTestsCoveringNothing() {
+    final CoverageResult empty = new CoverageResult(new Description("a",
+        "FooTest"), 1, true, Collections.<BlockLocation> emptyList());
+
+    final Map<String, List<CoverageResult>> actual = ReusableCoverage
+        .byTestClass(this.history, Collections.singletonList(empty),
+            noTestTree());
+
+    assertThat(actual.get("FooTest")).containsExactly(empty);
+  }
+
+  @Test
+  public void shouldNotReuseCoverageOfFailingTests() {
+    final CoverageResult failed = new CoverageResult(new Description("a",
+        "FooTest"), 1, false, Collections.<BlockLocation> emptyList());
+
+    final Map<String, List<CoverageResult>> actual = ReusableCoverage
+        .byTestClass(this.history, Collections.singletonList(failed),
+            noTestTree());
+
+    assertThat(actual).isEmpty();
+  }
+
+  @Test
+  public void shouldNotReuseAnyCoverageWhenClassInTestTreeChanged() {
+    changed("FooFixture");
+
+    final Map<String, List<CoverageResult>> actual = ReusableCoverage
+        .byTestClass(this.history,
+            Arrays.asList(result("FooTest", "a", "foo"),
+                result("BarTest", "a", "bar")),
+            Arrays.asList(ClassName.fromString("FooTest"),
+                ClassName.fromString("BarTest"),
+                ClassName.fromString("FooFixture")));
+
+    assertThat(actual).isEmpty();
+  }
+
+  @Test
+  public void shouldReuseCoverageWhenTestTreeUnchanged() {
+    final CoverageResult foo = result("FooTest", "a", "foo");
+
+    final Map<String, List<CoverageResult>> actual = ReusableCoverage
+        .byTestClass(this.history, Collections.singletonList(foo),
+            Arrays.asList(ClassName.fromString("FooTest"),
+                ClassName.fromString("FooFixture")));
+
+    assertThat(actual.get("FooTest")).containsExactly(foo);
+  }
+
+  private static List<ClassName> noTestTree() {
+    return Collections.emptyList();
+  }
+
+  private void changed(final String clazz) {
+    when(this.history.hasClassChanged(ClassName.fromString(clazz)))
+        .thenReturn(true);
+  }
+
+  private static CoverageResult result(final String testClass,
+      final String test, final String covered) {
+    return new CoverageResult(new Description(test, testClass), 1, true,
+        Collections.singletonList(new BlockLocation(aLocation(covered)
+            .build(), 0)));
+  }
+
+}
@@ -1,6 +1,7 @@
 package org.pitest.coverage.execute;
 
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -10,6 +11,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
 
 public class SendDataTest {
 
@@ -27,6 +29,7 @@ public class SendDataTest {
   public void setUp() {
     MockitoAnnotations.initMocks(this);
     this.testClasses = new ArrayList<String>();
+    when(this.arguments.getWireFormat()).thenReturn(WireFormat.BINARY);
     this.testee = new SendData(this.arguments, this.testClasses);
   }
 
@@ -36,6 +39,13 @@ public class SendDataTest {
     verify(this.os).write(this.arguments);
   }
 
+  @Test
+  public void shouldAnnounceWireFormatToMinion() {
+    this.testee.apply(this.os);
+    verify(this.os).writeByte((byte) WireFormat.BINARY.ordinal());
+    verify(this.os).writeVarInt(WireFormat.BINARY_VERSION);
+  }
+
   @Test
   public void shouldSendTestClassesToMinion() {
     this.testClasses.add("foo");
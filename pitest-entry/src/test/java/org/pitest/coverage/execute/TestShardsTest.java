@@ -0,0 +1,61 @@
+package org.pitest.coverage.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassInfoMother;
+
+public class TestShardsTest {
+
+  @Test
+  public void shouldCreateSingleEmptyShardWhenNoTests() {
+    final List<List<String>> actual = TestShards.split(
+        Collections.<ClassInfo> emptyList(), 4);
+    assertEquals(1, actual.size());
+    assertThat(actual.get(0)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotCreateMoreShardsThanTests() {
+    final List<List<String>> actual = TestShards.split(
+        Arrays.asList(ClassInfoMother.make("foo", 1),
+            ClassInfoMother.make("bar", 1)), 8);
+    assertEquals(2, actual.size());
+  }
+
+  @Test
+  public void shouldAssignEachTestToExactlyOneShard() {
+    final List<ClassInfo> tests = new ArrayList<ClassInfo>();
+    for (int i = 0; i != 20; i++) {
+      tests.add(ClassInfoMother.make("Test" + i, i));
+    }
+
+    final List<String> assigned = new ArrayList<String>();
+    for (final List<String> each : TestShards.split(tests, 3)) {
+      assigned.addAll(each);
+    }
+
+    assertEquals(20, assigned.size());
+    for (int i = 0; i != 20; i++) {
+      assertThat(assigned).contains("Test" + i);
+    }
+  }
+
+  @Test
+  public void shouldBalanceLargeTestsAcrossShards() {
+    final List<List<String>> actual = TestShards.split(
+        Arrays.asList(ClassInfoMother.make("big1", 100),
+            ClassInfoMother.make("big2", 100), ClassInfoMother.make("small1", 1),
+            ClassInfoMother.make("small2", 1)), 2);
+    assertThat(actual.get(0)).containsOnly("big1", "small1");
+    assertThat(actual.get(1)).containsOnly("big2", "small2");
+  }
+
+}
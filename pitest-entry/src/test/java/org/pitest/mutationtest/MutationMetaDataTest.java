@@ -43,6 +43,22 @@ public class MutationMetaDataTest {
 
   }
 
+  @Test
+  public void shouldGiveDuplicateMutantsTheResultOfTheMutantRun() {
+    MutationDetails duplicate = makeDetails("Foo", "b");
+    MutationResult run = new MutationResult(makeDetails("Foo", "a")
+        .withDuplicates(Collections.singletonList(duplicate)),
+        new MutationStatusTestPair(3, DetectionStatus.KILLED, "aTest"));
+
+    MutationMetaData testee = new MutationMetaData(Arrays.asList(run));
+    Collection<MutationResult> actual = testee.getMutations();
+
+    assertThat(actual).contains(run,
+        new MutationResult(duplicate, new MutationStatusTestPair(0,
+            DetectionStatus.KILLED, "aTest")));
+    assertThat(actual).hasSize(2);
+  }
+
   @Test
   public void shouldNotCreateEmptyClassResultsObjects() {
     MutationMetaData testee = new MutationMetaData(
@@ -56,13 +72,17 @@ public class MutationMetaDataTest {
   }
 
   private MutationResult makeResult(String clazz, String method) {
-    Location location = Location.location(ClassName.fromString(clazz),
-        MethodName.fromString(method), "()V");
-    MutationDetails md = aMutationDetail().withId(
-        aMutationId().withLocation(location)).build();
+    MutationDetails md = makeDetails(clazz, method);
     final MutationResult mr = new MutationResult(md,
         new MutationStatusTestPair(0, DetectionStatus.KILLED));
     return mr;
   }
 
+  private MutationDetails makeDetails(String clazz, String method) {
+    Location location = Location.location(ClassName.fromString(clazz),
+        MethodName.fromString(method), "()V");
+    return aMutationDetail().withId(aMutationId().withLocation(location))
+        .build();
+  }
+
 }
@@ -2,6 +2,9 @@ package org.pitest.mutationtest.build;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
 
@@ -15,12 +18,15 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.BlockMap;
 import org.pitest.coverage.ClassLine;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.coverage.TestInfo;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.mutationtest.engine.PoisonStatus;
@@ -35,6 +41,9 @@ public class DefaultTestPrioritiserTest {
   @Mock
   private ClassByteArraySource   source;
 
+  @Mock
+  private BlockMap               blocks;
+
   private final ClassName        foo = ClassName.fromString("foo");
 
   @Before
@@ -62,6 +71,35 @@ public class DefaultTestPrioritiserTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void shouldAssignTestsForMutatedBlockWhenBlockKnown() {
+    final MutationDetails mutation = makeMutation("foo");
+    final BlockLocation block = new BlockLocation(mutation.getId()
+        .getLocation(), 3);
+    final List<TestInfo> expected = makeTestInfos(0);
+    when(this.blocks.blockFor(mutation.getId().getLocation(),
+        mutation.getInstructionIndex())).thenReturn(Option.some(block));
+    when(this.coverage.getTestsForBlockLocation(block)).thenReturn(expected);
+
+    final List<TestInfo> actual = new DefaultTestPrioritiser(this.coverage,
+        this.blocks).assignTests(mutation);
+    assertEquals(expected, actual);
+    verify(this.coverage, never()).getTestsForClassLine(any(ClassLine.class));
+  }
+
+  @Test
+  public void shouldAssignTestsForLineWhenBlockNotKnown() {
+    final List<TestInfo> expected = makeTestInfos(0);
+    when(this.blocks.blockFor(any(Location.class), anyInt())).thenReturn(
+        Option.<BlockLocation> none());
+    when(this.coverage.getTestsForClassLine(any(ClassLine.class))).thenReturn(
+        expected);
+
+    final List<TestInfo> actual = new DefaultTestPrioritiser(this.coverage,
+        this.blocks).assignTests(makeMutation("foo"));
+    assertEquals(expected, actual);
+  }
+
   @Test
   public void shouldPrioritiseTestsByExecutionTime() {
     final List<TestInfo> unorderedTests = makeTestInfos(10000, 100, 1000, 1);
@@ -0,0 +1,115 @@
+package org.pitest.mutationtest.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.F;
+import org.pitest.functional.FCollection;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class KillHistoryTestPrioritiserTest {
+
+  private final ClassName                                       foo     = ClassName.fromString("foo");
+  private final ClassName                                       bar     = ClassName.fromString("bar");
+
+  private final Map<MutationIdentifier, MutationStatusTestPair> history = new HashMap<MutationIdentifier, MutationStatusTestPair>();
+
+  @Test
+  public void shouldKeepChildOrderWhenNoHistoryExists() {
+    final List<TestInfo> actual = prioritise(makeMutation(this.foo, "a", 1),
+        "fast", "medium", "slow");
+    assertEquals(Arrays.asList("fast", "medium", "slow"), names(actual));
+  }
+
+  @Test
+  public void shouldRunTestThatKilledMutantsInSameMethodFirst() {
+    recordKill(makeId(this.foo, "a", 1), "slow");
+    recordKill(makeId(this.foo, "a", 2), "slow");
+    final List<TestInfo> actual = prioritise(makeMutation(this.foo, "a", 3),
+        "fast", "medium", "slow");
+    assertEquals(Arrays.asList("slow", "fast", "medium"), names(actual));
+  }
+
+  @Test
+  public void shouldPreferKillsInSameMethodOverKillsElsewhereInClass() {
+    recordKill(makeId(this.foo, "a", 1), "medium");
+    recordKill(makeId(this.foo, "b", 1), "slow");
+    recordKill(makeId(this.foo, "b", 2), "slow");
+    final List<TestInfo> actual = prioritise(makeMutation(this.foo, "a", 3),
+        "fast", "medium", "slow");
+    assertEquals(Arrays.asList("medium", "slow", "fast"), names(actual));
+  }
+
+  @Test
+  public void shouldUseKillsOfSameMutatorInOtherClasses() {
+    recordKill(makeId(this.bar, "a", 1), "slow");
+    final List<TestInfo> actual = prioritise(makeMutation(this.foo, "a", 1),
+        "fast", "slow");
+    assertEquals(Arrays.asList("slow", "fast"), names(actual));
+  }
+
+  @Test
+  public void shouldIgnoreMutantsThatWereNotTested() {
+    this.history.put(makeId(this.foo, "a", 1), new MutationStatusTestPair(0,
+        DetectionStatus.NO_COVERAGE, "slow"));
+    final List<TestInfo> actual = prioritise(makeMutation(this.foo, "a", 2),
+        "fast", "slow");
+    assertEquals(Arrays.asList("fast", "slow"), names(actual));
+  }
+
+  private List<TestInfo> prioritise(final MutationDetails mutation,
+      final String... tests) {
+    final List<TestInfo> infos = new ArrayList<TestInfo>();
+    for (final String each : tests) {
+      infos.add(new TestInfo("foo", each, 0, Option.<ClassName> none(), 0));
+    }
+    final TestPrioritiser child = new TestPrioritiser() {
+      @Override
+      public List<TestInfo> assignTests(final MutationDetails mutation) {
+        return infos;
+      }
+    };
+    return new KillHistoryTestPrioritiser(child, new KillHistory(this.history))
+        .assignTests(mutation);
+  }
+
+  private void recordKill(final MutationIdentifier id, final String test) {
+    this.history.put(id, new MutationStatusTestPair(1, DetectionStatus.KILLED,
+        test));
+  }
+
+  private static List<String> names(final List<TestInfo> tests) {
+    return FCollection.map(tests, new F<TestInfo, String>() {
+      @Override
+      public String apply(final TestInfo a) {
+        return a.getName();
+      }
+    });
+  }
+
+  private static MutationIdentifier makeId(final ClassName clazz,
+      final String method, final int index) {
+    return new MutationIdentifier(aLocation().withClass(clazz)
+        .withMethod(method).build(), index, "mutator");
+  }
+
+  private static MutationDetails makeMutation(final ClassName clazz,
+      final String method, final int index) {
+    return new MutationDetails(makeId(clazz, method, index), "file", "desc",
+        1, 2);
+  }
+
+}
@@ -3,6 +3,7 @@ package org.pitest.mutationtest.build;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -162,6 +163,21 @@ public class MutationDiscoveryTest {
     assertThat(foundWhenDisabled.size()).isGreaterThan(foundByDefault.size());
   }
   
+  @Test
+  public void shouldRunMutantsWithIdenticalBytecodeOnceWhenEnabled() {
+    data.setMutators(Arrays.asList("MATH", "AOR_ISUB"));
+
+    Collection<MutationDetails> foundByDefault = findMutants(Adds.class);
+
+    data.setFeatures(Collections.singletonList("+FIDENTICAL"));
+
+    Collection<MutationDetails> foundWhenEnabled = findMutants(Adds.class);
+
+    assertThat(foundByDefault).hasSize(2);
+    assertThat(foundWhenEnabled).hasSize(1);
+    assertThat(foundWhenEnabled.iterator().next().getDuplicates()).hasSize(1);
+  }
+
   public static class AnnotatedToAvoidMethod {
     public int a() {
       return 1;
@@ -187,6 +203,13 @@ public class MutationDiscoveryTest {
     }
   }
   
+  private static class Adds {
+    @SuppressWarnings("unused")
+    public int add(int a, int b) {
+      return a + b;
+    }
+  }
+
   private static class HasLogger {
     private static Logger log = Logger.getLogger(HasLogger.class.getName());
 
@@ -7,7 +7,9 @@ import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -16,6 +18,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.NullAnalyser;
 import org.pitest.mutationtest.engine.MutationDetails;
 
@@ -80,6 +83,53 @@ public class MutationTestBuilderTest {
     assertTrue(actual.get(0).priority() > actual.get(1).priority());
   }
 
+  @Test
+  public void shouldCreateWorkStealingUnitsWhenEnabled() {
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(),
+        this.source, new DefaultGrouper(1), true, 2);
+    when(this.source.createMutations(any(ClassName.class))).thenReturn(
+        Arrays.asList(createDetails("foo"), createDetails("foo")));
+    final List<MutationAnalysisUnit> actual = this.testee
+        .createMutationTestUnits(Arrays.asList(ClassName.fromString("foo")));
+    assertEquals(2, actual.size());
+    assertTrue(actual.get(0) instanceof WorkStealingMutationTestUnit);
+  }
+
+  @Test
+  public void shouldFindSameMutationsInSameOrderWhenDiscoveringInParallel() {
+    final List<ClassName> classes = new ArrayList<ClassName>();
+    for (int i = 0; i != 20; i++) {
+      final ClassName clazz = ClassName.fromString("Class" + i);
+      classes.add(clazz);
+      when(this.source.createMutations(clazz)).thenReturn(
+          Arrays.asList(createDetails(clazz.asJavaName(), 2),
+              createDetails(clazz.asJavaName(), 1)));
+    }
+
+    final RecordingAnalyser serial = new RecordingAnalyser();
+    new MutationTestBuilder(this.wf, serial, this.source, new DefaultGrouper(0))
+        .createMutationTestUnits(classes);
+    final RecordingAnalyser parallel = new RecordingAnalyser();
+    new MutationTestBuilder(this.wf, parallel, this.source, new DefaultGrouper(
+        0), false, 4).createMutationTestUnits(classes);
+
+    assertEquals(40, parallel.seen.size());
+    assertEquals(serial.seen, parallel.seen);
+    assertTrue(parallel.seen.get(0).getId()
+        .compareTo(parallel.seen.get(1).getId()) < 0);
+  }
+
+  private static class RecordingAnalyser extends NullAnalyser {
+    private final List<MutationDetails> seen = new ArrayList<MutationDetails>();
+
+    @Override
+    public Collection<MutationResult> analyse(
+        final Collection<MutationDetails> mutationsForClasses) {
+      this.seen.addAll(mutationsForClasses);
+      return super.analyse(mutationsForClasses);
+    }
+  }
+
   private void assertCreatesOneTestUnitForTwoMutations() {
     final MutationDetails mutation1 = createDetails("foo");
     final MutationDetails mutation2 = createDetails("foo");
@@ -100,4 +150,9 @@ public class MutationTestBuilderTest {
         .build(), "", "desc", 42, 0);
   }
 
+  private static MutationDetails createDetails(String clazz, int index) {
+    return new MutationDetails(aMutationId().withLocation(aLocation(clazz))
+        .withIndex(index).build(), "", "desc", 42, 0);
+  }
+
 }
@@ -0,0 +1,128 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.pitest.mutationtest.build.MutationTestBuilderTest.createDetails;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+public class MutationWorkPoolTest {
+
+  private MutationWorkPool testee;
+
+  @Test
+  public void shouldEstimateCostFromTimesOfCoveringTests() {
+    final MutationDetails mutation = mutationCosting(100, 50);
+    assertThat(MutationWorkPool.estimateCost(mutation)).isEqualTo(160);
+  }
+
+  @Test
+  public void shouldGiveAFixedCostToMutationsWithoutTests() {
+    assertThat(MutationWorkPool.estimateCost(createDetails("foo")))
+        .isEqualTo(10);
+  }
+
+  @Test
+  public void shouldTakeWorkFromOwnQueueFirst() {
+    final MutationDetails own = mutationCosting(100);
+    final MutationDetails other = mutationCosting(1000);
+    this.testee = new MutationWorkPool(Arrays.asList(Arrays.asList(own),
+        Arrays.asList(other)), 2, 1);
+    assertThat(this.testee.next(0)).containsExactly(own);
+  }
+
+  @Test
+  public void shouldStealFromUnitWithMostRemainingWorkOnceOwnQueueIsEmpty() {
+    final MutationDetails small = mutationCosting(10);
+    final MutationDetails large1 = mutationCosting(100);
+    final MutationDetails large2 = mutationCosting(100);
+    final MutationDetails medium = mutationCosting(50);
+    this.testee = new MutationWorkPool(Arrays.asList(
+        Arrays.asList(small), Arrays.asList(large1, large2),
+        Arrays.asList(medium)), 3, 100);
+
+    this.testee.next(0);
+
+    assertThat(this.testee.next(0)).containsExactly(large2);
+  }
+
+  @Test
+  public void shouldStealFromTheBackOfAQueue() {
+    final MutationDetails first = mutationCosting(100);
+    final MutationDetails last = mutationCosting(100);
+    this.testee = new MutationWorkPool(Arrays.asList(
+        Collections.<MutationDetails> emptyList(), Arrays.asList(first, last)),
+        2, 100);
+    assertThat(this.testee.next(0)).containsExactly(last);
+    assertThat(this.testee.next(1)).containsExactly(first);
+  }
+
+  @Test
+  public void shouldReturnEmptyListWhenNoWorkRemains() {
+    this.testee = new MutationWorkPool(Arrays.asList(
+        Arrays.asList(mutationCosting(10)),
+        Collections.<MutationDetails> emptyList()), 2, 1);
+    this.testee.next(0);
+    assertThat(this.testee.next(0)).isEmpty();
+    assertThat(this.testee.next(1)).isEmpty();
+  }
+
+  @Test
+  public void shouldHandOutEveryMutationExactlyOnce() {
+    final List<MutationDetails> unit = new ArrayList<MutationDetails>();
+    for (int i = 0; i != 20; i++) {
+      unit.add(mutationCosting(i * 10));
+    }
+    this.testee = new MutationWorkPool(Arrays.asList(unit,
+        Collections.<MutationDetails> emptyList()), 2, 4);
+
+    final List<MutationDetails> seen = new ArrayList<MutationDetails>();
+    List<MutationDetails> chunk = this.testee.next(1);
+    while (!chunk.isEmpty()) {
+      seen.addAll(chunk);
+      chunk = this.testee.next(seen.size() % 2);
+    }
+
+    assertThat(seen).containsOnly(
+        unit.toArray(new MutationDetails[unit.size()])).hasSameSizeAs(unit);
+  }
+
+  @Test
+  public void shouldSplitLargeUnitsIntoSeveralChunks() {
+    final List<MutationDetails> unit = new ArrayList<MutationDetails>();
+    for (int i = 0; i != 8; i++) {
+      unit.add(mutationCosting(90));
+    }
+    this.testee = new MutationWorkPool(Arrays.asList(unit), 2, 2);
+    assertThat(this.testee.next(0)).hasSize(2);
+  }
+
+  @Test
+  public void shouldReduceRemainingCostAsWorkIsTaken() {
+    this.testee = new MutationWorkPool(Arrays.asList(Arrays.asList(
+        mutationCosting(90), mutationCosting(90))), 1, 2);
+    assertThat(this.testee.remainingCost(0)).isEqualTo(200);
+    this.testee.next(0);
+    assertThat(this.testee.remainingCost(0)).isEqualTo(100);
+  }
+
+  private static MutationDetails mutationCosting(final int... testTimes) {
+    final MutationDetails mutation = createDetails("foo");
+    final List<TestInfo> tests = new ArrayList<TestInfo>();
+    for (final int each : testTimes) {
+      tests.add(new TestInfo("foo", "test" + tests.size(), each,
+          Option.<ClassName> none(), 0));
+    }
+    mutation.addTestsInOrder(tests);
+    return mutation;
+  }
+
+}
@@ -0,0 +1,64 @@
+package org.pitest.mutationtest.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.pitest.bytecode.analysis.ClassTree;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+public class PerThreadInterceptorTest {
+
+  private final List<MutationInterceptor> created = Collections
+      .synchronizedList(new ArrayList<MutationInterceptor>());
+
+  private final PerThreadInterceptor      testee  = new PerThreadInterceptor(
+      new ThreadLocal<MutationInterceptor>() {
+        @Override
+        protected MutationInterceptor initialValue() {
+          final MutationInterceptor interceptor = mock(MutationInterceptor.class);
+          PerThreadInterceptorTest.this.created.add(interceptor);
+          return interceptor;
+        }
+      });
+
+  @Test
+  public void shouldDelegateToSameInterceptorWithinAThread() {
+    final ClassTree tree = mock(ClassTree.class);
+    final Mutater mutater = mock(Mutater.class);
+    final List<MutationDetails> mutations = Collections.emptyList();
+    this.testee.begin(tree);
+    this.testee.intercept(mutations, mutater);
+    this.testee.end();
+
+    assertEquals(1, this.created.size());
+    final MutationInterceptor delegate = this.created.get(0);
+    verify(delegate).begin(tree);
+    verify(delegate).intercept(mutations, mutater);
+    verify(delegate).end();
+  }
+
+  @Test
+  public void shouldUseDifferentInterceptorForEachThread() throws Exception {
+    this.testee.end();
+    final Thread other = new Thread() {
+      @Override
+      public void run() {
+        PerThreadInterceptorTest.this.testee.end();
+      }
+    };
+    other.start();
+    other.join();
+
+    assertEquals(2, this.created.size());
+    assertNotSame(this.created.get(0), this.created.get(1));
+  }
+
+}
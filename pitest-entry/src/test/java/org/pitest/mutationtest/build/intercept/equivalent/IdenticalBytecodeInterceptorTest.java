@@ -0,0 +1,143 @@
+package org.pitest.mutationtest.build.intercept.equivalent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.pitest.bytecode.analysis.ClassTree;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.functional.predicate.True;
+import org.pitest.mutationtest.build.InterceptorType;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.MethodInfo;
+import org.pitest.mutationtest.engine.gregor.MethodMutatorFactory;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+
+public class IdenticalBytecodeInterceptorTest {
+
+  ClassByteArraySource         source = ClassloaderByteArraySource
+      .fromContext();
+  IdenticalBytecodeInterceptor testee = new IdenticalBytecodeInterceptor();
+
+  @Test
+  public void shouldDeclareTypeAsDeduplicate() {
+    assertThat(this.testee.type()).isEqualTo(InterceptorType.DEDUPLICATE);
+  }
+
+  @Test
+  public void shouldCollapseMutantsWithIdenticalBytecode() {
+    // MATH and AOR both replace the addition with a subtraction
+    final GregorMutater mutator = createMutator("MATH", "AOR_ISUB");
+    final List<MutationDetails> mutations = mutator.findMutations(ClassName
+        .fromClass(Adds.class));
+    assertThat(mutations).hasSize(2);
+
+    final Collection<MutationDetails> actual = intercept(Adds.class,
+        mutations, mutator);
+
+    assertThat(actual).hasSize(1);
+    final MutationDetails representative = actual.iterator().next();
+    assertThat(representative.getDuplicates()).hasSize(1);
+    assertThat(Arrays.asList(representative,
+        representative.getDuplicates().get(0))).containsOnly(
+        mutations.toArray(new MutationDetails[mutations.size()]));
+  }
+
+  @Test
+  public void shouldNotCollapseMutantsWithDifferentBytecode() {
+    final GregorMutater mutator = createMutator("AOR_ISUB", "AOR_IMUL");
+    final List<MutationDetails> mutations = mutator.findMutations(ClassName
+        .fromClass(Adds.class));
+
+    final Collection<MutationDetails> actual = intercept(Adds.class,
+        mutations, mutator);
+
+    assertThat(actual).hasSize(2);
+    for (final MutationDetails each : actual) {
+      assertThat(each.getDuplicates()).isEmpty();
+    }
+  }
+
+  @Test
+  public void shouldRemoveMutantsThatDoNotChangeBytecode() {
+    final GregorMutater mutator = createMutator("MATH");
+    final List<MutationDetails> mutations = mutator.findMutations(ClassName
+        .fromClass(Adds.class));
+
+    final Collection<MutationDetails> actual = intercept(Adds.class,
+        mutations, returning(mutator, bytesFor(Adds.class)));
+
+    assertThat(actual).isEmpty();
+  }
+
+  @Test
+  public void shouldIgnoreDebugInformationWhenComparingBytecode() {
+    final GregorMutater mutator = createMutator("MATH");
+    final List<MutationDetails> mutations = mutator.findMutations(ClassName
+        .fromClass(Adds.class));
+
+    final ClassWriter withoutDebug = new ClassWriter(0);
+    new ClassReader(bytesFor(Adds.class)).accept(withoutDebug,
+        ClassReader.SKIP_DEBUG);
+
+    final Collection<MutationDetails> actual = intercept(Adds.class,
+        mutations, returning(mutator, withoutDebug.toByteArray()));
+
+    assertThat(actual).isEmpty();
+  }
+
+  private Collection<MutationDetails> intercept(final Class<?> clazz,
+      final List<MutationDetails> mutations, final Mutater mutator) {
+    this.testee.begin(ClassTree.fromBytes(bytesFor(clazz)));
+    final Collection<MutationDetails> actual = this.testee.intercept(
+        mutations, mutator);
+    this.testee.end();
+    return actual;
+  }
+
+  private static Mutater returning(final Mutater child, final byte[] bytes) {
+    return new Mutater() {
+      @Override
+      public Mutant getMutation(final MutationIdentifier id) {
+        return new Mutant(child.getMutation(id).getDetails(), bytes);
+      }
+
+      @Override
+      public List<MutationDetails> findMutations(
+          final ClassName classToMutate) {
+        return child.findMutations(classToMutate);
+      }
+    };
+  }
+
+  private byte[] bytesFor(final Class<?> clazz) {
+    return this.source.getBytes(clazz.getName()).value();
+  }
+
+  GregorMutater createMutator(final String... mutators) {
+    final List<MethodMutatorFactory> factories = new ArrayList<MethodMutatorFactory>();
+    for (final String each : mutators) {
+      factories.addAll(Mutator.byName(each));
+    }
+    return new GregorMutater(this.source, True.<MethodInfo> all(), factories);
+  }
+
+}
+
+class Adds {
+  int add(final int a, final int b) {
+    return a + b;
+  }
+}
@@ -0,0 +1,61 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.util.PitError;
+
+public class AgentCacheTest {
+
+  @Rule
+  public TemporaryFolder folder  = new TemporaryFolder();
+
+  private final byte[]   content = new byte[] { 1, 2, 3 };
+
+  private final String   hash    = ContentAddressedClassPath.hash(this.content);
+
+  private AgentCache     testee;
+
+  @Before
+  public void setUp() {
+    this.testee = new AgentCache(new File(this.folder.getRoot(), "cache"));
+  }
+
+  @Test
+  public void shouldNotContainArchivesNotStored() {
+    assertThat(this.testee.contains(this.hash)).isFalse();
+  }
+
+  @Test
+  public void shouldContainStoredArchives() {
+    this.testee.store(this.hash, this.content);
+    assertThat(this.testee.contains(this.hash)).isTrue();
+  }
+
+  @Test
+  public void shouldBuildClassPathFromStoredArchives() {
+    this.testee.store(this.hash, this.content);
+    final File archive = new File(this.testee.classPathFor(Collections
+        .singletonList(this.hash)));
+    assertThat(archive).exists();
+    assertThat(ContentAddressedClassPath.fromClassPath(archive.getPath())
+        .hashes()).containsExactly(this.hash);
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldRejectArchivesThatDoNotMatchTheirHash() {
+    this.testee.store(this.hash, new byte[] { 4 });
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldRejectNamesThatAreNotHashes() {
+    this.testee.contains("../../etc/passwd");
+  }
+
+}
@@ -0,0 +1,110 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.DataOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.util.PitError;
+
+public class AgentCoordinatorTest {
+
+  private AgentCoordinator testee;
+
+  @Before
+  public void setUp() throws Exception {
+    this.testee = new AgentCoordinator(new ServerSocket(0), 10000,
+        FakeAgent.SECRET);
+    this.testee.start();
+  }
+
+  @After
+  public void tearDown() {
+    this.testee.shutdown();
+  }
+
+  @Test
+  public void shouldLendRegisteredAgents() {
+    FakeAgent.registering(this.testee.getPort(), "a");
+    assertThat(this.testee.acquire().toString()).isEqualTo("a");
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldFailWhenNoAgentRegisters() throws Exception {
+    final AgentCoordinator unused = new AgentCoordinator(new ServerSocket(0),
+        100, FakeAgent.SECRET);
+    try {
+      unused.acquire();
+    } finally {
+      unused.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldLendReleasedAgentsAgain() {
+    FakeAgent.registering(this.testee.getPort(), "a");
+    final RemoteAgent agent = this.testee.acquire();
+    this.testee.release(agent);
+    assertThat(this.testee.acquire()).isSameAs(agent);
+  }
+
+  @Test
+  public void shouldNotLendDiscardedAgents() {
+    FakeAgent.registering(this.testee.getPort(), "a");
+    this.testee.discard(this.testee.acquire());
+    assertThat(this.testee.numberOfIdleAgents()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldRejectConnectionsThatAreNotFromAgents() throws Exception {
+    final Socket socket = new Socket(InetAddress.getByName(null),
+        this.testee.getPort());
+    try {
+      new DataOutputStream(socket.getOutputStream()).writeInt(42);
+      FakeAgent.registering(this.testee.getPort(), "a");
+      assertThat(this.testee.acquire().toString()).isEqualTo("a");
+    } finally {
+      socket.close();
+    }
+  }
+
+  @Test
+  public void shouldRejectAgentsThatDoNotGiveSecret() throws Exception {
+    final FakeAgent impostor = FakeAgent.registering(this.testee.getPort(),
+        "impostor", "guess");
+    impostor.join(10000);
+    FakeAgent.registering(this.testee.getPort(), "a");
+    assertThat(this.testee.acquire().toString()).isEqualTo("a");
+  }
+
+  @Test
+  public void shouldRegisterAgentsWhileAnotherConnectionIsSilent()
+      throws Exception {
+    final Socket silent = new Socket(InetAddress.getByName(null),
+        this.testee.getPort());
+    try {
+      FakeAgent.registering(this.testee.getPort(), "a");
+      final long t0 = System.currentTimeMillis();
+      assertThat(this.testee.acquire().toString()).isEqualTo("a");
+      assertThat(System.currentTimeMillis() - t0).isLessThan(
+          AgentProtocol.HANDSHAKE_TIMEOUT);
+    } finally {
+      silent.close();
+    }
+  }
+
+  @Test
+  public void shouldEndSessionOfIdleAgentsOnShutdown() throws Exception {
+    final FakeAgent agent = FakeAgent.registering(this.testee.getPort(), "a");
+    this.testee.release(this.testee.acquire());
+    this.testee.shutdown();
+    agent.join(10000);
+    assertThat(agent.shutdown).isTrue();
+  }
+
+}
@@ -0,0 +1,87 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.util.PitError;
+
+public class ContentAddressedClassPathTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void shouldNameElementsByHashOfTheirContents() throws Exception {
+    final File jar = write(this.folder.newFile("a.jar"), "a");
+    final ContentAddressedClassPath testee = ContentAddressedClassPath
+        .fromClassPath(jar.getAbsolutePath());
+    assertThat(testee.hashes()).containsExactly(
+        ContentAddressedClassPath.hash("a".getBytes("UTF-8")));
+  }
+
+  @Test
+  public void shouldSkipElementsThatDoNotExist() throws Exception {
+    final File jar = write(this.folder.newFile("a.jar"), "a");
+    final ContentAddressedClassPath testee = ContentAddressedClassPath
+        .fromClassPath(jar.getAbsolutePath() + File.pathSeparator
+            + new File(this.folder.getRoot(), "missing.jar"));
+    assertThat(testee.hashes()).hasSize(1);
+  }
+
+  @Test
+  public void shouldGiveSameHashToUnchangedDirectories() throws Exception {
+    final File dir = this.folder.newFolder("classes");
+    write(new File(dir, "A.class"), "a");
+    final String first = hashOf(dir);
+    new File(dir, "A.class").setLastModified(0);
+    assertThat(hashOf(dir)).isEqualTo(first);
+  }
+
+  @Test
+  public void shouldGiveNewHashToChangedDirectories() throws Exception {
+    final File dir = this.folder.newFolder("classes");
+    write(new File(dir, "A.class"), "a");
+    final String first = hashOf(dir);
+    write(new File(dir, "B.class"), "b");
+    assertThat(hashOf(dir)).isNotEqualTo(first);
+  }
+
+  @Test
+  public void shouldProvideContentsMatchingHash() throws Exception {
+    final File dir = this.folder.newFolder("classes");
+    write(new File(dir, "A.class"), "a");
+    final ContentAddressedClassPath testee = ContentAddressedClassPath
+        .fromClassPath(dir.getAbsolutePath());
+    final String hash = testee.hashes().get(0);
+    assertThat(ContentAddressedClassPath.hash(testee.content(hash)))
+        .isEqualTo(hash);
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldNotProvideContentsOfUnknownHashes() {
+    ContentAddressedClassPath.fromClassPath("").content("unknown");
+  }
+
+  private static String hashOf(final File element) {
+    return ContentAddressedClassPath.fromClassPath(element.getAbsolutePath())
+        .hashes().get(0);
+  }
+
+  private static File write(final File file, final String content)
+      throws IOException {
+    final FileOutputStream fos = new FileOutputStream(file);
+    try {
+      fos.write(content.getBytes("UTF-8"));
+    } finally {
+      fos.close();
+    }
+    return file;
+  }
+
+}
@@ -0,0 +1,128 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.Id;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
+
+/**
+ * Speaks the agent side of the protocol without launching minions, answering
+ * every batch with a single result.
+ */
+class FakeAgent extends Thread {
+
+  static final String                  SECRET   = "secret";
+
+  private final int                    port;
+  private final String                 name;
+  private final String                 secret;
+  private final boolean                completes;
+  private final MutationIdentifier     mutation;
+  private final MutationStatusTestPair status;
+
+  final List<byte[]>                   received = new CopyOnWriteArrayList<byte[]>();
+  volatile int                         batches;
+  volatile boolean                     shutdown;
+
+  FakeAgent(final int port, final String name, final boolean completes,
+      final MutationIdentifier mutation, final MutationStatusTestPair status) {
+    this(port, name, SECRET, completes, mutation, status);
+  }
+
+  FakeAgent(final int port, final String name, final String secret,
+      final boolean completes, final MutationIdentifier mutation,
+      final MutationStatusTestPair status) {
+    this.port = port;
+    this.name = name;
+    this.secret = secret;
+    this.completes = completes;
+    this.mutation = mutation;
+    this.status = status;
+    setDaemon(true);
+  }
+
+  static FakeAgent registering(final int port, final String name) {
+    return registering(port, name, SECRET);
+  }
+
+  static FakeAgent registering(final int port, final String name,
+      final String secret) {
+    final FakeAgent agent = new FakeAgent(port, name, secret, true, null,
+        null);
+    agent.start();
+    return agent;
+  }
+
+  @Override
+  public void run() {
+    try {
+      final Socket socket = new Socket(InetAddress.getByName(null), this.port);
+      try {
+        serve(new SafeDataInputStream(new BufferedInputStream(
+            socket.getInputStream())), new SafeDataOutputStream(
+            socket.getOutputStream()));
+      } finally {
+        socket.close();
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void serve(final SafeDataInputStream is,
+      final SafeDataOutputStream os) {
+    final byte[] agentChallenge = AgentProtocol.challenge();
+    os.writeInt(AgentProtocol.MAGIC);
+    os.writeVarInt(AgentProtocol.VERSION);
+    AgentProtocol.writeHandshake(os, agentChallenge);
+    os.flush();
+    final byte[] runChallenge = AgentProtocol.readHandshake(is);
+    AgentProtocol.readHandshake(is);
+    AgentProtocol.writeHandshake(os, AgentProtocol.proof(this.secret,
+        AgentProtocol.AGENT, runChallenge, agentChallenge));
+    os.writeString(this.name);
+    os.flush();
+
+    while (is.readByte() == Id.BATCH) {
+      is.readBoolean();
+      is.readVarInt();
+      AgentProtocol.readStrings(is);
+      AgentProtocol.readMap(is);
+      final List<String> hashes = AgentProtocol.readStrings(is);
+      this.batches++;
+      os.writeByte(AgentProtocol.HEARTBEAT);
+      os.writeByte(AgentProtocol.NEED);
+      AgentProtocol.writeStrings(os, hashes);
+      os.flush();
+      for (int i = 0; i != hashes.size(); i++) {
+        this.received.add(is.readBytes());
+      }
+      final WireFormat format = WireFormat.readHandshake(is);
+      is.readString();
+      is.readVarInt();
+
+      if (!this.completes) {
+        return;
+      }
+      final MutationResultCodec codec = new MutationResultCodec(format);
+      os.writeByte(Id.REPORT);
+      codec.writeIdentifier(os, this.mutation);
+      codec.writeStatus(os, this.status);
+      os.writeByte(AgentProtocol.HEARTBEAT);
+      os.writeByte(Id.DONE);
+      os.writeInt(0);
+      os.flush();
+    }
+    this.shutdown = true;
+  }
+
+}
@@ -0,0 +1,79 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import org.junit.Test;
+import org.pitest.util.PitError;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+
+public class MinionAgentTest {
+
+  @Test
+  public void shouldNotServeProcessThatCannotProveItKnowsSecret()
+      throws Exception {
+    final ServerSocket server = new ServerSocket(0);
+    final Impostor impostor = new Impostor(server);
+    impostor.start();
+    final MinionAgent testee = new MinionAgent("localhost",
+        server.getLocalPort(), "a", FakeAgent.SECRET, null, null);
+    try {
+      testee.serve(new Socket(InetAddress.getByName(null),
+          server.getLocalPort()));
+      fail();
+    } catch (final PitError e) {
+      // expected
+    } finally {
+      impostor.join(10000);
+      server.close();
+    }
+    assertThat(impostor.sentAfterProof).isEqualTo(-1);
+  }
+
+  /**
+   * Holds the port of a run and answers the agent with a made up proof.
+   */
+  private static class Impostor extends Thread {
+
+    private final ServerSocket server;
+    volatile int               sentAfterProof = 0;
+
+    Impostor(final ServerSocket server) {
+      this.server = server;
+      setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      try {
+        final Socket socket = this.server.accept();
+        try {
+          final SafeDataInputStream is = new SafeDataInputStream(
+              new BufferedInputStream(socket.getInputStream()));
+          final SafeDataOutputStream os = new SafeDataOutputStream(
+              socket.getOutputStream());
+          is.readInt();
+          is.readVarInt();
+          AgentProtocol.readHandshake(is);
+          AgentProtocol.writeHandshake(os, AgentProtocol.challenge());
+          AgentProtocol.writeHandshake(os, AgentProtocol.challenge());
+          os.flush();
+          this.sentAfterProof = socket.getInputStream().read();
+        } finally {
+          socket.close();
+        }
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,92 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.process.LaunchOptions;
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
+import org.pitest.util.NullJavaAgent;
+import org.pitest.util.WireFormat;
+
+public class MinionPoolTest {
+
+  private MinionPool  testee;
+
+  private ProcessArgs args;
+
+  @Before
+  public void setUp() {
+    this.testee = new MinionPool(10);
+    this.args = ProcessArgs.withClassPath("").andLaunchOptions(
+        new LaunchOptions(new NullJavaAgent()));
+  }
+
+  @After
+  public void tearDown() {
+    this.testee.shutdown();
+  }
+
+  @Test
+  public void shouldCreateNewMinionWhenNoneIdle() {
+    final PooledMinion a = this.testee.acquire(this.args, WireFormat.XML);
+    final PooledMinion b = this.testee.acquire(this.args, WireFormat.XML);
+    assertThat(a).isNotSameAs(b);
+  }
+
+  @Test
+  public void shouldReuseMinionThatExitedCleanly() {
+    final PooledMinion a = this.testee.acquire(this.args, WireFormat.XML);
+    this.testee.release(a, ExitCode.OK);
+    assertThat(this.testee.acquire(this.args, WireFormat.XML)).isSameAs(a);
+  }
+
+  @Test
+  public void shouldNotReuseMinionThatTimedOut() {
+    final PooledMinion a = this.testee.acquire(this.args, WireFormat.XML);
+    this.testee.release(a, ExitCode.TIMEOUT);
+    assertThat(this.testee.numberOfIdleMinions()).isEqualTo(0);
+    assertThat(this.testee.acquire(this.args, WireFormat.XML)).isNotSameAs(a);
+  }
+
+  @Test
+  public void shouldNotReuseMinionThatRanOutOfMemory() {
+    final PooledMinion a = this.testee.acquire(this.args, WireFormat.XML);
+    this.testee.release(a, ExitCode.OUT_OF_MEMORY);
+    assertThat(this.testee.numberOfIdleMinions()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldDestroyMinionsThatHaveReachedMutationLimit() {
+    final PooledMinion minion = mock(PooledMinion.class);
+    when(minion.mutationsAnalysed()).thenReturn(10);
+    this.testee.release(minion, ExitCode.OK);
+    verify(minion).destroy();
+    assertThat(this.testee.numberOfIdleMinions()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldKeepMinionsBelowMutationLimit() {
+    final PooledMinion minion = mock(PooledMinion.class);
+    when(minion.mutationsAnalysed()).thenReturn(9);
+    this.testee.release(minion, ExitCode.OK);
+    verify(minion, never()).destroy();
+    assertThat(this.testee.numberOfIdleMinions()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldShutdownIdleMinions() {
+    final PooledMinion minion = mock(PooledMinion.class);
+    this.testee.release(minion, ExitCode.OK);
+    this.testee.shutdown();
+    verify(minion).shutdown();
+    assertThat(this.testee.numberOfIdleMinions()).isEqualTo(0);
+  }
+
+}
@@ -0,0 +1,130 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.ServerSocket;
+import java.util.Collections;
+import java.util.HashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.report.MutationTestResultMother;
+import org.pitest.util.ExitCode;
+import org.pitest.util.WireFormat;
+
+public class RemoteMutationTestProcessTest {
+
+  @Rule
+  public TemporaryFolder               folder   = new TemporaryFolder();
+
+  private final MutationDetails        mutation = MutationTestResultMother
+                                                    .createDetails();
+
+  private final MutationStatusTestPair killed   = new MutationStatusTestPair(1,
+                                                    DetectionStatus.KILLED,
+                                                    "aTest");
+
+  private AgentCoordinator             coordinator;
+
+  @Before
+  public void setUp() throws Exception {
+    this.coordinator = new AgentCoordinator(new ServerSocket(0), 10000,
+        FakeAgent.SECRET);
+    this.coordinator.start();
+  }
+
+  @After
+  public void tearDown() {
+    this.coordinator.shutdown();
+  }
+
+  @Test
+  public void shouldReturnResultsRelayedByAgent() {
+    startAgent("a", true);
+
+    final MutationStatusMap results = analyse(batch(""));
+
+    assertThat(results.createMutationResults().get(0).getStatus()).isEqualTo(
+        DetectionStatus.KILLED);
+  }
+
+  @Test
+  public void shouldSendArchivesRequestedByAgent() throws Exception {
+    final File jar = this.folder.newFile("a.jar");
+    final FileOutputStream fos = new FileOutputStream(jar);
+    try {
+      fos.write(new byte[] { 1, 2, 3 });
+    } finally {
+      fos.close();
+    }
+    final FakeAgent agent = startAgent("a", true);
+
+    analyse(batch(jar.getAbsolutePath()));
+
+    assertThat(agent.received).hasSize(1);
+    assertThat(agent.received.get(0)).isEqualTo(new byte[] { 1, 2, 3 });
+  }
+
+  @Test
+  public void shouldSendBatchToAnotherAgentWhenAgentLost() {
+    final FakeAgent lost = startAgent("lost", false);
+    startAgent("b", true);
+
+    final MutationStatusMap results = analyse(batch(""));
+
+    assertThat(lost.batches).isEqualTo(1);
+    assertThat(results.createMutationResults().get(0).getStatus()).isEqualTo(
+        DetectionStatus.KILLED);
+  }
+
+  @Test
+  public void shouldGiveUpWhenAgentsRepeatedlyLost() {
+    for (int i = 0; i != 3; i++) {
+      startAgent("lost" + i, false);
+    }
+    final RemoteMutationTestProcess testee = new RemoteMutationTestProcess(
+        this.coordinator, batch(""), new TestDurations());
+
+    assertThat(testee.waitToDie()).isEqualTo(ExitCode.UNKNOWN_ERROR);
+  }
+
+  private MutationStatusMap analyse(final AgentBatch batch) {
+    final MutationStatusMap results = new MutationStatusMap();
+    results.setStatusForMutations(Collections.singletonList(this.mutation),
+        DetectionStatus.NOT_STARTED);
+    final RemoteMutationTestProcess testee = new RemoteMutationTestProcess(
+        this.coordinator, batch, new TestDurations());
+    testee.start();
+    assertThat(testee.waitToDie()).isEqualTo(ExitCode.OK);
+    testee.results(results);
+    return results;
+  }
+
+  private AgentBatch batch(final String classPath) {
+    return new AgentBatch(this.coordinator.classPathFor(classPath),
+        Collections.<String> emptyList(), new HashMap<String, String>(),
+        false, 0, WireFormat.BINARY, "<arguments/>", 1);
+  }
+
+  private FakeAgent startAgent(final String name, final boolean completes) {
+    final FakeAgent agent = new FakeAgent(this.coordinator.getPort(), name,
+        completes, this.mutation.getId(), this.killed);
+    final int registered = this.coordinator.numberOfIdleAgents();
+    agent.start();
+    // idle agents are lent in the order they register
+    while (this.coordinator.numberOfIdleAgents() == registered) {
+      Thread.yield();
+    }
+    return agent;
+  }
+
+}
@@ -0,0 +1,89 @@
+package org.pitest.mutationtest.execute;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+
+public class ResultDispatcherTest {
+
+  private ResultDispatcher       testee;
+
+  private MutationResultListener first;
+  private MutationResultListener second;
+
+  @Before
+  public void setUp() {
+    this.first = mock(MutationResultListener.class);
+    this.second = mock(MutationResultListener.class);
+    this.testee = new ResultDispatcher(Arrays.asList(this.first, this.second),
+        2);
+    this.testee.start();
+  }
+
+  @Test
+  public void shouldPassEachResultToEveryListenerInOrder() {
+    final ClassMutationResults a = someResults();
+    final ClassMutationResults b = someResults();
+    this.testee.dispatch(a);
+    this.testee.dispatch(b);
+    this.testee.finish();
+
+    final InOrder order = inOrder(this.first, this.second);
+    order.verify(this.first).handleMutationResult(same(a));
+    order.verify(this.second).handleMutationResult(same(a));
+    order.verify(this.first).handleMutationResult(same(b));
+    order.verify(this.second).handleMutationResult(same(b));
+  }
+
+  @Test
+  public void shouldHaveNotifiedListenersOfAllResultsWhenFinished() {
+    for (int i = 0; i != 10; i++) {
+      this.testee.dispatch(someResults());
+    }
+    this.testee.finish();
+    verify(this.second, times(10)).handleMutationResult(
+        any(ClassMutationResults.class));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldRethrowListenerFailureWhenFinished() {
+    doThrow(new IllegalStateException()).when(this.first)
+        .handleMutationResult(any(ClassMutationResults.class));
+    this.testee.dispatch(someResults());
+    this.testee.finish();
+  }
+
+  @Test
+  public void shouldNotBlockProducersAfterListenerFails() {
+    doThrow(new RuntimeException()).when(this.first).handleMutationResult(
+        any(ClassMutationResults.class));
+    for (int i = 0; i != 10; i++) {
+      this.testee.dispatch(someResults());
+    }
+    try {
+      this.testee.finish();
+    } catch (final RuntimeException ex) {
+      // expected
+    }
+    verify(this.first).handleMutationResult(any(ClassMutationResults.class));
+  }
+
+  private static ClassMutationResults someResults() {
+    return new ClassMutationResults(Collections.<MutationResult> emptyList());
+  }
+
+}
@@ -0,0 +1,327 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.testapi.Description;
+
+public class BinaryHistoryStoreTest {
+
+  private static final String COV    = BigInteger.TEN.toString(16);
+
+  @Rule
+  public TemporaryFolder      folder = new TemporaryFolder();
+
+  @Mock
+  private CoverageDatabase    coverage;
+
+  private BinaryHistoryStore  testee;
+
+  private File                history;
+
+  private final Map<ClassName, Map<String, Long>> methods = new HashMap<ClassName, Map<String, Long>>();
+
+  @Before
+  public void setUp() throws IOException {
+    MockitoAnnotations.initMocks(this);
+    when(this.coverage.getCoverageIdForClass(any(ClassName.class))).thenReturn(
+        BigInteger.TEN);
+    this.history = new File(this.folder.getRoot(), "history.bin");
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveClassPath() {
+    final ClassHistory foo = new ClassHistory(new HierarchicalClassId(
+        new ClassIdentifier(1, ClassName.fromString("foo")), "a"), COV);
+    final ClassHistory bar = new ClassHistory(new HierarchicalClassId(
+        new ClassIdentifier(2, ClassName.fromString("bar")), "b"), COV);
+    write(foo.getId(), bar.getId());
+
+    readHistory();
+
+    final Map<ClassName, ClassHistory> expected = new HashMap<ClassName, ClassHistory>();
+    expected.put(foo.getName(), foo);
+    expected.put(bar.getName(), bar);
+    assertThat(this.testee.getHistoricClassPath()).isEqualTo(expected);
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveResults() {
+    final MutationResult killed = new MutationResult(details("foo"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName"));
+    final MutationResult survived = new MutationResult(details("bar"),
+        new MutationStatusTestPair(3, DetectionStatus.SURVIVED, null));
+    write(killed, survived);
+
+    readHistory();
+
+    final Map<MutationIdentifier, MutationStatusTestPair> expected = new HashMap<MutationIdentifier, MutationStatusTestPair>();
+    expected.put(killed.getDetails().getId(), killed.getStatusTestPair());
+    expected.put(survived.getDetails().getId(), survived.getStatusTestPair());
+    assertThat(this.testee.getHistoricResults()).isEqualTo(expected);
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveCoverage() {
+    final CoverageResult foo = new CoverageResult(new Description("fooTest",
+        "FooTest"), 42, true, Arrays.asList(
+        new BlockLocation(aLocation("foo").build(), 1), new BlockLocation(
+            aLocation("bar").build(), 2)));
+    final CoverageResult bar = new CoverageResult(new Description("barTest"),
+        7, true, Arrays.<BlockLocation> asList());
+    when(this.coverage.getTestCoverage()).thenReturn(Arrays.asList(foo, bar));
+    write(new HierarchicalClassId(new ClassIdentifier(1,
+        ClassName.fromString("foo")), "a"));
+
+    readHistory();
+
+    assertCoverage(this.testee.getHistoricCoverage(), foo, bar);
+  }
+
+  @Test
+  public void shouldRecoverCoverageFromFileWithoutIndex() throws IOException {
+    final CoverageResult foo = new CoverageResult(new Description("fooTest",
+        "FooTest"), 42, true, Arrays.asList(new BlockLocation(aLocation(
+        "foo").build(), 1)));
+    when(this.coverage.getTestCoverage()).thenReturn(Arrays.asList(foo));
+    write(new HierarchicalClassId(new ClassIdentifier(1,
+        ClassName.fromString("foo")), "a"));
+    chopTrailer();
+
+    readHistory();
+
+    assertCoverage(this.testee.getHistoricCoverage(), foo);
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveMethodHashes() {
+    final Map<String, Long> hashes = new HashMap<String, Long>();
+    hashes.put("bar()V", 42L);
+    hashes.put("baz(I)I", -1L);
+    this.methods.put(ClassName.fromString("foo"), hashes);
+    write(new HierarchicalClassId(new ClassIdentifier(1,
+        ClassName.fromString("foo")), "a"));
+
+    readHistory();
+
+    assertThat(
+        this.testee.getHistoricClassPath().get(ClassName.fromString("foo"))
+            .getMethodHashes()).isEqualTo(hashes);
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveCoveringTests() {
+    final MutationResult foo = new MutationResult(details("foo"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "fooTest"));
+    foo.getDetails().addTestsInOrder(
+        Arrays.asList(new TestInfo("FooTest", "fooTest", 1,
+            Option.<ClassName> none(), 1)));
+    write(foo);
+
+    readHistory();
+
+    assertThat(
+        this.testee.getHistoricCoveringTests().get(foo.getDetails().getId()))
+        .isEqualTo(CoveringTests.idFor(foo.getDetails().getTestsInOrder()));
+  }
+
+  @Test
+  public void shouldRetrieveSingleResultWithoutReadingOtherClasses() {
+    final MutationResult foo = new MutationResult(details("foo"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName"));
+    write(foo);
+
+    readHistory();
+
+    assertThat(
+        this.testee.getHistoricResults().get(foo.getDetails().getId()))
+        .isEqualTo(foo.getStatusTestPair());
+    assertThat(
+        this.testee.getHistoricResults().get(
+            details("bar").getId())).isNull();
+  }
+
+  @Test
+  public void shouldAllowSameFileForInputAndOutput() {
+    final MutationResult first = new MutationResult(details("foo"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName"));
+    write(first);
+
+    this.testee = new BinaryHistoryStore(Option.some(this.history),
+        Option.some(this.history));
+    this.testee.initialize();
+    final MutationResult second = new MutationResult(details("bar"),
+        new MutationStatusTestPair(2, DetectionStatus.SURVIVED, null));
+    this.testee.recordResult(second);
+    assertThat(
+        this.testee.getHistoricResults().get(first.getDetails().getId()))
+        .isEqualTo(first.getStatusTestPair());
+    this.testee.close();
+
+    readHistory();
+    assertThat(this.testee.getHistoricResults().keySet()).containsOnly(
+        second.getDetails().getId());
+  }
+
+  @Test
+  public void shouldRecoverResultsFromFileWithoutIndex() throws IOException {
+    final MutationResult foo = new MutationResult(details("foo"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName"));
+    write(foo);
+    chopTrailer();
+
+    readHistory();
+
+    assertThat(
+        this.testee.getHistoricResults().get(foo.getDetails().getId()))
+        .isEqualTo(foo.getStatusTestPair());
+  }
+
+  @Test
+  public void shouldRecoverResultsLeftByUnfinishedRun() throws IOException {
+    final MutationResult foo = new MutationResult(details("foo"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName"));
+    write(foo);
+    chopTrailer();
+    final File unfinished = new File(this.history.getPath() + ".tmp");
+    assertThat(this.history.renameTo(unfinished)).isTrue();
+
+    readHistory();
+
+    assertThat(
+        this.testee.getHistoricResults().get(foo.getDetails().getId()))
+        .isEqualTo(foo.getStatusTestPair());
+  }
+
+  @Test
+  public void shouldWriteEmptyHistoryWhenRunRecordsEmptyClassPath() {
+    write(new MutationResult(details("foo"), new MutationStatusTestPair(1,
+        DetectionStatus.KILLED, "testName")));
+
+    write(new HierarchicalClassId[0]);
+    readHistory();
+
+    assertThat(this.testee.getHistoricResults()).isEmpty();
+  }
+
+  @Test
+  public void shouldKeepPreviousHistoryWhenRunRecordsNothing() {
+    final MutationResult foo = new MutationResult(details("foo"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName"));
+    write(foo);
+
+    this.testee = new BinaryHistoryStore(Option.some(this.history),
+        Option.some(this.history));
+    this.testee.initialize();
+    this.testee.close();
+    readHistory();
+
+    assertThat(this.testee.getHistoricResults().keySet()).containsOnly(
+        foo.getDetails().getId());
+  }
+
+  @Test
+  public void shouldIgnoreFilesInOtherFormats() throws IOException {
+    final RandomAccessFile raf = new RandomAccessFile(this.history, "rw");
+    raf.writeBytes("<classHistory>rubbish</classHistory>");
+    raf.close();
+
+    readHistory();
+
+    assertThat(this.testee.getHistoricResults()).isEmpty();
+    assertThat(this.testee.getHistoricClassPath()).isEmpty();
+  }
+
+  @Test
+  public void shouldNotWriteFileWhenNoOutputSupplied() {
+    this.testee = new BinaryHistoryStore(Option.<File> none(),
+        Option.<File> none());
+    this.testee.initialize();
+    this.testee.recordResult(new MutationResult(details("foo"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName")));
+    this.testee.close();
+    assertThat(this.folder.getRoot().list()).isEmpty();
+  }
+
+  private static void assertCoverage(final Collection<CoverageResult> actual,
+      final CoverageResult... expected) {
+    assertThat(actual).hasSize(expected.length);
+    int i = 0;
+    for (final CoverageResult each : actual) {
+      assertThat(each.getTestUnitDescription()).isEqualTo(
+          expected[i].getTestUnitDescription());
+      assertThat(each.getExecutionTime()).isEqualTo(
+          expected[i].getExecutionTime());
+      assertThat(each.getCoverage()).containsExactlyElementsOf(
+          expected[i].getCoverage());
+      i++;
+    }
+  }
+
+  private static MutationDetails details(final String clazz) {
+    return new MutationDetails(aMutationId().withLocation(aLocation(clazz))
+        .build(), "", "desc", 42, 0);
+  }
+
+  private void write(final HierarchicalClassId... ids) {
+    this.testee = new BinaryHistoryStore(Option.<File> none(),
+        Option.some(this.history));
+    this.testee.recordClassPath(Arrays.asList(ids), this.coverage,
+        this.methods);
+    this.testee.close();
+  }
+
+  private void write(final MutationResult... results) {
+    this.testee = new BinaryHistoryStore(Option.<File> none(),
+        Option.some(this.history));
+    for (final MutationResult each : results) {
+      this.testee.recordResult(each);
+    }
+    this.testee.close();
+  }
+
+  private void readHistory() {
+    this.testee = new BinaryHistoryStore(Option.some(this.history),
+        Option.<File> none());
+    this.testee.initialize();
+  }
+
+  private void chopTrailer() throws IOException {
+    final RandomAccessFile raf = new RandomAccessFile(this.history, "rw");
+    raf.setLength(raf.length() - 1);
+    raf.close();
+  }
+
+}
@@ -0,0 +1,44 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.Option;
+
+public class CoveringTestsTest {
+
+  @Test
+  public void shouldGiveSameIdToSameTestsInAnyOrder() {
+    assertEquals(CoveringTests.idFor(Arrays.asList(test("a"), test("b"))),
+        CoveringTests.idFor(Arrays.asList(test("b"), test("a"))));
+  }
+
+  @Test
+  public void shouldGiveDifferentIdsToDifferentTests() {
+    assertFalse(CoveringTests.idFor(Arrays.asList(test("a"), test("b")))
+        .equals(CoveringTests.idFor(Arrays.asList(test("a"), test("c")))));
+  }
+
+  @Test
+  public void shouldNotConfuseNamesSplitDifferently() {
+    assertFalse(CoveringTests.idFor(Arrays.asList(test("ab"), test("c")))
+        .equals(CoveringTests.idFor(Arrays.asList(test("a"), test("bc")))));
+  }
+
+  @Test
+  public void shouldGiveIdToNoTests() {
+    assertFalse(CoveringTests.idFor(Collections.<TestInfo> emptyList())
+        .equals(CoveringTests.idFor(Arrays.asList(test("a")))));
+  }
+
+  private static TestInfo test(final String name) {
+    return new TestInfo("FooTest", name, 1, Option.<ClassName> none(), 1);
+  }
+
+}
@@ -6,6 +6,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,6 +24,8 @@ import org.pitest.functional.Option;
 import org.pitest.mutationtest.ClassHistory;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public class DefaultCodeHistoryTest {
@@ -36,11 +39,16 @@ public class DefaultCodeHistoryTest {
 
   private final Map<MutationIdentifier, MutationStatusTestPair> results           = new HashMap<MutationIdentifier, MutationStatusTestPair>();
 
+  private final Map<MutationIdentifier, String>                 coveringTests     = new HashMap<MutationIdentifier, String>();
+
+  @Mock
+  private MethodHashes                                          methods;
+
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
     this.testee = new DefaultCodeHistory(this.classInfoSource, this.results,
-        this.historicClassPath);
+        this.historicClassPath, this.coveringTests, this.methods);
   }
 
   @Test
@@ -100,6 +108,52 @@ public class DefaultCodeHistoryTest {
     assertTrue(this.testee.hasClassChanged(foo));
   }
 
+  @Test
+  public void shouldTreatClassesNoLongerOnClassPathAsChanged() {
+    final ClassName foo = ClassName.fromString("foo");
+    this.historicClassPath.put(foo, makeHistory(new HierarchicalClassId(0,
+        foo, "0")));
+    when(this.classInfoSource.fetchClass(foo)).thenReturn(
+        Option.<ClassInfo> none());
+    assertTrue(this.testee.hasClassChanged(foo));
+  }
+
+  @Test
+  public void shouldTreatMethodsWithSameHashAsUnchanged() {
+    final Location bar = Location.location(ClassName.fromString("foo"),
+        MethodName.fromString("bar"), "()V");
+    setMethodHashes(bar, 42L, 42L);
+    assertFalse(this.testee.hasMethodChanged(bar));
+  }
+
+  @Test
+  public void shouldTreatMethodsWithDifferentHashesAsChanged() {
+    final Location bar = Location.location(ClassName.fromString("foo"),
+        MethodName.fromString("bar"), "()V");
+    setMethodHashes(bar, 42L, 43L);
+    assertTrue(this.testee.hasMethodChanged(bar));
+  }
+
+  @Test
+  public void shouldTreatMethodsWithoutHistoricHashAsChanged() {
+    final ClassName foo = ClassName.fromString("foo");
+    this.historicClassPath.put(foo, makeHistory(new HierarchicalClassId(0,
+        foo, "0")));
+    assertTrue(this.testee.hasMethodChanged(Location.location(foo,
+        MethodName.fromString("bar"), "()V")));
+  }
+
+  @Test
+  public void shouldReturnPreviousCoveringTestsWhenRecorded() {
+    final MutationIdentifier id = aMutationId().build();
+    this.coveringTests.put(id, "1:abc");
+    assertEquals(Option.some("1:abc"),
+        this.testee.getPreviousCoveringTests(id));
+    assertEquals(Option.none(),
+        this.testee.getPreviousCoveringTests(aMutationId().withMutator("other")
+            .build()));
+  }
+
   @Test
   public void shouldTreatClassesWithSameHashAsUnChanged() {
     final ClassName foo = ClassName.fromString("foo");
@@ -120,6 +174,16 @@ public class DefaultCodeHistoryTest {
     .thenReturn(Option.some(info));
   }
 
+  private void setMethodHashes(final Location location, final long previous,
+      final long current) {
+    final ClassName clazz = location.getClassName();
+    this.historicClassPath.put(clazz, new ClassHistory(new HierarchicalClassId(
+        0, clazz, "0"), "", Collections.singletonMap(
+        MethodHashes.keyFor(location), previous)));
+    when(this.methods.forClass(clazz)).thenReturn(
+        Collections.singletonMap(MethodHashes.keyFor(location), current));
+  }
+
   private ClassHistory makeHistory(final HierarchicalClassId id) {
     return new ClassHistory(id, "");
   }
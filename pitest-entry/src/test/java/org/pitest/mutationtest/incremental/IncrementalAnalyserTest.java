@@ -21,6 +21,7 @@ import org.pitest.functional.Option;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
@@ -79,10 +80,11 @@ public class IncrementalAnalyserTest {
   }
 
   @Test
-  public void shouldStartPreviousTimedOutMutationsAtAStatusOfNotStartedWhenClassHasChanged() {
+  public void shouldStartPreviousTimedOutMutationsAtAStatusOfNotStartedWhenMethodHasChanged() {
     final MutationDetails md = makeMutation("foo");
     setHistoryForAllMutationsTo(DetectionStatus.TIMED_OUT);
     when(this.history.hasClassChanged(any(ClassName.class))).thenReturn(true);
+    when(this.history.hasMethodChanged(any(Location.class))).thenReturn(true);
     final Collection<MutationResult> actual = this.testee.analyse(Collections
         .singletonList(md));
 
@@ -140,6 +142,118 @@ public class IncrementalAnalyserTest {
     assertEquals(DetectionStatus.NOT_STARTED, actual.getStatus());
   }
 
+  @Test
+  public void shouldStartPreviousSurvivedMutationsAtAStatusOfNotStartedWhenAnotherMethodHasChanged() {
+    final MutationDetails md = makeMutationCoveredBy("foo", "fooTest");
+    setHistoryForAllMutationsTo(DetectionStatus.SURVIVED);
+    setPreviousCoveringTests(md);
+    when(this.history.hasClassChanged(md.getClassName())).thenReturn(true);
+
+    final MutationResult actual = this.testee
+        .analyse(Collections.singletonList(md)).iterator().next();
+
+    assertEquals(DetectionStatus.NOT_STARTED, actual.getStatus());
+  }
+
+  @Test
+  public void shouldStartPreviousTimedOutMutationsAtAStatusOfNotStartedWhenAnotherMethodHasChanged() {
+    final MutationDetails md = makeMutationCoveredBy("foo", "fooTest");
+    setHistoryForAllMutationsTo(DetectionStatus.TIMED_OUT);
+    setPreviousCoveringTests(md);
+    when(this.history.hasClassChanged(md.getClassName())).thenReturn(true);
+
+    final MutationResult actual = this.testee
+        .analyse(Collections.singletonList(md)).iterator().next();
+
+    assertEquals(DetectionStatus.NOT_STARTED, actual.getStatus());
+  }
+
+  @Test
+  public void shouldStartPreviousKilledMutationsAtAStatusOfNotStartedWhenAnotherMethodHasChangedAndKillingTestIsGone() {
+    final MutationDetails md = makeMutationCoveredBy("foo", "fooTest");
+    setHistoryForAllMutationsTo(DetectionStatus.KILLED, "fooTest");
+    setPreviousCoveringTests(md);
+    when(this.history.hasClassChanged(md.getClassName())).thenReturn(true);
+
+    final MutationResult actual = this.testee
+        .analyse(Collections.singletonList(md)).iterator().next();
+
+    assertEquals(DetectionStatus.NOT_STARTED, actual.getStatus());
+  }
+
+  @Test
+  public void shouldStartPreviousKilledMutationsAtAStatusOfNotStartedWhenAnotherMethodHasChangedAndNoKillingTestRecorded() {
+    final MutationDetails md = makeMutationCoveredBy("foo", "fooTest");
+    setHistoryForAllMutationsTo(DetectionStatus.KILLED, null);
+    setPreviousCoveringTests(md);
+    when(this.coverage.getTestsForClass(any(ClassName.class))).thenReturn(
+        md.getTestsInOrder());
+    when(this.history.hasClassChanged(md.getClassName())).thenReturn(true);
+
+    final MutationResult actual = this.testee
+        .analyse(Collections.singletonList(md)).iterator().next();
+
+    assertEquals(DetectionStatus.NOT_STARTED, actual.getStatus());
+  }
+
+  @Test
+  public void shouldStartPreviousKilledMutationsAtAStatusOfKilledWhenOnlyAnotherMethodHasChanged() {
+    final MutationDetails md = makeMutationCoveredBy("foo", "fooTest");
+    setHistoryForAllMutationsTo(DetectionStatus.KILLED, "fooTest");
+    setPreviousCoveringTests(md);
+    when(this.coverage.getTestsForClass(any(ClassName.class))).thenReturn(
+        md.getTestsInOrder());
+    when(this.history.hasClassChanged(md.getClassName())).thenReturn(true);
+
+    final MutationResult actual = this.testee
+        .analyse(Collections.singletonList(md)).iterator().next();
+
+    assertEquals(DetectionStatus.KILLED, actual.getStatus());
+    assertEquals(Option.some("fooTest"), actual.getKillingTest());
+  }
+
+  @Test
+  public void shouldStartMutationsInUnchangedMethodsAtAStatusOfNotStartedWhenCoveringTestsHaveChanged() {
+    final MutationDetails md = makeMutationCoveredBy("foo", "fooTest");
+    setHistoryForAllMutationsTo(DetectionStatus.SURVIVED);
+    when(this.history.getPreviousCoveringTests(md.getId())).thenReturn(
+        Option.some(CoveringTests.idFor(Collections.<TestInfo> emptyList())));
+    when(this.history.hasClassChanged(md.getClassName())).thenReturn(true);
+
+    final MutationResult actual = this.testee
+        .analyse(Collections.singletonList(md)).iterator().next();
+
+    assertEquals(DetectionStatus.NOT_STARTED, actual.getStatus());
+  }
+
+  @Test
+  public void shouldStartMutationsInUnchangedMethodsAtAStatusOfNotStartedWhenCoveringTestClassHasChanged() {
+    final MutationDetails md = makeMutationCoveredBy("foo", "fooTest");
+    setHistoryForAllMutationsTo(DetectionStatus.SURVIVED);
+    setPreviousCoveringTests(md);
+    when(this.history.hasClassChanged(md.getClassName())).thenReturn(true);
+    when(this.history.hasClassChanged(ClassName.fromString("TEST_CLASS")))
+    .thenReturn(true);
+
+    final MutationResult actual = this.testee
+        .analyse(Collections.singletonList(md)).iterator().next();
+
+    assertEquals(DetectionStatus.NOT_STARTED, actual.getStatus());
+  }
+
+  private MutationDetails makeMutationCoveredBy(final String method,
+      final String test) {
+    final MutationDetails md = makeMutation(method);
+    md.addTestsInOrder(Collections.singletonList(new TestInfo("TEST_CLASS",
+        test, 0, Option.<ClassName> none(), 0)));
+    return md;
+  }
+
+  private void setPreviousCoveringTests(final MutationDetails md) {
+    when(this.history.getPreviousCoveringTests(md.getId())).thenReturn(
+        Option.some(CoveringTests.idFor(md.getTestsInOrder())));
+  }
+
   private MutationDetails makeMutation(final String method) {
     final MutationIdentifier id = aMutationId().withLocation(
         aLocation().withMethod(method)).build();
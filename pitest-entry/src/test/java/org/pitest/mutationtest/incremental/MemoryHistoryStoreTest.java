@@ -0,0 +1,132 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.report.MutationTestResultMother;
+import org.pitest.testapi.Description;
+
+public class MemoryHistoryStoreTest {
+
+  private final HierarchicalClassId foo    = new HierarchicalClassId(
+                                               new ClassIdentifier(0,
+                                                   ClassName.fromString("foo")),
+                                               "");
+
+  private MemoryHistoryStore        testee = new MemoryHistoryStore();
+
+  @Mock
+  private CoverageDatabase          coverage;
+
+  private final Map<ClassName, Map<String, Long>> methods = new HashMap<ClassName, Map<String, Long>>();
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    when(this.coverage.getCoverageIdForClass(any(ClassName.class))).thenReturn(
+        BigInteger.TEN);
+  }
+
+  @Test
+  public void shouldHaveNoHistoryInitially() {
+    assertTrue(this.testee.getHistoricClassPath().isEmpty());
+    assertTrue(this.testee.getHistoricResults().isEmpty());
+    assertTrue(this.testee.getHistoricCoveringTests().isEmpty());
+    assertTrue(this.testee.getHistoricCoverage().isEmpty());
+  }
+
+  @Test
+  public void shouldNotReturnHistoryRecordedDuringSameRun() {
+    this.testee.recordClassPath(Collections.singletonList(this.foo),
+        this.coverage, this.methods);
+    this.testee.recordResult(aKilledResult());
+    assertTrue(this.testee.getHistoricClassPath().isEmpty());
+    assertTrue(this.testee.getHistoricResults().isEmpty());
+  }
+
+  @Test
+  public void shouldReturnClassPathRecordedByPreviousRun() {
+    this.testee.recordClassPath(Collections.singletonList(this.foo),
+        this.coverage, this.methods);
+
+    this.testee = this.testee.nextRun();
+
+    assertEquals(
+        Collections.singletonMap(this.foo.getName(), new ClassHistory(
+            this.foo, BigInteger.TEN.toString(16))),
+        this.testee.getHistoricClassPath());
+  }
+
+  @Test
+  public void shouldReturnResultsRecordedByPreviousRun() {
+    final MutationResult mr = aKilledResult();
+    this.testee.recordClassPath(Collections.singletonList(this.foo),
+        this.coverage, this.methods);
+    this.testee.recordResult(mr);
+
+    this.testee = this.testee.nextRun();
+
+    assertEquals(
+        Collections.singletonMap(mr.getDetails().getId(),
+            mr.getStatusTestPair()), this.testee.getHistoricResults());
+    assertEquals(Collections.singletonMap(mr.getDetails().getId(),
+        CoveringTests.idFor(mr.getDetails().getTestsInOrder())),
+        this.testee.getHistoricCoveringTests());
+  }
+
+  @Test
+  public void shouldReturnCoverageRecordedByPreviousRun() {
+    final CoverageResult covering = new CoverageResult(new Description(
+        "fooTest", "FooTest"), 42, true,
+        Collections.<BlockLocation> emptyList());
+    when(this.coverage.getTestCoverage()).thenReturn(
+        Collections.singletonList(covering));
+    this.testee.recordClassPath(Collections.singletonList(this.foo),
+        this.coverage, this.methods);
+
+    this.testee = this.testee.nextRun();
+
+    assertEquals(Collections.singletonList(covering),
+        this.testee.getHistoricCoverage());
+  }
+
+  @Test
+  public void shouldKeepEarlierHistoryWhenRunRecordsNothing() {
+    final MutationResult mr = aKilledResult();
+    this.testee.recordClassPath(Collections.singletonList(this.foo),
+        this.coverage, this.methods);
+    this.testee.recordResult(mr);
+
+    this.testee = this.testee.nextRun().nextRun();
+
+    assertEquals(1, this.testee.getHistoricClassPath().size());
+    assertEquals(1, this.testee.getHistoricResults().size());
+  }
+
+  private static MutationResult aKilledResult() {
+    return new MutationResult(MutationTestResultMother.createDetails("foo"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName"));
+  }
+
+}
@@ -0,0 +1,72 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+
+public class MethodHashesTest {
+
+  private final MethodHashes testee = new MethodHashes(
+      ClassloaderByteArraySource.fromContext());
+
+  @Test
+  public void shouldHashEachMethodByNameAndDescriptor() {
+    final Map<String, Long> actual = this.testee.forClass(ClassName
+        .fromClass(Adds.class));
+    assertThat(actual).containsKeys("<init>()V", "add(I)I", "subtract(I)I");
+  }
+
+  @Test
+  public void shouldGiveSameHashToMethodsDifferingOnlyInLineNumbers() {
+    final Map<String, Long> first = this.testee.forClass(ClassName
+        .fromClass(Adds.class));
+    final Map<String, Long> second = this.testee.forClass(ClassName
+        .fromClass(AddsOnOtherLines.class));
+    assertThat(second.get("add(I)I")).isEqualTo(first.get("add(I)I"));
+  }
+
+  @Test
+  public void shouldGiveDifferentHashesToDifferentMethods() {
+    final Map<String, Long> actual = this.testee.forClass(ClassName
+        .fromClass(Adds.class));
+    assertThat(actual.get("add(I)I")).isNotEqualTo(actual.get("subtract(I)I"));
+  }
+
+  @Test
+  public void shouldReturnNoHashesWhenClassNotFound() {
+    assertThat(this.testee.forClass(ClassName.fromString("not.a.Class")))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldKeyLocationsByNameAndDescriptor() {
+    assertThat(
+        MethodHashes.keyFor(Location.location(ClassName.fromString("foo"),
+            MethodName.fromString("add"), "(I)I"))).isEqualTo("add(I)I");
+  }
+
+  static class Adds {
+    int add(final int a) {
+      return a + 1;
+    }
+
+    int subtract(final int a) {
+      return a - 1;
+    }
+  }
+
+  static class AddsOnOtherLines {
+
+
+    int add(final int a) {
+      return a + 1;
+    }
+  }
+
+}
@@ -7,13 +7,14 @@ import java.util.Map;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
 import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.CoverageResult;
 import org.pitest.mutationtest.ClassHistory;
-import org.pitest.mutationtest.HistoryStore;
+import org.pitest.mutationtest.DetailedHistoryStore;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
-public class NullHistoryStore implements HistoryStore {
+public class NullHistoryStore implements DetailedHistoryStore {
 
   @Override
   public void initialize() {
@@ -30,15 +31,32 @@ public class NullHistoryStore implements HistoryStore {
     return Collections.emptyMap();
   }
 
+  @Override
+  public Map<MutationIdentifier, String> getHistoricCoveringTests() {
+    return Collections.emptyMap();
+  }
+
   @Override
   public Map<ClassName, ClassHistory> getHistoricClassPath() {
     return Collections.emptyMap();
   }
 
+  @Override
+  public Collection<CoverageResult> getHistoricCoverage() {
+    return Collections.emptyList();
+  }
+
   @Override
   public void recordClassPath(final Collection<HierarchicalClassId> ids,
       final CoverageDatabase coverageInfo) {
 
   }
 
+  @Override
+  public void recordClassPath(final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo,
+      final Map<ClassName, Map<String, Long>> methodHashes) {
+
+  }
+
 }
@@ -18,4 +18,14 @@ public class NullHistoryStoreTest {
     assertTrue(this.testee.getHistoricResults().isEmpty());
   }
 
+  @Test
+  public void shouldReturnEmptyCoveringTests() {
+    assertTrue(this.testee.getHistoricCoveringTests().isEmpty());
+  }
+
+  @Test
+  public void shouldReturnEmptyCoverage() {
+    assertTrue(this.testee.getHistoricCoverage().isEmpty());
+  }
+
 }
@@ -2,6 +2,7 @@ package org.pitest.mutationtest.incremental;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.when;
@@ -13,8 +14,10 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,14 +28,20 @@ import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassIdentifier;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.CoverageResult;
+import org.pitest.coverage.TestInfo;
 import org.pitest.functional.Option;
 import org.pitest.mutationtest.ClassHistory;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.mutationtest.report.MutationTestResultMother;
+import org.pitest.testapi.Description;
 
 public class XStreamHistoryStoreTest {
 
@@ -60,6 +69,8 @@ public class XStreamHistoryStoreTest {
 
   };
 
+  private final Map<ClassName, Map<String, Long>> methods = new HashMap<ClassName, Map<String, Long>>();
+
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
@@ -107,6 +118,98 @@ public class XStreamHistoryStoreTest {
     assertEquals(expected, this.testee.getHistoricResults());
   }
 
+  @Test
+  public void shouldRecordAndRetrieveCoverage() {
+    final BlockLocation block = new BlockLocation(Location.location(
+        ClassName.fromString("foo"), MethodName.fromString("bar"), "()V"), 3);
+    final CoverageResult covering = new CoverageResult(new Description(
+        "fooTest", "FooTest"), 42, true, Collections.singletonList(block));
+    when(this.coverage.getTestCoverage()).thenReturn(
+        Collections.singletonList(covering));
+    recordClassPathWithTestee(new HierarchicalClassId(new ClassIdentifier(0,
+        ClassName.fromString("foo")), ""));
+
+    final MutationResult mr = new MutationResult(
+        MutationTestResultMother.createDetails("foo"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName"));
+    this.testee.recordResult(mr);
+
+    final Reader reader = new StringReader(this.output.toString());
+    this.testee = new XStreamHistoryStore(this.writerFactory,
+        Option.some(reader));
+    this.testee.initialize();
+
+    final CoverageResult actual = this.testee.getHistoricCoverage()
+        .iterator().next();
+    assertEquals(covering.getTestUnitDescription(),
+        actual.getTestUnitDescription());
+    assertEquals(42, actual.getExecutionTime());
+    assertEquals(Arrays.asList(block),
+        new ArrayList<BlockLocation>(actual.getCoverage()));
+    assertEquals(1, this.testee.getHistoricResults().size());
+  }
+
+  @Test
+  public void shouldReadResultsFromHistoryWithoutCoverage() {
+    final HierarchicalClassId foo = new HierarchicalClassId(
+        new ClassIdentifier(0, ClassName.fromString("foo")), "");
+    recordClassPathWithTestee(foo);
+
+    final MutationResult mr = new MutationResult(
+        MutationTestResultMother.createDetails("foo"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "testName"));
+    this.testee.recordResult(mr);
+
+    // histories written before coverage was recorded have no coverage count
+    final String withoutCoverage = this.output.toString().replaceFirst(
+        "(?m)^0\\r?\\n", "");
+    this.testee = new XStreamHistoryStore(this.writerFactory,
+        Option.<Reader> some(new StringReader(withoutCoverage)));
+    this.testee.initialize();
+
+    assertTrue(this.testee.getHistoricCoverage().isEmpty());
+    assertEquals(1, this.testee.getHistoricClassPath().size());
+    assertEquals(1, this.testee.getHistoricResults().size());
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveMethodHashes() {
+    final Map<String, Long> hashes = new HashMap<String, Long>();
+    hashes.put("bar()V", 42L);
+    this.methods.put(ClassName.fromString("foo"), hashes);
+    recordClassPathWithTestee(new HierarchicalClassId(new ClassIdentifier(0,
+        ClassName.fromString("foo")), ""));
+
+    final Reader reader = new StringReader(this.output.toString());
+    this.testee = new XStreamHistoryStore(this.writerFactory,
+        Option.some(reader));
+    this.testee.initialize();
+
+    assertEquals(hashes,
+        this.testee.getHistoricClassPath().get(ClassName.fromString("foo"))
+            .getMethodHashes());
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveCoveringTests() {
+    recordClassPathWithTestee();
+    final MutationResult mr = new MutationResult(
+        MutationTestResultMother.createDetails("foo"),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "fooTest"));
+    mr.getDetails().addTestsInOrder(
+        Arrays.asList(new TestInfo("FooTest", "fooTest", 1,
+            Option.<ClassName> none(), 1)));
+    this.testee.recordResult(mr);
+
+    final Reader reader = new StringReader(this.output.toString());
+    this.testee = new XStreamHistoryStore(this.writerFactory,
+        Option.some(reader));
+    this.testee.initialize();
+
+    assertEquals(CoveringTests.idFor(mr.getDetails().getTestsInOrder()),
+        this.testee.getHistoricCoveringTests().get(mr.getDetails().getId()));
+  }
+
   @Test
   public void shouldNotAttemptToWriteToFileWhenNoneSupplied() {
     try {
@@ -144,7 +247,7 @@ public class XStreamHistoryStoreTest {
     this.testee = new XStreamHistoryStore(this.writerFactory,
         Option.<Reader> none());
     final Collection<HierarchicalClassId> ids = Arrays.asList(classIdentifiers);
-    this.testee.recordClassPath(ids, this.coverage);
+    this.testee.recordClassPath(ids, this.coverage, this.methods);
   }
 
 }
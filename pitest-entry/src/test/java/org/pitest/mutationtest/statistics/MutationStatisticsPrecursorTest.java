@@ -30,6 +30,7 @@ import org.pitest.functional.FCollection;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.report.MutationTestResultMother;
 import org.pitest.util.StringUtil;
 
@@ -129,6 +130,35 @@ public class MutationStatisticsPrecursorTest {
     assertEquals(">> Ran 43 tests (21.5 tests per mutation)", actual[1]);
   }
 
+  @Test
+  public void shouldReportTestsRunPerKilledMutation() {
+    this.testee.registerResults(Arrays.asList(
+        makeResult(DetectionStatus.SURVIVED, 10),
+        makeResult(DetectionStatus.KILLED, 1),
+        makeResult(DetectionStatus.KILLED, 4),
+        makeResult(DetectionStatus.KILLED, 0)));
+    final String[] actual = generateReportLines();
+    assertEquals(
+        ">> Ran 5 tests against killed mutations (2.5 tests per killed mutation)",
+        actual[2]);
+  }
+
+  @Test
+  public void shouldReportTestsSavedByNotRunningDuplicateMutants() {
+    final MutationDetails duplicate = MutationTestResultMother
+        .createDetails("foo.java");
+    final MutationResult mr = new MutationResult(MutationTestResultMother
+        .createDetails("foo.java").withDuplicates(
+            Arrays.asList(duplicate, duplicate)), new MutationStatusTestPair(
+        3, DetectionStatus.KILLED, "foo"));
+    this.testee.registerResults(Collections.singletonList(mr));
+    assertEquals(6, this.testee.toStatistics().getNumberOfTestsSaved());
+    final String[] actual = generateReportLines();
+    assertEquals(
+        ">> Saved 6 test executions by not running mutants with identical bytecode",
+        actual[3]);
+  }
+
   private F<Score, Boolean> hasResultForMutator(final String mutator) {
     return new F<Score, Boolean>() {
 
@@ -15,6 +15,7 @@
 package org.pitest.mutationtest.tooling;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyCollection;
@@ -26,11 +27,13 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -43,9 +46,11 @@ import org.pitest.classinfo.HierarchicalClassId;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.coverage.CoverageGenerator;
+import org.pitest.coverage.CoverageMother;
 import org.pitest.functional.predicate.Predicate;
 import org.pitest.help.Help;
 import org.pitest.help.PitHelpError;
+import org.pitest.mutationtest.DetailedHistoryStore;
 import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.ListenerArguments;
 import org.pitest.mutationtest.MutationEngineFactory;
@@ -87,6 +92,9 @@ public class MutationCoverageReportTest {
   @Mock
   private HistoryStore                  history;
 
+  @Mock
+  private DetailedHistoryStore          detailedHistory;
+
   @Mock
   private MutationEngineFactory         mutationFactory;
 
@@ -147,7 +155,7 @@ public class MutationCoverageReportTest {
   @SuppressWarnings("unchecked")
   @Test
   public void shouldRecordClassPath() {
-    
+    this.data.setReuseCoverage(true);
     ClassName clazz = ClassName.fromClass(Foo.class);
 
     final HierarchicalClassId fooId = new HierarchicalClassId(
@@ -164,6 +172,41 @@ public class MutationCoverageReportTest {
     verify(this.history).recordClassPath(Arrays.asList(fooId), this.coverageDb);
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldRecordMethodHashesInStoresThatHoldThem() {
+    this.history = this.detailedHistory;
+    final ClassName clazz = ClassName.fromClass(Foo.class);
+    final HierarchicalClassId fooId = new HierarchicalClassId(
+        new ClassIdentifier(0, clazz), "0");
+    when(this.code.getCodeUnderTestNames()).thenReturn(
+        Collections.singleton(clazz));
+    when(this.code.getClassInfo(any(List.class))).thenReturn(
+        Collections.singletonList(ClassInfoMother.make(fooId.getId())));
+
+    createAndRunTestee();
+
+    final ArgumentCaptor<Map> hashes = ArgumentCaptor.forClass(Map.class);
+    verify(this.detailedHistory).recordClassPath(
+        Matchers.eq(Arrays.asList(fooId)), any(CoverageDatabase.class),
+        hashes.capture());
+    assertEquals(Collections.singleton(clazz), hashes.getValue().keySet());
+  }
+
+  @Test
+  public void shouldNotRecordCoverageOfEachTestWhenCoverageNotReused() {
+    this.data.setReuseCoverage(false);
+    when(this.coverageDb.getTestCoverage()).thenReturn(
+        Collections.singletonList(CoverageMother.aCoverageResult().build()));
+
+    createAndRunTestee();
+
+    final ArgumentCaptor<CoverageDatabase> recorded = ArgumentCaptor
+        .forClass(CoverageDatabase.class);
+    verify(this.history).recordClassPath(anyCollection(), recorded.capture());
+    assertTrue(recorded.getValue().getTestCoverage().isEmpty());
+  }
+
   @Test
   public void shouldCheckBuildSuitableForMutationTesting() {
     createAndRunTestee();
@@ -213,6 +213,100 @@ public class AbstractPitMojo extends AbstractMojo {
   @Parameter(defaultValue = "false", property = "exportLineCoverage")
   private boolean                     exportLineCoverage;
 
+  /**
+   * Keep minion processes alive between analysis units rather than launching
+   * a new JVM for each unit
+   */
+  @Parameter(defaultValue = "false", property = "reuseMinions")
+  private boolean                     reuseMinions;
+
+  /**
+   * Number of mutations a reused minion may analyse before it is replaced
+   */
+  @Parameter(defaultValue = "1000", property = "maxMutationsPerMinion")
+  private int                         maxMutationsPerMinion = 1000;
+
+  /**
+   * Encoding used for messages exchanged with minions, XML or BINARY
+   */
+  @Parameter(defaultValue = "XML", property = "wireFormat")
+  private String                      wireFormat            = "XML";
+
+  /**
+   * Allow idle threads to take mutations from slower analysis units
+   */
+  @Parameter(defaultValue = "false", property = "workStealing")
+  private boolean                     workStealing;
+
+  /**
+   * Format used to store history between runs, XML or BINARY
+   */
+  @Parameter(defaultValue = "XML", property = "historyFormat")
+  private String                      historyFormat         = "XML";
+
+  /**
+   * Number of mutants each minion tests concurrently. Values above 1 load
+   * each mutant into its own classloader instead of hotswapping it.
+   */
+  @Parameter(defaultValue = "1", property = "mutantThreads")
+  private int                         mutantThreads         = 1;
+
+  /**
+   * File in which parsed class information is kept between runs so that
+   * unchanged classes need not be read again
+   */
+  @Parameter(property = "classInfoCacheFile")
+  private File                        classInfoCacheFile;
+
+  /**
+   * Load all mutants of a class together in one schema class and switch
+   * between them rather than hotswapping each mutant in turn
+   */
+  @Parameter(defaultValue = "false", property = "mutantSchemata")
+  private boolean                     mutantSchemata;
+
+  /**
+   * Time tests against durations measured while running them against
+   * earlier mutants, rather than against the coverage run
+   */
+  @Parameter(defaultValue = "false", property = "adaptiveTimeouts")
+  private boolean                     adaptiveTimeouts;
+
+  /**
+   * Stop mutants that loop past the allowed time by throwing from within the
+   * test, so the minion can continue with further mutants
+   */
+  @Parameter(defaultValue = "false", property = "loopGuards")
+  private boolean                     loopGuards;
+
+  /**
+   * Port on which to accept remote agents that run minions on behalf of this
+   * build. If 0 minions are run locally.
+   */
+  @Parameter(defaultValue = "0", property = "agentPort")
+  private int                         agentPort;
+
+  /**
+   * Reuse the coverage of test classes unaffected by changes from the
+   * history, rather than gathering it again. Requires a history file.
+   */
+  @Parameter(defaultValue = "false", property = "reuseCoverage")
+  private boolean                     reuseCoverage;
+
+  /**
+   * Secret that the build and remote agents prove to each other that they
+   * share, without sending it. Required if agentPort is set.
+   */
+  @Parameter(property = "agentSecret")
+  private String                      agentSecret;
+
+  /**
+   * Address of the interface on which to accept remote agents. If not set
+   * agents are accepted on all interfaces.
+   */
+  @Parameter(property = "agentBindAddress")
+  private String                      agentBindAddress;
+
   /**
    * Mutation score threshold at which to fail build
    */
@@ -541,6 +635,62 @@ public class AbstractPitMojo extends AbstractMojo {
     return this.exportLineCoverage;
   }
 
+  public boolean isReuseMinions() {
+    return this.reuseMinions;
+  }
+
+  public int getMaxMutationsPerMinion() {
+    return this.maxMutationsPerMinion;
+  }
+
+  public String getWireFormat() {
+    return this.wireFormat;
+  }
+
+  public boolean isWorkStealing() {
+    return this.workStealing;
+  }
+
+  public String getHistoryFormat() {
+    return this.historyFormat;
+  }
+
+  public int getMutantThreads() {
+    return this.mutantThreads;
+  }
+
+  public File getClassInfoCacheFile() {
+    return this.classInfoCacheFile;
+  }
+
+  public boolean isMutantSchemata() {
+    return this.mutantSchemata;
+  }
+
+  public boolean isAdaptiveTimeouts() {
+    return this.adaptiveTimeouts;
+  }
+
+  public boolean isLoopGuards() {
+    return this.loopGuards;
+  }
+
+  public int getAgentPort() {
+    return this.agentPort;
+  }
+
+  public boolean isReuseCoverage() {
+    return this.reuseCoverage;
+  }
+
+  public String getAgentSecret() {
+    return this.agentSecret;
+  }
+
+  public String getAgentBindAddress() {
+    return this.agentBindAddress;
+  }
+
   protected RunDecision shouldRun() {
     RunDecision decision = new RunDecision();
 
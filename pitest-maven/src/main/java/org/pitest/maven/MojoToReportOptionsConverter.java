@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
 import java.util.Set;
 
@@ -36,8 +37,10 @@ import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.predicate.Predicate;
 import org.pitest.mutationtest.config.ReportOptions;
+import org.pitest.mutationtest.incremental.HistoryFormat;
 import org.pitest.testapi.TestGroupConfig;
 import org.pitest.util.Glob;
+import org.pitest.util.WireFormat;
 
 public class MojoToReportOptionsConverter {
 
@@ -141,6 +144,22 @@ public class MojoToReportOptionsConverter {
     determineHistory(data);
     
     data.setExportLineCoverage(this.mojo.isExportLineCoverage());
+    data.setReuseMinions(this.mojo.isReuseMinions());
+    data.setMaxMutationsPerMinion(this.mojo.getMaxMutationsPerMinion());
+    data.setWireFormat(WireFormat.valueOf(this.mojo.getWireFormat()
+        .toUpperCase(Locale.ENGLISH)));
+    data.setWorkStealing(this.mojo.isWorkStealing());
+    data.setHistoryFormat(HistoryFormat.valueOf(this.mojo.getHistoryFormat()
+        .toUpperCase(Locale.ENGLISH)));
+    data.setMutantThreads(this.mojo.getMutantThreads());
+    data.setClassInfoCacheLocation(this.mojo.getClassInfoCacheFile());
+    data.setMutantSchemata(this.mojo.isMutantSchemata());
+    data.setAdaptiveTimeouts(this.mojo.isAdaptiveTimeouts());
+    data.setLoopGuards(this.mojo.isLoopGuards());
+    data.setAgentPort(this.mojo.getAgentPort());
+    data.setReuseCoverage(this.mojo.isReuseCoverage());
+    data.setAgentSecret(this.mojo.getAgentSecret());
+    data.setAgentBindAddress(this.mojo.getAgentBindAddress());
     data.setMutationEngine(this.mojo.getMutationEngine());
     data.setJavaExecutable(this.mojo.getJavaExecutable());
     data.setFreeFormProperties(createPluginProperties());
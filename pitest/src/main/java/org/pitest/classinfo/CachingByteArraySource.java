@@ -17,13 +17,20 @@ public class CachingByteArraySource implements ClassByteArraySource {
 
   @Override
   public Option<byte[]> getBytes(String clazz) {
-    Option<byte[]> maybeBytes = cache.get(clazz);
+    Option<byte[]> maybeBytes;
+    synchronized (cache) {
+      maybeBytes = cache.get(clazz);
+    }
     if (maybeBytes != null) {
       return maybeBytes;
     }
-    
+
+    // read outside the lock so a slow lookup does not block other threads.
+    // Two threads may occasionally both read the same class.
     maybeBytes  = child.getBytes(clazz);
-    cache.put(clazz, maybeBytes);
+    synchronized (cache) {
+      cache.put(clazz, maybeBytes);
+    }
     return maybeBytes;
     
   }
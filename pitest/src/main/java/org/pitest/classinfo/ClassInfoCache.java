@@ -0,0 +1,494 @@
+package org.pitest.classinfo;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.pitest.classpath.ClassPath;
+import org.pitest.functional.Option;
+import org.pitest.util.Log;
+import org.pitest.util.PitError;
+import org.pitest.util.Unchecked;
+
+/**
+ * Persists the information extracted from classes between runs so that
+ * classes which have not changed need not be read or parsed again.
+ *
+ * Entries are keyed by class name and the location the class was loaded
+ * from. For a class within a jar the key includes the size and modification
+ * time of the jar, for a class in a directory those of the class file, so any
+ * change to the containing file invalidates the entry.
+ *
+ * The previous cache is read into memory when loaded and entries decoded
+ * only when requested. The file is not held open, so it can be replaced
+ * when closed by a new cache containing only entries used during this run.
+ *
+ * Tools that run repeatedly within one process can instead carry the entries
+ * used by one run over to the next in memory, with or without a file.
+ */
+public class ClassInfoCache implements Closeable {
+
+  /**
+   * Notified of each lookup
+   */
+  public interface Listener {
+    void hit(ClassName clazz);
+
+    void miss(ClassName clazz);
+  }
+
+  private static final Logger          LOG           = Log.getLogger();
+
+  private static final int             MAGIC         = 0x50434943;
+  private static final int             VERSION       = 1;
+  private static final int             HEADER_LENGTH = 12;
+  private static final Charset         UTF8          = Charset
+                                                         .forName("UTF-8");
+
+  private static final byte            STRING        = 'S';
+  private static final byte            INT           = 'I';
+  private static final byte            LONG          = 'J';
+  private static final byte            BOOLEAN       = 'Z';
+  private static final byte            CHAR          = 'C';
+  private static final byte            BYTE          = 'B';
+  private static final byte            SHORT         = 'H';
+  private static final byte            FLOAT         = 'F';
+  private static final byte            DOUBLE        = 'D';
+  private static final byte            ARRAY         = '[';
+
+  private final File                   file;
+  private final ClassPath              classPath;
+  private final Listener               listener;
+
+  // entries used by an earlier run within this process
+  private final Map<String, byte[]>    retained;
+
+  // size and modification time of each archive, looked up once per run
+  private final Map<String, String>    archives      = new ConcurrentHashMap<String, String>();
+
+  // entries used or created during this run, written out on close
+  private final Map<String, byte[]>    current       = new ConcurrentHashMap<String, byte[]>();
+
+  // guarded by this
+  private boolean                      loaded;
+  private ByteBuffer                   previous;
+  private Map<String, Integer>         previousIndex;
+
+  public ClassInfoCache(final File file, final ClassPath classPath,
+      final Listener listener) {
+    this(file, classPath, listener, Collections.<String, byte[]> emptyMap());
+  }
+
+  /**
+   * Creates a cache held only in memory
+   */
+  public ClassInfoCache(final ClassPath classPath, final Listener listener) {
+    this(null, classPath, listener);
+  }
+
+  private ClassInfoCache(final File file, final ClassPath classPath,
+      final Listener listener, final Map<String, byte[]> retained) {
+    this.file = file;
+    this.classPath = classPath;
+    this.listener = listener;
+    this.retained = retained;
+  }
+
+  /**
+   * @return cache for a later run against the given class path, holding in
+   *         memory the entries used during this run
+   */
+  public ClassInfoCache nextRun(final ClassPath classPath,
+      final Listener listener) {
+    return new ClassInfoCache(this.file, classPath, listener,
+        new HashMap<String, byte[]>(this.current));
+  }
+
+  /**
+   * Reads the previous cache and indexes its entries. Called on first lookup
+   * if not called earlier.
+   */
+  public synchronized void load() {
+    if (this.loaded) {
+      return;
+    }
+    this.loaded = true;
+    this.previousIndex = new ConcurrentHashMap<String, Integer>();
+    if ((this.file == null) || !this.file.exists()) {
+      return;
+    }
+    try {
+      this.previous = readCache(this.file);
+      if (this.previous != null) {
+        indexPrevious();
+      }
+    } catch (final IOException e) {
+      discardPrevious(e);
+    } catch (final RuntimeException e) {
+      // truncated or otherwise corrupt
+      discardPrevious(e);
+    }
+  }
+
+  private void discardPrevious(final Exception e) {
+    LOG.warning("Could not read class info cache " + this.file + " : " + e);
+    this.previous = null;
+    this.previousIndex.clear();
+  }
+
+  Option<ClassInfoBuilder> get(final ClassName clazz) {
+    load();
+    final Option<String> key = keyFor(clazz);
+    if (key.hasNone()) {
+      return Option.none();
+    }
+    final ClassInfoBuilder found = read(key.value());
+    if (found == null) {
+      this.listener.miss(clazz);
+      return Option.none();
+    }
+    this.listener.hit(clazz);
+    return Option.some(found);
+  }
+
+  void put(final ClassName clazz, final ClassInfoBuilder info) {
+    final Option<String> key = keyFor(clazz);
+    if (key.hasNone()) {
+      return;
+    }
+    final byte[] record = encode(info);
+    if (record != null) {
+      this.current.put(key.value(), record);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (this.file == null) {
+      return;
+    }
+    final File temp = new File(this.file.getPath() + ".tmp");
+    if (this.file.getParentFile() != null) {
+      this.file.getParentFile().mkdirs();
+    }
+    try {
+      final DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(new FileOutputStream(temp)));
+      try {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(this.current.size());
+        for (final Entry<String, byte[]> each : this.current.entrySet()) {
+          final byte[] key = each.getKey().getBytes(UTF8);
+          out.writeInt(key.length);
+          out.write(key);
+          out.writeInt(each.getValue().length);
+          out.write(each.getValue());
+        }
+      } finally {
+        out.close();
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+
+    synchronized (this) {
+      this.previous = null;
+      this.previousIndex = null;
+      this.loaded = false;
+    }
+    // if the old cache cannot be replaced it is kept, and the next run parses
+    // what changed again
+    if ((this.file.exists() && !this.file.delete())
+        || !temp.renameTo(this.file)) {
+      LOG.warning("Could not replace class info cache " + this.file);
+      temp.delete();
+    }
+  }
+
+  private ClassInfoBuilder read(final String key) {
+    final byte[] current = this.current.get(key);
+    if (current != null) {
+      return decode(ByteBuffer.wrap(current));
+    }
+    byte[] record = this.retained.get(key);
+    if (record == null) {
+      record = previousRecord(key);
+    }
+    if (record == null) {
+      return null;
+    }
+    this.current.put(key, record);
+    return decode(ByteBuffer.wrap(record));
+  }
+
+  private synchronized byte[] previousRecord(final String key) {
+    if (this.previous == null) {
+      return null;
+    }
+    final Integer offset = this.previousIndex.get(key);
+    if (offset == null) {
+      return null;
+    }
+    final ByteBuffer in = this.previous.duplicate();
+    in.position(offset);
+    final byte[] record = new byte[in.getInt()];
+    in.get(record);
+    return record;
+  }
+
+  private void indexPrevious() {
+    final ByteBuffer in = this.previous.duplicate();
+    in.position(HEADER_LENGTH);
+    final int entries = this.previous.getInt(8);
+    for (int i = 0; i != entries; i++) {
+      final byte[] key = new byte[in.getInt()];
+      in.get(key);
+      this.previousIndex.put(new String(key, UTF8), in.position());
+      in.position(in.position() + 4 + in.getInt(in.position()));
+    }
+  }
+
+  private Option<String> keyFor(final ClassName clazz) {
+    final URL url = this.classPath.findResource(clazz.asInternalName()
+        + ".class");
+    if (url == null) {
+      return Option.none();
+    }
+    final String location = url.toExternalForm();
+    if ("jar".equals(url.getProtocol()) && location.startsWith("jar:file:")) {
+      final String archive = location.substring("jar:file:".length(),
+          location.indexOf("!/"));
+      return Option.some(location + "|" + archiveStamp(archive));
+    }
+    if ("file".equals(url.getProtocol())) {
+      try {
+        final File classFile = new File(url.toURI());
+        return Option.some(location + "|" + stamp(classFile));
+      } catch (final URISyntaxException e) {
+        return Option.none();
+      }
+    }
+    return Option.none();
+  }
+
+  private String archiveStamp(final String archive) {
+    String stamp = this.archives.get(archive);
+    if (stamp == null) {
+      stamp = stamp(new File(archive));
+      this.archives.put(archive, stamp);
+    }
+    return stamp;
+  }
+
+  private static String stamp(final File file) {
+    return file.length() + "|" + file.lastModified();
+  }
+
+  private static ByteBuffer readCache(final File file) throws IOException {
+    if (file.length() > Integer.MAX_VALUE) {
+      LOG.warning("Class info cache " + file + " is too large to read");
+      return null;
+    }
+    final byte[] bytes = new byte[(int) file.length()];
+    final DataInputStream in = new DataInputStream(new FileInputStream(file));
+    try {
+      in.readFully(bytes);
+    } finally {
+      in.close();
+    }
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    if ((buffer.limit() < HEADER_LENGTH) || (buffer.getInt(0) != MAGIC)
+        || (buffer.getInt(4) != VERSION)) {
+      LOG.warning("Class info cache " + file + " is not in a supported format");
+      return null;
+    }
+    return buffer;
+  }
+
+  /**
+   * @return the encoded info, or null if it holds annotation values that
+   *         cannot be stored
+   */
+  static byte[] encode(final ClassInfoBuilder info) {
+    try {
+      final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+      final DataOutputStream out = new DataOutputStream(bos);
+      out.writeLong(info.id.getHash());
+      writeString(out, info.id.getName().asInternalName());
+      out.writeInt(info.access);
+      writeOptionalString(out, info.outerClass);
+      writeOptionalString(out, info.superClass);
+      writeOptionalString(out, info.sourceFile);
+      out.writeInt(info.codeLines.size());
+      for (final Integer each : info.codeLines) {
+        out.writeInt(each);
+      }
+      out.writeInt(info.annotations.size());
+      for (final String each : info.annotations) {
+        writeString(out, each);
+      }
+      out.writeInt(info.classAnnotationValues.size());
+      for (final Entry<ClassName, Object> each : info.classAnnotationValues
+          .entrySet()) {
+        writeString(out, each.getKey().asInternalName());
+        if (!writeValue(out, each.getValue())) {
+          return null;
+        }
+      }
+      out.close();
+      return bos.toByteArray();
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  static ClassInfoBuilder decode(final ByteBuffer in) {
+    final ClassInfoBuilder info = new ClassInfoBuilder();
+    final long hash = in.getLong();
+    info.id = new ClassIdentifier(hash, ClassName.fromString(readString(in)));
+    info.access = in.getInt();
+    info.outerClass = readOptionalString(in);
+    info.superClass = readOptionalString(in);
+    info.sourceFile = readOptionalString(in);
+    final int lines = in.getInt();
+    for (int i = 0; i != lines; i++) {
+      info.registerCodeLine(in.getInt());
+    }
+    final int annotations = in.getInt();
+    for (int i = 0; i != annotations; i++) {
+      info.registerAnnotation(readString(in));
+    }
+    final int values = in.getInt();
+    for (int i = 0; i != values; i++) {
+      info.registerClassAnnotationValue(ClassName.fromString(readString(in)),
+          readValue(in));
+    }
+    return info;
+  }
+
+  private static boolean writeValue(final DataOutputStream out,
+      final Object value) throws IOException {
+    if (value instanceof String) {
+      out.writeByte(STRING);
+      writeString(out, (String) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(INT);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      out.writeByte(LONG);
+      out.writeLong((Long) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte(BOOLEAN);
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof Character) {
+      out.writeByte(CHAR);
+      out.writeChar((Character) value);
+    } else if (value instanceof Byte) {
+      out.writeByte(BYTE);
+      out.writeByte((Byte) value);
+    } else if (value instanceof Short) {
+      out.writeByte(SHORT);
+      out.writeShort((Short) value);
+    } else if (value instanceof Float) {
+      out.writeByte(FLOAT);
+      out.writeFloat((Float) value);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof Object[]) {
+      final Object[] values = (Object[]) value;
+      out.writeByte(ARRAY);
+      out.writeInt(values.length);
+      for (final Object each : values) {
+        if (!writeValue(out, each)) {
+          return false;
+        }
+      }
+    } else {
+      return false;
+    }
+    return true;
+  }
+
+  private static Object readValue(final ByteBuffer in) {
+    final byte type = in.get();
+    switch (type) {
+    case STRING:
+      return readString(in);
+    case INT:
+      return in.getInt();
+    case LONG:
+      return in.getLong();
+    case BOOLEAN:
+      return in.get() != 0;
+    case CHAR:
+      return in.getChar();
+    case BYTE:
+      return in.get();
+    case SHORT:
+      return in.getShort();
+    case FLOAT:
+      return in.getFloat();
+    case DOUBLE:
+      return in.getDouble();
+    case ARRAY:
+      final List<Object> values = new ArrayList<Object>();
+      final int length = in.getInt();
+      for (int i = 0; i != length; i++) {
+        values.add(readValue(in));
+      }
+      return values.toArray();
+    default:
+      throw new PitError("Unknown value type " + type
+          + " in class info cache");
+    }
+  }
+
+  private static void writeOptionalString(final DataOutputStream out,
+      final String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      writeString(out, value);
+    }
+  }
+
+  private static String readOptionalString(final ByteBuffer in) {
+    if (in.get() != 0) {
+      return readString(in);
+    }
+    return null;
+  }
+
+  private static void writeString(final DataOutputStream out,
+      final String value) throws IOException {
+    final byte[] bytes = value.getBytes(UTF8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(final ByteBuffer in) {
+    final byte[] bytes = new byte[in.getInt()];
+    in.get(bytes);
+    return new String(bytes, UTF8);
+  }
+
+}
@@ -60,6 +60,19 @@ public class ComputeClassWriter extends ClassWriter {
     this.cache = cache;
   }
 
+  /**
+   * Creates a writer seeded with the constant pool of the supplied reader.
+   * Methods that the reader passes straight through to this writer are
+   * copied as raw bytes, without being parsed or having frames recomputed.
+   */
+  public ComputeClassWriter(final ClassReader reader,
+      final ClassByteArraySource bytes, final Map<String, String> cache,
+      final int flags) {
+    super(reader, flags);
+    this.bytes = bytes;
+    this.cache = cache;
+  }
+
   @Override
   protected String getCommonSuperClass(final String type1, final String type2) {
     final String key = type1 + "!_!" + type2;
@@ -14,27 +14,44 @@
  */
 package org.pitest.classinfo;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.pitest.functional.Option;
 
 public class Repository implements ClassInfoSource {
 
   private final HashFunction              hashFunction;
-  private final Map<ClassName, ClassInfo> knownClasses   = new HashMap<ClassName, ClassInfo>();
-  private final Set<ClassName>            unknownClasses = new HashSet<ClassName>();
+  private final Map<ClassName, ClassInfo> knownClasses   = new ConcurrentHashMap<ClassName, ClassInfo>();
+  private final Set<ClassName>            unknownClasses = Collections
+                                                             .newSetFromMap(new ConcurrentHashMap<ClassName, Boolean>());
   private final ClassByteArraySource      source;
+  private final Option<ClassInfoCache>    cache;
 
   public Repository(final ClassByteArraySource source) {
     this(source, new AddlerHash());
   }
 
+  /**
+   * @param cache
+   *          persistent store consulted before reading and parsing a class
+   */
+  public Repository(final ClassByteArraySource source,
+      final ClassInfoCache cache) {
+    this(source, new AddlerHash(), Option.some(cache));
+  }
+
   Repository(final ClassByteArraySource source, final HashFunction hashFunction) {
+    this(source, hashFunction, Option.<ClassInfoCache> none());
+  }
+
+  private Repository(final ClassByteArraySource source,
+      final HashFunction hashFunction, final Option<ClassInfoCache> cache) {
     this.source = source;
     this.hashFunction = hashFunction;
+    this.cache = cache;
   }
 
   public boolean hasClass(final ClassName name) {
@@ -65,10 +82,19 @@ public class Repository implements ClassInfoSource {
   }
 
   private Option<ClassInfo> nameToClassInfo(final ClassName name) {
+    if (this.cache.hasSome()) {
+      final Option<ClassInfoBuilder> cached = this.cache.value().get(name);
+      if (cached.hasSome()) {
+        return contructClassInfo(cached.value());
+      }
+    }
     final Option<byte[]> bytes = querySource(name);
     if (bytes.hasSome()) {
       final ClassInfoBuilder classData = ClassInfoVisitor.getClassInfo(name,
           bytes.value(), this.hashFunction.hash(bytes.value()));
+      if (this.cache.hasSome()) {
+        this.cache.value().put(name, classData);
+      }
       return contructClassInfo(classData);
     } else {
       return Option.none();
@@ -87,7 +87,7 @@ public class ClassPath {
       if (!f.canRead()) {
         throw new IOException("Can't read the file " + f);
       }
-      rs.add(new ArchiveClassPathRoot(f));
+      rs.add(new IndexedArchiveClassPathRoot(f));
     } catch (final ZipException ex) {
       LOG.warning("Can't open the archive " + f);
     }
@@ -0,0 +1,57 @@
+package org.pitest.classpath;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detects class path archives that have changed between runs within a long
+ * lived process.
+ *
+ * Archives are kept open and indexed between lookups, so an archive rebuilt
+ * since it was last checked is discarded from the shared pool and is reopened
+ * when next read. Directories are read afresh on every lookup so need no
+ * watching.
+ *
+ * Changes are found by comparing the size and modification time of each
+ * archive with those seen by the previous check.
+ */
+public class ClassPathWatcher {
+
+  private final OpenArchives      archives;
+  private final Map<File, String> stamps = new HashMap<File, String>();
+
+  public ClassPathWatcher() {
+    this(OpenArchives.shared());
+  }
+
+  ClassPathWatcher(final OpenArchives archives) {
+    this.archives = archives;
+  }
+
+  /**
+   * @return archives within the given class path elements that have changed
+   *         since they were last checked
+   */
+  public synchronized Collection<File> checkForChanges(
+      final Collection<File> elements) {
+    final List<File> changed = new ArrayList<File>();
+    for (final File each : elements) {
+      if (each.isDirectory()) {
+        continue;
+      }
+      final File file = each.getAbsoluteFile();
+      final String stamp = file.length() + "|" + file.lastModified();
+      final String previous = this.stamps.put(file, stamp);
+      if ((previous != null) && !previous.equals(stamp)) {
+        this.archives.discard(file);
+        changed.add(each);
+      }
+    }
+    return changed;
+  }
+
+}
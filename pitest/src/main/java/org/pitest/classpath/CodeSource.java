@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassInfoCache;
 import org.pitest.classinfo.ClassInfoSource;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.NameToClassInfo;
@@ -35,6 +36,12 @@ public class CodeSource implements ClassInfoSource {
         classPath.getClassPath())), testIdentifier);
   }
 
+  public CodeSource(final ProjectClassPaths classPath,
+      final TestClassIdentifier testIdentifier, final ClassInfoCache cache) {
+    this(classPath, new Repository(new ClassPathByteArraySource(
+        classPath.getClassPath()), cache), testIdentifier);
+  }
+
   CodeSource(final ProjectClassPaths classPath,
       final Repository classRepository, final TestClassIdentifier testIdentifier) {
     this.classPath = classPath;
@@ -53,6 +60,17 @@ public class CodeSource implements ClassInfoSource {
     return codeClasses;
   }
 
+  /**
+   * @return every class in the test roots, whether or not it is a test
+   */
+  public Set<ClassName> getTestTreeNames() {
+    final Set<ClassName> testTree = new HashSet<ClassName>();
+    for (final ClassName each : this.classPath.testTree()) {
+      testTree.add(each);
+    }
+    return testTree;
+  }
+
   @SuppressWarnings("unchecked")
   public List<ClassInfo> getTests() {
     return flatMap(this.classPath.test(), nameToClassInfo()).filter(
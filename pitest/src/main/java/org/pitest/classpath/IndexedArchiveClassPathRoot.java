@@ -0,0 +1,87 @@
+package org.pitest.classpath;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.pitest.functional.Option;
+
+/**
+ * ClassPathRoot wrapping a jar or zip file that, unlike
+ * {@link ArchiveClassPathRoot}, keeps the archive open between lookups and
+ * answers from an index of its entries built when first used.
+ */
+public class IndexedArchiveClassPathRoot implements ClassPathRoot {
+
+  private final File                 file;
+  private final OpenArchives.Archive archive;
+
+  public IndexedArchiveClassPathRoot(final File file) {
+    this(file, OpenArchives.shared());
+  }
+
+  IndexedArchiveClassPathRoot(final File file, final OpenArchives archives) {
+    this.file = file;
+    this.archive = archives.archiveFor(file);
+  }
+
+  /**
+   * Closes the archives kept open between lookups, so that a long lived
+   * process holds no files open between runs. They are reopened, and checked
+   * for changes, when next read.
+   */
+  public static void closeSharedArchives() {
+    OpenArchives.shared().closeAll();
+  }
+
+  @Override
+  public InputStream getData(final String name) throws IOException {
+    final byte[] bytes = this.archive.read(name.replace('.', '/') + ".class");
+    if (bytes == null) {
+      return null;
+    }
+    return new ByteArrayInputStream(bytes);
+  }
+
+  @Override
+  public URL getResource(final String name) throws MalformedURLException {
+    if (this.archive.entryNames().contains(name)) {
+      return new URL("jar:file:" + this.file.getPath() + "!/" + name);
+    }
+    return null;
+  }
+
+  @Override
+  public Collection<String> classNames() {
+    final List<String> names = new ArrayList<String>();
+    for (final String each : this.archive.entryNames()) {
+      if (each.endsWith(".class")) {
+        names.add(stringToClassName(each));
+      }
+    }
+    return names;
+  }
+
+  private static String stringToClassName(final String name) {
+    return name.substring(0, (name.length() - ".class".length())).replace('/',
+        '.');
+  }
+
+  @Override
+  public Option<String> cacheLocation() {
+    return Option.some(this.file.getAbsolutePath());
+  }
+
+  @Override
+  public String toString() {
+    return "IndexedArchiveClassPathRoot [file=" + this.file.getName()
+        + "]";
+  }
+
+}
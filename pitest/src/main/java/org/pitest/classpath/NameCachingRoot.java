@@ -20,7 +20,7 @@ public class NameCachingRoot implements ClassPathRoot {
   
   private final ClassPathRoot child;
   
-  private SoftReference<Collection<String>> cache;
+  private volatile SoftReference<Collection<String>> cache;
 
   public NameCachingRoot(ClassPathRoot child) {
     this.child = child;
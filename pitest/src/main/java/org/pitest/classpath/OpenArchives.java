@@ -0,0 +1,234 @@
+package org.pitest.classpath;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.pitest.util.StreamUtil;
+import org.pitest.util.Unchecked;
+
+/**
+ * Bounded pool of open archives. Rather than opening and closing a zip file
+ * for each lookup, archives are kept open until the pool is full and the
+ * least recently used is closed. A closed archive is reopened when next read.
+ *
+ * Each archive also holds an index of its entry names so that lookups for
+ * entries it does not contain never touch the file. An archive that is not
+ * open is checked for changes, by its size and modification time, before its
+ * index is used, so that closing the pool at the end of a run is enough for
+ * the next run in the same process to see rebuilt archives.
+ */
+class OpenArchives {
+
+  static final int                    DEFAULT_MAX_OPEN = 64;
+
+  private static final OpenArchives    SHARED           = new OpenArchives(
+                                                            DEFAULT_MAX_OPEN);
+
+  private final int                    maxOpen;
+  private final Map<File, Archive>     archives         = new HashMap<File, Archive>();
+
+  // access ordered so the first entry is the least recently used
+  private final Map<Archive, Boolean>  open             = new LinkedHashMap<Archive, Boolean>(
+                                                            16, 0.75f, true);
+
+  OpenArchives(final int maxOpen) {
+    this.maxOpen = maxOpen;
+  }
+
+  static OpenArchives shared() {
+    return SHARED;
+  }
+
+  synchronized Archive archiveFor(final File file) {
+    final File key = file.getAbsoluteFile();
+    Archive archive = this.archives.get(key);
+    if (archive == null) {
+      archive = new Archive(key, this);
+      this.archives.put(key, archive);
+    }
+    return archive;
+  }
+
+  /**
+   * Discards the open file and index of an archive that has changed on disk,
+   * so that later roots for the file read its new contents.
+   */
+  void discard(final File file) {
+    final Archive archive;
+    synchronized (this) {
+      archive = this.archives.remove(file.getAbsoluteFile());
+      if (archive != null) {
+        this.open.remove(archive);
+      }
+    }
+    if (archive != null) {
+      archive.close();
+    }
+  }
+
+  /**
+   * Closes every open archive. Indexes are kept, but checked for changes to
+   * their archive before they are next used.
+   */
+  void closeAll() {
+    final List<Archive> toClose;
+    synchronized (this) {
+      toClose = new ArrayList<Archive>(this.open.keySet());
+      this.open.clear();
+    }
+    for (final Archive each : toClose) {
+      each.close();
+    }
+  }
+
+  synchronized int openCount() {
+    return this.open.size();
+  }
+
+  private void used(final Archive archive) {
+    Archive eldest = null;
+    synchronized (this) {
+      this.open.put(archive, Boolean.TRUE);
+      if (this.open.size() > this.maxOpen) {
+        final Iterator<Archive> it = this.open.keySet().iterator();
+        eldest = it.next();
+        it.remove();
+      }
+    }
+    // close outside of our lock so we never hold it while waiting on an
+    // archive that is mid read
+    if (eldest != null) {
+      eldest.close();
+    }
+  }
+
+  static final class Archive {
+
+    private final File                 file;
+    private final OpenArchives         pool;
+
+    // guarded by this
+    private ZipFile                    zip;
+    private SoftReference<Set<String>> index;
+    private String                     indexedStamp;
+
+    private Archive(final File file, final OpenArchives pool) {
+      this.file = file;
+      this.pool = pool;
+    }
+
+    Set<String> entryNames() {
+      Set<String> names;
+      synchronized (this) {
+        discardIndexIfChangedWhileClosed();
+        names = this.index != null ? this.index.get() : null;
+        if (names != null) {
+          return names;
+        }
+        this.indexedStamp = stamp();
+        names = new LinkedHashSet<String>();
+        final Enumeration<? extends ZipEntry> entries = zip().entries();
+        while (entries.hasMoreElements()) {
+          names.add(entries.nextElement().getName());
+        }
+        this.index = new SoftReference<Set<String>>(names);
+      }
+      this.pool.used(this);
+      return names;
+    }
+
+    /**
+     * @return contents of the named entry, or null if it does not exist
+     */
+    byte[] read(final String entryName) throws IOException {
+      if (!entryNames().contains(entryName)) {
+        return null;
+      }
+      byte[] bytes;
+      synchronized (this) {
+        final ZipFile z = zip();
+        final ZipEntry entry = z.getEntry(entryName);
+        if (entry == null) {
+          return null;
+        }
+        bytes = readFully(z.getInputStream(entry), entry.getSize());
+      }
+      this.pool.used(this);
+      return bytes;
+    }
+
+    synchronized void close() {
+      if (this.zip != null) {
+        try {
+          this.zip.close();
+        } catch (final IOException e) {
+          throw Unchecked.translateCheckedException(e);
+        } finally {
+          this.zip = null;
+        }
+      }
+    }
+
+    // while open the zip file reads the contents it was opened with, so only
+    // an archive that has been closed can be out of step with its index
+    private void discardIndexIfChangedWhileClosed() {
+      if ((this.zip == null) && (this.index != null)
+          && !stamp().equals(this.indexedStamp)) {
+        this.index = null;
+      }
+    }
+
+    private String stamp() {
+      return this.file.length() + "|" + this.file.lastModified();
+    }
+
+    private ZipFile zip() {
+      if (this.zip == null) {
+        try {
+          this.zip = new ZipFile(this.file);
+        } catch (final IOException ex) {
+          throw Unchecked.translateCheckedException(ex.getMessage() + " ("
+              + this.file + ")", ex);
+        }
+      }
+      return this.zip;
+    }
+
+    private static byte[] readFully(final InputStream is, final long size)
+        throws IOException {
+      try {
+        if (size < 0) {
+          return StreamUtil.streamToByteArray(is);
+        }
+        final byte[] bytes = new byte[(int) size];
+        int offset = 0;
+        while (offset < bytes.length) {
+          final int read = is.read(bytes, offset, bytes.length - offset);
+          if (read < 0) {
+            throw new IOException("Unexpected end of entry after " + offset
+                + " of " + size + " bytes");
+          }
+          offset = offset + read;
+        }
+        return bytes;
+      } finally {
+        is.close();
+      }
+    }
+
+  }
+
+}
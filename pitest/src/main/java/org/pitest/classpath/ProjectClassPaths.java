@@ -16,6 +16,7 @@ package org.pitest.classpath;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.functional.FCollection;
+import org.pitest.functional.prelude.Prelude;
 
 public class ProjectClassPaths {
 
@@ -44,6 +45,19 @@ public class ProjectClassPaths {
         this.classFilter.getTest()).map(ClassName.stringToClassName());
   }
 
+  /**
+   * @return every class in the test roots that are not also code roots,
+   *         including helpers, fixtures and base classes that are not tests
+   */
+  @SuppressWarnings("unchecked")
+  public Iterable<ClassName> testTree() {
+    return FCollection.map(
+        this.classPath.getComponent(
+            Prelude.and(this.pathFilter.getTestFilter(),
+                Prelude.not(this.pathFilter.getCodeFilter()))).classNames(),
+        ClassName.stringToClassName());
+  }
+
   public ClassPath getClassPath() {
     return this.classPath;
   }
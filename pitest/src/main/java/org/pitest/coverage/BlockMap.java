@@ -0,0 +1,17 @@
+package org.pitest.coverage;
+
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Location;
+
+public interface BlockMap {
+
+  /**
+   * @param location
+   *          method containing the instruction
+   * @param instructionIndex
+   *          zero based index of the instruction as ASM represents it
+   * @return the coverage block containing the instruction, if it can be found
+   */
+  Option<BlockLocation> blockFor(Location location, int instructionIndex);
+
+}
@@ -0,0 +1,97 @@
+package org.pitest.coverage.analysis;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.BlockMap;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+
+/**
+ * Finds blocks by analysing methods in the same way as the coverage
+ * instrumentation, so the blocks found match those coverage was recorded
+ * against.
+ */
+public class BlockMapper implements BlockMap {
+
+  // mutants are assigned tests one class at a time, so only a few classes
+  // need to be held at once
+  private static final int                                 CACHE_SIZE = 16;
+
+  private final CodeSource                                 source;
+
+  // guarded by this
+  private final Map<ClassName, Map<Location, List<Block>>> cache      = leastRecentlyUsed();
+
+  public BlockMapper(final CodeSource source) {
+    this.source = source;
+  }
+
+  @Override
+  public Option<BlockLocation> blockFor(final Location location,
+      final int instructionIndex) {
+    final List<Block> blocks = blocksFor(location.getClassName()).get(
+        location);
+    if (blocks == null) {
+      return Option.none();
+    }
+    for (int i = 0; i != blocks.size(); i++) {
+      final Block each = blocks.get(i);
+      if ((instructionIndex >= each.getFirstInstruction())
+          && (instructionIndex <= each.getLastInstruction())) {
+        return Option.some(new BlockLocation(location, i));
+      }
+    }
+    return Option.none();
+  }
+
+  private static Map<ClassName, Map<Location, List<Block>>> leastRecentlyUsed() {
+    return new LinkedHashMap<ClassName, Map<Location, List<Block>>>(
+        CACHE_SIZE, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(
+          final Entry<ClassName, Map<Location, List<Block>>> eldest) {
+        return size() > CACHE_SIZE;
+      }
+    };
+  }
+
+  private synchronized Map<Location, List<Block>> blocksFor(
+      final ClassName clazz) {
+    Map<Location, List<Block>> blocks = this.cache.get(clazz);
+    if (blocks == null) {
+      blocks = analyse(clazz);
+      this.cache.put(clazz, blocks);
+    }
+    return blocks;
+  }
+
+  private Map<Location, List<Block>> analyse(final ClassName clazz) {
+    final Map<Location, List<Block>> map = new HashMap<Location, List<Block>>();
+    for (final byte[] bytes : this.source.fetchClassBytes(clazz)) {
+      final ClassReader cr = new ClassReader(bytes);
+      final ClassNode classNode = new ClassNode();
+      cr.accept(classNode, ClassReader.EXPAND_FRAMES);
+      for (final Object m : classNode.methods) {
+        final MethodNode mn = (MethodNode) m;
+        final Location l = Location.location(clazz,
+            MethodName.fromString(mn.name), mn.desc);
+        map.put(l, ControlFlowAnalyser.analyze(mn));
+      }
+    }
+    return map;
+  }
+
+}
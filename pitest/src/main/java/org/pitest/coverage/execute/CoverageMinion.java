@@ -42,6 +42,7 @@ import org.pitest.util.ExitCode;
 import org.pitest.util.Glob;
 import org.pitest.util.Log;
 import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.WireFormat;
 
 import sun.pitest.CodeCoverageStore;
 
@@ -64,12 +65,13 @@ public class CoverageMinion {
       final SafeDataInputStream dis = new SafeDataInputStream(
           s.getInputStream());
       
+      final WireFormat format = WireFormat.readHandshake(dis);
       final CoverageOptions paramsFromParent = dis.read(CoverageOptions.class);
   
       Log.setVerbose(paramsFromParent.isVerbose());
     
       invokeQueue = new CoveragePipe(new BufferedOutputStream(
-          s.getOutputStream()));
+          s.getOutputStream()), format);
       
       CodeCoverageStore.init(invokeQueue);
 
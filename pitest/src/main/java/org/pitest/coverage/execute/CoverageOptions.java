@@ -17,6 +17,7 @@ package org.pitest.coverage.execute;
 
 import org.pitest.functional.predicate.Predicate;
 import org.pitest.testapi.Configuration;
+import org.pitest.util.WireFormat;
 
 public class CoverageOptions {
 
@@ -24,11 +25,19 @@ public class CoverageOptions {
   private final boolean           verbose;
   private final Configuration     pitConfig;
   private final int               maxDependencyDistance;
+  private final WireFormat        wireFormat;
 
   public CoverageOptions(final Predicate<String> filter,
       final Configuration pitConfig, final boolean verbose,
       final int maxDependencyDistance) {
+    this(filter, pitConfig, verbose, maxDependencyDistance, WireFormat.XML);
+  }
+
+  public CoverageOptions(final Predicate<String> filter,
+      final Configuration pitConfig, final boolean verbose,
+      final int maxDependencyDistance, final WireFormat wireFormat) {
     this.filter = filter;
+    this.wireFormat = wireFormat;
     this.verbose = verbose;
     this.pitConfig = pitConfig;
     this.maxDependencyDistance = maxDependencyDistance;
@@ -50,4 +59,8 @@ public class CoverageOptions {
     return this.maxDependencyDistance;
   }
 
+  public WireFormat getWireFormat() {
+    return this.wireFormat;
+  }
+
 }
@@ -1,22 +1,28 @@
 package org.pitest.coverage.execute;
 
 import java.io.OutputStream;
-import java.util.Collection;
 
 import org.pitest.coverage.CoverageReceiver;
 import org.pitest.testapi.Description;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Id;
 import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
 
 import sun.pitest.CodeCoverageStore;
 
 public class CoveragePipe implements CoverageReceiver {
 
   private final SafeDataOutputStream dos;
+  private final DescriptionCodec     descriptions;
 
   public CoveragePipe(final OutputStream dos) {
+    this(dos, WireFormat.XML);
+  }
+
+  public CoveragePipe(final OutputStream dos, final WireFormat format) {
     this.dos = new SafeDataOutputStream(dos);
+    this.descriptions = new DescriptionCodec(format);
   }
 
   @Override
@@ -27,19 +33,27 @@ public class CoveragePipe implements CoverageReceiver {
   @Override
   public synchronized void recordTestOutcome(final Description description,
       final boolean wasGreen, final int executionTime) {
-    final Collection<Long> hits = CodeCoverageStore.getHits();
+    final int[] hitClasses = CodeCoverageStore.getHitClasses();
 
     this.dos.writeByte(Id.OUTCOME);
-    this.dos.write(description);
-    this.dos.writeInt(hits.size());
-    for (final Long each : hits) {
-      this.dos.writeLong(each);
+    this.descriptions.write(this.dos, description);
+    this.dos.writeVarInt(hitClasses.length);
+    for (final int each : hitClasses) {
+      writeHitProbes(each, CodeCoverageStore.getHitProbes(each));
     }
     this.dos.writeBoolean(wasGreen);
     this.dos.writeInt(executionTime);
 
   }
 
+  private void writeHitProbes(final int classId, final long[] bitmap) {
+    this.dos.writeVarInt(classId);
+    this.dos.writeVarInt(bitmap.length);
+    for (final long each : bitmap) {
+      this.dos.writeLong(each);
+    }
+  }
+
   public synchronized void end(final ExitCode exitCode) {
     this.dos.writeByte(Id.DONE);
     this.dos.writeInt(exitCode.getCode());
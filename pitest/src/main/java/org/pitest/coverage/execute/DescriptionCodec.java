@@ -0,0 +1,38 @@
+package org.pitest.coverage.execute;
+
+import org.pitest.testapi.Description;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
+
+/**
+ * Reads and writes the test descriptions sent with each coverage result in
+ * the agreed wire format.
+ */
+public class DescriptionCodec {
+
+  private final WireFormat format;
+
+  public DescriptionCodec(final WireFormat format) {
+    this.format = format;
+  }
+
+  public void write(final SafeDataOutputStream dos,
+      final Description description) {
+    if (!this.format.isBinary()) {
+      dos.write(description);
+      return;
+    }
+    dos.writeInternedString(description.getFirstTestClass());
+    dos.writeString(description.getName());
+  }
+
+  public Description read(final SafeDataInputStream dis) {
+    if (!this.format.isBinary()) {
+      return dis.read(Description.class);
+    }
+    final String testClass = dis.readInternedString();
+    return new Description(dis.readString(), testClass);
+  }
+
+}
@@ -107,6 +107,14 @@ public abstract class Option<T> implements FunctionalIterable<T> {
       return false;
     }
 
+    /**
+     * Keeps None a singleton when read back by XStream, as None relies on
+     * identity for equality.
+     */
+    private Object readResolve() {
+      return NONE;
+    }
+
   }
 
   public static final class Some<T> extends Option<T> {
@@ -35,7 +35,9 @@ public enum Help {
   UNKNOWN_MUTATOR(
       "Mutator or group %s is unknown. Check PIT configuration and try again."),
   NO_JUNIT_EXCLUDE_RUNNERS(
-      "Exclude Runners option requires JUnit 4.6 or above.");
+      "Exclude Runners option requires JUnit 4.6 or above."),
+  NO_AGENT_SECRET(
+      "Accepting remote agents requires a shared secret. Set the agentSecret option, and the PIT_AGENT_SECRET environment variable of each agent, to the same value.");
   
   private static final String URL = "http://pitest.org";
   private final String        text;
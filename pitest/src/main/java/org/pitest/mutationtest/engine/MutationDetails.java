@@ -16,6 +16,7 @@ package org.pitest.mutationtest.engine;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.pitest.classinfo.ClassName;
@@ -38,6 +39,10 @@ public final class MutationDetails {
   private final boolean             isInFinallyBlock;
   private final PoisonStatus        poison;
 
+  // mutants that produce the same bytecode and take the result of this one
+  // rather than being run. Not sent to minions.
+  private transient List<MutationDetails> duplicates;
+
   public MutationDetails(final MutationIdentifier id, final String filename,
       final String description, final int lineNumber, final int block) {
     this(id, filename, description, lineNumber, block, false, PoisonStatus.NORMAL);
@@ -66,11 +71,35 @@ public final class MutationDetails {
   }
 
   public MutationDetails withDescription(String desc) {
-    return new MutationDetails(id, filename, desc, lineNumber, block, isInFinallyBlock, poison);
+    return new MutationDetails(id, filename, desc, lineNumber, block, isInFinallyBlock, poison)
+        .withDuplicates(getDuplicates());
   }
 
   public MutationDetails withPoisonStatus(PoisonStatus poisonStatus) {
-    return new MutationDetails(id, filename, description, lineNumber, block, isInFinallyBlock, poisonStatus);
+    return new MutationDetails(id, filename, description, lineNumber, block, isInFinallyBlock, poisonStatus)
+        .withDuplicates(getDuplicates());
+  }
+
+  public MutationDetails withDuplicates(Collection<MutationDetails> duplicates) {
+    final MutationDetails copy = new MutationDetails(id, filename, description,
+        lineNumber, block, isInFinallyBlock, poison);
+    if (!duplicates.isEmpty()) {
+      copy.duplicates = new ArrayList<MutationDetails>(duplicates);
+    }
+    return copy;
+  }
+
+  /**
+   * Returns mutants that produce the same bytecode as this one. They are not
+   * run, but are given the result of this mutant.
+   *
+   * @return mutants sharing this mutant's result
+   */
+  public List<MutationDetails> getDuplicates() {
+    if (this.duplicates == null) {
+      return Collections.emptyList();
+    }
+    return this.duplicates;
   }
   
   /**
@@ -85,6 +85,15 @@ public final class MutationIdentifier implements Comparable<MutationIdentifier>
     return this.indexes.iterator().next();
   }
 
+  /**
+   * Returns the indexes to all instructions on which this mutation occurs.
+   *
+   * @return the zero based indexes of the instructions
+   */
+  public List<Integer> getIndexes() {
+    return Collections.unmodifiableList(this.indexes);
+  }
+
   @Override
   public String toString() {
     return "MutationIdentifier [location=" + this.location + ", indexes="
@@ -21,6 +21,7 @@ import java.util.List;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.mutationtest.engine.gregor.blocks.BlockCounter;
@@ -78,6 +79,15 @@ class ClassContext implements BlockCounter {
     this.sourceFile = source;
   }
 
+  /**
+   * When a single mutation is targeted only the method containing it needs
+   * to be visited. Other methods can be passed through untouched.
+   */
+  public boolean mayContainTarget(final Location location) {
+    return this.target.hasNone()
+        || this.target.value().getLocation().equals(location);
+  }
+
   public boolean shouldMutate(final MutationIdentifier newId) {
     return getTargetMutation().contains(idMatches(newId));
   }
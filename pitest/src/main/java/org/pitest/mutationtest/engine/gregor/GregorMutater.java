@@ -18,11 +18,11 @@ import static org.pitest.functional.prelude.Prelude.and;
 import static org.pitest.functional.prelude.Prelude.not;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
@@ -43,17 +43,38 @@ import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public class GregorMutater implements Mutater {
 
-  private final Map<String, String>       computeCache   = new HashMap<String, String>();
+  private final Map<String, String>       computeCache   = new ConcurrentHashMap<String, String>();
   private final Predicate<MethodInfo>     filter;
   private final ClassByteArraySource      byteSource;
   private final Set<MethodMutatorFactory> mutators       = new HashSet<MethodMutatorFactory>();
+  private final boolean                   copyUnmutatedMethods;
+
+  // mutants are requested a class at a time, so the parsed form of the most
+  // recently mutated class is kept for reuse
+  private ClassName                       lastClass;
+  private ClassReader                     lastReader;
+  private int                             lastFlags;
 
   public GregorMutater(final ClassByteArraySource byteSource,
       final Predicate<MethodInfo> filter,
       final Collection<MethodMutatorFactory> mutators) {
+    this(byteSource, filter, mutators, true);
+  }
+
+  /**
+   * @param copyUnmutatedMethods
+   *          when true, methods that do not contain the requested mutation
+   *          are copied into the mutant as raw bytes rather than being
+   *          rebuilt and having their frames recomputed
+   */
+  public GregorMutater(final ClassByteArraySource byteSource,
+      final Predicate<MethodInfo> filter,
+      final Collection<MethodMutatorFactory> mutators,
+      final boolean copyUnmutatedMethods) {
     this.filter = filter;
     this.mutators.addAll(mutators);
     this.byteSource = byteSource;
+    this.copyUnmutatedMethods = copyUnmutatedMethods;
   }
 
   @Override
@@ -96,12 +117,8 @@ public class GregorMutater implements Mutater {
     final ClassContext context = new ClassContext();
     context.setTargetMutation(Option.some(id));
 
-    final Option<byte[]> bytes = this.byteSource.getBytes(id.getClassName()
-        .asJavaName());
-
-    final ClassReader reader = new ClassReader(bytes.value());
-    final ClassWriter w = new ComputeClassWriter(this.byteSource,
-        this.computeCache, FrameOptions.pickFlags(bytes.value()));
+    final ClassReader reader = readerFor(id.getClassName());
+    final ClassWriter w = createWriter(reader);
     final MutatingClassVisitor mca = new MutatingClassVisitor(w, context,
         filterMethods(), FCollection.filter(this.mutators,
             isMutatorFor(id)));
@@ -114,6 +131,26 @@ public class GregorMutater implements Mutater {
 
   }
 
+  private ClassReader readerFor(final ClassName clazz) {
+    if (!clazz.equals(this.lastClass)) {
+      final Option<byte[]> bytes = this.byteSource
+          .getBytes(clazz.asJavaName());
+      this.lastReader = new ClassReader(bytes.value());
+      this.lastFlags = FrameOptions.pickFlags(bytes.value());
+      this.lastClass = clazz;
+    }
+    return this.lastReader;
+  }
+
+  private ClassWriter createWriter(final ClassReader reader) {
+    if (this.copyUnmutatedMethods) {
+      return new ComputeClassWriter(reader, this.byteSource,
+          this.computeCache, this.lastFlags);
+    }
+    return new ComputeClassWriter(this.byteSource, this.computeCache,
+        this.lastFlags);
+  }
+
   private static Predicate<MethodMutatorFactory> isMutatorFor(
       final MutationIdentifier id) {
     return new Predicate<MethodMutatorFactory>() {
@@ -62,14 +62,20 @@ class MutatingClassVisitor extends ClassVisitor {
       final String methodDescriptor, final String signature,
       final String[] exceptions) {
 
-    MethodMutationContext methodContext = new MethodMutationContext(
-        this.context, Location.location(
-            ClassName.fromString(this.context.getClassInfo().getName()),
-            MethodName.fromString(methodName), methodDescriptor));
+    final Location location = Location.location(
+        ClassName.fromString(this.context.getClassInfo().getName()),
+        MethodName.fromString(methodName), methodDescriptor);
 
     final MethodVisitor methodVisitor = this.cv.visitMethod(access, methodName,
         methodDescriptor, signature, exceptions);
 
+    if (!this.context.mayContainTarget(location)) {
+      return methodVisitor;
+    }
+
+    final MethodMutationContext methodContext = new MethodMutationContext(
+        this.context, location);
+
     final MethodInfo info = new MethodInfo()
     .withOwner(this.context.getClassInfo()).withAccess(access)
     .withMethodName(methodName).withMethodDescriptor(methodDescriptor);
@@ -20,14 +20,18 @@ import org.pitest.testapi.Description;
 import org.pitest.testapi.TestListener;
 import org.pitest.testapi.TestResult;
 
+import sun.pitest.LoopGuard;
+
 public class CheckTestHasFailedResultListener implements TestListener {
 
   private Option<Description> lastFailingTest = Option.none();
   private int                 testsRun        = 0;
+  private boolean             loopGuarded     = false;
 
   @Override
   public void onTestFailure(final TestResult tr) {
     this.lastFailingTest = Option.some(tr.getDescription());
+    this.loopGuarded = LoopGuard.isBudgetExceeded(tr.getThrowable());
   }
 
   @Override
@@ -46,7 +50,9 @@ public class CheckTestHasFailedResultListener implements TestListener {
   }
 
   public DetectionStatus status() {
-    if (this.lastFailingTest.hasSome()) {
+    if (this.loopGuarded) {
+      return DetectionStatus.TIMED_OUT;
+    } else if (this.lastFailingTest.hasSome()) {
       return DetectionStatus.KILLED;
     } else {
       return DetectionStatus.SURVIVED;
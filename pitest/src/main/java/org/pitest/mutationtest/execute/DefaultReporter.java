@@ -22,20 +22,27 @@ import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Id;
 import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
 
 public class DefaultReporter implements Reporter {
 
   private final SafeDataOutputStream w;
+  private final MutationResultCodec  codec;
 
   DefaultReporter(final OutputStream w) {
+    this(w, WireFormat.XML);
+  }
+
+  DefaultReporter(final OutputStream w, final WireFormat format) {
     this.w = new SafeDataOutputStream(w);
+    this.codec = new MutationResultCodec(format);
   }
 
   @Override
   public synchronized void describe(final MutationIdentifier i)
       throws IOException {
     this.w.writeByte(Id.DESCRIBE);
-    this.w.write(i);
+    this.codec.writeIdentifier(this.w, i);
     this.w.flush();
   }
 
@@ -43,8 +50,16 @@ public class DefaultReporter implements Reporter {
   public synchronized void report(final MutationIdentifier i,
       final MutationStatusTestPair mutationDetected) throws IOException {
     this.w.writeByte(Id.REPORT);
-    this.w.write(i);
-    this.w.write(mutationDetected);
+    this.codec.writeIdentifier(this.w, i);
+    this.codec.writeStatus(this.w, mutationDetected);
+    this.w.flush();
+  }
+
+  @Override
+  public synchronized void durations(final TestDurations measured)
+      throws IOException {
+    this.w.writeByte(Id.DURATIONS);
+    this.codec.writeDurations(this.w, measured.samples());
     this.w.flush();
   }
 
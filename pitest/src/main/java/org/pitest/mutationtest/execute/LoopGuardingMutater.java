@@ -0,0 +1,140 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+import sun.pitest.LoopGuard;
+
+/**
+ * Adds a call to {@link LoopGuard} before each backward jump of the mutated
+ * method, so that a mutant which makes a loop infinite can be stopped by
+ * throwing from within the test. Other methods are copied unchanged.
+ */
+class LoopGuardingMutater implements Mutater {
+
+  private final Mutater child;
+
+  LoopGuardingMutater(final Mutater child) {
+    this.child = child;
+  }
+
+  @Override
+  public Mutant getMutation(final MutationIdentifier id) {
+    final Mutant mutant = this.child.getMutation(id);
+    return new Mutant(mutant.getDetails(), guardLoops(id.getLocation(),
+        mutant.getBytes()));
+  }
+
+  @Override
+  public List<MutationDetails> findMutations(final ClassName classToMutate) {
+    return this.child.findMutations(classToMutate);
+  }
+
+  static byte[] guardLoops(final Location location, final byte[] bytes) {
+    final ClassReader reader = new ClassReader(bytes);
+    // frames and maximum stack sizes are unaffected by the added calls
+    final ClassWriter writer = new ClassWriter(reader, 0);
+    reader.accept(new LoopGuardClassVisitor(writer, location), 0);
+    return writer.toByteArray();
+  }
+
+  private static class LoopGuardClassVisitor extends ClassVisitor {
+
+    private final Location location;
+
+    LoopGuardClassVisitor(final ClassVisitor cv, final Location location) {
+      super(Opcodes.ASM6, cv);
+      this.location = location;
+    }
+
+    @Override
+    public MethodVisitor visitMethod(final int access, final String name,
+        final String desc, final String signature, final String[] exceptions) {
+      final MethodVisitor mv = super.visitMethod(access, name, desc,
+          signature, exceptions);
+      if (this.location.getMethodName().name().equals(name)
+          && this.location.getMethodDesc().equals(desc)) {
+        return new LoopGuardMethodVisitor(mv);
+      }
+      return mv;
+    }
+
+  }
+
+  private static class LoopGuardMethodVisitor extends MethodVisitor {
+
+    // a jump to a label that has already been visited is a backward jump
+    private final Set<Label> visited = new HashSet<Label>();
+
+    LoopGuardMethodVisitor(final MethodVisitor mv) {
+      super(Opcodes.ASM6, mv);
+    }
+
+    @Override
+    public void visitLabel(final Label label) {
+      this.visited.add(label);
+      super.visitLabel(label);
+    }
+
+    @Override
+    public void visitJumpInsn(final int opcode, final Label label) {
+      if (this.visited.contains(label)) {
+        tick();
+      }
+      super.visitJumpInsn(opcode, label);
+    }
+
+    @Override
+    public void visitTableSwitchInsn(final int min, final int max,
+        final Label dflt, final Label... labels) {
+      if (anyVisited(dflt, labels)) {
+        tick();
+      }
+      super.visitTableSwitchInsn(min, max, dflt, labels);
+    }
+
+    @Override
+    public void visitLookupSwitchInsn(final Label dflt, final int[] keys,
+        final Label[] labels) {
+      if (anyVisited(dflt, labels)) {
+        tick();
+      }
+      super.visitLookupSwitchInsn(dflt, keys, labels);
+    }
+
+    private boolean anyVisited(final Label dflt, final Label[] labels) {
+      if (this.visited.contains(dflt)) {
+        return true;
+      }
+      for (final Label each : labels) {
+        if (this.visited.contains(each)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void tick() {
+      // takes and leaves nothing on the stack, so can precede the jump
+      // without disturbing its operands
+      super.visitMethodInsn(Opcodes.INVOKESTATIC, LoopGuard.CLASS_NAME,
+          LoopGuard.TICK_METHOD_NAME, "()V", false);
+    }
+
+  }
+
+}
@@ -0,0 +1,49 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.pitest.functional.Option;
+
+/**
+ * Durations measured by earlier minions, sent to a minion so that tests
+ * with enough samples are timed against the 99th percentile of those rather
+ * than against their coverage run. The configured timeout factor and
+ * constant are applied to either.
+ */
+public class MeasuredTimeouts {
+
+  static final double             PERCENTILE      = 99;
+  static final int                MINIMUM_SAMPLES = 3;
+
+  private final boolean           enabled;
+  private final Map<String, Long> durations;
+
+  public MeasuredTimeouts(final boolean enabled,
+      final Map<String, Long> durations) {
+    this.enabled = enabled;
+    this.durations = durations;
+  }
+
+  public static MeasuredTimeouts disabled() {
+    return new MeasuredTimeouts(false, new HashMap<String, Long>());
+  }
+
+  public static MeasuredTimeouts from(final TestDurations measured) {
+    return new MeasuredTimeouts(true, measured.percentiles(PERCENTILE,
+        MINIMUM_SAMPLES));
+  }
+
+  /**
+   * @return true if the minion should measure tests and report the
+   *         durations back
+   */
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  public Option<Long> getDuration(final String test) {
+    return Option.some(this.durations.get(test));
+  }
+
+}
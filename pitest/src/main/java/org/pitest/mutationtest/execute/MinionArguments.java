@@ -30,6 +30,12 @@ public class MinionArguments {
   final TimeoutLengthStrategy       timeoutStrategy;
   final boolean                     verbose;
   final Configuration               pitConfig;
+  private boolean                   reusable         = false;
+  private int                       mutantThreads    = 1;
+  private boolean                   mutantSchemata   = false;
+  private MeasuredTimeouts          measuredTimeouts = MeasuredTimeouts
+                                                         .disabled();
+  private boolean                   loopGuards       = false;
 
   public MinionArguments(final Collection<MutationDetails> mutations,
       final Collection<ClassName> tests, final MutationEngine engine,
@@ -43,8 +49,80 @@ public class MinionArguments {
     this.pitConfig = pitConfig;
   }
 
+  /**
+   * @param reusable
+   *          if true the minion will wait for further batches of mutations
+   *          once this one is complete rather than exiting
+   */
+  public MinionArguments andReusable(final boolean reusable) {
+    this.reusable = reusable;
+    return this;
+  }
+
+  /**
+   * @param mutantThreads
+   *          number of mutants the minion should test concurrently, each in
+   *          its own classloader
+   */
+  public MinionArguments andMutantThreads(final int mutantThreads) {
+    this.mutantThreads = mutantThreads;
+    return this;
+  }
+
+  /**
+   * @param mutantSchemata
+   *          if true mutants of a class are loaded together in a single
+   *          schema class and switched between instead of being hotswapped
+   */
+  public MinionArguments andMutantSchemata(final boolean mutantSchemata) {
+    this.mutantSchemata = mutantSchemata;
+    return this;
+  }
+
+  /**
+   * @param measuredTimeouts
+   *          durations measured by earlier minions, used in place of the
+   *          coverage run durations where available
+   */
+  public MinionArguments andMeasuredTimeouts(
+      final MeasuredTimeouts measuredTimeouts) {
+    this.measuredTimeouts = measuredTimeouts;
+    return this;
+  }
+
+  /**
+   * @param loopGuards
+   *          if true the loops of each mutated method are guarded so that a
+   *          mutant looping past the allowed time ends the test rather than
+   *          the minion
+   */
+  public MinionArguments andLoopGuards(final boolean loopGuards) {
+    this.loopGuards = loopGuards;
+    return this;
+  }
+
   public boolean isVerbose() {
     return this.verbose;
   }
 
+  public boolean isReusable() {
+    return this.reusable;
+  }
+
+  public int getMutantThreads() {
+    return this.mutantThreads;
+  }
+
+  public boolean isMutantSchemata() {
+    return this.mutantSchemata;
+  }
+
+  public MeasuredTimeouts getMeasuredTimeouts() {
+    return this.measuredTimeouts;
+  }
+
+  public boolean isLoopGuards() {
+    return this.loopGuards;
+  }
+
 }
@@ -0,0 +1,45 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+
+import org.pitest.classpath.ClassPath;
+
+import sun.pitest.LoopGuard;
+
+/**
+ * Loader that defines a single mutated class from supplied bytes, loading
+ * everything else afresh from the classpath. Each mutant gets its own
+ * instance so several mutants can be tested concurrently without redefining
+ * classes in the shared loader.
+ */
+class MutantClassloader extends DefaultPITClassloader {
+
+  private final String mutantName;
+  private final byte[] mutantBytes;
+
+  MutantClassloader(final ClassPath cp, final ClassLoader parent,
+      final String mutantName, final byte[] mutantBytes) {
+    super(cp, parent);
+    this.mutantName = mutantName;
+    this.mutantBytes = mutantBytes;
+  }
+
+  @Override
+  protected Class<?> loadClass(final String name, final boolean resolve)
+      throws ClassNotFoundException {
+    // the mutant must call the same guard that is armed around each test
+    if (LoopGuard.class.getName().equals(name)) {
+      return LoopGuard.class;
+    }
+    return super.loadClass(name, resolve);
+  }
+
+  @Override
+  protected byte[] getClassData(final String name) throws IOException {
+    if (this.mutantName.equals(name)) {
+      return this.mutantBytes;
+    }
+    return super.getClassData(name);
+  }
+
+}
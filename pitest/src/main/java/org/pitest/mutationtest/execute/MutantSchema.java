@@ -0,0 +1,280 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.pitest.bytecode.FrameOptions;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ComputeClassWriter;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * A single class containing many mutants of one original class, any one of
+ * which can be activated by writing its id to a static field.
+ *
+ * Each mutated method is copied once per mutant into a private method
+ * containing just that mutation. The original method gains a switch on the
+ * field at its entry that calls the copy for the active mutant, and otherwise
+ * runs unchanged.
+ *
+ * Mutants in constructors and static initializers, and mutants of
+ * interfaces, cannot be dispatched to in this way and are not included.
+ */
+final class MutantSchema {
+
+  static final String                            ACTIVE_MUTANT_FIELD = "$$pitActiveMutant";
+
+  private static final String                    COPY_PREFIX         = "$$pitMutant";
+
+  private final byte[]                           bytes;
+  private final Map<MutationIdentifier, Integer> ids;
+
+  private MutantSchema(final byte[] bytes,
+      final Map<MutationIdentifier, Integer> ids) {
+    this.bytes = bytes;
+    this.ids = ids;
+  }
+
+  static MutantSchema none() {
+    return new MutantSchema(new byte[0],
+        Collections.<MutationIdentifier, Integer> emptyMap());
+  }
+
+  /**
+   * @param source
+   *          used to find common super classes when computing frames
+   * @param original
+   *          unmutated bytes of the class
+   * @param mutants
+   *          mutants of the class
+   * @return schema containing those mutants that can be included
+   */
+  static MutantSchema weave(final ClassByteArraySource source,
+      final byte[] original, final Collection<Mutant> mutants) {
+    final Map<MutationIdentifier, Integer> ids = new LinkedHashMap<MutationIdentifier, Integer>();
+    final Map<String, List<Mutant>> byMethod = new LinkedHashMap<String, List<Mutant>>();
+
+    final ClassReader reader = new ClassReader(original);
+    if ((reader.getAccess() & Opcodes.ACC_INTERFACE) == 0) {
+      for (final Mutant each : mutants) {
+        if (canDispatchTo(each.getDetails())) {
+          ids.put(each.getDetails().getId(), ids.size() + 1);
+          final String key = methodKey(each.getDetails());
+          List<Mutant> forMethod = byMethod.get(key);
+          if (forMethod == null) {
+            forMethod = new ArrayList<Mutant>();
+            byMethod.put(key, forMethod);
+          }
+          forMethod.add(each);
+        }
+      }
+    }
+
+    if (ids.isEmpty()) {
+      return new MutantSchema(original, ids);
+    }
+
+    final ClassWriter writer = new ComputeClassWriter(source,
+        new HashMap<String, String>(), FrameOptions.pickFlags(original));
+    reader.accept(new SchemaVisitor(writer, byMethod, ids),
+        ClassReader.SKIP_FRAMES);
+    return new MutantSchema(writer.toByteArray(), ids);
+  }
+
+  byte[] getBytes() {
+    return this.bytes;
+  }
+
+  boolean contains(final MutationIdentifier id) {
+    return this.ids.containsKey(id);
+  }
+
+  /**
+   * @return value to write to the active mutant field to activate the mutant
+   */
+  int idFor(final MutationIdentifier id) {
+    return this.ids.get(id);
+  }
+
+  boolean isEmpty() {
+    return this.ids.isEmpty();
+  }
+
+  private static boolean canDispatchTo(final MutationDetails details) {
+    final String method = details.getMethod().name();
+    return !details.mayPoisonJVM() && !method.equals("<init>")
+        && !method.equals("<clinit>");
+  }
+
+  private static String methodKey(final MutationDetails details) {
+    return details.getMethod().name()
+        + details.getId().getLocation().getMethodDesc();
+  }
+
+  private static String copyName(final String method, final int id) {
+    return method + COPY_PREFIX + id;
+  }
+
+  private static class SchemaVisitor extends ClassVisitor {
+
+    private final Map<String, List<Mutant>>        byMethod;
+    private final Map<MutationIdentifier, Integer> ids;
+    private String                                 owner;
+
+    SchemaVisitor(final ClassVisitor cv,
+        final Map<String, List<Mutant>> byMethod,
+        final Map<MutationIdentifier, Integer> ids) {
+      super(Opcodes.ASM6, cv);
+      this.byMethod = byMethod;
+      this.ids = ids;
+    }
+
+    @Override
+    public void visit(final int version, final int access, final String name,
+        final String signature, final String superName,
+        final String[] interfaces) {
+      this.owner = name;
+      super.visit(version, access, name, signature, superName, interfaces);
+    }
+
+    @Override
+    public MethodVisitor visitMethod(final int access, final String name,
+        final String desc, final String signature, final String[] exceptions) {
+      final MethodVisitor mv = super.visitMethod(access, name, desc,
+          signature, exceptions);
+      final List<Mutant> mutants = this.byMethod.get(name + desc);
+      if ((mv == null) || (mutants == null)) {
+        return mv;
+      }
+      return new DispatchingMethodVisitor(mv, this.owner, access, name, desc,
+          idsOf(mutants));
+    }
+
+    @Override
+    public void visitEnd() {
+      super.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC
+          | Opcodes.ACC_SYNTHETIC, ACTIVE_MUTANT_FIELD, "I", null, null);
+      for (final List<Mutant> each : this.byMethod.values()) {
+        for (final Mutant mutant : each) {
+          copyMutatedMethod(mutant);
+        }
+      }
+      super.visitEnd();
+    }
+
+    private void copyMutatedMethod(final Mutant mutant) {
+      final MutationDetails details = mutant.getDetails();
+      final String name = details.getMethod().name();
+      final String desc = details.getId().getLocation().getMethodDesc();
+      final String copy = copyName(name, this.ids.get(details.getId()));
+      final ClassVisitor target = this.cv;
+      new ClassReader(mutant.getBytes()).accept(new ClassVisitor(
+          Opcodes.ASM6) {
+        @Override
+        public MethodVisitor visitMethod(final int access,
+            final String methodName, final String methodDesc,
+            final String signature, final String[] exceptions) {
+          if (name.equals(methodName) && desc.equals(methodDesc)) {
+            return target.visitMethod(asPrivateCopy(access), copy, desc,
+                signature, exceptions);
+          }
+          return null;
+        }
+      }, ClassReader.SKIP_FRAMES);
+    }
+
+    private List<Integer> idsOf(final List<Mutant> mutants) {
+      final List<Integer> methodIds = new ArrayList<Integer>(mutants.size());
+      for (final Mutant each : mutants) {
+        methodIds.add(this.ids.get(each.getDetails().getId()));
+      }
+      return methodIds;
+    }
+
+    private static int asPrivateCopy(final int access) {
+      return (access & ~(Opcodes.ACC_PUBLIC | Opcodes.ACC_PROTECTED
+          | Opcodes.ACC_BRIDGE | Opcodes.ACC_VARARGS))
+          | Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC;
+    }
+
+  }
+
+  /**
+   * Prefixes a method with a switch that calls the copy containing the
+   * active mutant, falling through to the original code if none of the
+   * method's mutants is active.
+   */
+  private static class DispatchingMethodVisitor extends MethodVisitor {
+
+    private final String        owner;
+    private final boolean       isStatic;
+    private final String        name;
+    private final String        desc;
+    private final List<Integer> ids;
+
+    DispatchingMethodVisitor(final MethodVisitor mv, final String owner,
+        final int access, final String name, final String desc,
+        final List<Integer> ids) {
+      super(Opcodes.ASM6, mv);
+      this.owner = owner;
+      this.isStatic = (access & Opcodes.ACC_STATIC) != 0;
+      this.name = name;
+      this.desc = desc;
+      this.ids = ids;
+    }
+
+    @Override
+    public void visitCode() {
+      super.visitCode();
+      final Label original = new Label();
+      final int[] keys = new int[this.ids.size()];
+      final Label[] labels = new Label[this.ids.size()];
+      for (int i = 0; i != keys.length; i++) {
+        keys[i] = this.ids.get(i);
+        labels[i] = new Label();
+      }
+
+      super.visitFieldInsn(Opcodes.GETSTATIC, this.owner, ACTIVE_MUTANT_FIELD,
+          "I");
+      // ids are allocated in ascending order so keys are already sorted
+      super.visitLookupSwitchInsn(original, keys, labels);
+      for (int i = 0; i != keys.length; i++) {
+        super.visitLabel(labels[i]);
+        callCopy(copyName(this.name, keys[i]));
+      }
+      super.visitLabel(original);
+    }
+
+    private void callCopy(final String copy) {
+      int local = 0;
+      if (!this.isStatic) {
+        super.visitVarInsn(Opcodes.ALOAD, 0);
+        local = 1;
+      }
+      for (final Type each : Type.getArgumentTypes(this.desc)) {
+        super.visitVarInsn(each.getOpcode(Opcodes.ILOAD), local);
+        local = local + each.getSize();
+      }
+      super.visitMethodInsn(this.isStatic ? Opcodes.INVOKESTATIC
+          : Opcodes.INVOKESPECIAL, this.owner, copy, this.desc, false);
+      super.visitInsn(Type.getReturnType(this.desc).getOpcode(
+          Opcodes.IRETURN));
+    }
+
+  }
+
+}
@@ -0,0 +1,126 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.pitest.classinfo.ClassName;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
+
+/**
+ * Reads and writes the mutation identifiers and statuses reported by a
+ * minion in the agreed wire format.
+ */
+public class MutationResultCodec {
+
+  private final WireFormat format;
+
+  public MutationResultCodec(final WireFormat format) {
+    this.format = format;
+  }
+
+  public void writeIdentifier(final SafeDataOutputStream dos,
+      final MutationIdentifier id) {
+    if (!this.format.isBinary()) {
+      dos.write(id);
+      return;
+    }
+    final Location location = id.getLocation();
+    dos.writeInternedString(location.getClassName().asInternalName());
+    dos.writeInternedString(location.getMethodName().name());
+    dos.writeInternedString(location.getMethodDesc());
+    dos.writeInternedString(id.getMutator());
+    final List<Integer> indexes = id.getIndexes();
+    dos.writeVarInt(indexes.size());
+    for (final Integer each : indexes) {
+      dos.writeVarInt(each);
+    }
+  }
+
+  public MutationIdentifier readIdentifier(final SafeDataInputStream dis) {
+    if (!this.format.isBinary()) {
+      return dis.read(MutationIdentifier.class);
+    }
+    final ClassName clazz = ClassName.fromString(dis.readInternedString());
+    final MethodName method = MethodName.fromString(dis.readInternedString());
+    final String desc = dis.readInternedString();
+    final String mutator = dis.readInternedString();
+    final int numberOfIndexes = dis.readVarInt();
+    final List<Integer> indexes = new ArrayList<Integer>(numberOfIndexes);
+    for (int i = 0; i != numberOfIndexes; i++) {
+      indexes.add(dis.readVarInt());
+    }
+    return new MutationIdentifier(Location.location(clazz, method, desc),
+        indexes, mutator);
+  }
+
+  public void writeStatus(final SafeDataOutputStream dos,
+      final MutationStatusTestPair status) {
+    if (!this.format.isBinary()) {
+      dos.write(status);
+      return;
+    }
+    dos.writeVarInt(status.getNumberOfTestsRun());
+    dos.writeByte((byte) status.getStatus().ordinal());
+    if (status.getKillingTest().hasSome()) {
+      dos.writeInternedString(status.getKillingTest().value());
+    } else {
+      dos.writeInternedString(null);
+    }
+  }
+
+  public MutationStatusTestPair readStatus(final SafeDataInputStream dis) {
+    if (!this.format.isBinary()) {
+      return dis.read(MutationStatusTestPair.class);
+    }
+    final int numberOfTestsRun = dis.readVarInt();
+    final DetectionStatus status = DetectionStatus.values()[dis.readByte()];
+    final String killingTest = dis.readInternedString();
+    return new MutationStatusTestPair(numberOfTestsRun, status, killingTest);
+  }
+
+  public void writeDurations(final SafeDataOutputStream dos,
+      final Map<String, List<Long>> durations) {
+    if (!this.format.isBinary()) {
+      dos.write(new HashMap<String, List<Long>>(durations));
+      return;
+    }
+    dos.writeVarInt(durations.size());
+    for (final Entry<String, List<Long>> each : durations.entrySet()) {
+      dos.writeInternedString(each.getKey());
+      dos.writeVarInt(each.getValue().size());
+      for (final Long millis : each.getValue()) {
+        dos.writeVarInt((int) Math.min(millis, Integer.MAX_VALUE));
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public Map<String, List<Long>> readDurations(final SafeDataInputStream dis) {
+    if (!this.format.isBinary()) {
+      return dis.read(HashMap.class);
+    }
+    final int numberOfTests = dis.readVarInt();
+    final Map<String, List<Long>> durations = new HashMap<String, List<Long>>();
+    for (int i = 0; i != numberOfTests; i++) {
+      final String test = dis.readInternedString();
+      final int numberOfSamples = dis.readVarInt();
+      final List<Long> samples = new ArrayList<Long>(numberOfSamples);
+      for (int j = 0; j != numberOfSamples; j++) {
+        samples.add((long) dis.readVarInt());
+      }
+      durations.put(test, samples);
+    }
+    return durations;
+  }
+
+}
@@ -17,8 +17,12 @@ package org.pitest.mutationtest.execute;
 import java.io.IOException;
 import java.lang.management.MemoryNotificationInfo;
 import java.net.Socket;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,6 +38,9 @@ import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.functional.F3;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.prelude.Prelude;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.mutationtest.mocksupport.BendJavassistToMyWillTransformer;
 import org.pitest.mutationtest.mocksupport.JavassistInputStreamInterceptorAdapater;
 import org.pitest.mutationtest.mocksupport.JavassistInterceptor;
@@ -42,9 +49,11 @@ import org.pitest.testapi.TestUnit;
 import org.pitest.testapi.execute.FindTestUnits;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Glob;
+import org.pitest.util.Id;
 import org.pitest.util.IsolationUtils;
 import org.pitest.util.Log;
 import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.WireFormat;
 
 public class MutationTestMinion {
 
@@ -65,12 +74,12 @@ public class MutationTestMinion {
 
   public void run() {
     try {
-      
-      final MinionArguments paramsFromParent = this.dis
+
+      MinionArguments paramsFromParent = this.dis
           .read(MinionArguments.class);
 
       Log.setVerbose(paramsFromParent.isVerbose());
-      
+
       final ClassLoader loader = IsolationUtils.getContextClassLoader();
 
       final ClassByteArraySource byteSource = new CachingByteArraySource(new ClassloaderByteArraySource(
@@ -78,18 +87,38 @@ public class MutationTestMinion {
 
       final F3<ClassName, ClassLoader, byte[], Boolean> hotswap = new HotSwap(
           byteSource);
-      
+
       final MutationTestWorker worker = new MutationTestWorker(hotswap,
-          paramsFromParent.engine.createMutator(byteSource), loader);
-
-      final List<TestUnit> tests = findTestsForTestClasses(loader,
-          paramsFromParent.testClasses, paramsFromParent.pitConfig);
-      
-      worker.run(paramsFromParent.mutations, this.reporter,
-          new TimeOutDecoratedTestSource(paramsFromParent.timeoutStrategy,
-              tests, this.reporter));
-      
-      this.reporter.done(ExitCode.OK);
+          createMutator(paramsFromParent, byteSource), loader,
+          paramsFromParent.getMutantThreads(),
+          paramsFromParent.isMutantSchemata());
+
+      // tests found for earlier batches are reused when the minion is
+      // recycled for further work
+      final Map<ClassName, List<TestUnit>> knownTests = new HashMap<ClassName, List<TestUnit>>();
+      final TimeoutWatchdog watchdog = new TimeoutWatchdog();
+
+      while (paramsFromParent != null) {
+        final List<TestUnit> tests = findTestsForTestClasses(loader,
+            paramsFromParent.testClasses, paramsFromParent.pitConfig,
+            knownTests);
+
+        final MeasuredTimeouts measuredTimeouts = paramsFromParent
+            .getMeasuredTimeouts();
+        final TestDurations measured = new TestDurations();
+        worker.run(paramsFromParent.mutations, this.reporter,
+            new TimeOutDecoratedTestSource(paramsFromParent.timeoutStrategy,
+                tests, this.reporter, watchdog, measuredTimeouts, measured,
+                paramsFromParent.isLoopGuards()));
+
+        if (measuredTimeouts.isEnabled() && !measured.isEmpty()) {
+          this.reporter.durations(measured);
+        }
+        this.reporter.done(ExitCode.OK);
+
+        paramsFromParent = readNextBatch(paramsFromParent);
+      }
+
     } catch (final Throwable ex) {
       ex.printStackTrace(System.out);
       LOG.log(Level.WARNING, "Error during mutation test", ex);
@@ -98,6 +127,27 @@ public class MutationTestMinion {
 
   }
 
+  private static Mutater createMutator(final MinionArguments params,
+      final ClassByteArraySource byteSource) {
+    final Mutater mutater = params.engine.createMutator(byteSource);
+    if (params.isLoopGuards()) {
+      return new LoopGuardingMutater(mutater);
+    }
+    return mutater;
+  }
+
+  private MinionArguments readNextBatch(final MinionArguments previous) {
+    if (!previous.isReusable()) {
+      return null;
+    }
+    final byte control = this.dis.readByte();
+    if (control == Id.BATCH) {
+      LOG.fine("minion received further batch of mutations");
+      return this.dis.read(MinionArguments.class);
+    }
+    return null;
+  }
+
   public static void main(final String[] args) {
 
     LOG.log(Level.FINE, "minion started");
@@ -112,7 +162,9 @@ public class MutationTestMinion {
       final SafeDataInputStream dis = new SafeDataInputStream(
           s.getInputStream());
 
-      final Reporter reporter = new DefaultReporter(s.getOutputStream());
+      final WireFormat format = WireFormat.readHandshake(dis);
+      final Reporter reporter = new TimeOutHaltingReporter(
+          new DefaultReporter(s.getOutputStream(), format));
       addMemoryWatchDog(reporter);
 
       final MutationTestMinion instance = new MutationTestMinion(dis, reporter);
@@ -130,11 +182,21 @@ public class MutationTestMinion {
 
   private static List<TestUnit> findTestsForTestClasses(
       final ClassLoader loader, final Collection<ClassName> testClasses,
-      final Configuration pitConfig) {
-    final Collection<Class<?>> tcs = FCollection.flatMap(testClasses,
-        ClassName.nameToClass(loader));
-    FindTestUnits finder = new FindTestUnits(pitConfig);
-    return finder.findTestUnitsForAllSuppliedClasses(tcs);
+      final Configuration pitConfig,
+      final Map<ClassName, List<TestUnit>> knownTests) {
+    final FindTestUnits finder = new FindTestUnits(pitConfig);
+    final List<TestUnit> tests = new ArrayList<TestUnit>();
+    for (final ClassName each : testClasses) {
+      List<TestUnit> found = knownTests.get(each);
+      if (found == null) {
+        final Collection<Class<?>> tcs = FCollection.flatMap(
+            Collections.singletonList(each), ClassName.nameToClass(loader));
+        found = finder.findTestUnitsForAllSuppliedClasses(tcs);
+        knownTests.put(each, found);
+      }
+      tests.addAll(found);
+    }
+    return tests;
   }
 
   @SuppressWarnings("unchecked")
@@ -182,4 +244,43 @@ public class MutationTestMinion {
 
   }
 
+  /**
+   * Ends the minion as soon as a timeout has been reported. The test that
+   * timed out is still running and cannot be stopped, and the parent will
+   * not send further work.
+   */
+  private static class TimeOutHaltingReporter implements Reporter {
+
+    private final Reporter child;
+
+    TimeOutHaltingReporter(final Reporter child) {
+      this.child = child;
+    }
+
+    @Override
+    public void describe(final MutationIdentifier i) throws IOException {
+      this.child.describe(i);
+    }
+
+    @Override
+    public void report(final MutationIdentifier i,
+        final MutationStatusTestPair mutationDetected) throws IOException {
+      this.child.report(i, mutationDetected);
+    }
+
+    @Override
+    public void durations(final TestDurations measured) throws IOException {
+      this.child.durations(measured);
+    }
+
+    @Override
+    public void done(final ExitCode exitCode) {
+      this.child.done(exitCode);
+      if (exitCode == ExitCode.TIMEOUT) {
+        Runtime.getRuntime().halt(exitCode.getCode());
+      }
+    }
+
+  }
+
 }
@@ -17,16 +17,32 @@ package org.pitest.mutationtest.execute;
 import static org.pitest.util.Unchecked.translateCheckedException;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.functional.F3;
+import org.pitest.functional.Option;
+import org.pitest.functional.SideEffect;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.Mutant;
@@ -47,27 +63,70 @@ import org.pitest.util.Log;
 
 public class MutationTestWorker {
 
-  private static final Logger                               LOG   = Log
+  private static final Logger                               LOG                  = Log
       .getLogger();
 
   // micro optimise debug logging
-  private static final boolean                              DEBUG = LOG
+  private static final boolean                              DEBUG                = LOG
       .isLoggable(Level.FINE);
 
+  private static final String                               JAVASSIST_CLASS_POOL = "javassist/ClassPool.class";
+
   private final Mutater                                     mutater;
   private final ClassLoader                                 loader;
   private final F3<ClassName, ClassLoader, byte[], Boolean> hotswap;
-
+  private final int                                         mutantThreads;
+  private final boolean                                     mutantSchemata;
+
+  /**
+   * @param mutantThreads
+   *          number of mutants to test concurrently. When greater than one
+   *          each mutant is loaded into its own isolated classloader rather
+   *          than being hotswapped into the shared one. Mutants are still
+   *          tested one at a time if javassist is on the classpath, as the
+   *          mutant bytes handed to mocking frameworks such as PowerMock are
+   *          held statically and so can only describe one mutant at a time.
+   * @param mutantSchemata
+   *          if true, and mutants are tested one at a time, the mutants of
+   *          each class are woven into a single class loaded once into its
+   *          own classloader, with the active mutant selected by writing to a
+   *          static field rather than by hotswapping
+   */
   public MutationTestWorker(
       final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
-      final Mutater mutater, final ClassLoader loader) {
+      final Mutater mutater, final ClassLoader loader,
+      final int mutantThreads, final boolean mutantSchemata) {
     this.loader = loader;
     this.mutater = mutater;
     this.hotswap = hotswap;
+    this.mutantThreads = mutantThreads;
+    this.mutantSchemata = mutantSchemata;
   }
 
   protected void run(final Collection<MutationDetails> range, final Reporter r,
       final TimeOutDecoratedTestSource testSource) throws IOException {
+    if ((this.mutantThreads > 1) && canTestConcurrently()) {
+      runConcurrently(range, r, testSource);
+    } else if (this.mutantSchemata) {
+      runWithSchemata(range, r, testSource);
+    } else {
+      runSerially(range, r, testSource);
+    }
+  }
+
+  private boolean canTestConcurrently() {
+    if (this.loader.getResource(JAVASSIST_CLASS_POOL) == null) {
+      return true;
+    }
+    LOG.warning("Javassist is on the classpath so testing mutants one at a time,"
+        + " as mocking frameworks that use it cannot see mutants in isolated"
+        + " classloaders.");
+    return false;
+  }
+
+  private void runSerially(final Collection<MutationDetails> range,
+      final Reporter r, final TimeOutDecoratedTestSource testSource)
+      throws IOException {
 
     for (final MutationDetails mutation : range) {
       if (DEBUG) {
@@ -170,6 +229,290 @@ public class MutationTestWorker {
     return c;
   }
 
+  private void runWithSchemata(final Collection<MutationDetails> range,
+      final Reporter r, final TimeOutDecoratedTestSource testSource)
+      throws IOException {
+    final ClassByteArraySource byteSource = new ClassloaderByteArraySource(
+        this.loader);
+    for (final List<MutationDetails> each : groupByClass(range)) {
+      final ClassName clazz = each.get(0).getClassName();
+      final MutantSchema schema = createSchema(byteSource, clazz, each);
+      final Option<Field> activeMutant = schema.isEmpty() ? Option
+          .<Field> none() : loadSchema(clazz, schema);
+
+      for (final MutationDetails mutation : each) {
+        if (activeMutant.hasSome() && schema.contains(mutation.getId())) {
+          processSchemaMutation(r, testSource, mutation, activeMutant.value(),
+              schema.idFor(mutation.getId()));
+        } else {
+          processMutation(r, testSource, mutation);
+        }
+      }
+    }
+  }
+
+  private static Collection<List<MutationDetails>> groupByClass(
+      final Collection<MutationDetails> range) {
+    final Map<ClassName, List<MutationDetails>> byClass = new LinkedHashMap<ClassName, List<MutationDetails>>();
+    for (final MutationDetails each : range) {
+      List<MutationDetails> forClass = byClass.get(each.getClassName());
+      if (forClass == null) {
+        forClass = new ArrayList<MutationDetails>();
+        byClass.put(each.getClassName(), forClass);
+      }
+      forClass.add(each);
+    }
+    return byClass.values();
+  }
+
+  private MutantSchema createSchema(final ClassByteArraySource byteSource,
+      final ClassName clazz, final List<MutationDetails> mutations) {
+    final Option<byte[]> original = byteSource.getBytes(clazz.asJavaName());
+    if (original.hasNone()) {
+      return MutantSchema.none();
+    }
+    final List<Mutant> mutants = new ArrayList<Mutant>(mutations.size());
+    for (final MutationDetails each : mutations) {
+      mutants.add(this.mutater.getMutation(each.getId()));
+    }
+    return MutantSchema.weave(byteSource, original.value(), mutants);
+  }
+
+  /**
+   * Loads the schema into its own classloader. If it cannot be loaded the
+   * mutants are tested individually instead, so that any that are not viable
+   * are reported as such.
+   */
+  private static Option<Field> loadSchema(final ClassName clazz,
+      final MutantSchema schema) {
+    final ClassLoader schemaLoader = new MutantClassloader(new ClassPath(),
+        IsolationUtils.bootClassLoader(), clazz.asJavaName(),
+        schema.getBytes());
+    try {
+      final Class<?> loaded = Class.forName(clazz.asJavaName(), true,
+          schemaLoader);
+      return Option.some(loaded.getField(MutantSchema.ACTIVE_MUTANT_FIELD));
+    } catch (final ClassNotFoundException e) {
+      LOG.fine("Could not load mutant schema for " + clazz + " : " + e);
+    } catch (final NoSuchFieldException e) {
+      LOG.fine("Could not load mutant schema for " + clazz + " : " + e);
+    } catch (final LinkageError e) {
+      LOG.fine("Could not load mutant schema for " + clazz + " : " + e);
+    }
+    return Option.none();
+  }
+
+  private void processSchemaMutation(final Reporter r,
+      final TimeOutDecoratedTestSource testSource,
+      final MutationDetails mutation, final Field activeMutant, final int id)
+      throws IOException {
+    if (DEBUG) {
+      LOG.fine("Running mutation " + mutation + " from schema");
+    }
+    final List<TestUnit> relevantTests = testSource.translateTests(mutation
+        .getTestsInOrder());
+
+    r.describe(mutation.getId());
+
+    MutationStatusTestPair status;
+    if (relevantTests.isEmpty()) {
+      LOG.info("No test coverage for mutation  " + mutation);
+      status = new MutationStatusTestPair(0, DetectionStatus.RUN_ERROR);
+    } else {
+      final ClassLoader schemaLoader = activeMutant.getDeclaringClass()
+          .getClassLoader();
+      setActiveMutant(activeMutant, id);
+      try {
+        status = doTestsDetectMutation(createNewContainer(schemaLoader),
+            relevantTests);
+      } finally {
+        setActiveMutant(activeMutant, 0);
+      }
+    }
+
+    r.report(mutation.getId(), status);
+  }
+
+  private static void setActiveMutant(final Field activeMutant, final int id) {
+    try {
+      activeMutant.setInt(null, id);
+    } catch (final IllegalAccessException e) {
+      throw translateCheckedException(e);
+    }
+  }
+
+  private void runConcurrently(final Collection<MutationDetails> range,
+      final Reporter r, final TimeOutDecoratedTestSource testSource)
+      throws IOException {
+
+    // mutants are created on this thread as the mutater is not thread safe.
+    // The semaphore stops us creating more than we are able to run. A mutant
+    // that times out gives up its slot straight away, as the thread running
+    // it may never return.
+    final Semaphore slots = new Semaphore(this.mutantThreads);
+    final AtomicBoolean timedOut = new AtomicBoolean(false);
+    final ExecutorService executor = Executors.newFixedThreadPool(
+        this.mutantThreads, mutantThreadFactory());
+    final List<Future<Void>> inFlight = new ArrayList<Future<Void>>();
+    try {
+      for (final MutationDetails mutation : range) {
+        slots.acquire();
+        if (timedOut.get()) {
+          slots.release();
+          break;
+        }
+        final Mutant mutant = this.mutater.getMutation(mutation.getId());
+        r.describe(mutation.getId());
+        inFlight.add(executor.submit(isolatedMutantTest(r, testSource,
+            mutation, mutant, new MutantTimeOut(slots, timedOut))));
+      }
+      // all slots are free once every mutant has finished or timed out
+      slots.acquire(this.mutantThreads);
+      for (final Future<Void> each : inFlight) {
+        if (each.isDone()) {
+          each.get();
+        }
+      }
+    } catch (final InterruptedException e) {
+      throw translateCheckedException(e);
+    } catch (final ExecutionException e) {
+      throw translateCheckedException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    if (timedOut.get()) {
+      // the timed out mutant was described but never reported, so the parent
+      // will record it as timed out and resend any we did not reach
+      new TimeOutSystemExitSideEffect(r).apply();
+    }
+  }
+
+  private Callable<Void> isolatedMutantTest(final Reporter r,
+      final TimeOutDecoratedTestSource testSource,
+      final MutationDetails mutation, final Mutant mutant,
+      final MutantTimeOut timeOut) {
+    return new Callable<Void>() {
+      @Override
+      public Void call() throws IOException {
+        try {
+          final List<TestUnit> relevantTests = testSource.translateTests(
+              mutation.getTestsInOrder(), timeOut);
+          final MutationStatusTestPair status = handleIsolatedMutation(
+              mutation, mutant, relevantTests, timeOut);
+          if (!timeOut.hasTimedOut()) {
+            r.report(mutation.getId(), status);
+          }
+        } finally {
+          timeOut.releaseSlot();
+        }
+        return null;
+      }
+    };
+  }
+
+  private MutationStatusTestPair handleIsolatedMutation(
+      final MutationDetails mutation, final Mutant mutant,
+      final List<TestUnit> relevantTests, final MutantTimeOut timeOut) {
+    if (relevantTests.isEmpty()) {
+      LOG.info("No test coverage for mutation  " + mutation);
+      return new MutationStatusTestPair(0, DetectionStatus.RUN_ERROR);
+    }
+
+    final ClassLoader mutantLoader = new MutantClassloader(new ClassPath(),
+        IsolationUtils.bootClassLoader(), mutation.getClassName().asJavaName(),
+        mutant.getBytes());
+    if (!isViable(mutation, mutantLoader)) {
+      LOG.warning("Mutation " + mutation.getId() + " was not viable ");
+      return new MutationStatusTestPair(0, DetectionStatus.NON_VIABLE);
+    }
+
+    return doTestsDetectMutation(
+        createNewContainer(mutantLoader, timeOut), relevantTests);
+  }
+
+  private static boolean isViable(final MutationDetails mutation,
+      final ClassLoader mutantLoader) {
+    try {
+      Class.forName(mutation.getClassName().asJavaName(), false, mutantLoader);
+      return true;
+    } catch (final ClassNotFoundException e) {
+      return false;
+    } catch (final LinkageError e) {
+      return false;
+    }
+  }
+
+  private static Container createNewContainer(final ClassLoader activeloader,
+      final MutantTimeOut timeOut) {
+    return new UnContainer() {
+      @Override
+      public List<TestResult> execute(final TestUnit group) {
+        final List<TestResult> results = new ArrayList<TestResult>();
+        final ExitingResultCollector rc = new ExitingResultCollector(
+            new ConcreteResultCollector(results)) {
+          @Override
+          public boolean shouldExit() {
+            return super.shouldExit() || timeOut.hasTimedOut();
+          }
+        };
+        group.execute(activeloader, rc);
+        return results;
+      }
+    };
+  }
+
+  private static ThreadFactory mutantThreadFactory() {
+    return new ThreadFactory() {
+      private final AtomicInteger count = new AtomicInteger();
+
+      @Override
+      public Thread newThread(final Runnable r) {
+        final Thread t = new Thread(r, "pit mutant runner "
+            + this.count.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+      }
+    };
+  }
+
+  /**
+   * Records that a test exceeded its allowed time against a single mutant
+   * without bringing down the minion while other mutants are still running.
+   * The mutant's slot is released when it times out or finishes, whichever
+   * happens first.
+   */
+  private static class MutantTimeOut implements SideEffect {
+
+    private final Semaphore     slots;
+    private final AtomicBoolean anyTimedOut;
+    private final AtomicBoolean released = new AtomicBoolean(false);
+    private volatile boolean    timedOut = false;
+
+    MutantTimeOut(final Semaphore slots, final AtomicBoolean anyTimedOut) {
+      this.slots = slots;
+      this.anyTimedOut = anyTimedOut;
+    }
+
+    @Override
+    public void apply() {
+      this.timedOut = true;
+      this.anyTimedOut.set(true);
+      releaseSlot();
+    }
+
+    boolean hasTimedOut() {
+      return this.timedOut;
+    }
+
+    void releaseSlot() {
+      if (this.released.compareAndSet(false, true)) {
+        this.slots.release();
+      }
+    }
+
+  }
+
   private ClassLoader pickClassLoaderForMutant(final MutationDetails mutant) {
     if (mutant.mayPoisonJVM()) {
       if (DEBUG) {
@@ -185,7 +528,9 @@ public class MutationTestWorker {
   @Override
   public String toString() {
     return "MutationTestWorker [mutater=" + this.mutater + ", loader="
-        + this.loader + ", hotswap=" + this.hotswap + "]";
+        + this.loader + ", hotswap=" + this.hotswap + ", mutantThreads="
+        + this.mutantThreads + ", mutantSchemata=" + this.mutantSchemata
+        + "]";
   }
 
   private MutationStatusTestPair doTestsDetectMutation(final Container c,
@@ -14,31 +14,58 @@
  */
 package org.pitest.mutationtest.execute;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 import org.pitest.extension.common.TestUnitDecorator;
+import org.pitest.functional.Option;
 import org.pitest.functional.SideEffect;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
-import org.pitest.util.Unchecked;
 
+import sun.pitest.LoopGuard;
+
+/**
+ * Runs the child on the calling thread, applying the side effect from the
+ * watchdog thread if it does not complete within the allowed time. The child
+ * is not stopped, so the side effect must arrange for it to be abandoned.
+ *
+ * If loops are guarded the {@link LoopGuard} is armed with the allowed time,
+ * and the watchdog given a little longer, so that a mutant looping in the
+ * mutated method ends the test with a timeout rather than ending the minion.
+ */
 public final class MutationTimeoutDecorator extends TestUnitDecorator {
 
+  static final long                   LOOP_GUARD_GRACE = 500;
+
   private final TimeoutLengthStrategy timeOutStrategy;
   private final SideEffect            timeOutSideEffect;
   private final long                  executionTime;
+  private final TimeoutWatchdog       watchdog;
+  private final Option<TestDurations> measured;
+  private final boolean               loopGuard;
 
+  /**
+   * @param measured
+   *          if supplied, the duration of the child is recorded here when it
+   *          passes in time
+   * @param loopGuard
+   *          if true the mutant has been instrumented with calls to
+   *          {@link LoopGuard}, which is armed while the child runs
+   */
   public MutationTimeoutDecorator(final TestUnit child,
       final SideEffect timeOutSideEffect,
-      final TimeoutLengthStrategy timeStrategy, final long executionTime) {
+      final TimeoutLengthStrategy timeStrategy, final long executionTime,
+      final TimeoutWatchdog watchdog, final Option<TestDurations> measured,
+      final boolean loopGuard) {
     super(child);
     this.timeOutSideEffect = timeOutSideEffect;
     this.executionTime = executionTime;
     this.timeOutStrategy = timeStrategy;
+    this.watchdog = watchdog;
+    this.measured = measured;
+    this.loopGuard = loopGuard;
   }
 
   @Override
@@ -47,52 +74,84 @@ public final class MutationTimeoutDecorator extends TestUnitDecorator {
     final long maxTime = this.timeOutStrategy
         .getAllowedTime(this.executionTime);
 
-    final FutureTask<?> future = createFutureForChildTestUnit(loader, rc);
-    executeFutureWithTimeOut(maxTime, future, rc);
-    if (!future.isDone()) {
-      this.timeOutSideEffect.apply();
+    final FailureDetectingCollector collector = new FailureDetectingCollector(
+        rc);
+    // each test once had a thread of its own, so must not see a context
+    // loader set by an earlier one
+    final Thread current = Thread.currentThread();
+    final ClassLoader contextLoader = current.getContextClassLoader();
+    final long start = System.nanoTime();
+    final TimeoutWatchdog.Deadline deadline;
+    if (this.loopGuard) {
+      LoopGuard.arm(TimeUnit.MILLISECONDS.toNanos(maxTime));
+      deadline = this.watchdog.start(maxTime + LOOP_GUARD_GRACE,
+          this.timeOutSideEffect);
+    } else {
+      deadline = this.watchdog.start(maxTime, this.timeOutSideEffect);
     }
-
-  }
-
-  private void executeFutureWithTimeOut(final long maxTime,
-      final FutureTask<?> future, final ResultCollector rc) {
     try {
-      future.get(maxTime, TimeUnit.MILLISECONDS);
-    } catch (final TimeoutException ex) {
-      // swallow
-    } catch (final InterruptedException e) {
-      // swallow
-    } catch (final ExecutionException e) {
-      throw Unchecked.translateCheckedException(e);
+      child().execute(loader, collector);
+    } catch (final Throwable ex) {
+      collector.notifyEnd(child().getDescription(), ex);
+    } finally {
+      // if the watchdog got here first, returns once the side effect has been
+      // applied so the test cannot be mistaken for the next one
+      final boolean inTime = this.watchdog.finish(deadline);
+      // each test once had a thread of its own, so must not see an interrupt
+      // left behind by an earlier one
+      Thread.interrupted();
+      current.setContextClassLoader(contextLoader);
+      if (this.loopGuard && LoopGuard.disarm() && !collector.hadFailure) {
+        // the test caught the guard's error, but still ran out of time
+        collector.notifyEnd(child().getDescription(),
+            new LoopGuard.BudgetExceeded());
+      }
+      if (inTime && !collector.hadFailure && this.measured.hasSome()) {
+        this.measured.value().record(
+            child().getDescription().getQualifiedName(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      }
     }
-  }
 
-  private FutureTask<?> createFutureForChildTestUnit(final ClassLoader loader,
-      final ResultCollector rc) {
-    final FutureTask<?> future = new FutureTask<Object>(createRunnable(loader,
-        rc), null);
-    final Thread thread = new Thread(future);
-    thread.setDaemon(true);
-    thread.setName("mutationTestThread");
-    thread.start();
-    return future;
   }
 
-  private Runnable createRunnable(final ClassLoader loader,
-      final ResultCollector rc) {
-    return new Runnable() {
+  private static class FailureDetectingCollector implements ResultCollector {
+
+    private final ResultCollector child;
+    private boolean               hadFailure = false;
 
-      @Override
-      public void run() {
-        try {
-          child().execute(loader, rc);
-        } catch (final Throwable ex) {
-          rc.notifyEnd(child().getDescription(), ex);
-        }
+    FailureDetectingCollector(final ResultCollector child) {
+      this.child = child;
+    }
 
+    @Override
+    public void notifyEnd(final Description description, final Throwable t) {
+      this.child.notifyEnd(description, t);
+      if (t != null) {
+        this.hadFailure = true;
       }
-    };
+    }
+
+    @Override
+    public void notifyEnd(final Description description) {
+      this.child.notifyEnd(description);
+    }
+
+    @Override
+    public void notifyStart(final Description description) {
+      this.child.notifyStart(description);
+    }
+
+    @Override
+    public void notifySkipped(final Description description) {
+      this.child.notifySkipped(description);
+    }
+
+    @Override
+    public boolean shouldExit() {
+      return this.child.shouldExit();
+    }
+
   }
 
 }
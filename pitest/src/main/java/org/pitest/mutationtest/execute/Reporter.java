@@ -27,6 +27,12 @@ public interface Reporter {
   void report(MutationIdentifier i, MutationStatusTestPair mutationDetected)
       throws IOException;
 
+  /**
+   * Sends durations of tests measured by the minion, so that later minions
+   * can time tests against them.
+   */
+  void durations(TestDurations measured) throws IOException;
+
   void done(ExitCode exitCode);
 
 }
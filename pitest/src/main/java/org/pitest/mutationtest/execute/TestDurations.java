@@ -0,0 +1,85 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Recent durations of tests measured in minions, where the code under test
+ * is not instrumented for coverage. Only the most recent samples for each
+ * test are kept so the store stays small however long the run.
+ */
+public class TestDurations {
+
+  static final int                      MAX_SAMPLES = 64;
+
+  // guarded by this
+  private final Map<String, List<Long>> samples     = new HashMap<String, List<Long>>();
+
+  public synchronized void record(final String test, final long millis) {
+    List<Long> durations = this.samples.get(test);
+    if (durations == null) {
+      durations = new LinkedList<Long>();
+      this.samples.put(test, durations);
+    }
+    durations.add(millis);
+    if (durations.size() > MAX_SAMPLES) {
+      durations.remove(0);
+    }
+  }
+
+  public void recordAll(final Map<String, List<Long>> durations) {
+    for (final Entry<String, List<Long>> each : durations.entrySet()) {
+      for (final Long millis : each.getValue()) {
+        record(each.getKey(), millis);
+      }
+    }
+  }
+
+  /**
+   * @return copy of the samples recorded for each test
+   */
+  public synchronized Map<String, List<Long>> samples() {
+    final Map<String, List<Long>> copy = new HashMap<String, List<Long>>();
+    for (final Entry<String, List<Long>> each : this.samples.entrySet()) {
+      copy.put(each.getKey(), new ArrayList<Long>(each.getValue()));
+    }
+    return copy;
+  }
+
+  public synchronized boolean isEmpty() {
+    return this.samples.isEmpty();
+  }
+
+  /**
+   * @param percentile
+   *          between 0 and 100
+   * @param minimumSamples
+   *          tests with fewer samples are left out, as a single cold run
+   *          says little about how long a test normally takes
+   * @return nearest rank percentile of the recorded durations of each test
+   */
+  public synchronized Map<String, Long> percentiles(final double percentile,
+      final int minimumSamples) {
+    final Map<String, Long> result = new HashMap<String, Long>();
+    for (final Entry<String, List<Long>> each : this.samples.entrySet()) {
+      if (each.getValue().size() >= minimumSamples) {
+        result.put(each.getKey(), percentile(each.getValue(), percentile));
+      }
+    }
+    return result;
+  }
+
+  private static long percentile(final List<Long> durations,
+      final double percentile) {
+    final List<Long> sorted = new ArrayList<Long>(durations);
+    Collections.sort(sorted);
+    final int rank = (int) Math.ceil((percentile / 100) * sorted.size());
+    return sorted.get(Math.max(rank, 1) - 1);
+  }
+
+}
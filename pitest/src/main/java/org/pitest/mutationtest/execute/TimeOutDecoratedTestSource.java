@@ -23,6 +23,7 @@ import org.pitest.coverage.TestInfo;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.Option;
+import org.pitest.functional.SideEffect;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.testapi.TestUnit;
 
@@ -31,13 +32,42 @@ public class TimeOutDecoratedTestSource {
   private final Map<String, TestUnit> allTests = new HashMap<String, TestUnit>();
   private final TimeoutLengthStrategy timeoutStrategy;
   private final Reporter              r;
+  private final TimeoutWatchdog       watchdog;
+  private final MeasuredTimeouts      measuredTimeouts;
+  private final Option<TestDurations> measured;
+  private final boolean               loopGuards;
 
+  /**
+   * @param watchdog
+   *          enforces the allowed time for each test, shared so that a
+   *          minion needs only a single watchdog thread however many
+   *          batches it runs
+   * @param measuredTimeouts
+   *          durations from earlier minions, used in place of the coverage
+   *          run durations for the tests they cover
+   * @param measured
+   *          receives the durations of tests that pass in time, if measured
+   *          timeouts are enabled
+   * @param loopGuards
+   *          true if mutants have been instrumented with loop guards, which
+   *          are armed while each test runs
+   */
   public TimeOutDecoratedTestSource(
       final TimeoutLengthStrategy timeoutStrategy,
-      final List<TestUnit> allTests, final Reporter r) {
+      final List<TestUnit> allTests, final Reporter r,
+      final TimeoutWatchdog watchdog, final MeasuredTimeouts measuredTimeouts,
+      final TestDurations measured, final boolean loopGuards) {
     this.timeoutStrategy = timeoutStrategy;
     mapTests(allTests);
     this.r = r;
+    this.watchdog = watchdog;
+    this.measuredTimeouts = measuredTimeouts;
+    if (measuredTimeouts.isEnabled()) {
+      this.measured = Option.some(measured);
+    } else {
+      this.measured = Option.none();
+    }
+    this.loopGuards = loopGuards;
   }
 
   private void mapTests(final List<TestUnit> tests) {
@@ -47,10 +77,21 @@ public class TimeOutDecoratedTestSource {
   }
 
   public List<TestUnit> translateTests(final List<TestInfo> testsInOrder) {
-    return FCollection.flatMap(testsInOrder, testToTestUnit());
+    return translateTests(testsInOrder, new TimeOutSystemExitSideEffect(this.r));
+  }
+
+  /**
+   * @param timeOutSideEffect
+   *          action to take when one of the returned tests exceeds its
+   *          allowed time
+   */
+  public List<TestUnit> translateTests(final List<TestInfo> testsInOrder,
+      final SideEffect timeOutSideEffect) {
+    return FCollection.flatMap(testsInOrder, testToTestUnit(timeOutSideEffect));
   }
 
-  private F<TestInfo, Option<TestUnit>> testToTestUnit() {
+  private F<TestInfo, Option<TestUnit>> testToTestUnit(
+      final SideEffect timeOutSideEffect) {
     return new F<TestInfo, Option<TestUnit>>() {
 
       @Override
@@ -58,11 +99,7 @@ public class TimeOutDecoratedTestSource {
         final TestUnit tu = TimeOutDecoratedTestSource.this.allTests.get(a
             .getName());
         if (tu != null) {
-          return Option
-              .<TestUnit> some(new MutationTimeoutDecorator(tu,
-                  new TimeOutSystemExitSideEffect(
-                      TimeOutDecoratedTestSource.this.r),
-                      TimeOutDecoratedTestSource.this.timeoutStrategy, a.getTime()));
+          return Option.<TestUnit> some(decorate(tu, a, timeOutSideEffect));
         }
         return Option.none();
       }
@@ -70,4 +107,17 @@ public class TimeOutDecoratedTestSource {
     };
   }
 
+  private TestUnit decorate(final TestUnit tu, final TestInfo info,
+      final SideEffect timeOutSideEffect) {
+    // the same factor and constant are applied to a measured duration as to
+    // one from the coverage run
+    final Option<Long> duration = this.measuredTimeouts.getDuration(info
+        .getName());
+    final long normalDuration = duration.hasSome() ? duration.value() : info
+        .getTime();
+    return new MutationTimeoutDecorator(tu, timeOutSideEffect,
+        this.timeoutStrategy, normalDuration, this.watchdog, this.measured,
+        this.loopGuards);
+  }
+
 }
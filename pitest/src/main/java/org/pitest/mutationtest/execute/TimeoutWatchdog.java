@@ -0,0 +1,174 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.functional.SideEffect;
+import org.pitest.util.Log;
+
+/**
+ * Applies a side effect when a deadline passes without being finished.
+ *
+ * A single daemon thread waits for the earliest outstanding deadline. It is
+ * only woken early when a deadline earlier than the one it waits for is
+ * added, so starting and finishing deadlines for tests that complete in time
+ * costs no more than adding to and removing from a small queue.
+ *
+ * Each deadline is either finished or expires, never both, so the side effect
+ * is applied only when the caller has not already finished the deadline, and
+ * a caller that finishes too late does not move on until it has been applied.
+ * A side effect that fails is logged, and does not stop the watchdog from
+ * applying those of later deadlines.
+ */
+public class TimeoutWatchdog {
+
+  private static final Logger           LOG       = Log.getLogger();
+
+  private final PriorityQueue<Deadline> deadlines = new PriorityQueue<Deadline>();
+
+  // guarded by this
+  private Deadline                      waitingFor;
+  private Thread                        thread;
+
+  /**
+   * @param allowedMillis
+   *          time allowed before the side effect is applied
+   * @param onExpiry
+   *          applied on the watchdog thread if the deadline is not finished
+   *          in time
+   * @return deadline to pass to {@link #finish(Deadline)}
+   */
+  public synchronized Deadline start(final long allowedMillis,
+      final SideEffect onExpiry) {
+    ensureStarted();
+    final Deadline deadline = new Deadline(System.nanoTime()
+        + TimeUnit.MILLISECONDS.toNanos(allowedMillis), onExpiry);
+    this.deadlines.add(deadline);
+    if ((this.waitingFor == null) || (deadline.compareTo(this.waitingFor) < 0)) {
+      notifyAll();
+    }
+    return deadline;
+  }
+
+  /**
+   * If the deadline has expired, waits for its side effect to be applied.
+   *
+   * @return false if the deadline had already expired
+   */
+  public boolean finish(final Deadline deadline) {
+    if (deadline.finish()) {
+      synchronized (this) {
+        this.deadlines.remove(deadline);
+      }
+      return true;
+    }
+    deadline.awaitSideEffect();
+    return false;
+  }
+
+  private void ensureStarted() {
+    if (this.thread == null) {
+      this.thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          watch();
+        }
+      }, "pit timeout watchdog");
+      this.thread.setDaemon(true);
+      this.thread.start();
+    }
+  }
+
+  private void watch() {
+    try {
+      while (true) {
+        awaitExpiry().expire();
+      }
+    } catch (final InterruptedException e) {
+      // exit
+    }
+  }
+
+  private synchronized Deadline awaitExpiry() throws InterruptedException {
+    while (true) {
+      final Deadline head = this.deadlines.peek();
+      if (head == null) {
+        this.waitingFor = null;
+        wait();
+        continue;
+      }
+
+      final long remaining = head.expiresAt - System.nanoTime();
+      if (remaining <= 0) {
+        this.deadlines.poll();
+        this.waitingFor = null;
+        return head;
+      }
+      this.waitingFor = head;
+      TimeUnit.NANOSECONDS.timedWait(this, remaining);
+    }
+  }
+
+  public static final class Deadline implements Comparable<Deadline> {
+
+    private static final int     PENDING  = 0;
+    private static final int     FINISHED = 1;
+    private static final int     EXPIRED  = 2;
+
+    private final long           expiresAt;
+    private final SideEffect     onExpiry;
+    private final AtomicInteger  state    = new AtomicInteger(PENDING);
+    private final CountDownLatch applied  = new CountDownLatch(1);
+
+    private Deadline(final long expiresAt, final SideEffect onExpiry) {
+      this.expiresAt = expiresAt;
+      this.onExpiry = onExpiry;
+    }
+
+    private boolean finish() {
+      return this.state.compareAndSet(PENDING, FINISHED);
+    }
+
+    private void expire() {
+      // a deadline finished while being taken from the queue is left alone
+      if (!this.state.compareAndSet(PENDING, EXPIRED)) {
+        return;
+      }
+      try {
+        this.onExpiry.apply();
+      } catch (final RuntimeException e) {
+        LOG.log(Level.WARNING, "Could not apply timeout side effect", e);
+      } finally {
+        this.applied.countDown();
+      }
+    }
+
+    private void awaitSideEffect() {
+      boolean interrupted = false;
+      while (true) {
+        try {
+          this.applied.await();
+          break;
+        } catch (final InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public int compareTo(final Deadline o) {
+      // compared by difference as nano times may overflow
+      final long diff = this.expiresAt - o.expiresAt;
+      return diff < 0 ? -1 : (diff == 0 ? 0 : 1);
+    }
+
+  }
+
+}
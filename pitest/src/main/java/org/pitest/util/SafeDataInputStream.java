@@ -17,10 +17,13 @@ package org.pitest.util;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 public class SafeDataInputStream {
 
   private final DataInputStream dis;
+  private final List<String>    interned = new ArrayList<String>();
 
   public SafeDataInputStream(final InputStream is) {
     this.dis = new DataInputStream(is);
@@ -45,6 +48,48 @@ public class SafeDataInputStream {
     }
   }
 
+  public byte[] readBytes() {
+    try {
+      final byte[] data = new byte[this.dis.readInt()];
+      this.dis.readFully(data);
+      return data;
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  public int readVarInt() {
+    int value = 0;
+    int shift = 0;
+    byte b = readByte();
+    while ((b & 0x80) != 0) {
+      value = value | ((b & 0x7F) << shift);
+      shift = shift + 7;
+      if (shift > 28) {
+        throw new PitError("Malformed variable length int");
+      }
+      b = readByte();
+    }
+    return value | (b << shift);
+  }
+
+  /**
+   * Reads a string written by
+   * {@link SafeDataOutputStream#writeInternedString(String)}
+   */
+  public String readInternedString() {
+    final int id = readVarInt();
+    if (id == 0) {
+      return null;
+    }
+    if (id == 1) {
+      final String str = readString();
+      this.interned.add(str);
+      return str;
+    }
+    return this.interned.get(id - 2);
+  }
+
   @SuppressWarnings("unchecked")
   public <T> T read(final Class<T> type) {
     return (T) IsolationUtils.fromXml(readString());
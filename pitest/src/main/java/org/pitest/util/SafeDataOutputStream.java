@@ -17,10 +17,16 @@ package org.pitest.util;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
 
 public class SafeDataOutputStream {
 
-  private final DataOutputStream dos;
+  private final DataOutputStream     dos;
+
+  // strings already sent on this stream, and the id the reader will know
+  // them by
+  private final Map<String, Integer> interned = new HashMap<String, Integer>();
 
   public SafeDataOutputStream(final OutputStream os) {
     this.dos = new DataOutputStream(os);
@@ -45,6 +51,47 @@ public class SafeDataOutputStream {
     }
   }
 
+  public void writeBytes(final byte[] bytes) {
+    try {
+      this.dos.writeInt(bytes.length);
+      this.dos.write(bytes);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  /**
+   * Writes a non negative int using between one and five bytes
+   */
+  public void writeVarInt(final int value) {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      writeByte((byte) ((remaining & 0x7F) | 0x80));
+      remaining = remaining >>> 7;
+    }
+    writeByte((byte) remaining);
+  }
+
+  /**
+   * Writes a possibly null string. Each distinct string is sent in full only
+   * the first time it is written to this stream, after which it is sent as a
+   * reference to the earlier copy.
+   */
+  public void writeInternedString(final String str) {
+    if (str == null) {
+      writeVarInt(0);
+      return;
+    }
+    final Integer id = this.interned.get(str);
+    if (id != null) {
+      writeVarInt(id + 2);
+    } else {
+      this.interned.put(str, this.interned.size());
+      writeVarInt(1);
+      writeString(str);
+    }
+  }
+
   public <T> void write(final T value) {
     writeString(IsolationUtils.toXml(value));
   }
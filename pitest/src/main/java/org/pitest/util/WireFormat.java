@@ -0,0 +1,51 @@
+package org.pitest.util;
+
+/**
+ * Encoding used for messages exchanged between the main process and its
+ * minions.
+ *
+ * The format is announced by the main process at the start of each
+ * connection, so a minion never has to guess how to encode its results.
+ */
+public enum WireFormat {
+
+  /**
+   * Every object is serialised to XML by XStream
+   */
+  XML,
+
+  /**
+   * Messages are written field by field using variable length ints, with
+   * repeated class, method and test names replaced by references to an
+   * earlier copy
+   */
+  BINARY;
+
+  /**
+   * Incremented whenever the binary encoding of any message changes
+   */
+  public static final int BINARY_VERSION = 2;
+
+  public void writeHandshake(final SafeDataOutputStream dos) {
+    dos.writeByte((byte) ordinal());
+    dos.writeVarInt(BINARY_VERSION);
+  }
+
+  public static WireFormat readHandshake(final SafeDataInputStream dis) {
+    final byte format = dis.readByte();
+    final int version = dis.readVarInt();
+    if ((format < 0) || (format >= values().length)) {
+      throw new PitError("Unknown wire format " + format);
+    }
+    if (version != BINARY_VERSION) {
+      throw new PitError("Minion protocol version " + version
+          + " does not match expected version " + BINARY_VERSION);
+    }
+    return values()[format];
+  }
+
+  public boolean isBinary() {
+    return this == BINARY;
+  }
+
+}
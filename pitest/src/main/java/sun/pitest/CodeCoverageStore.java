@@ -21,10 +21,8 @@
 package sun.pitest;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Store for line visit information.
@@ -43,13 +41,21 @@ public final class CodeCoverageStore {
   private static InvokeReceiver                invokeQueue;
   private static int                           classId           = 0;
 
-  // array of probe hits, first slot indicates any hits to the class.
+  // array of probe hits indexed by class id, first slot of each indicates
+  // any hits to the class.
   // testing suggests boolean array with synchronization to ensure happens
   // before relationship significantly outperforms
   // both AtomicInteger array with bit per flag and integer per flag.
   // optimisation with other methods of ensuring a happens before not yet
-  // investigated
-  private static final Map<Integer, boolean[]> CLASS_HITS        = new ConcurrentHashMap<Integer, boolean[]>();
+  // investigated.
+  // The outer array is replaced whenever a class is registered so readers
+  // always see fully initialised entries via the volatile read.
+  private static volatile boolean[][]          classHits         = new boolean[0][];
+
+  // ids of classes hit since the last reset, so that reset and extraction
+  // need not visit every registered class
+  private static int[]                         hitClasses        = new int[64];
+  private static int                           hitClassCount     = 0;
 
   public static void init(final InvokeReceiver invokeQueue) {
     CodeCoverageStore.invokeQueue = invokeQueue;
@@ -59,15 +65,13 @@ public final class CodeCoverageStore {
   }
 
   public static void visitSingleProbe(final int classId, final int probe) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     bs[probe + 1] = true;
   }
 
   public static void visitProbes(final int classId, final int offset,
       final boolean[] probes) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     for (int i = 0; i != probes.length; i++) {
       if (probes[i]) {
         bs[i + offset + 1] = true;
@@ -84,8 +88,7 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -93,8 +96,7 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -105,8 +107,7 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -120,8 +121,7 @@ public final class CodeCoverageStore {
 
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -139,8 +139,7 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -161,8 +160,7 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -186,8 +184,7 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -214,8 +211,7 @@ public final class CodeCoverageStore {
   public static void visitProbes(final int classId, final int offset,
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -246,8 +242,7 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -281,8 +276,7 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -319,8 +313,7 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -360,8 +353,7 @@ public final class CodeCoverageStore {
       final boolean p0, final boolean p1, final boolean p2, final boolean p3,
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -405,8 +397,7 @@ public final class CodeCoverageStore {
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11,
       final boolean p12) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -453,8 +444,7 @@ public final class CodeCoverageStore {
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11,
       final boolean p12, final boolean p13) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -504,8 +494,7 @@ public final class CodeCoverageStore {
       final boolean p4, final boolean p5, final boolean p6, final boolean p7,
       final boolean p8, final boolean p9, final boolean p10, final boolean p11,
       final boolean p12, final boolean p13, final boolean p14) { // NO_UCD
-    final boolean[] bs = CLASS_HITS.get(classId);
-    bs[CLASS_HIT_INDEX] = true;
+    final boolean[] bs = probesFor(classId);
     if (p0) {
       bs[offset + 1] = true;
     }
@@ -553,22 +542,75 @@ public final class CodeCoverageStore {
     }
   }
 
+  private static boolean[] probesFor(final int classId) {
+    final boolean[] bs = classHits[classId];
+    if (!bs[CLASS_HIT_INDEX]) {
+      markHit(classId, bs);
+    }
+    return bs;
+  }
+
+  private static synchronized void markHit(final int classId,
+      final boolean[] bs) {
+    // an array replaced by reset belongs to the previous test, so hits from
+    // threads still running it are dropped rather than counted again
+    if (bs[CLASS_HIT_INDEX] || (classHits[classId] != bs)) {
+      return;
+    }
+    bs[CLASS_HIT_INDEX] = true;
+    if (hitClassCount == hitClasses.length) {
+      hitClasses = Arrays.copyOf(hitClasses, hitClassCount * 2);
+    }
+    hitClasses[hitClassCount] = classId;
+    hitClassCount++;
+  }
+
   public static synchronized void reset() {
-    for (final Entry<Integer, boolean[]> each : CLASS_HITS.entrySet()) {
-      CLASS_HITS.put(each.getKey(), new boolean[each.getValue().length]);
+    // fresh arrays rather than clearing in place, so a thread still running
+    // from the previous test can neither see a stale hit flag nor record a
+    // probe that would be credited to the next test
+    final boolean[][] hits = classHits;
+    for (int i = 0; i != hitClassCount; i++) {
+      final int id = hitClasses[i];
+      hits[id] = new boolean[hits[id].length];
+    }
+    hitClassCount = 0;
+    // republish so the new entries are visible to unsynchronized readers
+    classHits = hits;
+  }
+
+  /**
+   * Returns the ids of the classes hit since the last reset.
+   */
+  public static synchronized int[] getHitClasses() {
+    return Arrays.copyOf(hitClasses, hitClassCount);
+  }
+
+  /**
+   * Returns the probes hit in the given class since the last reset as a
+   * bitmap, with probe n stored in bit n % 64 of word n / 64. Trailing words
+   * with no hits are omitted.
+   */
+  public static synchronized long[] getHitProbes(final int classId) {
+    final boolean[] bs = classHits[classId];
+    final long[] words = new long[((bs.length - 1) + 63) / 64];
+    int used = 0;
+    for (int probeId = 1; probeId != bs.length; probeId++) {
+      if (bs[probeId]) {
+        final int probe = probeId - 1;
+        words[probe >> 6] |= 1L << (probe & 63);
+        used = (probe >> 6) + 1;
+      }
     }
+    return used == words.length ? words : Arrays.copyOf(words, used);
   }
 
   public static synchronized Collection<Long> getHits() {
     final Collection<Long> blockHits = new ArrayList<Long>();
-    for (final Entry<Integer, boolean[]> each : CLASS_HITS.entrySet()) {
-      final boolean[] bs = each.getValue();
-      // first entry tracks if class has been visited at all
-      if (!bs[CLASS_HIT_INDEX]) {
-        continue;
-      }
-      final int classId = each.getKey();
-      // final int[] mapping = classProbeToBlockMapping.get(classId);
+    final boolean[][] hits = classHits;
+    for (int i = 0; i != hitClassCount; i++) {
+      final int classId = hitClasses[i];
+      final boolean[] bs = hits[classId];
       for (int probeId = 1; probeId != bs.length; probeId++) {
         if (bs[probeId]) {
           blockHits.add(encode(classId, probeId - 1));
@@ -606,12 +648,20 @@ public final class CodeCoverageStore {
     return ((long) classId << 32) | line;
   }
 
-  public static void registerClassProbes(final int classId, int probeCount) {
-    CLASS_HITS.put(classId, new boolean[probeCount + 1]);
+  public static synchronized void registerClassProbes(final int classId,
+      int probeCount) {
+    boolean[][] hits = classHits;
+    if (classId >= hits.length) {
+      hits = Arrays.copyOf(hits, Math.max(classId + 1, hits.length * 2));
+    }
+    hits[classId] = new boolean[probeCount + 1];
+    // republish so the new entry is visible to unsynchronized readers
+    classHits = hits;
   }
 
-  public static void resetAllStaticState() {
-    CLASS_HITS.clear();
+  public static synchronized void resetAllStaticState() {
+    classHits = new boolean[0][];
+    hitClassCount = 0;
   }
 
 }
@@ -0,0 +1,98 @@
+// placed in a sun package so non delegating classloaders are likely
+// to still delegate it's loading
+package sun.pitest;
+
+/**
+ * Called on the backward jumps of a mutated method. Once the test running on
+ * the current thread has used the time it was armed with, the guard throws
+ * from every further backward jump so that a mutant that loops forever ends
+ * the test rather than the minion.
+ */
+public final class LoopGuard {
+
+  public static final String               CLASS_NAME       = LoopGuard.class
+                                                                .getName()
+                                                                .replace('.',
+                                                                    '/');
+  public static final String               TICK_METHOD_NAME = "tick";
+
+  // the clock is read only once per this many backward jumps
+  static final int                         CHECK_INTERVAL   = 1 << 14;
+
+  private static final ThreadLocal<Budget> BUDGETS          = new ThreadLocal<Budget>();
+
+  private LoopGuard() {
+  }
+
+  public static void tick() { // NO_UCD
+    final Budget budget = BUDGETS.get();
+    if (budget != null) {
+      budget.tick();
+    }
+  }
+
+  public static void arm(final long allowedNanos) {
+    BUDGETS.set(new Budget(System.nanoTime() + allowedNanos));
+  }
+
+  /**
+   * @return true if the budget was exceeded since the guard was armed
+   */
+  public static boolean disarm() {
+    final Budget budget = BUDGETS.get();
+    BUDGETS.remove();
+    return (budget != null) && budget.exceeded;
+  }
+
+  /**
+   * Compares by name as the guard may have been thrown from a copy of this
+   * class loaded by another classloader
+   */
+  public static boolean isBudgetExceeded(final Throwable t) {
+    Throwable each = t;
+    while (each != null) {
+      if (each.getClass().getName().equals(BudgetExceeded.class.getName())) {
+        return true;
+      }
+      each = each.getCause();
+    }
+    return false;
+  }
+
+  private static final class Budget {
+
+    private final long deadline;
+    private int        untilCheck = CHECK_INTERVAL;
+    private boolean    exceeded;
+
+    Budget(final long deadline) {
+      this.deadline = deadline;
+    }
+
+    void tick() {
+      if (this.exceeded) {
+        throw new BudgetExceeded();
+      }
+      this.untilCheck--;
+      if (this.untilCheck == 0) {
+        this.untilCheck = CHECK_INTERVAL;
+        if ((System.nanoTime() - this.deadline) > 0) {
+          this.exceeded = true;
+          throw new BudgetExceeded();
+        }
+      }
+    }
+
+  }
+
+  public static final class BudgetExceeded extends Error {
+
+    private static final long serialVersionUID = 1L;
+
+    public BudgetExceeded() {
+      super("Mutant exceeded the time allowed for the test in a loop");
+    }
+
+  }
+
+}
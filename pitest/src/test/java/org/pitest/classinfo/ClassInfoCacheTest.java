@@ -0,0 +1,225 @@
+package org.pitest.classinfo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.classpath.DirectoryClassPathRoot;
+import org.pitest.functional.Option;
+import org.pitest.util.IsolationUtils;
+
+public class ClassInfoCacheTest {
+
+  @Rule
+  public TemporaryFolder    folder = new TemporaryFolder();
+
+  private final ClassName   foo    = ClassName.fromClass(Foo.class);
+
+  private File              classes;
+  private File              cacheFile;
+  private ClassPath         classPath;
+  private RecordingListener listener;
+
+  @Before
+  public void setUp() throws IOException {
+    this.classes = this.folder.newFolder("classes");
+    this.cacheFile = new File(this.folder.getRoot(), "cache.bin");
+    this.classPath = new ClassPath(new DirectoryClassPathRoot(this.classes));
+    this.listener = new RecordingListener();
+    writeClass(Foo.class, bytesFor(Foo.class));
+  }
+
+  @Test
+  public void shouldRoundTripClassInfo() {
+    final ClassInfoBuilder info = parse(Foo.class);
+    info.registerClassAnnotationValue(ClassName.fromString("com.example.A"),
+        new Object[] { "a", 1, 2L, true, 'c', (byte) 3, (short) 4, 5f, 6d });
+
+    final ClassInfoBuilder actual = ClassInfoCache.decode(ByteBuffer
+        .wrap(ClassInfoCache.encode(info)));
+
+    assertEquals(info.id, actual.id);
+    assertEquals(info.access, actual.access);
+    assertEquals(info.outerClass, actual.outerClass);
+    assertEquals(info.superClass, actual.superClass);
+    assertEquals(info.sourceFile, actual.sourceFile);
+    assertEquals(info.codeLines, actual.codeLines);
+    assertEquals(info.annotations, actual.annotations);
+    assertArrayEquals((Object[]) info.classAnnotationValues.get(ClassName
+        .fromString("com.example.A")), (Object[]) actual.classAnnotationValues
+        .get(ClassName.fromString("com.example.A")));
+  }
+
+  @Test
+  public void shouldNotEncodeUnsupportedAnnotationValues() {
+    final ClassInfoBuilder info = parse(Foo.class);
+    info.registerClassAnnotationValue(ClassName.fromString("com.example.A"),
+        new Object());
+    assertNull(ClassInfoCache.encode(info));
+  }
+
+  @Test
+  public void shouldMissWhenNoCacheExists() {
+    final ClassInfoCache testee = createCache();
+    assertFalse(testee.get(this.foo).hasSome());
+    assertEquals(1, this.listener.misses.size());
+  }
+
+  @Test
+  public void shouldHitInLaterRunWhenClassUnchanged() {
+    final ClassInfoCache first = createCache();
+    first.put(this.foo, parse(Foo.class));
+    first.close();
+
+    final ClassInfoCache second = createCache();
+    final Option<ClassInfoBuilder> actual = second.get(this.foo);
+    assertTrue(actual.hasSome());
+    assertEquals(this.foo, actual.value().id.getName());
+    assertEquals(1, this.listener.hits.size());
+  }
+
+  @Test
+  public void shouldMissInLaterRunWhenClassFileChanged() throws IOException {
+    final ClassInfoCache first = createCache();
+    first.put(this.foo, parse(Foo.class));
+    first.close();
+
+    writeClass(Foo.class, bytesFor(Foo.class), new byte[] { 0 });
+
+    final ClassInfoCache second = createCache();
+    assertFalse(second.get(this.foo).hasSome());
+    assertEquals(1, this.listener.misses.size());
+  }
+
+  @Test
+  public void shouldOnlyKeepEntriesUsedDuringRun() {
+    final ClassInfoCache first = createCache();
+    first.put(this.foo, parse(Foo.class));
+    first.close();
+
+    final ClassInfoCache second = createCache();
+    second.load();
+    second.close();
+
+    assertFalse(createCache().get(this.foo).hasSome());
+  }
+
+  @Test
+  public void shouldHitInNextRunOfCacheHeldInMemory() {
+    final ClassInfoCache first = new ClassInfoCache(this.classPath,
+        this.listener);
+    first.put(this.foo, parse(Foo.class));
+    first.close();
+
+    final ClassInfoCache second = first.nextRun(this.classPath, this.listener);
+    assertTrue(second.get(this.foo).hasSome());
+    assertEquals(1, this.listener.hits.size());
+    assertFalse(this.cacheFile.exists());
+  }
+
+  @Test
+  public void shouldMissInNextRunWhenClassFileChanged() throws IOException {
+    final ClassInfoCache first = new ClassInfoCache(this.classPath,
+        this.listener);
+    first.put(this.foo, parse(Foo.class));
+
+    writeClass(Foo.class, bytesFor(Foo.class), new byte[] { 0 });
+
+    final ClassInfoCache second = first.nextRun(this.classPath, this.listener);
+    assertFalse(second.get(this.foo).hasSome());
+    assertEquals(1, this.listener.misses.size());
+  }
+
+  @Test
+  public void shouldIgnoreCorruptCacheFile() throws IOException {
+    final FileOutputStream fos = new FileOutputStream(this.cacheFile);
+    try {
+      fos.write(new byte[] { 1, 2, 3 });
+    } finally {
+      fos.close();
+    }
+    assertFalse(createCache().get(this.foo).hasSome());
+  }
+
+  @Test
+  public void shouldSupplyCachedInfoToRepository() {
+    final ClassInfoCache first = createCache();
+    new Repository(new ClassloaderByteArraySource(
+        IsolationUtils.getContextClassLoader()), first).fetchClass(this.foo);
+    first.close();
+
+    final ClassInfoCache second = createCache();
+    final Repository testee = new Repository(new ClassloaderByteArraySource(
+        IsolationUtils.getContextClassLoader()), second);
+    assertTrue(testee.fetchClass(this.foo).hasSome());
+    assertEquals(1, this.listener.hits.size());
+  }
+
+  private ClassInfoCache createCache() {
+    return new ClassInfoCache(this.cacheFile, this.classPath, this.listener);
+  }
+
+  private ClassInfoBuilder parse(final Class<?> clazz) {
+    final byte[] bytes = bytesFor(clazz);
+    return ClassInfoVisitor.getClassInfo(ClassName.fromClass(clazz), bytes,
+        new AddlerHash().hash(bytes));
+  }
+
+  private static byte[] bytesFor(final Class<?> clazz) {
+    return new ClassloaderByteArraySource(
+        IsolationUtils.getContextClassLoader()).getBytes(clazz.getName())
+        .value();
+  }
+
+  private void writeClass(final Class<?> clazz, final byte[]... parts)
+      throws IOException {
+    final File file = new File(this.classes, ClassName.fromClass(clazz)
+        .asInternalName() + ".class");
+    file.getParentFile().mkdirs();
+    final FileOutputStream fos = new FileOutputStream(file);
+    try {
+      for (final byte[] each : parts) {
+        fos.write(each);
+      }
+    } finally {
+      fos.close();
+    }
+  }
+
+  private static class RecordingListener implements ClassInfoCache.Listener {
+    final List<ClassName> hits   = new ArrayList<ClassName>();
+    final List<ClassName> misses = new ArrayList<ClassName>();
+
+    @Override
+    public void hit(final ClassName clazz) {
+      this.hits.add(clazz);
+    }
+
+    @Override
+    public void miss(final ClassName clazz) {
+      this.misses.add(clazz);
+    }
+  }
+
+  static class Foo {
+    int bar() {
+      return 1;
+    }
+  }
+
+}
@@ -0,0 +1,106 @@
+package org.pitest.classpath;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassPathWatcherTest {
+
+  @Rule
+  public TemporaryFolder         folder   = new TemporaryFolder();
+
+  private final OpenArchives     archives = new OpenArchives(2);
+
+  private final ClassPathWatcher testee   = new ClassPathWatcher(this.archives);
+
+  @Test
+  public void shouldReportNoChangesOnFirstCheck() throws Exception {
+    final File jar = makeJar("a.jar", "a/A.class");
+    assertTrue(this.testee.checkForChanges(Collections.singletonList(jar))
+        .isEmpty());
+  }
+
+  @Test
+  public void shouldReportNoChangesWhenArchivesUnchanged() throws Exception {
+    final File jar = makeJar("a.jar", "a/A.class");
+    this.testee.checkForChanges(Collections.singletonList(jar));
+    assertTrue(this.testee.checkForChanges(Collections.singletonList(jar))
+        .isEmpty());
+  }
+
+  @Test
+  public void shouldReportChangedArchives() throws Exception {
+    final File jar = makeJar("a.jar", "a/A.class");
+    final File other = makeJar("b.jar", "b/B.class");
+    this.testee.checkForChanges(Arrays.asList(jar, other));
+
+    rewriteJar(jar, "a/A.class", "a/B.class");
+
+    assertEquals(Collections.singletonList(jar),
+        this.testee.checkForChanges(Arrays.asList(jar, other)));
+  }
+
+  @Test
+  public void shouldReadNewContentsOfChangedArchives() throws Exception {
+    final File jar = makeJar("a.jar", "a/A.class");
+    this.testee.checkForChanges(Collections.singletonList(jar));
+    this.archives.archiveFor(jar).read("a/A.class");
+
+    rewriteJar(jar, "a/A.class", "a/B.class");
+    this.testee.checkForChanges(Collections.singletonList(jar));
+
+    assertArrayEquals("a/B.class".getBytes("UTF-8"), this.archives
+        .archiveFor(jar).read("a/B.class"));
+  }
+
+  @Test
+  public void shouldIgnoreDirectories() throws Exception {
+    final File dir = this.folder.newFolder("classes");
+    this.testee.checkForChanges(Collections.singletonList(dir));
+    new File(dir, "A.class").createNewFile();
+    assertTrue(this.testee.checkForChanges(Collections.singletonList(dir))
+        .isEmpty());
+  }
+
+  private File makeJar(final String name, final String... entries)
+      throws IOException {
+    final File jar = this.folder.newFile(name);
+    writeJar(jar, entries);
+    return jar;
+  }
+
+  private static void rewriteJar(final File jar, final String... entries)
+      throws IOException {
+    final long before = jar.lastModified();
+    writeJar(jar, entries);
+    // file systems with coarse timestamps may not see the write
+    jar.setLastModified(before + 2000);
+  }
+
+  private static void writeJar(final File jar, final String... entries)
+      throws IOException {
+    final ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(jar));
+    try {
+      for (final String each : entries) {
+        zos.putNextEntry(new ZipEntry(each));
+        zos.write(each.getBytes("UTF-8"));
+        zos.closeEntry();
+      }
+    } finally {
+      zos.close();
+    }
+  }
+
+}
@@ -0,0 +1,70 @@
+package org.pitest.classpath;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.util.StreamUtil;
+
+public class IndexedArchiveClassPathRootTest {
+
+  private IndexedArchiveClassPathRoot testee;
+
+  @Before
+  public void setup() throws Exception {
+    // see ArchiveClassPathRootTest for origin of mytests.jar
+    this.testee = new IndexedArchiveClassPathRoot(new File("mytests.jar"),
+        new OpenArchives(1));
+  }
+
+  @Test
+  public void classNamesShouldReturnAllClassNamesInArchive() {
+    final Collection<String> expected = Arrays.asList(
+        "injar.p1.P1NoTest$InnerTest", "injar.p1.P1NoTest", "injar.p1.P1Test",
+        "injar.p2.P2Test");
+    assertEquals(expected, this.testee.classNames());
+  }
+
+  @Test
+  public void getDataShouldReturnNullForUnknownClass() throws Exception {
+    assertNull(this.testee.getData("bar"));
+  }
+
+  @Test
+  public void shouldReturnSameBytesAsArchiveClassPathRoot() throws Exception {
+    final ArchiveClassPathRoot original = new ArchiveClassPathRoot(new File(
+        "mytests.jar"));
+    for (final String each : original.classNames()) {
+      assertArrayEquals(StreamUtil.streamToByteArray(original.getData(each)),
+          StreamUtil.streamToByteArray(this.testee.getData(each)));
+    }
+  }
+
+  @Test
+  public void getResourceShouldReturnNullForAnUnknownResource()
+      throws Exception {
+    assertNull(this.testee.getResource("bar"));
+  }
+
+  @Test
+  public void getResourceShouldReturnURLForAKnownResource() throws Exception {
+    assertNotNull(this.testee.getResource("injar/p1/P1Test.class"));
+  }
+
+  @Test
+  public void shouldReturnSameResourceURLAsArchiveClassPathRoot()
+      throws Exception {
+    final ArchiveClassPathRoot original = new ArchiveClassPathRoot(new File(
+        "mytests.jar"));
+    assertEquals(original.getResource("injar/p1/P1Test.class"),
+        this.testee.getResource("injar/p1/P1Test.class"));
+  }
+
+}
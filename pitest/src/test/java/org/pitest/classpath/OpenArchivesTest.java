@@ -0,0 +1,113 @@
+package org.pitest.classpath;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OpenArchivesTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final OpenArchives testee = new OpenArchives(2);
+
+  @Test
+  public void shouldReturnSameArchiveForSameFile() throws Exception {
+    final File jar = makeJar("a.jar", "foo/Bar.class");
+    assertSame(this.testee.archiveFor(jar), this.testee.archiveFor(jar));
+  }
+
+  @Test
+  public void shouldReadEntryContents() throws Exception {
+    final File jar = makeJar("a.jar", "foo/Bar.class");
+    assertArrayEquals("foo/Bar.class".getBytes("UTF-8"), this.testee
+        .archiveFor(jar).read("foo/Bar.class"));
+  }
+
+  @Test
+  public void shouldReturnNullForUnknownEntry() throws Exception {
+    final File jar = makeJar("a.jar", "foo/Bar.class");
+    assertNull(this.testee.archiveFor(jar).read("foo/Missing.class"));
+  }
+
+  @Test
+  public void shouldNotKeepMoreThanMaximumArchivesOpen() throws Exception {
+    for (int i = 0; i != 5; i++) {
+      this.testee.archiveFor(makeJar(i + ".jar", "foo/Bar.class")).read(
+          "foo/Bar.class");
+    }
+    assertEquals(2, this.testee.openCount());
+  }
+
+  @Test
+  public void shouldReopenArchivesClosedByThePool() throws Exception {
+    final OpenArchives.Archive first = this.testee.archiveFor(makeJar("a.jar",
+        "a/A.class"));
+    first.read("a/A.class");
+    this.testee.archiveFor(makeJar("b.jar", "b/B.class")).read("b/B.class");
+    this.testee.archiveFor(makeJar("c.jar", "c/C.class")).read("c/C.class");
+    assertArrayEquals("a/A.class".getBytes("UTF-8"), first.read("a/A.class"));
+  }
+
+  @Test
+  public void shouldReadNewContentsOfDiscardedArchive() throws Exception {
+    final File jar = makeJar("a.jar", "a/A.class");
+    this.testee.archiveFor(jar).read("a/A.class");
+    jar.delete();
+    makeJar("a.jar", "a/B.class");
+
+    this.testee.discard(jar);
+
+    assertArrayEquals("a/B.class".getBytes("UTF-8"), this.testee
+        .archiveFor(jar).read("a/B.class"));
+    assertEquals(1, this.testee.openCount());
+  }
+
+  @Test
+  public void shouldReadNewContentsOfArchiveRebuiltWhileClosed()
+      throws Exception {
+    final File jar = makeJar("a.jar", "a/A.class");
+    this.testee.archiveFor(jar).read("a/A.class");
+    this.testee.closeAll();
+    jar.delete();
+    makeJar("a.jar", "a/Longer.class");
+
+    assertArrayEquals("a/Longer.class".getBytes("UTF-8"), this.testee
+        .archiveFor(jar).read("a/Longer.class"));
+  }
+
+  @Test
+  public void shouldCloseAllOpenArchives() throws Exception {
+    this.testee.archiveFor(makeJar("a.jar", "a/A.class")).read("a/A.class");
+    this.testee.closeAll();
+    assertEquals(0, this.testee.openCount());
+  }
+
+  private File makeJar(final String name, final String... entries)
+      throws IOException {
+    final File jar = this.folder.newFile(name);
+    final ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(jar));
+    try {
+      for (final String each : entries) {
+        zos.putNextEntry(new ZipEntry(each));
+        zos.write(each.getBytes("UTF-8"));
+        zos.closeEntry();
+      }
+    } finally {
+      zos.close();
+    }
+    return jar;
+  }
+
+}
@@ -0,0 +1,71 @@
+package org.pitest.coverage.codeassist;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.BlockLocation;
+import org.pitest.coverage.BlockMap;
+import org.pitest.coverage.analysis.BlockMapper;
+import org.pitest.functional.Option;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+
+import com.example.coverage.execute.samples.simple.ThreeBlocks;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BlockMapperTest {
+
+  @Mock
+  CodeSource source;
+
+  private final Location foo = Location.location(
+      ClassName.fromClass(ThreeBlocks.class), MethodName.fromString("foo"),
+      "(I)I");
+
+  @Test
+  public void shouldFindBlockContainingInstruction() throws Exception {
+    // L0, LINENUMBER, ILOAD, BIPUSH, IF_ICMPLE ends the first block
+    final BlockMap testee = analyse(ThreeBlocks.class);
+    assertThat(testee.blockFor(this.foo, 2)).containsExactly(
+        BlockLocation.blockLocation(this.foo, 0));
+    assertThat(testee.blockFor(this.foo, 4)).containsExactly(
+        BlockLocation.blockLocation(this.foo, 0));
+    assertThat(testee.blockFor(this.foo, 7)).containsExactly(
+        BlockLocation.blockLocation(this.foo, 1));
+  }
+
+  @Test
+  public void shouldNotFindBlockForUnknownMethod() throws Exception {
+    final Location bar = Location.location(
+        ClassName.fromClass(ThreeBlocks.class), MethodName.fromString("bar"),
+        "()V");
+    assertThat(analyse(ThreeBlocks.class).blockFor(bar, 0)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotFindBlockForInstructionOutsideMethod() throws Exception {
+    assertThat(analyse(ThreeBlocks.class).blockFor(this.foo, 1000)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotFindBlockWhenClassNotAvailable() {
+    when(this.source.fetchClassBytes(any(ClassName.class))).thenReturn(
+        Option.<byte[]> none());
+    final BlockMap testee = new BlockMapper(this.source);
+    assertThat(testee.blockFor(this.foo, 0)).isEmpty();
+  }
+
+  private BlockMap analyse(final Class<?> clazz) throws ClassNotFoundException {
+    when(this.source.fetchClassBytes(any(ClassName.class))).thenReturn(
+        Option.some(ClassUtils.classAsBytes(clazz)));
+    return new BlockMapper(this.source);
+  }
+
+}
@@ -0,0 +1,36 @@
+package org.pitest.coverage.execute;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+import org.pitest.testapi.Description;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
+
+public class DescriptionCodecTest {
+
+  @Test
+  public void shouldRoundTripDescriptionsInEachFormat() {
+    final Description withClass = new Description("aTest", "com.example.Foo");
+    final Description withoutClass = new Description("anotherTest");
+    for (final WireFormat each : WireFormat.values()) {
+      final DescriptionCodec testee = new DescriptionCodec(each);
+      final ByteArrayOutputStream os = new ByteArrayOutputStream();
+      final SafeDataOutputStream dos = new SafeDataOutputStream(os);
+      testee.write(dos, withClass);
+      testee.write(dos, withoutClass);
+      testee.write(dos, withClass);
+
+      final SafeDataInputStream dis = new SafeDataInputStream(
+          new ByteArrayInputStream(os.toByteArray()));
+      assertEquals(withClass, testee.read(dis));
+      assertEquals(withoutClass, testee.read(dis));
+      assertEquals(withClass, testee.read(dis));
+    }
+  }
+
+}
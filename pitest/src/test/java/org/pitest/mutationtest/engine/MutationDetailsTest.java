@@ -4,6 +4,8 @@ import nl.jqno.equalsverifier.EqualsVerifier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Collections;
+
 import org.junit.Test;
 
 public class MutationDetailsTest {
@@ -27,6 +29,22 @@ public class MutationDetailsTest {
     assertThat(actual.mayPoisonJVM()).isTrue();
   }
   
+  @Test
+  public void shouldHaveNoDuplicatesByDefault() {
+    MutationDetails testee = MutationDetailsMother.aMutationDetail().build();
+    assertThat(testee.getDuplicates()).isEmpty();
+  }
+
+  @Test
+  public void shouldKeepDuplicatesWhenDescriptionUpdated() {
+    MutationDetails duplicate = MutationDetailsMother.aMutationDetail().build();
+    MutationDetails testee = MutationDetailsMother.aMutationDetail().build()
+        .withDuplicates(Collections.singletonList(duplicate));
+
+    MutationDetails actual = testee.withDescription("foo");
+    assertThat(actual.getDuplicates()).containsExactly(duplicate);
+  }
+
   @Test
   public void shouldObeyHashcodeEqualsContract() {
     EqualsVerifier.forClass(MutationDetails.class).verify();
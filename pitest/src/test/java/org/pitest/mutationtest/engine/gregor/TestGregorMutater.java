@@ -19,10 +19,15 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.Collection;
 import java.util.List;
 
 import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.util.TraceClassVisitor;
+import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.functional.F;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.FunctionalList;
@@ -359,6 +364,40 @@ public class TestGregorMutater extends MutatorTestBase {
   }
   
   
+  public static class HasMutationsInSeveralMethods {
+    public int a(final int i) {
+      return i + 1;
+    }
+
+    public int b(final int i) {
+      if (i > 2) {
+        return i - 1;
+      }
+      return i;
+    }
+  }
+
+  @Test
+  public void shouldCreateSameMutantsWhenCopyingUnmutatedMethods() {
+    createTesteeWith(Mutator.all());
+    final GregorMutater rebuilding = new GregorMutater(
+        new ClassPathByteArraySource(), True.<MethodInfo> all(), Mutator.all(),
+        false);
+    final List<MutationDetails> mutations = findMutationsFor(HasMutationsInSeveralMethods.class);
+    assertThat(mutations).isNotEmpty();
+    for (final MutationDetails each : mutations) {
+      assertEquals(asText(rebuilding.getMutation(each.getId()).getBytes()),
+          asText(this.engine.getMutation(each.getId()).getBytes()));
+    }
+  }
+
+  private static String asText(final byte[] bytes) {
+    final StringWriter sw = new StringWriter();
+    new ClassReader(bytes).accept(new TraceClassVisitor(new PrintWriter(sw)),
+        ClassReader.SKIP_FRAMES);
+    return sw.toString();
+  }
+
   private static F<MutationDetails, Boolean> isInFinallyBlock() {
     return new F<MutationDetails, Boolean>() {
       @Override
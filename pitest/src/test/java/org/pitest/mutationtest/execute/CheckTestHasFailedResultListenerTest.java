@@ -24,6 +24,8 @@ import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.testapi.Description;
 import org.pitest.testapi.TestResult;
 
+import sun.pitest.LoopGuard;
+
 public class CheckTestHasFailedResultListenerTest {
 
   private CheckTestHasFailedResultListener testee;
@@ -48,6 +50,13 @@ public class CheckTestHasFailedResultListenerTest {
     assertEquals(DetectionStatus.KILLED, this.testee.status());
   }
 
+  @Test
+  public void shouldReturnDetectionStatusOfTimedOutWhenLoopGuardFails() {
+    this.testee.onTestFailure(new TestResult(this.description,
+        new LoopGuard.BudgetExceeded()));
+    assertEquals(DetectionStatus.TIMED_OUT, this.testee.status());
+  }
+
   @Test
   public void shouldRecordDescriptionOfLastFailingTest() {
     this.testee.onTestFailure(new TestResult(this.description, null));
@@ -15,6 +15,7 @@ import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Id;
 import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.WireFormat;
 
 public class DefaultReporterTest {
 
@@ -51,6 +52,23 @@ public class DefaultReporterTest {
     assertEquals(is.read(MutationStatusTestPair.class), ms);
   }
 
+  @Test
+  public void shouldSendResultsInBinaryFormatWhenRequested()
+      throws IOException {
+    this.testee = new DefaultReporter(this.os, WireFormat.BINARY);
+    final MutationIdentifier mi = aMutationId().withIndex(0).withMutator("foo")
+        .build();
+    final MutationStatusTestPair ms = new MutationStatusTestPair(2,
+        DetectionStatus.KILLED, "foo");
+    this.testee.report(mi, ms);
+    final SafeDataInputStream is = resultToStream();
+    final MutationResultCodec codec = new MutationResultCodec(
+        WireFormat.BINARY);
+    assertEquals(Id.REPORT, is.readByte());
+    assertEquals(mi, codec.readIdentifier(is));
+    assertEquals(ms, codec.readStatus(is));
+  }
+
   private SafeDataInputStream resultToStream() {
     final SafeDataInputStream is = new SafeDataInputStream(
         new ByteArrayInputStream(this.os.toByteArray()));
@@ -0,0 +1,101 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.functional.predicate.True;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.MethodInfo;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+
+import sun.pitest.LoopGuard;
+
+public class LoopGuardingMutaterTest {
+
+  public static class HasLoop {
+    public static int sumTo(final int n) {
+      int total = 0;
+      for (int i = 0; i < n; i++) {
+        total += i;
+      }
+      return total;
+    }
+  }
+
+  @After
+  public void disarm() {
+    LoopGuard.disarm();
+  }
+
+  @Test
+  public void shouldThrowFromMutatedLoopOnceAllowedTimeIsUsed()
+      throws Exception {
+    // decrementing the loop counter makes the loop run for billions of
+    // iterations
+    final Class<?> clazz = load(mutantOf("INCREMENTS"));
+    LoopGuard.arm(TimeUnit.MILLISECONDS.toNanos(10));
+    try {
+      sumTo(clazz, 10);
+      fail();
+    } catch (final InvocationTargetException ex) {
+      assertTrue(LoopGuard.isBudgetExceeded(ex.getCause()));
+    }
+    assertTrue(LoopGuard.disarm());
+  }
+
+  @Test
+  public void shouldNotAffectMutantsThatCompleteInTime() throws Exception {
+    final Class<?> clazz = load(mutantOf("MATH"));
+    LoopGuard.arm(TimeUnit.SECONDS.toNanos(10));
+    assertEquals(-6, sumTo(clazz, 4));
+    assertFalse(LoopGuard.disarm());
+  }
+
+  @Test
+  public void shouldNotAffectMutantsWhenNotArmed() throws Exception {
+    final Class<?> clazz = load(mutantOf("MATH"));
+    assertEquals(-45, sumTo(clazz, 10));
+  }
+
+  private byte[] mutantOf(final String mutator) {
+    final GregorMutater mutater = new GregorMutater(
+        ClassloaderByteArraySource.fromContext(), True.<MethodInfo> all(),
+        Mutator.byName(mutator));
+    final LoopGuardingMutater testee = new LoopGuardingMutater(mutater);
+    for (final MutationDetails each : testee.findMutations(ClassName
+        .fromClass(HasLoop.class))) {
+      if (each.getMethod().name().equals("sumTo")) {
+        final Mutant mutant = testee.getMutation(each.getId());
+        return mutant.getBytes();
+      }
+    }
+    throw new IllegalStateException("no mutant found");
+  }
+
+  private static Class<?> load(final byte[] bytes) {
+    return new ClassLoader(LoopGuardingMutaterTest.class.getClassLoader()) {
+      Class<?> define() {
+        return defineClass(HasLoop.class.getName(), bytes, 0, bytes.length);
+      }
+    }.define();
+  }
+
+  private static int sumTo(final Class<?> clazz, final int n)
+      throws Exception {
+    final Method sumTo = clazz.getMethod("sumTo", int.class);
+    return (Integer) sumTo.invoke(null, n);
+  }
+
+}
@@ -0,0 +1,150 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.functional.predicate.True;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.MethodInfo;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+
+public class MutantSchemaTest {
+
+  private ClassloaderByteArraySource source;
+  private GregorMutater              mutater;
+
+  @Before
+  public void setUp() {
+    this.source = ClassloaderByteArraySource.fromContext();
+    this.mutater = new GregorMutater(this.source, True.<MethodInfo> all(),
+        Mutator.byName("AOR"));
+  }
+
+  public static class HasArithmetic {
+    private final int base;
+
+    public HasArithmetic(final int base) {
+      this.base = base + 1;
+    }
+
+    public int add(final int a) {
+      return this.base + a;
+    }
+
+    public static long multiply(final long a, final int b) {
+      return a * b;
+    }
+  }
+
+  @Test
+  public void shouldBehaveAsOriginalWhenNoMutantIsActive() throws Exception {
+    final Class<?> clazz = load(schemaFor(HasArithmetic.class));
+    assertEquals(7, add(clazz, 1, 5));
+    assertEquals(12L, multiply(clazz, 3, 4));
+  }
+
+  @Test
+  public void shouldBehaveAsEachMutantWhenItIsActive() throws Exception {
+    final List<Mutant> mutants = mutantsOf(HasArithmetic.class);
+    final MutantSchema schema = MutantSchema.weave(this.source,
+        originalBytes(HasArithmetic.class), mutants);
+    final Class<?> clazz = load(schema);
+
+    for (final Mutant each : mutants) {
+      if (!schema.contains(each.getDetails().getId())) {
+        continue;
+      }
+      final Class<?> individual = load(each.getBytes());
+      setActive(clazz, schema.idFor(each.getDetails().getId()));
+      assertEquals(add(individual, 1, 5), add(clazz, 1, 5));
+      assertEquals(multiply(individual, 3, 4), multiply(clazz, 3, 4));
+    }
+  }
+
+  @Test
+  public void shouldNotIncludeMutantsInConstructors() {
+    final List<Mutant> mutants = mutantsOf(HasArithmetic.class);
+    final MutantSchema schema = MutantSchema.weave(this.source,
+        originalBytes(HasArithmetic.class), mutants);
+
+    int included = 0;
+    for (final Mutant each : mutants) {
+      final MutationDetails details = each.getDetails();
+      if (details.getMethod().name().equals("<init>")) {
+        assertFalse(schema.contains(details.getId()));
+      } else {
+        assertTrue(schema.contains(details.getId()));
+        included++;
+      }
+    }
+    assertTrue(included > 0);
+  }
+
+  @Test
+  public void shouldBeEmptyWhenNoMutantsCanBeIncluded() {
+    final MutantSchema schema = MutantSchema.weave(this.source,
+        originalBytes(HasArithmetic.class), new ArrayList<Mutant>());
+    assertTrue(schema.isEmpty());
+  }
+
+  private MutantSchema schemaFor(final Class<?> clazz) {
+    return MutantSchema.weave(this.source, originalBytes(clazz),
+        mutantsOf(clazz));
+  }
+
+  private List<Mutant> mutantsOf(final Class<?> clazz) {
+    final List<Mutant> mutants = new ArrayList<Mutant>();
+    for (final MutationDetails each : this.mutater.findMutations(ClassName
+        .fromClass(clazz))) {
+      mutants.add(this.mutater.getMutation(each.getId()));
+    }
+    return mutants;
+  }
+
+  private byte[] originalBytes(final Class<?> clazz) {
+    return this.source.getBytes(clazz.getName()).value();
+  }
+
+  private static Class<?> load(final MutantSchema schema) {
+    return load(schema.getBytes());
+  }
+
+  private static Class<?> load(final byte[] bytes) {
+    return new ClassLoader(MutantSchemaTest.class.getClassLoader()) {
+      Class<?> define() {
+        return defineClass(HasArithmetic.class.getName(), bytes, 0,
+            bytes.length);
+      }
+    }.define();
+  }
+
+  private static void setActive(final Class<?> clazz, final int id)
+      throws Exception {
+    clazz.getField(MutantSchema.ACTIVE_MUTANT_FIELD).setInt(null, id);
+  }
+
+  private static int add(final Class<?> clazz, final int base, final int a)
+      throws Exception {
+    final Object instance = clazz.getConstructor(int.class).newInstance(base);
+    final Method add = clazz.getMethod("add", int.class);
+    return (Integer) add.invoke(instance, a);
+  }
+
+  private static long multiply(final Class<?> clazz, final long a, final int b)
+      throws Exception {
+    final Method multiply = clazz.getMethod("multiply", long.class, int.class);
+    return (Long) multiply.invoke(null, a, b);
+  }
+
+}
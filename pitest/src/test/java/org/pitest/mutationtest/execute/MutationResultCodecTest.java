@@ -0,0 +1,98 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.WireFormat;
+
+public class MutationResultCodecTest {
+
+  private ByteArrayOutputStream os;
+
+  @Test
+  public void shouldRoundTripIdentifiersInEachFormat() {
+    final MutationIdentifier mi = aMutationId().withIndex(3)
+        .withMutator("foo").build();
+    for (final WireFormat each : WireFormat.values()) {
+      final MutationResultCodec testee = new MutationResultCodec(each);
+      testee.writeIdentifier(output(), mi);
+      assertEquals(mi, testee.readIdentifier(input()));
+    }
+  }
+
+  @Test
+  public void shouldRoundTripIdentifiersWithSeveralIndexes() {
+    final MutationIdentifier mi = new MutationIdentifier(aLocation("Foo")
+        .build(), Arrays.asList(1, 200, 70000), "bar");
+    final MutationResultCodec testee = new MutationResultCodec(
+        WireFormat.BINARY);
+    testee.writeIdentifier(output(), mi);
+    assertEquals(mi, testee.readIdentifier(input()));
+  }
+
+  @Test
+  public void shouldRoundTripStatusesInEachFormat() {
+    final MutationStatusTestPair killed = new MutationStatusTestPair(2,
+        DetectionStatus.KILLED, "aTest");
+    final MutationStatusTestPair survived = new MutationStatusTestPair(5,
+        DetectionStatus.SURVIVED);
+    for (final WireFormat each : WireFormat.values()) {
+      final MutationResultCodec testee = new MutationResultCodec(each);
+      final SafeDataOutputStream dos = output();
+      testee.writeStatus(dos, killed);
+      testee.writeStatus(dos, survived);
+      final SafeDataInputStream dis = input();
+      assertEquals(killed, testee.readStatus(dis));
+      assertEquals(survived, testee.readStatus(dis));
+    }
+  }
+
+  @Test
+  public void shouldReuseNamesAcrossIdentifiersSentOnSameStream() {
+    final MutationResultCodec testee = new MutationResultCodec(
+        WireFormat.BINARY);
+    final SafeDataOutputStream dos = output();
+    testee.writeIdentifier(dos, aMutationId().withIndex(1).build());
+    final int sizeOfFirst = this.os.size();
+    testee.writeIdentifier(dos, aMutationId().withIndex(2).build());
+    assertTrue(this.os.size() - sizeOfFirst < sizeOfFirst / 2);
+  }
+
+  @Test
+  public void shouldRoundTripDurationsInEachFormat() {
+    final Map<String, List<Long>> durations = new HashMap<String, List<Long>>();
+    durations.put("foo", Arrays.asList(1L, 20L, 300000L));
+    durations.put("bar", Arrays.asList(0L));
+    for (final WireFormat each : WireFormat.values()) {
+      final MutationResultCodec testee = new MutationResultCodec(each);
+      testee.writeDurations(output(), durations);
+      assertEquals(durations, testee.readDurations(input()));
+    }
+  }
+
+  private SafeDataOutputStream output() {
+    this.os = new ByteArrayOutputStream();
+    return new SafeDataOutputStream(this.os);
+  }
+
+  private SafeDataInputStream input() {
+    return new SafeDataInputStream(new ByteArrayInputStream(
+        this.os.toByteArray()));
+  }
+
+}
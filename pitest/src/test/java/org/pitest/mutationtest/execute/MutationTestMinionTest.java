@@ -1,6 +1,8 @@
 package org.pitest.mutationtest.execute;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
@@ -21,6 +23,7 @@ import org.pitest.mutationtest.engine.MutationEngine;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.testapi.Configuration;
 import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
 import org.pitest.util.PitError;
 import org.pitest.util.SafeDataInputStream;
 
@@ -84,4 +87,34 @@ public class MutationTestMinionTest {
     verify(this.reporter).done(ExitCode.UNKNOWN_ERROR);
   }
 
+  @Test
+  public void shouldNotWaitForFurtherBatchesWhenNotReusable() {
+    this.testee.run();
+    verify(this.is, never()).readByte();
+  }
+
+  @Test
+  public void shouldAnalyseFurtherBatchesWhenReusable() {
+    this.args = new MinionArguments(this.mutations, this.tests, this.engine,
+        this.timeoutStrategy, false, this.testConfig).andReusable(true);
+    when(this.is.read(MinionArguments.class)).thenReturn(this.args);
+    when(this.is.readByte()).thenReturn(Id.BATCH, Id.BATCH, Id.DONE);
+    this.testee.run();
+    verify(this.reporter, times(3)).done(ExitCode.OK);
+  }
+
+  @Test
+  public void shouldStopAnalysingBatchesAfterAnError() {
+    this.mutations.add(new MutationDetails(aMutationId().withIndex(0)
+        .withMutator("foo").build(), "file", "desc", 0, 0));
+    this.args = new MinionArguments(this.mutations, this.tests, this.engine,
+        this.timeoutStrategy, false, this.testConfig).andReusable(true);
+    when(this.is.read(MinionArguments.class)).thenReturn(this.args);
+    when(this.mutater.getMutation(any(MutationIdentifier.class))).thenThrow(
+        new PitError("foo"));
+    this.testee.run();
+    verify(this.reporter).done(ExitCode.UNKNOWN_ERROR);
+    verify(this.is, never()).readByte();
+  }
+
 }
@@ -1,6 +1,7 @@
 package org.pitest.mutationtest.execute;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
@@ -19,17 +20,29 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
 import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.functional.F3;
+import org.pitest.functional.SideEffect;
+import org.pitest.functional.predicate.True;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.Mutant;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.MethodInfo;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
 import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
+import org.pitest.util.ExitCode;
+import org.pitest.util.IsolationUtils;
 
 public class MutationTestWorkerTest {
 
@@ -54,7 +67,7 @@ public class MutationTestWorkerTest {
   public void setUp() {
     MockitoAnnotations.initMocks(this);
     this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
-        this.loader);
+        this.loader, 1, false);
   }
 
   @Test
@@ -130,6 +143,163 @@ public class MutationTestWorkerTest {
             .getDescription().getName()));
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldDescribeAndReportEachMutationWhenRunningConcurrently()
+      throws IOException {
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, 2, false);
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    final MutationDetails mutantTwo = makeMutant("foo", 2);
+    final MutationDetails mutantThree = makeMutant("foo", 3);
+    when(this.testSource.translateTests(any(List.class), any(SideEffect.class)))
+        .thenReturn(Collections.<TestUnit> emptyList());
+    this.testee.run(Arrays.asList(mutantOne, mutantTwo, mutantThree),
+        this.reporter, this.testSource);
+    for (final MutationDetails each : Arrays.asList(mutantOne, mutantTwo,
+        mutantThree)) {
+      verify(this.reporter).describe(each.getId());
+      verify(this.reporter).report(each.getId(),
+          new MutationStatusTestPair(0, DetectionStatus.RUN_ERROR));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldReportMutantThatCannotBeLoadedAsNonViableWhenRunningConcurrently()
+      throws IOException {
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, 2, false);
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    when(this.testSource.translateTests(any(List.class), any(SideEffect.class)))
+        .thenReturn(Collections.singletonList(makePassingTest()));
+    this.testee.run(Arrays.asList(mutantOne), this.reporter, this.testSource);
+    verify(this.reporter).report(mutantOne.getId(),
+        new MutationStatusTestPair(0, DetectionStatus.NON_VIABLE));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldRunTestsAgainstMutantInIsolatedLoaderWhenRunningConcurrently()
+      throws IOException {
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, 2, false);
+    final MutationDetails mutantOne = makeLoadableMutant("foo", 1);
+    when(this.testSource.translateTests(any(List.class), any(SideEffect.class)))
+        .thenReturn(Collections.singletonList(makePassingTest()));
+    this.testee.run(Arrays.asList(mutantOne), this.reporter, this.testSource);
+    verify(this.reporter).report(mutantOne.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED));
+    verify(this.hotswapper, never()).apply(any(ClassName.class),
+        any(ClassLoader.class), any(byte[].class));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldLeaveTimedOutMutantUnreportedAndSignalTimeoutWhenRunningConcurrently()
+      throws IOException {
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, 2, false);
+    final MutationDetails mutantOne = makeLoadableMutant("foo", 1);
+    when(this.testSource.translateTests(any(List.class), any(SideEffect.class)))
+        .thenAnswer(new Answer<List<TestUnit>>() {
+          @Override
+          public List<TestUnit> answer(final InvocationOnMock invocation) {
+            final SideEffect timeOut = (SideEffect) invocation.getArguments()[1];
+            return Collections.singletonList(makeTimingOutTest(timeOut));
+          }
+        });
+    this.testee.run(Arrays.asList(mutantOne), this.reporter, this.testSource);
+    verify(this.reporter).describe(mutantOne.getId());
+    verify(this.reporter, never()).report(any(MutationIdentifier.class),
+        any(MutationStatusTestPair.class));
+    verify(this.reporter).done(ExitCode.TIMEOUT);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldHotSwapMutantsOneAtATimeWhenJavassistIsOnClassPath()
+      throws IOException {
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, 2, false);
+    when(this.loader.getResource("javassist/ClassPool.class")).thenReturn(
+        getClass().getResource("MutationTestWorkerTest.class"));
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makePassingTest()));
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            any(byte[].class))).thenReturn(true);
+    this.testee.run(Arrays.asList(mutantOne), this.reporter, this.testSource);
+    verify(this.reporter).report(mutantOne.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldHotSwapMutantsWhenNoSchemaCanBeCreated()
+      throws IOException {
+    this.testee = new MutationTestWorker(this.hotswapper, this.mutater,
+        this.loader, 1, true);
+    final MutationDetails mutantOne = makeMutant("foo", 1);
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makePassingTest()));
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            any(byte[].class))).thenReturn(true);
+    this.testee.run(Arrays.asList(mutantOne), this.reporter, this.testSource);
+    verify(this.reporter).report(mutantOne.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.SURVIVED));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void shouldTestMutantsFromSchemaWithoutHotSwappingThem()
+      throws IOException {
+    final GregorMutater realMutater = new GregorMutater(
+        ClassloaderByteArraySource.fromContext(), True.<MethodInfo> all(),
+        Mutator.byName("AOR"));
+    this.testee = new MutationTestWorker(this.hotswapper, realMutater,
+        IsolationUtils.getContextClassLoader(), 1, true);
+    final List<MutationDetails> range = realMutater.findMutations(ClassName
+        .fromClass(MutantSchemaTest.HasArithmetic.class));
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makePassingTest()));
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            any(byte[].class))).thenReturn(false);
+
+    this.testee.run(range, this.reporter, this.testSource);
+
+    for (final MutationDetails each : range) {
+      if (each.getMethod().name().equals("<init>")) {
+        // cannot be included in the schema so hotswapped, which our mock
+        // reports as failing
+        verify(this.reporter).report(each.getId(),
+            new MutationStatusTestPair(0, DetectionStatus.NON_VIABLE));
+      } else {
+        verify(this.reporter).report(each.getId(),
+            new MutationStatusTestPair(1, DetectionStatus.SURVIVED));
+      }
+    }
+  }
+
+  private TestUnit makeTimingOutTest(final SideEffect timeOut) {
+    return new TestUnit() {
+
+      @Override
+      public void execute(final ClassLoader loader, final ResultCollector rc) {
+        timeOut.apply();
+      }
+
+      @Override
+      public Description getDescription() {
+        return new Description("atest");
+      }
+
+    };
+  }
+
   private TestUnit makeFailingTest() {
     return new TestUnit() {
 
@@ -177,4 +347,16 @@ public class MutationTestWorkerTest {
     return md;
   }
 
+  private MutationDetails makeLoadableMutant(final String clazz,
+      final int index) {
+    final MutationDetails md = makeMutant(clazz, index);
+    final ClassWriter cw = new ClassWriter(0);
+    cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC, clazz, null, "java/lang/Object",
+        null);
+    cw.visitEnd();
+    when(this.mutater.getMutation(md.getId())).thenReturn(
+        new Mutant(md, cw.toByteArray()));
+    return md;
+  }
+
 }
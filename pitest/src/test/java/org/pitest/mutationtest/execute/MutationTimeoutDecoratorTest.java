@@ -14,7 +14,9 @@
  */
 package org.pitest.mutationtest.execute;
 
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -26,8 +28,10 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
+import org.pitest.functional.Option;
 import org.pitest.functional.SideEffect;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
 
@@ -53,7 +57,8 @@ public class MutationTimeoutDecoratorTest {
   public void setUp() {
     MockitoAnnotations.initMocks(this);
     this.testee = new MutationTimeoutDecorator(this.child, this.sideEffect,
-        this.timeoutStrategy, NORMAL_EXECUTION);
+        this.timeoutStrategy, NORMAL_EXECUTION, new TimeoutWatchdog(),
+        Option.<TestDurations> none(), false);
   }
 
   @Test
@@ -84,4 +89,39 @@ public class MutationTimeoutDecoratorTest {
         any(ResultCollector.class));
     verify(this.sideEffect).apply();
   }
+
+  @Test
+  public void shouldReportErrorWhenChildThrows() {
+    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(
+        1000l);
+    final Description description = new Description("foo");
+    final RuntimeException ex = new RuntimeException();
+    when(this.child.getDescription()).thenReturn(description);
+    doThrow(ex).when(this.child).execute(any(ClassLoader.class),
+        any(ResultCollector.class));
+    this.testee.execute(null, this.rc);
+    verify(this.rc).notifyEnd(description, ex);
+    verify(this.sideEffect, never()).apply();
+  }
+
+  @Test
+  public void shouldRestoreContextClassLoaderChangedByChild() {
+    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(
+        1000l);
+    when(this.child.getDescription()).thenReturn(new Description("foo"));
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(final InvocationOnMock invocation) {
+        Thread.currentThread().setContextClassLoader(
+            new ClassLoader(null) {
+            });
+        return null;
+      }
+    }).when(this.child).execute(any(ClassLoader.class),
+        any(ResultCollector.class));
+    final ClassLoader before = Thread.currentThread().getContextClassLoader();
+    this.testee.execute(null, this.rc);
+    assertSame(before, Thread.currentThread().getContextClassLoader());
+  }
+
 }
@@ -0,0 +1,61 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class TestDurationsTest {
+
+  private final TestDurations testee = new TestDurations();
+
+  @Test
+  public void shouldBeEmptyUntilSomethingRecorded() {
+    assertTrue(this.testee.isEmpty());
+    this.testee.record("foo", 1);
+    assertFalse(this.testee.isEmpty());
+  }
+
+  @Test
+  public void shouldReportNearestRankPercentile() {
+    for (int i = 1; i <= 50; i++) {
+      this.testee.record("foo", i);
+    }
+    assertEquals(Long.valueOf(50), this.testee.percentiles(99, 1).get("foo"));
+    assertEquals(Long.valueOf(25), this.testee.percentiles(50, 1).get("foo"));
+  }
+
+  @Test
+  public void shouldNotReportPercentileForTestsWithTooFewSamples() {
+    this.testee.record("foo", 1);
+    this.testee.record("foo", 2);
+    this.testee.record("bar", 1);
+    final Map<String, Long> actual = this.testee.percentiles(99, 2);
+    assertEquals(Collections.singleton("foo"), actual.keySet());
+  }
+
+  @Test
+  public void shouldKeepOnlyMostRecentSamples() {
+    this.testee.record("foo", 100000);
+    for (int i = 0; i != TestDurations.MAX_SAMPLES; i++) {
+      this.testee.record("foo", 1);
+    }
+    assertEquals(Long.valueOf(1), this.testee.percentiles(100, 1).get("foo"));
+  }
+
+  @Test
+  public void shouldMergeSamplesFromOtherMinions() {
+    this.testee.record("foo", 1);
+    this.testee.recordAll(Collections.singletonMap("foo",
+        Arrays.asList(2L, 3L)));
+    final List<Long> actual = this.testee.samples().get("foo");
+    assertEquals(Arrays.asList(1L, 2L, 3L), actual);
+  }
+
+}
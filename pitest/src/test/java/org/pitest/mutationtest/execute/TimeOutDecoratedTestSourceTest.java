@@ -16,10 +16,17 @@ package org.pitest.mutationtest.execute;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -48,7 +55,9 @@ public class TimeOutDecoratedTestSourceTest {
     MockitoAnnotations.initMocks(this);
 
     this.testee = new TimeOutDecoratedTestSource(this.timeoutStrategy,
-        Arrays.asList(makeTestUnit("one"), makeTestUnit("two")), this.reporter);
+        Arrays.asList(makeTestUnit("one"), makeTestUnit("two")), this.reporter,
+        new TimeoutWatchdog(), MeasuredTimeouts.disabled(),
+        new TestDurations(), false);
   }
 
   @Test
@@ -71,6 +80,47 @@ public class TimeOutDecoratedTestSourceTest {
     assertEquals(1, actual.size());
   }
 
+  @Test
+  public void shouldUseMeasuredDurationWhenAvailable() {
+    final Map<String, Long> durations = new HashMap<String, Long>();
+    durations.put("one", 10L);
+    when(this.timeoutStrategy.getAllowedTime(anyLong())).thenReturn(10000L);
+    this.testee = new TimeOutDecoratedTestSource(this.timeoutStrategy,
+        Arrays.asList(makeTestUnit("one")), this.reporter,
+        new TimeoutWatchdog(), new MeasuredTimeouts(true, durations),
+        new TestDurations(), false);
+    final List<TestUnit> actual = this.testee.translateTests(Arrays
+        .asList(new TestInfo("foo", "one", 42, Option.<ClassName> none(), 0)));
+    actual.get(0).execute(null, mock(ResultCollector.class));
+    verify(this.timeoutStrategy).getAllowedTime(10L);
+    verify(this.timeoutStrategy, never()).getAllowedTime(42L);
+  }
+
+  @Test
+  public void shouldRecordDurationsOfPassingTestsWhenEnabled() {
+    final TestDurations measured = new TestDurations();
+    this.testee = new TimeOutDecoratedTestSource(this.timeoutStrategy,
+        Arrays.asList(makeTestUnit("one")), this.reporter,
+        new TimeoutWatchdog(), new MeasuredTimeouts(true,
+            new HashMap<String, Long>()), measured, false);
+    final List<TestUnit> actual = this.testee.translateTests(Arrays
+        .asList(new TestInfo("foo", "one", 42, Option.<ClassName> none(), 0)));
+    actual.get(0).execute(null, mock(ResultCollector.class));
+    assertEquals(1, measured.samples().get("one").size());
+  }
+
+  @Test
+  public void shouldNotRecordDurationsWhenDisabled() {
+    final TestDurations measured = new TestDurations();
+    this.testee = new TimeOutDecoratedTestSource(this.timeoutStrategy,
+        Arrays.asList(makeTestUnit("one")), this.reporter,
+        new TimeoutWatchdog(), MeasuredTimeouts.disabled(), measured, false);
+    final List<TestUnit> actual = this.testee.translateTests(Arrays
+        .asList(new TestInfo("foo", "one", 42, Option.<ClassName> none(), 0)));
+    actual.get(0).execute(null, mock(ResultCollector.class));
+    assertTrue(measured.isEmpty());
+  }
+
   private TestUnit makeTestUnit(final String name) {
     return new TestUnit() {
       private final Description description = new Description(name);
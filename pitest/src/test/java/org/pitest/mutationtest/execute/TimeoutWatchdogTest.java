@@ -0,0 +1,111 @@
+package org.pitest.mutationtest.execute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+import org.pitest.functional.SideEffect;
+
+public class TimeoutWatchdogTest {
+
+  private final TimeoutWatchdog testee = new TimeoutWatchdog();
+
+  @Test
+  public void shouldNotApplySideEffectWhenFinishedInTime() throws Exception {
+    final CountingSideEffect sideEffect = new CountingSideEffect();
+    final TimeoutWatchdog.Deadline deadline = this.testee.start(50,
+        sideEffect);
+    assertTrue(this.testee.finish(deadline));
+    Thread.sleep(100);
+    assertEquals(1, sideEffect.latch.getCount());
+  }
+
+  @Test
+  public void shouldApplySideEffectWhenDeadlinePasses() throws Exception {
+    final CountingSideEffect sideEffect = new CountingSideEffect();
+    final TimeoutWatchdog.Deadline deadline = this.testee.start(10,
+        sideEffect);
+    assertTrue(sideEffect.latch.await(5, TimeUnit.SECONDS));
+    assertFalse(this.testee.finish(deadline));
+  }
+
+  @Test
+  public void shouldNotReturnFromLateFinishUntilSideEffectApplied()
+      throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final AtomicBoolean applied = new AtomicBoolean(false);
+    final TimeoutWatchdog.Deadline deadline = this.testee.start(10,
+        new SideEffect() {
+          @Override
+          public void apply() {
+            started.countDown();
+            try {
+              Thread.sleep(100);
+            } catch (final InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            applied.set(true);
+          }
+        });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    assertFalse(this.testee.finish(deadline));
+    assertTrue(applied.get());
+  }
+
+  @Test
+  public void shouldApplyEarlierDeadlineAddedWhileWaitingForLaterOne()
+      throws Exception {
+    final CountingSideEffect later = new CountingSideEffect();
+    final CountingSideEffect earlier = new CountingSideEffect();
+    final TimeoutWatchdog.Deadline laterDeadline = this.testee.start(60000,
+        later);
+    Thread.sleep(20);
+    this.testee.start(10, earlier);
+    assertTrue(earlier.latch.await(5, TimeUnit.SECONDS));
+    assertTrue(this.testee.finish(laterDeadline));
+    assertEquals(1, later.latch.getCount());
+  }
+
+  @Test
+  public void shouldContinueWatchingAfterDeadlinePasses() throws Exception {
+    final CountingSideEffect first = new CountingSideEffect();
+    this.testee.start(10, first);
+    assertTrue(first.latch.await(5, TimeUnit.SECONDS));
+
+    final CountingSideEffect second = new CountingSideEffect();
+    this.testee.start(10, second);
+    assertTrue(second.latch.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void shouldContinueWatchingAfterSideEffectFails() throws Exception {
+    final TimeoutWatchdog.Deadline failing = this.testee.start(10,
+        new SideEffect() {
+          @Override
+          public void apply() {
+            throw new RuntimeException();
+          }
+        });
+    Thread.sleep(50);
+    assertFalse(this.testee.finish(failing));
+
+    final CountingSideEffect next = new CountingSideEffect();
+    this.testee.start(10, next);
+    assertTrue(next.latch.await(5, TimeUnit.SECONDS));
+  }
+
+  private static class CountingSideEffect implements SideEffect {
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    @Override
+    public void apply() {
+      this.latch.countDown();
+    }
+  }
+
+}
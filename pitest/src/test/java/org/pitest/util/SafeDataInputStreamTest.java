@@ -14,7 +14,9 @@
  */
 package org.pitest.util;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -43,4 +45,71 @@ public class SafeDataInputStreamTest {
 
   }
 
+  @Test
+  public void shouldRoundTripBytes() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeBytes(new byte[] { 1, 2, 3 });
+    dos.writeBytes(new byte[0]);
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(o.toByteArray()));
+    assertArrayEquals(new byte[] { 1, 2, 3 }, dis.readBytes());
+    assertArrayEquals(new byte[0], dis.readBytes());
+  }
+
+  @Test
+  public void shouldRoundTripVarInts() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    final int[] values = { 0, 1, 127, 128, 16384, Integer.MAX_VALUE, -1 };
+    for (final int each : values) {
+      dos.writeVarInt(each);
+    }
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(o.toByteArray()));
+    for (final int each : values) {
+      assertEquals(each, dis.readVarInt());
+    }
+  }
+
+  @Test
+  public void shouldWriteSmallVarIntsAsSingleByte() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeVarInt(127);
+    dos.flush();
+    assertEquals(1, o.size());
+  }
+
+  @Test
+  public void shouldRoundTripInternedStrings() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeInternedString("foo");
+    dos.writeInternedString("bar");
+    dos.writeInternedString(null);
+    dos.writeInternedString("foo");
+
+    final SafeDataInputStream dis = new SafeDataInputStream(
+        new ByteArrayInputStream(o.toByteArray()));
+    assertEquals("foo", dis.readInternedString());
+    assertEquals("bar", dis.readInternedString());
+    assertNull(dis.readInternedString());
+    assertEquals("foo", dis.readInternedString());
+  }
+
+  @Test
+  public void shouldSendRepeatedInternedStringsAsReferences() {
+    final ByteArrayOutputStream o = new ByteArrayOutputStream();
+    final SafeDataOutputStream dos = new SafeDataOutputStream(o);
+    dos.writeInternedString("com.example.SomeLongClassName");
+    dos.flush();
+    final int sizeAfterFirst = o.size();
+    dos.writeInternedString("com.example.SomeLongClassName");
+    dos.flush();
+    assertEquals(sizeAfterFirst + 1, o.size());
+  }
+
 }
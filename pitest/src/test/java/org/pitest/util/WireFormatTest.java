@@ -0,0 +1,46 @@
+package org.pitest.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+public class WireFormatTest {
+
+  private final ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+  @Test
+  public void shouldReadFormatAnnouncedInHandshake() {
+    for (final WireFormat each : WireFormat.values()) {
+      this.os.reset();
+      each.writeHandshake(new SafeDataOutputStream(this.os));
+      assertEquals(each, WireFormat.readHandshake(toInput()));
+    }
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldRejectUnknownProtocolVersions() {
+    final SafeDataOutputStream dos = new SafeDataOutputStream(this.os);
+    dos.writeByte((byte) WireFormat.BINARY.ordinal());
+    dos.writeVarInt(WireFormat.BINARY_VERSION + 1);
+    dos.flush();
+    WireFormat.readHandshake(toInput());
+  }
+
+  @Test(expected = PitError.class)
+  public void shouldRejectUnknownFormats() {
+    final SafeDataOutputStream dos = new SafeDataOutputStream(this.os);
+    dos.writeByte((byte) 42);
+    dos.writeVarInt(WireFormat.BINARY_VERSION);
+    dos.flush();
+    WireFormat.readHandshake(toInput());
+  }
+
+  private SafeDataInputStream toInput() {
+    return new SafeDataInputStream(new ByteArrayInputStream(
+        this.os.toByteArray()));
+  }
+
+}
@@ -15,6 +15,7 @@
 package sun.pitest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -99,6 +100,56 @@ public class CodeCoverageStoreTest {
     assertEquals(Collections.emptyList(), actual);
   }
 
+  @Test
+  public void shouldReportOnlyClassesHitSinceLastReset() {
+    final int foo = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(foo, 2);
+    final int bar = CodeCoverageStore.registerClass("bar");
+    CodeCoverageStore.registerClassProbes(bar, 2);
+
+    CodeCoverageStore.visitProbes(foo, 0, true);
+    CodeCoverageStore.visitProbes(foo, 1, true);
+    assertArrayEquals(new int[] { foo }, CodeCoverageStore.getHitClasses());
+
+    CodeCoverageStore.reset();
+    CodeCoverageStore.visitProbes(bar, 0, true);
+    assertArrayEquals(new int[] { bar }, CodeCoverageStore.getHitClasses());
+  }
+
+  @Test
+  public void shouldRecordClassHitAgainAfterReset() {
+    final int foo = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(foo, 2);
+
+    CodeCoverageStore.visitProbes(foo, 0, true);
+    CodeCoverageStore.reset();
+    CodeCoverageStore.visitProbes(foo, 1, true);
+
+    assertArrayEquals(new int[] { foo }, CodeCoverageStore.getHitClasses());
+    assertEquals(Collections.singletonList(CodeCoverageStore.encode(foo, 1)),
+        CodeCoverageStore.getHits());
+  }
+
+  @Test
+  public void shouldReportHitProbesAsBitmap() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(classId, 200);
+
+    CodeCoverageStore.visitProbes(classId, 0, true);
+    CodeCoverageStore.visitProbes(classId, 65, true);
+    CodeCoverageStore.visitProbes(classId, 70, true);
+
+    assertArrayEquals(new long[] { 1L, (1L << 1) | (1L << 6) },
+        CodeCoverageStore.getHitProbes(classId));
+  }
+
+  @Test
+  public void shouldReportEmptyBitmapForClassWithNoHits() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+    CodeCoverageStore.registerClassProbes(classId, 10);
+    assertEquals(0, CodeCoverageStore.getHitProbes(classId).length);
+  }
+
   @Test
   public void shouldBeSafeToAccessAcrossMultipleThreads()
       throws InterruptedException, ExecutionException {
@@ -0,0 +1,72 @@
+package sun.pitest;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class LoopGuardTest {
+
+  @After
+  public void disarm() {
+    LoopGuard.disarm();
+  }
+
+  @Test
+  public void shouldNotThrowWhenNotArmed() {
+    tick(LoopGuard.CHECK_INTERVAL * 2);
+    assertFalse(LoopGuard.disarm());
+  }
+
+  @Test
+  public void shouldNotThrowWithinAllowedTime() {
+    LoopGuard.arm(Long.MAX_VALUE / 2);
+    tick(LoopGuard.CHECK_INTERVAL * 2);
+    assertFalse(LoopGuard.disarm());
+  }
+
+  @Test
+  public void shouldThrowOnceAllowedTimeIsUsed() {
+    LoopGuard.arm(0);
+    try {
+      tick(LoopGuard.CHECK_INTERVAL);
+      fail();
+    } catch (final LoopGuard.BudgetExceeded ex) {
+      // expected
+    }
+    assertTrue(LoopGuard.disarm());
+  }
+
+  @Test
+  public void shouldKeepThrowingWhenErrorIsCaught() {
+    LoopGuard.arm(0);
+    try {
+      tick(LoopGuard.CHECK_INTERVAL);
+    } catch (final LoopGuard.BudgetExceeded ex) {
+      // swallowed as a test might
+    }
+    try {
+      LoopGuard.tick();
+      fail();
+    } catch (final LoopGuard.BudgetExceeded ex) {
+      // expected
+    }
+  }
+
+  @Test
+  public void shouldRecogniseGuardWrappedByOtherExceptions() {
+    assertTrue(LoopGuard.isBudgetExceeded(new RuntimeException(
+        new LoopGuard.BudgetExceeded())));
+    assertFalse(LoopGuard.isBudgetExceeded(new RuntimeException()));
+    assertFalse(LoopGuard.isBudgetExceeded(null));
+  }
+
+  private static void tick(final int times) {
+    for (int i = 0; i != times; i++) {
+      LoopGuard.tick();
+    }
+  }
+
+}